@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client;
+
+import com.nexmo.client.account.BalanceResponse;
+import com.nexmo.client.sms.SmsSubmissionResponse;
+import com.nexmo.client.sms.messages.TextMessage;
+import com.nexmo.client.voice.CallInfoPage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request/response round trips through {@link NexmoClient}, including authentication, connection pooling and
+ * response parsing, against an in-process stub server on the loopback interface.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndToEndBenchmark {
+    private static final int CALL_PAGE_SIZE = 10;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private NexmoClient client;
+    private TextMessage message;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] smsResponse = BenchmarkFixtures.SMS_SUBMISSION_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        byte[] balanceResponse = BenchmarkFixtures.BALANCE_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        byte[] callsResponse = BenchmarkFixtures.callInfoPage(CALL_PAGE_SIZE).getBytes(StandardCharsets.UTF_8);
+
+        // Without TCP_NODELAY the stub's separate header and body writes stall on delayed ACKs, adding ~40ms per request.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/sms/json", exchange -> respond(exchange, smsResponse));
+        server.createContext("/account/get-balance", exchange -> respond(exchange, balanceResponse));
+        server.createContext("/v1/calls", exchange -> respond(exchange, callsResponse));
+        serverExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        client = NexmoClient.builder()
+                .httpConfig(HttpConfig.builder().baseUri("http://localhost:" + server.getAddress().getPort()).build())
+                .apiKey(BenchmarkFixtures.API_KEY)
+                .apiSecret(BenchmarkFixtures.API_SECRET)
+                .applicationId(BenchmarkFixtures.APPLICATION_ID)
+                .privateKeyContents(BenchmarkFixtures.privateKey())
+                .build();
+        message = new TextMessage("Nexmo", "447700900000", "Hello from the benchmark suite");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse submitMessage() {
+        return client.getSmsClient().submitMessage(message);
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse submitMessageAsync() {
+        return client.getSmsClient().submitMessageAsync(message).join();
+    }
+
+    @Benchmark
+    public BalanceResponse getBalance() {
+        return client.getAccountClient().getBalance();
+    }
+
+    @Benchmark
+    public CallInfoPage listCalls() {
+        return client.getVoiceClient().listCalls();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            byte[] buffer = new byte[4096];
+            while (request.read(buffer) != -1) {
+                // Drain the request so the connection can be reused.
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(body);
+        }
+    }
+}
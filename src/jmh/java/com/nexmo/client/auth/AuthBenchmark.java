@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import com.nexmo.client.BenchmarkFixtures;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.message.BasicNameValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of applying each authentication method to an outgoing request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthBenchmark {
+    private List<NameValuePair> params;
+    private SignatureAuthMethod signatureAuth;
+    private TokenAuthMethod tokenAuth;
+    private JWTAuthMethod cachedJwtAuth;
+    private JWTAuthMethod uncachedJwtAuth;
+
+    @Setup
+    public void setUp() {
+        params = new ArrayList<>();
+        params.add(new BasicNameValuePair("api_key", BenchmarkFixtures.API_KEY));
+        params.add(new BasicNameValuePair("from", "Nexmo"));
+        params.add(new BasicNameValuePair("to", "447700900000"));
+        params.add(new BasicNameValuePair("text", "Hello from the benchmark suite"));
+        params.add(new BasicNameValuePair("type", "text"));
+
+        byte[] privateKey = BenchmarkFixtures.privateKey();
+        signatureAuth = new SignatureAuthMethod(BenchmarkFixtures.API_KEY, BenchmarkFixtures.API_SECRET);
+        tokenAuth = new TokenAuthMethod(BenchmarkFixtures.API_KEY, BenchmarkFixtures.API_SECRET);
+        cachedJwtAuth = new JWTAuthMethod(BenchmarkFixtures.APPLICATION_ID, privateKey);
+        uncachedJwtAuth = new JWTAuthMethod(BenchmarkFixtures.APPLICATION_ID,
+                privateKey,
+                JWTTokenCacheConfig.disabled()
+        );
+    }
+
+    @Benchmark
+    public List<NameValuePair> requestSigning() {
+        List<NameValuePair> signed = new ArrayList<>(params);
+        RequestSigning.constructSignatureForRequestParameters(signed, BenchmarkFixtures.API_SECRET);
+        return signed;
+    }
+
+    @Benchmark
+    public RequestBuilder signatureAuth() {
+        RequestBuilder request = RequestBuilder.post("https://rest.nexmo.com/sms/json");
+        for (NameValuePair param : params) {
+            request.addParameter(param);
+        }
+        return signatureAuth.apply(request);
+    }
+
+    @Benchmark
+    public RequestBuilder tokenAuth() {
+        return tokenAuth.apply(RequestBuilder.get("https://rest.nexmo.com/account/get-balance"));
+    }
+
+    @Benchmark
+    public RequestBuilder jwtAuthCached() {
+        return cachedJwtAuth.apply(RequestBuilder.get("https://api.nexmo.com/v1/calls"));
+    }
+
+    @Benchmark
+    public RequestBuilder jwtAuthUncached() {
+        return uncachedJwtAuth.apply(RequestBuilder.get("https://api.nexmo.com/v1/calls"));
+    }
+}
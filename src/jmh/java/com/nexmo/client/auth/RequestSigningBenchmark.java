@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import com.nexmo.client.BenchmarkFixtures;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link RequestSigning} with the signing implementation it replaced, and measures verification of an
+ * inbound callback with {@link SignatureVerifier}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestSigningBenchmark {
+    private List<NameValuePair> params;
+    private Map<String, String[]> callbackParams;
+    private SignatureVerifier verifier;
+
+    @Setup
+    public void setUp() {
+        params = new ArrayList<>();
+        params.add(new BasicNameValuePair("from", "Nexmo"));
+        params.add(new BasicNameValuePair("to", "447700900000"));
+        params.add(new BasicNameValuePair("text", "Hello from the benchmark suite & friends"));
+        params.add(new BasicNameValuePair("type", "text"));
+        params.add(new BasicNameValuePair("api_key", BenchmarkFixtures.API_KEY));
+        params.add(new BasicNameValuePair("timestamp", "1588088999"));
+
+        callbackParams = new HashMap<>();
+        for (NameValuePair param : params) {
+            callbackParams.put(param.getName(), new String[]{param.getValue()});
+        }
+        callbackParams.put(RequestSigning.PARAM_SIGNATURE, new String[]{md5Hash()});
+        // Replays are allowed so that every invocation verifies the same callback in full
+        verifier = new SignatureVerifier(SignatureVerifier.builder(BenchmarkFixtures.API_SECRET)
+                .replayProtection(false), () -> 1588088999000L);
+    }
+
+    @Benchmark
+    public String legacyMd5Hash() throws NoSuchAlgorithmException {
+        return legacySignature(params, BenchmarkFixtures.API_SECRET);
+    }
+
+    @Benchmark
+    public String md5Hash() {
+        return RequestSigning.calculateSignature(params, BenchmarkFixtures.API_SECRET, SignatureMethod.MD5_HASH);
+    }
+
+    @Benchmark
+    public String hmacSha256() {
+        return RequestSigning.calculateSignature(params, BenchmarkFixtures.API_SECRET, SignatureMethod.HMAC_SHA256);
+    }
+
+    @Benchmark
+    public String hmacSha512() {
+        return RequestSigning.calculateSignature(params, BenchmarkFixtures.API_SECRET, SignatureMethod.HMAC_SHA512);
+    }
+
+    @Benchmark
+    public boolean verifyCallback() {
+        return verifier.verify(callbackParams);
+    }
+
+    /**
+     * The signature calculation used by RequestSigning before it was rewritten, as a baseline.
+     */
+    private static String legacySignature(List<NameValuePair> params, String secretKey)
+            throws NoSuchAlgorithmException {
+        Map<String, String> sortedParams = new TreeMap<>();
+        for (NameValuePair param : params) {
+            String value = param.getValue() == null ? "" : param.getValue();
+            if (!param.getName().equals(RequestSigning.PARAM_SIGNATURE) && !value.trim().equals("")) {
+                sortedParams.put(param.getName(), value);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> param : sortedParams.entrySet()) {
+            sb.append("&")
+                    .append(param.getKey().replaceAll("[=&]", "_"))
+                    .append("=")
+                    .append(param.getValue().replaceAll("[=&]", "_"));
+        }
+        sb.append(secretKey);
+
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        md.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte element : md.digest()) {
+            int z = 0xFF & element;
+            if (z < 16) {
+                hexString.append("0");
+            }
+            hexString.append(Integer.toHexString(z));
+        }
+        return hexString.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms;
+
+import com.nexmo.client.BenchmarkFixtures;
+import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.sms.messages.TextMessage;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request building and response parsing for SMS submission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SmsBenchmark {
+    private SendMessageEndpoint endpoint;
+    private TextMessage message;
+
+    @Setup
+    public void setUp() {
+        endpoint = new SendMessageEndpoint(new HttpWrapper());
+        message = new TextMessage("Nexmo", "447700900000", "Hello from the benchmark suite");
+    }
+
+    @Benchmark
+    public HttpUriRequest buildRequest() throws UnsupportedEncodingException {
+        return endpoint.makeRequest(message).build();
+    }
+
+    @Benchmark
+    public SmsSubmissionResponse parseResponse() {
+        return SmsSubmissionResponse.fromJson(BenchmarkFixtures.SMS_SUBMISSION_RESPONSE);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.BenchmarkFixtures;
+import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.common.JsonResponseHandler;
+import com.nexmo.client.voice.ncco.Ncco;
+import com.nexmo.client.voice.ncco.TalkAction;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request building, NCCO serialization and call list parsing for the Voice API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VoiceBenchmark {
+    private static final JsonResponseHandler<CallInfoPage> CALL_PAGE_HANDLER =
+            new JsonResponseHandler<>(CallInfoPage.class);
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private CreateCallMethod createCallMethod;
+    private Call call;
+    private Ncco ncco;
+    private String callInfoPage;
+
+    @Setup
+    public void setUp() {
+        createCallMethod = new CreateCallMethod(new HttpWrapper());
+        ncco = new Ncco(TalkAction.builder("Hello from the benchmark suite").loop(2).build());
+        call = new Call("447700900000", "447700900001", ncco);
+        callInfoPage = BenchmarkFixtures.callInfoPage(pageSize);
+    }
+
+    @Benchmark
+    public HttpUriRequest buildCreateCallRequest() throws IOException {
+        return createCallMethod.makeRequest(call).build();
+    }
+
+    @Benchmark
+    public String serializeNcco() {
+        return ncco.toJson();
+    }
+
+    @Benchmark
+    public CallInfoPage parseCallPageFromString() {
+        return CallInfoPage.fromJson(callInfoPage);
+    }
+
+    @Benchmark
+    public CallInfoPage parseCallPageFromStream() throws IOException {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new StringEntity(callInfoPage, ContentType.APPLICATION_JSON));
+        return CALL_PAGE_HANDLER.handleResponse(response);
+    }
+}
@@ -22,7 +22,13 @@
 package com.nexmo.client;
 
 import com.nexmo.client.auth.AuthMethod;
-import com.nexmo.client.logging.LoggingUtils;
+import com.nexmo.client.common.ParallelTasks;
+import com.nexmo.client.logging.WireTap;
+import com.nexmo.client.metrics.ClientMetrics;
+import com.nexmo.client.metrics.RequestPhase;
+import com.nexmo.client.ratelimit.NexmoRateLimitExceededException;
+import com.nexmo.client.ratelimit.RateLimitConfig;
+import com.nexmo.client.retry.RetryPolicy;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpEntity;
@@ -30,9 +36,9 @@ import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
@@ -41,6 +47,13 @@ import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 /**
  * Abstract class to assist in implementing a call against a REST endpoint.
@@ -49,7 +62,8 @@ import java.util.Set;
  * provided parameterized request object, and {@link #parseResponse(HttpResponse)} to construct the parameterized {@link
  * HttpResponse} object.
  * <p>
- * The REST call is executed by calling {@link #execute(Object)}.
+ * The REST call is executed by calling {@link #execute(Object)}, or {@link #executeAsync(Object)} to avoid blocking the
+ * calling thread.
  *
  * @param <RequestT> The type of the method-specific request object that will be used to construct an HTTP request
  * @param <ResultT>  The type of method-specific response object which will be constructed from the returned HTTP
@@ -57,9 +71,11 @@ import java.util.Set;
  */
 public abstract class AbstractMethod<RequestT, ResultT> implements Method<RequestT, ResultT> {
     private static final Log LOG = LogFactory.getLog(AbstractMethod.class);
+    private static final int TOO_MANY_REQUESTS = 429;
 
     protected final HttpWrapper httpWrapper;
     private Set<Class> acceptable;
+    private String endpointName;
 
     public AbstractMethod(HttpWrapper httpWrapper) {
         this.httpWrapper = httpWrapper;
@@ -67,6 +83,9 @@ public abstract class AbstractMethod<RequestT, ResultT> implements Method<Reques
 
     /**
      * Execute the REST call represented by this method object.
+     * <p>
+     * Failed attempts are retried according to the {@link HttpWrapper}'s {@link RetryPolicy}, and each attempt is
+     * subject to any rate limit configured for this endpoint.
      *
      * @param request A RequestT representing input to the REST call to be made
      *
@@ -75,8 +94,263 @@ public abstract class AbstractMethod<RequestT, ResultT> implements Method<Reques
      * @throws NexmoClientException if there is a problem parsing the HTTP response
      */
     public ResultT execute(RequestT request) throws NexmoResponseParseException, NexmoClientException {
+        ClientMetrics metrics = getMetrics();
+        if (metrics == null) {
+            return executeAttempts(request, null);
+        }
+
+        String endpoint = getEndpointName();
+        metrics.requestStarted(endpoint);
+        try {
+            return executeAttempts(request, metrics);
+        } finally {
+            metrics.requestFinished(endpoint);
+        }
+    }
+
+    private ResultT executeAttempts(RequestT request, ClientMetrics metrics) {
+        for (int attempt = 1; ; attempt++) {
+            RateLimitConfig.Limit limit = getRateLimit();
+            if (limit != null) {
+                if (limit.getMode() == RateLimitConfig.Mode.TRY) {
+                    if (!limit.getRateLimiter().tryAcquire()) {
+                        throw rateLimitExceeded();
+                    }
+                } else {
+                    limit.getRateLimiter().acquire();
+                }
+            }
+
+            HttpUriRequest httpRequest = createHttpRequest(request);
+            RetryPolicy retryPolicy = getRetryPolicy(httpRequest, attempt);
+            HttpResponse response;
+            long sent = startTimer(metrics);
+            try {
+                response = this.httpWrapper.getHttpClient().execute(httpRequest);
+            } catch (IOException io) {
+                recordFailure(metrics, sent, io);
+                long delay = retryPolicy != null ? retryPolicy.getRetryDelay(attempt, io) : -1;
+                if (delay < 0) {
+                    throw new NexmoMethodFailedException("Something went wrong while executing the HTTP request: " +
+                            io.getMessage() + ".", io);
+                }
+                LOG.debug("Retrying after failed attempt " + attempt + " in " + delay + "ms: " + io.getMessage());
+                sleepBeforeRetry(delay);
+                continue;
+            }
+
+            recordResponse(metrics, sent, response);
+            reportToRateLimiter(limit, response);
+            long delay = retryPolicy != null ? retryPolicy.getRetryDelay(attempt, response) : -1;
+            if (delay >= 0) {
+                LOG.debug("Retrying after attempt " + attempt + " returned " + response.getStatusLine() + " in " +
+                        delay + "ms");
+                EntityUtils.consumeQuietly(response.getEntity());
+                sleepBeforeRetry(delay);
+                continue;
+            }
+
+            try {
+                return handleResponse(response, metrics);
+            } catch (IOException io) {
+                throw new NexmoMethodFailedException("Something went wrong while executing the HTTP request: " +
+                        io.getMessage() + ".", io);
+            }
+        }
+    }
+
+    /**
+     * Execute the REST call represented by this method object without blocking the calling thread.
+     * <p>
+     * The request is sent using the {@link HttpWrapper}'s non-blocking client, so a small number of I/O threads can
+     * service many concurrent requests. Any exception which would have been thrown by {@link #execute(Object)} is
+     * instead used to complete the returned future exceptionally. Cancelling the returned future aborts the underlying
+     * HTTP exchange.
+     * <p>
+     * Responses are parsed and the returned future is completed on the {@link HttpWrapper#getAsyncExecutor()}, never on
+     * an I/O thread, so dependent stages which don't supply their own executor run there and may block.
+     *
+     * @param request A RequestT representing input to the REST call to be made
+     *
+     * @return A CompletableFuture which will be completed with a ResultT representing the response from the executed
+     * REST call
+     */
+    public CompletableFuture<ResultT> executeAsync(RequestT request) {
+        CompletableFuture<ResultT> result = new CompletableFuture<>();
+        ClientMetrics metrics = getMetrics();
+        if (metrics != null) {
+            String endpoint = getEndpointName();
+            metrics.requestStarted(endpoint);
+            result.whenComplete((r, t) -> metrics.requestFinished(endpoint));
+        }
+        // Each attempt replaces the exchange, so cancelling the result aborts whichever attempt is in flight
+        AtomicReference<Future<HttpResponse>> exchange = new AtomicReference<>();
+        result.whenComplete((r, t) -> {
+            Future<HttpResponse> current = exchange.get();
+            if (result.isCancelled() && current != null) {
+                current.cancel(true);
+            }
+        });
+        attemptAsync(request, 1, result, exchange);
+        return result;
+    }
+
+    private void attemptAsync(RequestT request,
+                              int attempt,
+                              CompletableFuture<ResultT> result,
+                              AtomicReference<Future<HttpResponse>> exchange) {
+        RateLimitConfig.Limit limit = getRateLimit();
+        if (limit == null) {
+            sendAsync(request, attempt, null, result, exchange);
+        } else if (limit.getMode() == RateLimitConfig.Mode.TRY) {
+            if (limit.getRateLimiter().tryAcquire()) {
+                sendAsync(request, attempt, limit, result, exchange);
+            } else {
+                result.completeExceptionally(rateLimitExceeded());
+            }
+        } else {
+            // Queue the request until a permit is granted, without holding a thread while waiting.
+            CompletableFuture<Void> permit = limit.getRateLimiter().acquireAsync();
+            BiConsumer<Void, Throwable> send = (granted, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (!result.isDone()) {
+                    sendAsync(request, attempt, limit, result, exchange);
+                }
+            };
+            if (permit.isDone()) {
+                permit.whenComplete(send);
+            } else {
+                // Permits are granted on the rate limiter's scheduler thread, which mustn't be used to sign requests
+                permit.whenCompleteAsync(send, getAsyncExecutor());
+            }
+        }
+    }
+
+    private void sendAsync(final RequestT request,
+                           final int attempt,
+                           final RateLimitConfig.Limit limit,
+                           final CompletableFuture<ResultT> result,
+                           final AtomicReference<Future<HttpResponse>> exchange) {
+        HttpUriRequest httpRequest;
+        try {
+            httpRequest = createHttpRequest(request);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        final RetryPolicy retryPolicy = getRetryPolicy(httpRequest, attempt);
+        final ClientMetrics metrics = getMetrics();
+        final long sent = startTimer(metrics);
+        Future<HttpResponse> previous = exchange.get();
+        Future<HttpResponse> current = this.httpWrapper.getHttpAsyncClient()
+                .execute(httpRequest, new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse response) {
+                        try {
+                            recordResponse(metrics, sent, response);
+                            reportToRateLimiter(limit, response);
+                            long delay = retryPolicy != null ? retryPolicy.getRetryDelay(attempt, response) : -1;
+                            if (delay >= 0) {
+                                EntityUtils.consumeQuietly(response.getEntity());
+                                retryAsync(request, attempt, retryPolicy, delay, result, exchange);
+                                return;
+                            }
+                        } catch (RuntimeException e) {
+                            completeAsync(() -> result.completeExceptionally(e));
+                            return;
+                        }
+                        completeAsync(() -> {
+                            try {
+                                result.complete(handleResponse(response, metrics));
+                            } catch (IOException io) {
+                                result.completeExceptionally(new NexmoMethodFailedException(
+                                        "Something went wrong while executing the HTTP request: " +
+                                                io.getMessage() + ".",
+                                        io
+                                ));
+                            } catch (RuntimeException e) {
+                                result.completeExceptionally(e);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        recordFailure(metrics, sent, ex);
+                        long delay = retryPolicy != null && ex instanceof IOException
+                                ? retryPolicy.getRetryDelay(attempt, (IOException) ex)
+                                : -1;
+                        if (delay >= 0) {
+                            retryAsync(request, attempt, retryPolicy, delay, result, exchange);
+                            return;
+                        }
+                        completeAsync(() -> result.completeExceptionally(new NexmoMethodFailedException(
+                                "Something went wrong while executing the HTTP request: " + ex.getMessage() + ".",
+                                ex
+                        )));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        completeAsync(() -> result.cancel(false));
+                    }
+                });
+
+        // A retry started from within execute has already replaced this attempt
+        if (exchange.compareAndSet(previous, current) && result.isCancelled() && current != null) {
+            current.cancel(true);
+        }
+    }
+
+    /**
+     * Complete a result on the async executor rather than the I/O thread, so that dependent stages can't stall it.
+     */
+    private void completeAsync(Runnable completion) {
+        try {
+            getAsyncExecutor().execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    private void retryAsync(RequestT request,
+                            int attempt,
+                            RetryPolicy retryPolicy,
+                            long delay,
+                            CompletableFuture<ResultT> result,
+                            AtomicReference<Future<HttpResponse>> exchange) {
+        LOG.debug("Retrying after failed attempt " + attempt + " in " + delay + "ms");
+        try {
+            retryPolicy.getScheduler().schedule(() -> {
+                if (!result.isDone()) {
+                    attemptAsync(request, attempt + 1, result, exchange);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new NexmoMethodFailedException("Unable to schedule retry.", e));
+        }
+    }
+
+    /**
+     * Construct the {@link HttpUriRequest} for the provided request object, with authentication applied.
+     *
+     * @param request A RequestT representing input to the REST call to be made
+     *
+     * @return An HttpUriRequest ready to be executed
+     *
+     * @throws NexmoClientException if the request could not be constructed or no appropriate {@link AuthMethod} is
+     *                              available
+     */
+    protected HttpUriRequest createHttpRequest(RequestT request) throws NexmoClientException {
+        ClientMetrics metrics = getMetrics();
+        long start = startTimer(metrics);
         try {
-            RequestBuilder requestBuilder = applyAuth(makeRequest(request));
+            RequestBuilder requestBuilder = makeRequest(request);
+            long authStart = startTimer(metrics);
+            requestBuilder = applyAuth(requestBuilder);
+            long authNanos = metrics != null ? System.nanoTime() - authStart : 0;
             HttpUriRequest httpRequest = requestBuilder.build();
 
             // If we have a URL Encoded form entity, we may need to regenerate it as UTF-8
@@ -95,27 +369,119 @@ public abstract class AbstractMethod<RequestT, ResultT> implements Method<Reques
                     ));
                 }
             }
-            LOG.debug("Request: " + httpRequest);
-            if (LOG.isDebugEnabled() && httpRequest instanceof HttpEntityEnclosingRequestBase) {
-                HttpEntityEnclosingRequestBase enclosingRequest = (HttpEntityEnclosingRequestBase) httpRequest;
-                LOG.debug(EntityUtils.toString(enclosingRequest.getEntity()));
-            }
-            HttpResponse response = this.httpWrapper.getHttpClient().execute(httpRequest);
-
-            LOG.debug("Response: " + LoggingUtils.logResponse(response));
-
-            try{
-                return parseResponse(response);
-            }
-            catch (IOException io){
-                throw new NexmoResponseParseException("Unable to parse response.", io);
+            if (metrics != null) {
+                String endpoint = getEndpointName();
+                metrics.recordPhase(endpoint, RequestPhase.AUTH, authNanos);
+                metrics.recordPhase(endpoint, RequestPhase.BUILD, System.nanoTime() - start - authNanos);
             }
+            getWireTap().logRequest(httpRequest);
+            return httpRequest;
         } catch (UnsupportedEncodingException uee) {
             throw new NexmoUnexpectedException("UTF-8 encoding is not supported by this JVM.", uee);
+        }
+    }
+
+    private ResultT handleResponse(HttpResponse response, ClientMetrics metrics) throws IOException {
+        getWireTap().logResponse(response);
+
+        long start = startTimer(metrics);
+        try {
+            return parseResponse(response);
         } catch (IOException io) {
-            throw new NexmoMethodFailedException("Something went wrong while executing the HTTP request: " +
-                    io.getMessage() + ".", io);
+            throw new NexmoResponseParseException("Unable to parse response.", io);
+        } finally {
+            if (metrics != null) {
+                metrics.recordPhase(getEndpointName(), RequestPhase.PARSE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private Executor getAsyncExecutor() {
+        Executor executor = this.httpWrapper.getAsyncExecutor();
+        return executor != null ? executor : ParallelTasks.sharedExecutor();
+    }
+
+    private WireTap getWireTap() {
+        WireTap wireTap = this.httpWrapper.getWireTap();
+        return wireTap != null ? wireTap : WireTap.defaultTap();
+    }
+
+    /**
+     * @return The metrics to record for this call, or {@code null} if metrics are disabled.
+     */
+    private ClientMetrics getMetrics() {
+        ClientMetrics metrics = this.httpWrapper.getMetrics();
+        return metrics != ClientMetrics.none() ? metrics : null;
+    }
+
+    private String getEndpointName() {
+        if (endpointName == null) {
+            endpointName = getClass().getSimpleName();
         }
+        return endpointName;
+    }
+
+    private static long startTimer(ClientMetrics metrics) {
+        return metrics != null ? System.nanoTime() : 0;
+    }
+
+    private void recordResponse(ClientMetrics metrics, long sent, HttpResponse response) {
+        if (metrics != null) {
+            String endpoint = getEndpointName();
+            metrics.recordPhase(endpoint, RequestPhase.NETWORK, System.nanoTime() - sent);
+            metrics.recordResponse(endpoint, response.getStatusLine().getStatusCode());
+        }
+    }
+
+    private void recordFailure(ClientMetrics metrics, long sent, Exception failure) {
+        if (metrics != null) {
+            String endpoint = getEndpointName();
+            metrics.recordPhase(endpoint, RequestPhase.NETWORK, System.nanoTime() - sent);
+            metrics.recordFailure(endpoint, failure);
+        }
+    }
+
+    private void reportToRateLimiter(RateLimitConfig.Limit limit, HttpResponse response) {
+        if (limit == null) {
+            return;
+        }
+        if (response.getStatusLine().getStatusCode() == TOO_MANY_REQUESTS) {
+            limit.getRateLimiter().onThrottled();
+        } else {
+            limit.getRateLimiter().onSuccess();
+        }
+    }
+
+    /**
+     * @return The retry policy to apply after this attempt, or {@code null} if the request may not be retried.
+     */
+    private RetryPolicy getRetryPolicy(HttpUriRequest httpRequest, int attempt) {
+        RetryPolicy retryPolicy = this.httpWrapper.getRetryPolicy();
+        if (retryPolicy == null || !retryPolicy.appliesTo(getClass(), httpRequest.getMethod())) {
+            return null;
+        }
+        if (attempt == 1) {
+            retryPolicy.onRequest();
+        }
+        return retryPolicy;
+    }
+
+    private void sleepBeforeRetry(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoMethodFailedException("Interrupted while waiting to retry the HTTP request.", e);
+        }
+    }
+
+    private RateLimitConfig.Limit getRateLimit() {
+        RateLimitConfig config = this.httpWrapper.getRateLimitConfig();
+        return config != null ? config.getLimit(getClass()) : null;
+    }
+
+    private NexmoRateLimitExceededException rateLimitExceeded() {
+        return new NexmoRateLimitExceededException("Rate limit exceeded for " + getClass().getSimpleName() + ".");
     }
 
     /**
@@ -21,19 +21,45 @@
  */
 package com.nexmo.client;
 
+import java.time.Duration;
+
 public class HttpConfig {
     private static final String DEFAULT_API_BASE_URI = "https://api.nexmo.com";
     private static final String DEFAULT_REST_BASE_URI = "https://rest.nexmo.com";
     private static final String DEFAULT_SNS_BASE_URI = "https://sns.nexmo.com";
+    private static final int DEFAULT_MAX_CONNECTIONS = 200;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 200;
 
     private String apiBaseUri;
     private String restBaseUri;
     private String snsBaseUri;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private Integer apiMaxConnections;
+    private Integer restMaxConnections;
+    private Integer snsMaxConnections;
+    private Duration connectTimeout;
+    private Duration socketTimeout;
+    private Duration connectionRequestTimeout;
+    private Duration maxKeepAlive;
+    private Duration maxIdleTime;
+    private Duration validateAfterInactivity;
 
     private HttpConfig(Builder builder) {
         this.apiBaseUri = builder.apiBaseUri;
         this.restBaseUri = builder.restBaseUri;
         this.snsBaseUri = builder.snsBaseUri;
+        this.maxConnections = builder.maxConnections;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.apiMaxConnections = builder.apiMaxConnections;
+        this.restMaxConnections = builder.restMaxConnections;
+        this.snsMaxConnections = builder.snsMaxConnections;
+        this.connectTimeout = builder.connectTimeout;
+        this.socketTimeout = builder.socketTimeout;
+        this.connectionRequestTimeout = builder.connectionRequestTimeout;
+        this.maxKeepAlive = builder.maxKeepAlive;
+        this.maxIdleTime = builder.maxIdleTime;
+        this.validateAfterInactivity = builder.validateAfterInactivity;
     }
 
     public String getApiBaseUri() {
@@ -48,6 +74,86 @@ public class HttpConfig {
         return snsBaseUri;
     }
 
+    /**
+     * @return The maximum number of pooled connections across all hosts.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return The maximum number of pooled connections to a host without a host-specific limit.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The maximum number of pooled connections to the API host.
+     */
+    public int getApiMaxConnections() {
+        return apiMaxConnections != null ? apiMaxConnections : maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The maximum number of pooled connections to the REST host.
+     */
+    public int getRestMaxConnections() {
+        return restMaxConnections != null ? restMaxConnections : maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The maximum number of pooled connections to the SNS host.
+     */
+    public int getSnsMaxConnections() {
+        return snsMaxConnections != null ? snsMaxConnections : maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The time allowed to establish a connection, or {@code null} to use the system default.
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @return The maximum inactivity between two packets of a response, or {@code null} to use the system default.
+     */
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    /**
+     * @return The time to wait for a connection from the pool, or {@code null} to wait indefinitely.
+     */
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    /**
+     * @return The longest time an idle connection is kept alive, or {@code null} to follow the server's
+     * {@code Keep-Alive} header.
+     */
+    public Duration getMaxKeepAlive() {
+        return maxKeepAlive;
+    }
+
+    /**
+     * @return The idle time after which pooled connections are closed by a background evictor, or {@code null} if idle
+     * connections are never evicted.
+     */
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * @return The inactivity period after which a pooled connection is checked for staleness before being reused, or
+     * {@code null} to use the HttpClient default.
+     */
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
     public boolean isDefaultApiBaseUri() {
         return DEFAULT_API_BASE_URI.equals(apiBaseUri);
     }
@@ -91,6 +197,17 @@ public class HttpConfig {
         private String apiBaseUri;
         private String restBaseUri;
         private String snsBaseUri;
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        private Integer apiMaxConnections;
+        private Integer restMaxConnections;
+        private Integer snsMaxConnections;
+        private Duration connectTimeout;
+        private Duration socketTimeout;
+        private Duration connectionRequestTimeout;
+        private Duration maxKeepAlive;
+        private Duration maxIdleTime;
+        private Duration validateAfterInactivity;
 
         public Builder() {
             this.apiBaseUri = DEFAULT_API_BASE_URI;
@@ -141,6 +258,123 @@ public class HttpConfig {
             return this;
         }
 
+        /**
+         * @param maxConnections The maximum number of pooled connections across all hosts. Defaults to 200.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = requirePositive(maxConnections, "Maximum connections");
+            return this;
+        }
+
+        /**
+         * @param maxConnectionsPerRoute The maximum number of pooled connections to any single host which has no
+         *                               host-specific limit. Defaults to 200.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = requirePositive(maxConnectionsPerRoute, "Maximum connections per route");
+            return this;
+        }
+
+        /**
+         * @param apiMaxConnections The maximum number of pooled connections to the API host.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder apiMaxConnections(int apiMaxConnections) {
+            this.apiMaxConnections = requirePositive(apiMaxConnections, "Maximum API connections");
+            return this;
+        }
+
+        /**
+         * @param restMaxConnections The maximum number of pooled connections to the REST host.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder restMaxConnections(int restMaxConnections) {
+            this.restMaxConnections = requirePositive(restMaxConnections, "Maximum REST connections");
+            return this;
+        }
+
+        /**
+         * @param snsMaxConnections The maximum number of pooled connections to the SNS host.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder snsMaxConnections(int snsMaxConnections) {
+            this.snsMaxConnections = requirePositive(snsMaxConnections, "Maximum SNS connections");
+            return this;
+        }
+
+        /**
+         * @param connectTimeout The time allowed to establish a connection. Defaults to the system default.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = requireTimeout(connectTimeout, "Connect timeout");
+            return this;
+        }
+
+        /**
+         * @param socketTimeout The maximum inactivity between two packets of a response. Defaults to the system
+         *                      default.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder socketTimeout(Duration socketTimeout) {
+            this.socketTimeout = requireTimeout(socketTimeout, "Socket timeout");
+            return this;
+        }
+
+        /**
+         * @param connectionRequestTimeout The time to wait for a connection from the pool when all connections are in
+         *                                 use. By default requests wait indefinitely.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder connectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = requireTimeout(connectionRequestTimeout, "Connection request timeout");
+            return this;
+        }
+
+        /**
+         * @param maxKeepAlive The longest time an idle connection is kept alive. A shorter duration advertised by the
+         *                     server's {@code Keep-Alive} header is still honoured. By default connections are kept
+         *                     alive for as long as the server allows.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxKeepAlive(Duration maxKeepAlive) {
+            this.maxKeepAlive = requireTimeout(maxKeepAlive, "Maximum keep-alive");
+            return this;
+        }
+
+        /**
+         * @param maxIdleTime Close pooled connections of the blocking client which have been idle for longer than this,
+         *                    as well as expired connections, from a background thread. Disabled by default.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder evictIdleConnections(Duration maxIdleTime) {
+            this.maxIdleTime = requireTimeout(maxIdleTime, "Maximum idle time");
+            return this;
+        }
+
+        /**
+         * @param validateAfterInactivity Check that a pooled connection of the blocking client is still open before
+         *                                reusing it if it has been idle for longer than this. Defaults to two seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder validateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = requireTimeout(validateAfterInactivity, "Validate after inactivity");
+            return this;
+        }
+
         /**
          * @return A new {@link HttpConfig} object from the stored builder options.
          */
@@ -148,6 +382,20 @@ public class HttpConfig {
             return new HttpConfig(this);
         }
 
+        private int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+            return value;
+        }
+
+        private Duration requireTimeout(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.toMillis() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(name + " must be between zero and " + Integer.MAX_VALUE + "ms.");
+            }
+            return duration;
+        }
+
         private String sanitizeUri(String uri) {
             if (uri != null && uri.endsWith("/")) {
                 return uri.substring(0, uri.length() - 1);
@@ -23,26 +23,63 @@ package com.nexmo.client;
 
 import com.nexmo.client.auth.AuthCollection;
 import com.nexmo.client.auth.AuthMethod;
+import com.nexmo.client.common.ParallelTasks;
+import com.nexmo.client.logging.WireTap;
+import com.nexmo.client.metrics.ClientMetrics;
+import com.nexmo.client.ratelimit.RateLimitConfig;
+import com.nexmo.client.retry.RetryPolicy;
+import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.ConnectionConfig;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.ConnPoolControl;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Internal class that holds available authentication methods and a shared HttpClient.
+ * Internal class that holds available authentication methods and a shared HttpClient and HttpAsyncClient.
+ * <p>
+ * The clients created by this class are released by {@link #close()}. The I/O threads of the async client are daemon
+ * threads, so they don't keep the JVM running if it isn't closed.
  */
-public class HttpWrapper {
+public class HttpWrapper implements Closeable {
     private static final String CLIENT_NAME = "nexmo-java";
     private static final String CLIENT_VERSION = "5.6.0";
     private static final String JAVA_VERSION = System.getProperty("java.version");
 
     private AuthCollection authCollection;
     private HttpClient httpClient = null;
+    private HttpAsyncClient httpAsyncClient = null;
+    private boolean ownsHttpClient;
+    private boolean ownsHttpAsyncClient;
     private HttpConfig httpConfig;
+    private RateLimitConfig rateLimitConfig = RateLimitConfig.none();
+    private RetryPolicy retryPolicy = RetryPolicy.none();
+    private ClientMetrics metrics = ClientMetrics.none();
+    private WireTap wireTap = WireTap.defaultTap();
+    private Executor asyncExecutor = ParallelTasks.sharedExecutor();
 
     public HttpWrapper(AuthCollection authCollection) {
         this(HttpConfig.builder().build(), authCollection);
@@ -66,15 +103,134 @@ public class HttpWrapper {
         this.httpConfig = httpConfig;
     }
 
-    public HttpClient getHttpClient() {
+    public synchronized HttpClient getHttpClient() {
         if (this.httpClient == null) {
             this.httpClient = createHttpClient();
+            this.ownsHttpClient = true;
         }
         return this.httpClient;
     }
 
-    public void setHttpClient(HttpClient httpClient) {
+    /**
+     * @param httpClient A custom {@link HttpClient}. It is the caller's responsibility to close it.
+     */
+    public synchronized void setHttpClient(HttpClient httpClient) {
         this.httpClient = httpClient;
+        this.ownsHttpClient = false;
+    }
+
+    /**
+     * Obtain the non-blocking client used by {@link AbstractMethod#executeAsync(Object)}. The default client is created
+     * and started on first use.
+     *
+     * @return The shared {@link HttpAsyncClient}
+     */
+    public synchronized HttpAsyncClient getHttpAsyncClient() {
+        if (this.httpAsyncClient == null) {
+            this.httpAsyncClient = createHttpAsyncClient();
+            this.ownsHttpAsyncClient = true;
+        }
+        return this.httpAsyncClient;
+    }
+
+    /**
+     * @param httpAsyncClient A custom {@link HttpAsyncClient}. It is the caller's responsibility to start and close
+     *                        it.
+     */
+    public synchronized void setHttpAsyncClient(HttpAsyncClient httpAsyncClient) {
+        this.httpAsyncClient = httpAsyncClient;
+        this.ownsHttpAsyncClient = false;
+    }
+
+    /**
+     * Close the clients created by this wrapper, releasing their connections and threads. Clients supplied with
+     * {@link #setHttpClient(HttpClient)} or {@link #setHttpAsyncClient(HttpAsyncClient)} are left open. New clients
+     * are created if further requests are made.
+     *
+     * @throws IOException if a client fails to close.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        HttpClient client = this.ownsHttpClient ? this.httpClient : null;
+        HttpAsyncClient asyncClient = this.ownsHttpAsyncClient ? this.httpAsyncClient : null;
+        if (client != null) {
+            this.httpClient = null;
+            this.ownsHttpClient = false;
+        }
+        if (asyncClient != null) {
+            this.httpAsyncClient = null;
+            this.ownsHttpAsyncClient = false;
+        }
+
+        try {
+            if (client instanceof Closeable) {
+                ((Closeable) client).close();
+            }
+        } finally {
+            if (asyncClient instanceof Closeable) {
+                ((Closeable) asyncClient).close();
+            }
+        }
+    }
+
+    /**
+     * @return The client-side rate limits applied to requests for each endpoint.
+     */
+    public RateLimitConfig getRateLimitConfig() {
+        return rateLimitConfig;
+    }
+
+    public void setRateLimitConfig(RateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+    }
+
+    /**
+     * @return The policy for retrying failed requests.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * @return The recipient of measurements of each API call.
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param metrics The recipient of measurements of each API call. Connection pool metrics are only recorded for
+     *                clients created after this is set.
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return The debug logger for requests and responses.
+     */
+    public WireTap getWireTap() {
+        return wireTap;
+    }
+
+    public void setWireTap(WireTap wireTap) {
+        this.wireTap = wireTap;
+    }
+
+    /**
+     * @return The executor on which the futures returned by asynchronous calls are completed, and on which requests
+     * waiting for a rate limit permit are sent.
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
     }
 
     public AuthCollection getAuthCollection() {
@@ -87,26 +243,140 @@ public class HttpWrapper {
 
     protected HttpClient createHttpClient() {
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setDefaultMaxPerRoute(200);
-        connectionManager.setMaxTotal(200);
         connectionManager.setDefaultConnectionConfig(ConnectionConfig
                 .custom()
                 .setCharset(Charset.forName("UTF-8"))
                 .build());
         connectionManager.setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(true).build());
+        if (httpConfig.getValidateAfterInactivity() != null) {
+            connectionManager.setValidateAfterInactivity((int) httpConfig.getValidateAfterInactivity().toMillis());
+        }
+        applyPoolLimits(connectionManager);
 
-        // Need to work out a good value for the following:
-        // threadSafeClientConnManager.setValidateAfterInactivity();
+        HttpClientConnectionManager instrumentedManager = connectionManager;
+        if (metrics != null && metrics != ClientMetrics.none()) {
+            metrics.bindConnectionPool("sync", connectionManager);
+            instrumentedManager = new InstrumentedConnectionManager(connectionManager, metrics);
+        }
+
+        HttpClientBuilder builder = HttpClientBuilder
+                .create()
+                .setConnectionManager(instrumentedManager)
+                .setKeepAliveStrategy(createKeepAliveStrategy())
+                .setUserAgent(getUserAgent())
+                .setDefaultRequestConfig(createRequestConfig())
+                .useSystemProperties();
+        if (httpConfig.getMaxIdleTime() != null) {
+            builder.evictExpiredConnections()
+                    .evictIdleConnections(httpConfig.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return builder.build();
+    }
 
-        RequestConfig requestConfig = RequestConfig.custom().build();
+    protected HttpAsyncClient createHttpAsyncClient() {
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig
+                    .custom()
+                    .setTcpNoDelay(true)
+                    .build(), createDaemonThreadFactory("nexmo-async-io-")));
+        } catch (IOReactorException e) {
+            throw new NexmoUnexpectedException("Unable to create I/O reactor for the async HTTP client.", e);
+        }
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig
+                .custom()
+                .setCharset(Charset.forName("UTF-8"))
+                .build());
+        applyPoolLimits(connectionManager);
+        if (metrics != null && metrics != ClientMetrics.none()) {
+            metrics.bindConnectionPool("async", connectionManager);
+        }
 
-        return HttpClientBuilder
+        CloseableHttpAsyncClient client = HttpAsyncClientBuilder
                 .create()
                 .setConnectionManager(connectionManager)
-                .setUserAgent(String.format("%s/%s java/%s", CLIENT_NAME, CLIENT_VERSION, JAVA_VERSION))
-                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(createKeepAliveStrategy())
+                .setUserAgent(getUserAgent())
+                .setDefaultRequestConfig(createRequestConfig())
+                .setThreadFactory(createDaemonThreadFactory("nexmo-async-reactor-"))
                 .useSystemProperties()
                 .build();
+        client.start();
+        return client;
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    protected RequestConfig createRequestConfig() {
+        RequestConfig.Builder builder = RequestConfig.custom();
+        if (httpConfig.getConnectTimeout() != null) {
+            builder.setConnectTimeout((int) httpConfig.getConnectTimeout().toMillis());
+        }
+        if (httpConfig.getSocketTimeout() != null) {
+            builder.setSocketTimeout((int) httpConfig.getSocketTimeout().toMillis());
+        }
+        if (httpConfig.getConnectionRequestTimeout() != null) {
+            builder.setConnectionRequestTimeout((int) httpConfig.getConnectionRequestTimeout().toMillis());
+        }
+        return builder.build();
+    }
+
+    private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+        if (httpConfig.getMaxKeepAlive() == null) {
+            return DefaultConnectionKeepAliveStrategy.INSTANCE;
+        }
+
+        final long maxKeepAlive = httpConfig.getMaxKeepAlive().toMillis();
+        return (response, context) -> {
+            long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? Math.min(advertised, maxKeepAlive) : maxKeepAlive;
+        };
+    }
+
+    private void applyPoolLimits(ConnPoolControl<HttpRoute> pool) {
+        pool.setMaxTotal(httpConfig.getMaxConnections());
+        pool.setDefaultMaxPerRoute(httpConfig.getMaxConnectionsPerRoute());
+        // Routes are registered in order of increasing precedence, so a limit for one host isn't undone by another
+        // which shares the same base URI.
+        setMaxPerRoute(pool, httpConfig.getSnsBaseUri(), httpConfig.getSnsMaxConnections());
+        setMaxPerRoute(pool, httpConfig.getRestBaseUri(), httpConfig.getRestMaxConnections());
+        setMaxPerRoute(pool, httpConfig.getApiBaseUri(), httpConfig.getApiMaxConnections());
+    }
+
+    private void setMaxPerRoute(ConnPoolControl<HttpRoute> pool, String baseUri, int max) {
+        HttpRoute route = createRoute(baseUri);
+        if (route != null) {
+            pool.setMaxPerRoute(route, max);
+        }
+    }
+
+    /**
+     * Build the direct route used to connect to a base URI, matching the route HttpClient plans for requests to that
+     * host when no proxy is in use.
+     */
+    static HttpRoute createRoute(String baseUri) {
+        try {
+            URI uri = new URI(baseUri);
+            if (uri.getHost() == null) {
+                return null;
+            }
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+            return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private String getUserAgent() {
+        return String.format("%s/%s java/%s", CLIENT_NAME, CLIENT_VERSION, JAVA_VERSION);
     }
 
     public HttpConfig getHttpConfig() {
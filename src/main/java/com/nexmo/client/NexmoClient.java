@@ -25,20 +25,28 @@ package com.nexmo.client;
 import com.nexmo.client.account.AccountClient;
 import com.nexmo.client.application.ApplicationClient;
 import com.nexmo.client.auth.*;
+import com.nexmo.client.common.ParallelTasks;
 import com.nexmo.client.conversion.ConversionClient;
+import com.nexmo.client.insight.InsightCacheConfig;
 import com.nexmo.client.insight.InsightClient;
+import com.nexmo.client.logging.WireTap;
+import com.nexmo.client.metrics.ClientMetrics;
 import com.nexmo.client.numbers.NumbersClient;
+import com.nexmo.client.ratelimit.RateLimitConfig;
 import com.nexmo.client.redact.RedactClient;
+import com.nexmo.client.retry.RetryPolicy;
 import com.nexmo.client.sms.SmsClient;
 import com.nexmo.client.sns.SnsClient;
 import com.nexmo.client.verify.VerifyClient;
 import com.nexmo.client.voice.VoiceClient;
 import org.apache.http.client.HttpClient;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.Executor;
 
 /**
  * Top-level Nexmo API client object.
@@ -48,8 +56,11 @@ import java.nio.file.Paths;
  * <p>
  * Currently this object only constructs and provides access to {@link VoiceClient}. In the future it will manage
  * clients for all of the Nexmo APIs.
+ * <p>
+ * Call {@link #close()} when the client is no longer needed, to release the connections and threads used to make
+ * requests.
  */
-public class NexmoClient {
+public class NexmoClient implements Closeable {
     private AccountClient account;
     private ApplicationClient application;
     private InsightClient insight;
@@ -65,10 +76,15 @@ public class NexmoClient {
     private NexmoClient(Builder builder) {
         this.httpWrapper = new HttpWrapper(builder.httpConfig, builder.authCollection);
         this.httpWrapper.setHttpClient(builder.httpClient);
+        this.httpWrapper.setRateLimitConfig(builder.rateLimitConfig);
+        this.httpWrapper.setRetryPolicy(builder.retryPolicy);
+        this.httpWrapper.setMetrics(builder.metrics);
+        this.httpWrapper.setWireTap(builder.wireTap);
+        this.httpWrapper.setAsyncExecutor(builder.asyncExecutor);
 
         this.account = new AccountClient(this.httpWrapper);
         this.application = new ApplicationClient(this.httpWrapper);
-        this.insight = new InsightClient(this.httpWrapper);
+        this.insight = new InsightClient(this.httpWrapper, builder.insightCacheConfig);
         this.numbers = new NumbersClient(this.httpWrapper);
         this.verify = new VerifyClient(this.httpWrapper);
         this.voice = new VoiceClient(this.httpWrapper);
@@ -130,6 +146,17 @@ public class NexmoClient {
         return authMethod.generateToken();
     }
 
+    /**
+     * Close the HTTP clients used by this client, releasing their connections and threads. An HTTP client supplied
+     * with {@link Builder#httpClient(HttpClient)} is left open.
+     *
+     * @throws IOException if an HTTP client fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        this.httpWrapper.close();
+    }
+
     /**
      * @return The {@link HttpWrapper}
      */
@@ -149,7 +176,15 @@ public class NexmoClient {
         private String apiKey;
         private String apiSecret;
         private String signatureSecret;
+        private SignatureMethod signatureMethod = SignatureMethod.MD5_HASH;
         private byte[] privateKeyContents;
+        private JWTTokenCacheConfig jwtTokenCacheConfig = JWTTokenCacheConfig.defaultConfig();
+        private RateLimitConfig rateLimitConfig = RateLimitConfig.none();
+        private RetryPolicy retryPolicy = RetryPolicy.none();
+        private ClientMetrics metrics = ClientMetrics.none();
+        private WireTap wireTap = WireTap.defaultTap();
+        private Executor asyncExecutor = ParallelTasks.sharedExecutor();
+        private InsightCacheConfig insightCacheConfig = InsightCacheConfig.disabled();
 
         /**
          * @param httpConfig Configuration options for the {@link HttpWrapper}
@@ -220,6 +255,98 @@ public class NexmoClient {
             return this;
         }
 
+        /**
+         * @param signatureMethod The signature method configured for your account in the dashboard. Defaults to
+         *                        {@link SignatureMethod#MD5_HASH}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder signatureMethod(SignatureMethod signatureMethod) {
+            this.signatureMethod = signatureMethod;
+            return this;
+        }
+
+        /**
+         * @param jwtTokenCacheConfig Controls how long signed tokens are reused when authenticating with a {@link
+         *                            JWTAuthMethod}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder jwtTokenCacheConfig(JWTTokenCacheConfig jwtTokenCacheConfig) {
+            this.jwtTokenCacheConfig = jwtTokenCacheConfig;
+            return this;
+        }
+
+        /**
+         * @param rateLimitConfig The client-side rate limits applied to requests for each endpoint.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder rateLimitConfig(RateLimitConfig rateLimitConfig) {
+            this.rateLimitConfig = rateLimitConfig;
+            return this;
+        }
+
+        /**
+         * @param retryPolicy The policy for retrying failed requests. By default requests are not retried.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * @param metrics The recipient of per-endpoint latencies, status codes and connection pool usage. By default
+         *                nothing is recorded.
+         *
+         * @return The {@link Builder} to keep building.
+         *
+         * @see com.nexmo.client.metrics.micrometer.MicrometerClientMetrics
+         */
+        public Builder metrics(ClientMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * @param wireTap Controls how requests and responses are logged when debug logging is enabled for
+         *                {@link WireTap}, including how much of each body is logged and which values are redacted.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder wireTap(WireTap wireTap) {
+            this.wireTap = wireTap;
+            return this;
+        }
+
+        /**
+         * @param asyncExecutor The executor on which responses to asynchronous calls are parsed and their futures are
+         *                      completed, so that callbacks attached to them never run on the HTTP client's I/O
+         *                      threads. By default a shared pool of daemon threads is used.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder asyncExecutor(Executor asyncExecutor) {
+            if (asyncExecutor == null) {
+                throw new IllegalArgumentException("Async executor must not be null.");
+            }
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * @param insightCacheConfig Whether and for how long Number Insight results are reused for later lookups of the
+         *                           same number. By default every lookup makes a request.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder insightCacheConfig(InsightCacheConfig insightCacheConfig) {
+            this.insightCacheConfig = insightCacheConfig;
+            return this;
+        }
+
         /**
          * When setting the contents of your private key, it is also expected that {@link #applicationId(String)} will
          * also be set.
@@ -307,11 +434,11 @@ public class NexmoClient {
             }
 
             if (key != null && signature != null) {
-                authMethods.add(new SignatureAuthMethod(key, signature));
+                authMethods.add(new SignatureAuthMethod(key, signature, this.signatureMethod));
             }
 
             if (applicationId != null && privateKeyContents != null) {
-                authMethods.add(new JWTAuthMethod(applicationId, privateKeyContents));
+                authMethods.add(new JWTAuthMethod(applicationId, privateKeyContents, this.jwtTokenCacheConfig));
             }
 
             return authMethods;
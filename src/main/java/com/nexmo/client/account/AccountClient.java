@@ -23,6 +23,8 @@ package com.nexmo.client.account;
 
 import com.nexmo.client.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A client for talking to the Nexmo Account API. The standard way to obtain an instance of this class is to use {@link
  * NexmoClient#getAccountClient()} ()}.
@@ -239,4 +241,54 @@ public class AccountClient extends AbstractClient {
     public SettingsResponse updateSettings(SettingsRequest request) throws NexmoResponseParseException, NexmoClientException {
         return this.settings.updateSettings(request);
     }
+
+    /**
+     * Obtain the current balance of the Nexmo account without blocking the calling thread.
+     *
+     * @return A CompletableFuture which will be completed with a {@link BalanceResponse}.
+     *
+     * @see #getBalance()
+     */
+    public CompletableFuture<BalanceResponse> getBalanceAsync() {
+        return this.balance.executeAsync();
+    }
+
+    /**
+     * Retrieve the voice pricing for a specified country without blocking the calling thread.
+     *
+     * @param country The two-character country code for which you would like to retrieve pricing.
+     *
+     * @return A CompletableFuture which will be completed with a {@link PricingResponse}.
+     *
+     * @see #getVoicePrice(String)
+     */
+    public CompletableFuture<PricingResponse> getVoicePriceAsync(String country) {
+        return this.pricing.getPriceAsync(ServiceType.VOICE, new PricingRequest(country));
+    }
+
+    /**
+     * Retrieve the SMS pricing for a specified country without blocking the calling thread.
+     *
+     * @param country The two-character country code for which you would like to retrieve pricing.
+     *
+     * @return A CompletableFuture which will be completed with a {@link PricingResponse}.
+     *
+     * @see #getSmsPrice(String)
+     */
+    public CompletableFuture<PricingResponse> getSmsPriceAsync(String country) {
+        return this.pricing.getPriceAsync(ServiceType.SMS, new PricingRequest(country));
+    }
+
+    /**
+     * Update the account settings without blocking the calling thread.
+     *
+     * @param request The {@link SettingsRequest} containing the fields to update.
+     *
+     * @return A CompletableFuture which will be completed with a {@link SettingsResponse}.
+     *
+     * @see #updateSettings(SettingsRequest)
+     */
+    public CompletableFuture<SettingsResponse> updateSettingsAsync(SettingsRequest request) {
+        return this.settings.updateSettingsAsync(request);
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CompletableFuture;
 
 class BalanceEndpoint extends AbstractMethod<Void, BalanceResponse> {
 
@@ -55,6 +56,10 @@ class BalanceEndpoint extends AbstractMethod<Void, BalanceResponse> {
         return this.execute(null);
     }
 
+    public CompletableFuture<BalanceResponse> executeAsync() {
+        return this.executeAsync(null);
+    }
+
     @Override
     public BalanceResponse parseResponse(HttpResponse response) throws IOException {
         return BalanceResponse.fromJson(new BasicResponseHandler().handleResponse(response));
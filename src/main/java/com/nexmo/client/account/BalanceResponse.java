@@ -23,8 +23,8 @@ package com.nexmo.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -50,8 +50,7 @@ public class BalanceResponse {
 
     public static BalanceResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, BalanceResponse.class);
+            return MapperRegistry.reader(BalanceResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce BalanceResponse from json.", jpe);
         }
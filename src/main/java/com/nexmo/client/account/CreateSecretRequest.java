@@ -23,8 +23,8 @@ package com.nexmo.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 public class CreateSecretRequest {
     @JsonIgnore
@@ -46,8 +46,7 @@ public class CreateSecretRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return MapperRegistry.writer().writeValueAsString(this);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from CreateSecretRequest object.", jpe);
         }
@@ -27,9 +27,10 @@ import com.nexmo.client.NexmoBadRequestException;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.auth.SignatureAuthMethod;
 import com.nexmo.client.auth.TokenAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
+import com.nexmo.client.common.MapperRegistry;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
@@ -37,6 +38,8 @@ import java.io.UnsupportedEncodingException;
 
 class ListSecretsMethod extends AbstractMethod<String, ListSecretsResponse> {
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{SignatureAuthMethod.class, TokenAuthMethod.class};
+    private static final JsonResponseHandler<ListSecretsResponse> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(MapperRegistry.Profile.HAL, ListSecretsResponse.class);
 
     private static final String PATH = "/accounts/%s/secrets";
 
@@ -65,7 +68,7 @@ class ListSecretsMethod extends AbstractMethod<String, ListSecretsResponse> {
             throw new NexmoBadRequestException(EntityUtils.toString(response.getEntity()));
         }
 
-        return ListSecretsResponse.fromJson(new BasicResponseHandler().handleResponse(response));
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 
     @Override
@@ -22,8 +22,8 @@
 package com.nexmo.client.account;
 
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import io.openapitools.jackson.dataformat.hal.HALLink;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.EmbeddedResource;
 import io.openapitools.jackson.dataformat.hal.annotation.Link;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
@@ -49,7 +49,7 @@ public class ListSecretsResponse {
 
     public static ListSecretsResponse fromJson(String json) {
         try {
-            return new HALMapper().readValue(json, ListSecretsResponse.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.HAL, ListSecretsResponse.class).readValue(json);
         } catch (IOException e) {
             throw new NexmoUnexpectedException("Failed to produce ListSecretsResponse from json.", e);
         }
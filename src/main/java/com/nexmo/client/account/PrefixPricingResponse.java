@@ -22,8 +22,8 @@
 package com.nexmo.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.List;
@@ -43,7 +43,7 @@ public class PrefixPricingResponse {
 
     public static PrefixPricingResponse fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, PrefixPricingResponse.class);
+            return MapperRegistry.reader(PrefixPricingResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce PrefixPricingResponse from json.", jpe);
         }
@@ -25,6 +25,7 @@ import com.nexmo.client.HttpWrapper;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 class PricingEndpoint {
     private Map<ServiceType, PricingMethod> methods = new HashMap<>();
@@ -41,4 +42,12 @@ class PricingEndpoint {
 
         throw new IllegalArgumentException("Unknown Service Type: " + serviceType);
     }
+
+    CompletableFuture<PricingResponse> getPriceAsync(ServiceType serviceType, PricingRequest request) {
+        if (this.methods.containsKey(serviceType)) {
+            return this.methods.get(serviceType).executeAsync(request);
+        }
+
+        throw new IllegalArgumentException("Unknown Service Type: " + serviceType);
+    }
 }
@@ -23,8 +23,8 @@ package com.nexmo.client.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -61,7 +61,7 @@ public class PricingResponse {
 
     public static PricingResponse fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, PricingResponse.class);
+            return MapperRegistry.reader(PricingResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce PricingResponse from json.", jpe);
         }
@@ -22,10 +22,9 @@
 package com.nexmo.client.account;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import io.openapitools.jackson.dataformat.hal.HALLink;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.Link;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
 
@@ -56,9 +55,7 @@ public class SecretResponse {
 
     public static SecretResponse fromJson(String json) {
         try {
-            HALMapper mapper = new HALMapper();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            return mapper.readValue(json, SecretResponse.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.HAL, SecretResponse.class).readValue(json);
         } catch (IOException e) {
             throw new NexmoUnexpectedException("Failed to produce SecretResponse from json.", e);
         }
@@ -23,6 +23,8 @@ package com.nexmo.client.account;
 
 import com.nexmo.client.HttpWrapper;
 
+import java.util.concurrent.CompletableFuture;
+
 class SettingsEndpoint {
     private SettingsMethod method;
 
@@ -33,4 +35,8 @@ class SettingsEndpoint {
     SettingsResponse updateSettings(SettingsRequest request) {
         return this.method.execute(request);
     }
+
+    CompletableFuture<SettingsResponse> updateSettingsAsync(SettingsRequest request) {
+        return this.method.executeAsync(request);
+    }
 }
@@ -24,8 +24,8 @@ package com.nexmo.client.account;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -82,8 +82,7 @@ public class SettingsResponse {
 
     public static SettingsResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SettingsResponse.class);
+            return MapperRegistry.reader(SettingsResponse.class).readValue(json);
         } catch (IOException e) {
             throw new NexmoUnexpectedException("Failed to produce SettingsResponse from json.", e);
         }
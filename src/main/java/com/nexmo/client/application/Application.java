@@ -25,9 +25,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
 import com.nexmo.client.application.capabilities.*;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -68,7 +68,7 @@ public class Application {
 
     public String toJson() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return MapperRegistry.writer().writeValueAsString(this);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from Application object.", jpe);
         }
@@ -94,7 +94,7 @@ public class Application {
 
     public static Application fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, Application.class);
+            return MapperRegistry.reader(Application.class).readValue(json);
         } catch (IOException e) {
             throw new NexmoUnexpectedException("Failed to produce Application from json.", e);
         }
@@ -22,6 +22,10 @@
 package com.nexmo.client.application;
 
 import com.nexmo.client.*;
+import com.nexmo.client.common.PagedIterable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Nexmo Application API. The standard way to obtain an instance of this class is to use
@@ -114,4 +118,112 @@ public class ApplicationClient extends AbstractClient {
     public ApplicationList listApplications(ListApplicationRequest listApplicationRequest) throws NexmoResponseParseException, NexmoClientException {
         return this.applicationEndpoint.list(listApplicationRequest);
     }
+
+    /**
+     * Iterate over all applications, fetching each page as it is needed.
+     *
+     * @return A {@link PagedIterable} of every application.
+     *
+     * @see #listAllApplications(ListApplicationRequest)
+     */
+    public PagedIterable<Application> listAllApplications() {
+        return listAllApplications(null);
+    }
+
+    /**
+     * Iterate over all applications, requesting each page as the previous page is used up until the last page is
+     * reached. No request is made until the first application is needed.
+     *
+     * @param listApplicationRequest The number of applications per page and the first page to list, or {@code null}
+     *                               for the defaults.
+     *
+     * @return A {@link PagedIterable} of the applications. Use {@link PagedIterable#withPrefetch()} to request each
+     * page in the background while the previous one is processed.
+     */
+    public PagedIterable<Application> listAllApplications(ListApplicationRequest listApplicationRequest) {
+        return new PagedIterable<>(listApplicationRequest, new ApplicationListPageSource(applicationEndpoint));
+    }
+
+    /**
+     * Fetch all applications. Once the first page shows how many pages there are, the remaining pages are requested
+     * concurrently.
+     *
+     * @param listApplicationRequest The number of applications per page and the first page to fetch, or {@code null}
+     *                               for the defaults.
+     * @param parallelism            The most pages to request at once.
+     *
+     * @return The applications, in the order the API lists them.
+     *
+     * @throws NexmoResponseParseException if the response from the API could not be parsed.
+     * @throws NexmoClientException        if there was a problem with the Nexmo request.
+     * @see PagedIterable#fetchAll(int, java.util.concurrent.Executor)
+     */
+    public List<Application> fetchAllApplications(ListApplicationRequest listApplicationRequest, int parallelism) throws NexmoResponseParseException, NexmoClientException {
+        return listAllApplications(listApplicationRequest).fetchAll(parallelism);
+    }
+
+    /**
+     * Create a new application without blocking the calling thread.
+     *
+     * @param application The application properties for the application to be created with.
+     *
+     * @return A CompletableFuture which will be completed with the application which has been created.
+     *
+     * @see #createApplication(Application)
+     */
+    public CompletableFuture<Application> createApplicationAsync(Application application) {
+        return this.applicationEndpoint.createAsync(application);
+    }
+
+    /**
+     * Update an existing application without blocking the calling thread.
+     *
+     * @param application The application properties for the application to be updated.
+     *
+     * @return A CompletableFuture which will be completed with the application which has been updated.
+     *
+     * @see #updateApplication(Application)
+     */
+    public CompletableFuture<Application> updateApplicationAsync(Application application) {
+        return this.applicationEndpoint.updateAsync(application);
+    }
+
+    /**
+     * Retrieve an application without blocking the calling thread.
+     *
+     * @param id The id of the application to retrieve.
+     *
+     * @return A CompletableFuture which will be completed with the corresponding application.
+     *
+     * @see #getApplication(String)
+     */
+    public CompletableFuture<Application> getApplicationAsync(String id) {
+        return this.applicationEndpoint.getAsync(id);
+    }
+
+    /**
+     * Delete an application without blocking the calling thread.
+     *
+     * @param id The id of the application to delete.
+     *
+     * @return A CompletableFuture which will be completed once the application has been deleted.
+     *
+     * @see #deleteApplication(String)
+     */
+    public CompletableFuture<Void> deleteApplicationAsync(String id) {
+        return this.applicationEndpoint.deleteAsync(id);
+    }
+
+    /**
+     * List the applications associated with the account without blocking the calling thread.
+     *
+     * @param listApplicationRequest The page number and size of the results to return.
+     *
+     * @return A CompletableFuture which will be completed with the list of applications.
+     *
+     * @see #listApplications(ListApplicationRequest)
+     */
+    public CompletableFuture<ApplicationList> listApplicationsAsync(ListApplicationRequest listApplicationRequest) {
+        return this.applicationEndpoint.listAsync(listApplicationRequest);
+    }
 }
@@ -23,6 +23,8 @@ package com.nexmo.client.application;
 
 import com.nexmo.client.HttpWrapper;
 
+import java.util.concurrent.CompletableFuture;
+
 class ApplicationEndpoint {
     private CreateApplicationMethod createApplicationMethod;
     private UpdateApplicationMethod updateApplicationMethod;
@@ -57,4 +59,24 @@ class ApplicationEndpoint {
     ApplicationList list(ListApplicationRequest request) {
         return this.listApplicationsMethod.execute(request);
     }
+
+    CompletableFuture<Application> createAsync(Application application) {
+        return this.createApplicationMethod.executeAsync(application);
+    }
+
+    CompletableFuture<Application> updateAsync(Application application) {
+        return this.updateApplicationMethod.executeAsync(application);
+    }
+
+    CompletableFuture<Application> getAsync(String id) {
+        return this.getApplicationMethod.executeAsync(id);
+    }
+
+    CompletableFuture<Void> deleteAsync(String id) {
+        return this.deleteApplicationMethod.executeAsync(id);
+    }
+
+    CompletableFuture<ApplicationList> listAsync(ListApplicationRequest request) {
+        return this.listApplicationsMethod.executeAsync(request);
+    }
 }
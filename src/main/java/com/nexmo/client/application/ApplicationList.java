@@ -24,8 +24,8 @@ package com.nexmo.client.application;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import com.nexmo.client.common.PageList;
-import io.openapitools.jackson.dataformat.hal.HALMapper;
 import io.openapitools.jackson.dataformat.hal.annotation.EmbeddedResource;
 import io.openapitools.jackson.dataformat.hal.annotation.Resource;
 
@@ -45,7 +45,7 @@ public class ApplicationList extends PageList {
 
     public static ApplicationList fromJson(String json) {
         try {
-            return new HALMapper().readValue(json, ApplicationList.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.HAL, ApplicationList.class).readValue(json);
         } catch (IOException e) {
             throw new NexmoUnexpectedException("Failed to produce ApplicationList from json", e);
         }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.application;
+
+import com.nexmo.client.common.IndexedPageSource;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Requests each page of applications in turn until {@code total_pages} is reached.
+ */
+class ApplicationListPageSource implements IndexedPageSource<ListApplicationRequest, ApplicationList, Application> {
+    private final ApplicationEndpoint applications;
+
+    ApplicationListPageSource(ApplicationEndpoint applications) {
+        this.applications = applications;
+    }
+
+    @Override
+    public ApplicationList fetch(ListApplicationRequest request) {
+        return applications.list(request);
+    }
+
+    @Override
+    public ListApplicationRequest next(ListApplicationRequest request, ApplicationList page) {
+        long current = currentPage(request, page);
+        if (current >= page.getTotalPages() || page.getApplications() == null || page.getApplications().isEmpty()) {
+            return null;
+        }
+        return request(request, current + 1);
+    }
+
+    @Override
+    public int pageCount(ListApplicationRequest firstRequest, ApplicationList firstPage) {
+        if (firstPage.getApplications() == null || firstPage.getApplications().isEmpty()) {
+            return 1;
+        }
+        return (int) Math.max(1, firstPage.getTotalPages() - currentPage(firstRequest, firstPage) + 1);
+    }
+
+    @Override
+    public ListApplicationRequest request(ListApplicationRequest firstRequest, ApplicationList firstPage, int index) {
+        return request(firstRequest, currentPage(firstRequest, firstPage) + index);
+    }
+
+    @Override
+    public Iterable<Application> items(ApplicationList page) {
+        List<Application> items = page.getApplications();
+        return items != null ? items : Collections.emptyList();
+    }
+
+    private static long currentPage(ListApplicationRequest request, ApplicationList page) {
+        if (page.getPage() > 0) {
+            return page.getPage();
+        }
+        return request != null && request.getPage() > 0 ? request.getPage() : 1;
+    }
+
+    private static ListApplicationRequest request(ListApplicationRequest request, long page) {
+        return ListApplicationRequest.builder().pageSize(request != null ? request.getPageSize() : 0).page(page).build();
+    }
+}
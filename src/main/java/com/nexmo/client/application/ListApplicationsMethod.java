@@ -26,9 +26,10 @@ import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoBadRequestException;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.auth.TokenAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
+import com.nexmo.client.common.MapperRegistry;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
@@ -36,6 +37,8 @@ import java.io.UnsupportedEncodingException;
 
 class ListApplicationsMethod extends AbstractMethod<ListApplicationRequest, ApplicationList> {
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{TokenAuthMethod.class};
+    private static final JsonResponseHandler<ApplicationList> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(MapperRegistry.Profile.HAL, ApplicationList.class);
 
     private static final String PATH = "/applications";
 
@@ -73,7 +76,7 @@ class ListApplicationsMethod extends AbstractMethod<ListApplicationRequest, Appl
             throw new NexmoBadRequestException(EntityUtils.toString(response.getEntity()));
         }
 
-        return ApplicationList.fromJson(new BasicResponseHandler().handleResponse(response));
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 
     @Override
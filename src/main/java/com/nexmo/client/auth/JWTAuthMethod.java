@@ -27,26 +27,51 @@ import org.apache.http.client.methods.RequestBuilder;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
 public class JWTAuthMethod extends AbstractAuthMethod {
     private static final int SORT_KEY = 10;
+    private final String applicationId;
+    private final String privateKeyContents;
     private Jwt jwt;
+    private JWTTokenCache tokenCache;
 
     public JWTAuthMethod(final String applicationId, final byte[] privateKey) {
-        this.jwt = Jwt.builder().applicationId(applicationId).privateKeyContents(new String(privateKey)).build();
+        this(applicationId, privateKey, JWTTokenCacheConfig.defaultConfig());
+    }
+
+    /**
+     * @param applicationId    The id of the application to generate tokens for.
+     * @param privateKey       The contents of the application's private key.
+     * @param tokenCacheConfig Controls how long signed tokens are reused by {@link #apply(RequestBuilder)}.
+     */
+    public JWTAuthMethod(final String applicationId, final byte[] privateKey, JWTTokenCacheConfig tokenCacheConfig) {
+        this.applicationId = applicationId;
+        this.privateKeyContents = new String(privateKey);
+        this.jwt = Jwt.builder().applicationId(applicationId).privateKeyContents(this.privateKeyContents).build();
+        if (tokenCacheConfig.isEnabled()) {
+            this.tokenCache = new JWTTokenCache(this::signToken, tokenCacheConfig);
+        }
     }
 
     public JWTAuthMethod(String applicationId, Path path) throws IOException {
         this(applicationId, Files.readAllBytes(path));
     }
 
+    /**
+     * Generate a new token. Tokens generated by this method are never reused by {@link #apply(RequestBuilder)}.
+     *
+     * @return A String containing the token data.
+     */
     public String generateToken() {
         return this.jwt.generate();
     }
 
     @Override
     public RequestBuilder apply(RequestBuilder request) {
-        String token = this.jwt.generate();
+        String token = this.tokenCache != null ? this.tokenCache.getToken() : this.jwt.generate();
 
         request.setHeader("Authorization", "Bearer " + token);
         return request;
@@ -56,4 +81,14 @@ public class JWTAuthMethod extends AbstractAuthMethod {
     public int getSortKey() {
         return SORT_KEY;
     }
+
+    private String signToken(Instant issuedAt, Instant expiresAt) {
+        return Jwt.builder()
+                .applicationId(this.applicationId)
+                .privateKeyContents(this.privateKeyContents)
+                .issuedAt(ZonedDateTime.ofInstant(issuedAt, ZoneOffset.UTC))
+                .expiresAt(ZonedDateTime.ofInstant(expiresAt, ZoneOffset.UTC))
+                .build()
+                .generate();
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a signed token and hands it out until it is close to expiry.
+ * <p>
+ * Once the refresh point of the current token has passed, the first caller to notice schedules a replacement on the
+ * configured executor while every caller continues to receive the current token. Only when no usable token exists do
+ * callers block, and then only one of them signs a new token.
+ */
+class JWTTokenCache {
+    private static final Log LOG = LogFactory.getLog(JWTTokenCache.class);
+
+    interface TokenFactory {
+        String generate(Instant issuedAt, Instant expiresAt);
+    }
+
+    private final TokenFactory factory;
+    private final JWTTokenCacheConfig config;
+    private final Clock clock;
+    private final Duration refreshAfter;
+    private final Object lock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile CachedToken current;
+
+    JWTTokenCache(TokenFactory factory, JWTTokenCacheConfig config) {
+        this(factory, config, Clock.systemUTC());
+    }
+
+    JWTTokenCache(TokenFactory factory, JWTTokenCacheConfig config, Clock clock) {
+        this.factory = factory;
+        this.config = config;
+        this.clock = clock;
+        this.refreshAfter = Duration.ofMillis((long) (config.getTokenTtl().toMillis() * config.getRefreshRatio()));
+    }
+
+    String getToken() {
+        Instant now = this.clock.instant();
+        CachedToken token = this.current;
+
+        if (token == null || !token.isUsableAt(now)) {
+            synchronized (this.lock) {
+                token = this.current;
+                if (token == null || !token.isUsableAt(now)) {
+                    token = generate(now);
+                    this.current = token;
+                }
+            }
+        } else if (!now.isBefore(token.refreshAt)) {
+            scheduleRefresh();
+        }
+
+        return token.value;
+    }
+
+    void invalidate() {
+        this.current = null;
+    }
+
+    private void scheduleRefresh() {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.config.getRefreshExecutor().execute(() -> {
+                try {
+                    this.current = generate(this.clock.instant());
+                } catch (RuntimeException e) {
+                    LOG.warn("Unable to refresh JWT ahead of expiry.", e);
+                } finally {
+                    this.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.set(false);
+        }
+    }
+
+    private CachedToken generate(Instant now) {
+        Instant expiresAt = now.plus(this.config.getTokenTtl());
+        return new CachedToken(this.factory.generate(now, expiresAt),
+                now.plus(this.refreshAfter),
+                expiresAt.minus(this.config.getExpiryMargin())
+        );
+    }
+
+    private static class CachedToken {
+        private final String value;
+        private final Instant refreshAt;
+        private final Instant usableUntil;
+
+        CachedToken(String value, Instant refreshAt, Instant usableUntil) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.usableUntil = usableUntil;
+        }
+
+        boolean isUsableAt(Instant instant) {
+            return instant.isBefore(this.usableUntil);
+        }
+    }
+}
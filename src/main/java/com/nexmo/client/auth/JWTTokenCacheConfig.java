@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for the reuse of signed tokens by {@link JWTAuthMethod}.
+ * <p>
+ * By default a token is valid for 15 minutes and is reused until 75% of that lifetime has elapsed, at which point a
+ * replacement is generated in the background while the current token continues to be used.
+ */
+public class JWTTokenCacheConfig {
+    private static final Duration DEFAULT_TOKEN_TTL = Duration.ofMinutes(15);
+    private static final double DEFAULT_REFRESH_RATIO = 0.75;
+    private static final Duration DEFAULT_EXPIRY_MARGIN = Duration.ofSeconds(5);
+
+    private boolean enabled;
+    private Duration tokenTtl;
+    private double refreshRatio;
+    private Duration expiryMargin;
+    private Executor refreshExecutor;
+
+    private JWTTokenCacheConfig(Builder builder) {
+        this.enabled = builder.enabled;
+        this.tokenTtl = builder.tokenTtl;
+        this.refreshRatio = builder.refreshRatio;
+        this.expiryMargin = builder.expiryMargin;
+        this.refreshExecutor = builder.refreshExecutor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    public double getRefreshRatio() {
+        return refreshRatio;
+    }
+
+    public Duration getExpiryMargin() {
+        return expiryMargin;
+    }
+
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    /**
+     * @return A JWTTokenCacheConfig object with sensible defaults.
+     */
+    public static JWTTokenCacheConfig defaultConfig() {
+        return new Builder().build();
+    }
+
+    /**
+     * @return A JWTTokenCacheConfig which generates a new token for every request.
+     */
+    public static JWTTokenCacheConfig disabled() {
+        return new Builder().enabled(false).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private boolean enabled = true;
+        private Duration tokenTtl = DEFAULT_TOKEN_TTL;
+        private double refreshRatio = DEFAULT_REFRESH_RATIO;
+        private Duration expiryMargin = DEFAULT_EXPIRY_MARGIN;
+        private Executor refreshExecutor = ForkJoinPool.commonPool();
+
+        /**
+         * @param enabled Whether signed tokens should be reused across requests. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * @param tokenTtl The lifetime of each generated token, written to its {@code exp} claim.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder tokenTtl(Duration tokenTtl) {
+            if (tokenTtl == null) {
+                throw new IllegalArgumentException("Token TTL must not be null.");
+            }
+            if (tokenTtl.isNegative() || tokenTtl.isZero()) {
+                throw new IllegalArgumentException("Token TTL must be positive.");
+            }
+            this.tokenTtl = tokenTtl;
+            return this;
+        }
+
+        /**
+         * @param refreshRatio The fraction of a token's lifetime after which a replacement is generated in the
+         *                     background. Must be greater than 0 and less than 1, and must leave the refresh point
+         *                     before the expiry margin.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder refreshRatio(double refreshRatio) {
+            if (refreshRatio <= 0 || refreshRatio >= 1) {
+                throw new IllegalArgumentException("Refresh ratio must be greater than 0 and less than 1.");
+            }
+            this.refreshRatio = refreshRatio;
+            return this;
+        }
+
+        /**
+         * @param expiryMargin How long before its expiry a token stops being handed out, to allow for clock skew and
+         *                     time spent in flight. Must not be negative, and must be shorter than the token TTL.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder expiryMargin(Duration expiryMargin) {
+            if (expiryMargin == null) {
+                throw new IllegalArgumentException("Expiry margin must not be null.");
+            }
+            if (expiryMargin.isNegative()) {
+                throw new IllegalArgumentException("Expiry margin must not be negative.");
+            }
+            this.expiryMargin = expiryMargin;
+            return this;
+        }
+
+        /**
+         * @param refreshExecutor The executor used to generate replacement tokens ahead of expiry. Defaults to the
+         *                        common {@link ForkJoinPool}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder refreshExecutor(Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        /**
+         * @return A new {@link JWTTokenCacheConfig} object from the stored builder options.
+         */
+        public JWTTokenCacheConfig build() {
+            if (expiryMargin.compareTo(tokenTtl) >= 0) {
+                throw new IllegalArgumentException("Expiry margin must be shorter than the token TTL.");
+            }
+            // Otherwise tokens stop being usable before a refresh is due, and are always regenerated synchronously
+            long refreshAfterMillis = (long) (tokenTtl.toMillis() * refreshRatio);
+            if (refreshAfterMillis >= tokenTtl.minus(expiryMargin).toMillis()) {
+                throw new IllegalArgumentException("Refresh ratio must leave the refresh point before the expiry " +
+                        "margin.");
+            }
+            return new JWTTokenCacheConfig(this);
+        }
+    }
+}
@@ -22,22 +22,30 @@
 package com.nexmo.client.auth;
 
 
-import java.io.UnsupportedEncodingException;
-import java.security.MessageDigest;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-
-import javax.servlet.http.HttpServletRequest;
-
 import com.nexmo.client.NexmoUnexpectedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicNameValuePair;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+
 /**
- * A helper class for generating or verifying MD5 signatures when signing REST requests for submission to Nexmo.
+ * A helper class for generating or verifying signatures when signing REST requests for submission to Nexmo.
  *
  * @author  Paul Cook
  */
@@ -49,6 +57,10 @@ public class RequestSigning {
 
     private static Log log = LogFactory.getLog(RequestSigning.class);
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final Comparator<NameValuePair> BY_NAME = Comparator.comparing(NameValuePair::getName);
+    private static final ThreadLocal<Signer> SIGNERS = ThreadLocal.withInitial(Signer::new);
+
     /**
      * Signs a set of request parameters.
      * <p>
@@ -60,7 +72,24 @@ public class RequestSigning {
      *
      */
     public static void constructSignatureForRequestParameters(List<NameValuePair> params, String secretKey) {
-        constructSignatureForRequestParameters(params, secretKey, System.currentTimeMillis() / 1000);
+        constructSignatureForRequestParameters(params, secretKey, SignatureMethod.MD5_HASH);
+    }
+
+    /**
+     * Signs a set of request parameters.
+     * <p>
+     * Generates additional parameters to represent the timestamp and generated signature.
+     * Uses the supplied pre-shared secret key to generate the signature.
+     *
+     * @param params List of NameValuePair instances containing the query parameters for the request that is to be signed
+     * @param secretKey the pre-shared secret key held by the client
+     * @param method the algorithm used to generate the signature
+     *
+     */
+    public static void constructSignatureForRequestParameters(List<NameValuePair> params,
+                                                              String secretKey,
+                                                              SignatureMethod method) {
+        constructSignatureForRequestParameters(params, secretKey, System.currentTimeMillis() / 1000, method);
     }
 
     /**
@@ -76,44 +105,162 @@ public class RequestSigning {
      */
      protected static void constructSignatureForRequestParameters(
             List<NameValuePair> params, String secretKey, long currentTimeSeconds) {
+        constructSignatureForRequestParameters(params, secretKey, currentTimeSeconds, SignatureMethod.MD5_HASH);
+    }
+
+    protected static void constructSignatureForRequestParameters(List<NameValuePair> params,
+                                                                 String secretKey,
+                                                                 long currentTimeSeconds,
+                                                                 SignatureMethod method) {
         // First, inject a 'timestamp=' parameter containing the current time in seconds since Jan 1st 1970
         params.add(new BasicNameValuePair(PARAM_TIMESTAMP, Long.toString(currentTimeSeconds)));
 
-        Map<String, String> sortedParams = new TreeMap<>();
-        for (NameValuePair param: params) {
-            String name = param.getName();
-            String value = param.getValue();
-            if (name.equals(PARAM_SIGNATURE))
+        String signature = calculateSignature(params, secretKey, method);
+        if (log.isDebugEnabled()) {
+            log.debug("SECURITY-KEY-GENERATION -- Method [ " + method + " ] Signature [ " + signature + " ] ");
+        }
+
+        params.add(new BasicNameValuePair(PARAM_SIGNATURE, signature));
+    }
+
+    /**
+     * Calculate the signature of a set of parameters, excluding any existing signature and parameters with blank values.
+     * Where a parameter appears more than once, its last non-blank value is signed.
+     *
+     * @param params The parameters to sign, in any order.
+     * @param secretKey The pre-shared secret key.
+     * @param method The algorithm used to generate the signature.
+     *
+     * @return The signature as lower case hex.
+     */
+    static String calculateSignature(List<NameValuePair> params, String secretKey, SignatureMethod method) {
+        NameValuePair[] sorted = params.toArray(new NameValuePair[0]);
+        if (!isSortedByName(sorted)) {
+            // A stable sort, so repeated parameters stay in their original order.
+            Arrays.sort(sorted, BY_NAME);
+        }
+
+        Signer signer = SIGNERS.get();
+        StringBuilder text = signer.text;
+        text.setLength(0);
+        for (int i = 0; i < sorted.length; i++) {
+            String name = sorted[i].getName();
+            String value = sorted[i].getValue();
+            // Use the last non-blank value of a repeated parameter
+            for (; i + 1 < sorted.length && name.equals(sorted[i + 1].getName()); i++) {
+                if (!isBlank(sorted[i + 1].getValue())) {
+                    value = sorted[i + 1].getValue();
+                }
+            }
+            if (name.equals(PARAM_SIGNATURE) || isBlank(value)) {
                 continue;
-            if (value == null)
-                value = "";
-            if (!value.trim().equals(""))
-                sortedParams.put(name, value);
+            }
+            text.append('&');
+            appendClean(text, name);
+            text.append('=');
+            appendClean(text, value);
         }
 
-        // Now, walk through the sorted list of parameters and construct a string
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String> param: sortedParams.entrySet()) {
-            String name = param.getKey();
-            String value = param.getValue();
-            sb.append("&").append(clean(name)).append("=").append(clean(value));
+        return toHex(digest(signer, secretKey, method));
+    }
+
+    /**
+     * Check a supplied signature against the signature of a set of request parameters, in time independent of where
+     * the two differ. The supplied signature may be upper or lower case hex.
+     *
+     * @param params The parameters of the request, keyed by name. Only the first value of each is signed.
+     * @param secretKey The pre-shared secret key.
+     * @param method The algorithm used to generate the signature.
+     * @param suppliedSignature The signature supplied with the request.
+     *
+     * @return true if the supplied signature is correct for the parameters.
+     */
+    static boolean signatureMatches(Map<String, String[]> params,
+                                    String secretKey,
+                                    SignatureMethod method,
+                                    String suppliedSignature) {
+        String[] names = params.keySet().toArray(new String[params.size()]);
+        if (!isSorted(names)) {
+            Arrays.sort(names);
         }
 
-        // Now, append the secret key, and calculate an MD5 signature of the resultant string
-        sb.append(secretKey);
+        Signer signer = SIGNERS.get();
+        StringBuilder text = signer.text;
+        text.setLength(0);
+        for (String name : names) {
+            String[] values = params.get(name);
+            String value = values == null || values.length == 0 ? null : values[0];
+            if (name.equals(PARAM_SIGNATURE) || isBlank(value)) {
+                continue;
+            }
+            text.append('&');
+            appendClean(text, name);
+            text.append('=');
+            appendClean(text, value);
+        }
 
-        String str = sb.toString();
+        return hexEquals(digest(signer, secretKey, method), suppliedSignature);
+    }
 
-        String md5 = "no signature";
+    private static byte[] digest(Signer signer, String secretKey, SignatureMethod method) {
         try {
-            md5 = MD5Util.calculateMd5(str);
-        } catch (Exception e) {
-            log.error("error...", e);
+            return signer.digest(secretKey, method);
+        } catch (GeneralSecurityException e) {
+            throw new NexmoUnexpectedException("Unable to calculate " + method + " signature.", e);
         }
+    }
 
-        log.debug("SECURITY-KEY-GENERATION -- String [ " + str + " ] Signature [ " + md5 + " ] ");
+    private static boolean hexEquals(byte[] digest, String hex) {
+        if (hex.length() != digest.length * 2) {
+            return false;
+        }
+        // Accumulate every difference rather than returning early, so the time taken doesn't reveal the first mismatch
+        int diff = 0;
+        for (int i = 0; i < digest.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            diff |= (high | low) & 0x80000000;
+            diff |= ((high << 4) | low) ^ (digest[i] & 0xFF);
+        }
+        return diff == 0;
+    }
 
-        params.add(new BasicNameValuePair(PARAM_SIGNATURE, md5));
+    private static boolean isSorted(String[] names) {
+        for (int i = 1; i < names.length; i++) {
+            if (names[i - 1].compareTo(names[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSortedByName(NameValuePair[] params) {
+        for (int i = 1; i < params.length; i++) {
+            if (params[i - 1].getName().compareTo(params[i].getName()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            // Matches String.trim(), which removes all characters up to and including space
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendClean(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            text.append(c == '=' || c == '&' ? '_' : c);
+        }
     }
 
     /**
@@ -128,6 +275,21 @@ public class RequestSigning {
         return verifyRequestSignature(request, secretKey, System.currentTimeMillis());
     }
 
+    /**
+     * Verifies the signature in an HttpServletRequest.
+     *
+     * @param request The HttpServletRequest to be verified
+     * @param secretKey The pre-shared secret key used by the sender of the request to create the signature
+     * @param method The algorithm used by the sender to create the signature
+     *
+     * @return true if the signature is correct for this request and secret key.
+     */
+    public static boolean verifyRequestSignature(HttpServletRequest request,
+                                                 String secretKey,
+                                                 SignatureMethod method) {
+        return verifyRequestSignature(request, secretKey, System.currentTimeMillis(), method);
+    }
+
     /**
      * Verifies the signature in an HttpServletRequest.
      *
@@ -140,6 +302,13 @@ public class RequestSigning {
      protected static boolean verifyRequestSignature(HttpServletRequest request,
                                                      String secretKey,
                                                      long currentTimeMillis) {
+        return verifyRequestSignature(request, secretKey, currentTimeMillis, SignatureMethod.MD5_HASH);
+    }
+
+    protected static boolean verifyRequestSignature(HttpServletRequest request,
+                                                    String secretKey,
+                                                    long currentTimeMillis,
+                                                    SignatureMethod method) {
         // identify the signature supplied in the request ...
         String suppliedSignature = request.getParameter(PARAM_SIGNATURE);
         if (suppliedSignature == null)
@@ -161,57 +330,87 @@ public class RequestSigning {
             return false;
         }
 
-        // Next, construct a sorted list of the name-value pair parameters supplied in the request, excluding the signature parameter
-        Map<String, String> sortedParams = new TreeMap<>();
-        for (Map.Entry<String, String[]> entry: request.getParameterMap().entrySet()) {
-            String name = entry.getKey();
-            String value = entry.getValue()[0];
-            log.info("" + name + " = " + value);
-            if (name.equals(PARAM_SIGNATURE))
-                continue;
-            if (value == null || value.trim().equals("")) {
-                continue;
-            }
-            sortedParams.put(name, value);
-        }
+        // Next, sign the parameters supplied in the request, excluding the signature parameter, and verify that the
+        // supplied signature matches the generated one without revealing where they differ
+        return signatureMatches(request.getParameterMap(), secretKey, method, suppliedSignature);
+    }
 
-        // walk this sorted list of parameters and construct a string
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String> param: sortedParams.entrySet()) {
-            String name = param.getKey();
-            String value = param.getValue();
-            sb.append("&").append(clean(name)).append("=").append(clean(value));
+    public static String clean(String str) {
+        if (str == null || (str.indexOf('=') < 0 && str.indexOf('&') < 0)) {
+            return str;
         }
+        StringBuilder cleaned = new StringBuilder(str.length());
+        appendClean(cleaned, str);
+        return cleaned.toString();
+    }
 
-        // append the secret key and calculate an md5 signature of the resultant string
-        sb.append(secretKey);
-
-        String str = sb.toString();
+    /**
+     * Per-thread state reused between signatures, so signing a request allocates little beyond the signature itself.
+     */
+    private static final class Signer {
+        private static final int MAX_RETAINED_LENGTH = 16 * 1024;
 
-        String md5;
-        try {
-            md5 = MD5Util.calculateMd5(str);
-        } catch (Exception e) {
-            log.error("error...", e);
-            return false;
-        }
+        private final StringBuilder text = new StringBuilder(256);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final Map<SignatureMethod, Mac> macs = new EnumMap<>(SignatureMethod.class);
+        private final Map<SignatureMethod, String> macKeys = new EnumMap<>(SignatureMethod.class);
+        private ByteBuffer bytes = ByteBuffer.allocate(512);
+        private MessageDigest md5;
 
-        log.info("SECURITY-KEY-VERIFICATION -- String [ " + str + " ] Signature [ " + md5 + " ] SUPPLIED SIGNATURE [ " + suppliedSignature + " ] ");
+        byte[] digest(String secretKey, SignatureMethod method) throws GeneralSecurityException {
+            byte[] digest;
+            if (method == SignatureMethod.MD5_HASH) {
+                text.append(secretKey);
+                if (md5 == null) {
+                    md5 = MessageDigest.getInstance("MD5");
+                }
+                md5.update(encode());
+                digest = md5.digest();
+            } else {
+                Mac mac = macs.get(method);
+                if (mac == null) {
+                    mac = Mac.getInstance(method.getMacAlgorithm());
+                    macs.put(method, mac);
+                }
+                if (!secretKey.equals(macKeys.get(method))) {
+                    mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), method.getMacAlgorithm()));
+                    macKeys.put(method, secretKey);
+                }
+                mac.update(encode());
+                digest = mac.doFinal();
+            }
 
-        // verify that the supplied signature matches generated one
-        // use MessageDigest.isEqual as an alternative to String.equals() to defend against timing based attacks
-        try {
-            if (!MessageDigest.isEqual(md5.getBytes("UTF-8"), suppliedSignature.getBytes("UTF-8")))
-                return false;
-        } catch (UnsupportedEncodingException e) {
-            throw new NexmoUnexpectedException("Failed to decode signature as UTF-8", e);
+            if (text.capacity() > MAX_RETAINED_LENGTH) {
+                text.setLength(0);
+                text.trimToSize();
+            }
+            return digest;
         }
 
-        return true;
+        private ByteBuffer encode() {
+            int maxLength = (int) (text.length() * encoder.maxBytesPerChar());
+            if (bytes.capacity() < maxLength || bytes.capacity() > MAX_RETAINED_LENGTH) {
+                bytes = ByteBuffer.allocate(Math.max(maxLength, 512));
+            }
+            bytes.clear();
+            encoder.reset();
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.encode(chars, bytes, true);
+            encoder.flush(bytes);
+            bytes.flip();
+            return bytes;
+        }
     }
 
-    public static String clean(String str) {
-        return str == null ? null : str.replaceAll("[=&]", "_");
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
     }
 
 }
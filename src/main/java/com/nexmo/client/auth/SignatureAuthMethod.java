@@ -31,17 +31,28 @@ public class SignatureAuthMethod extends AbstractAuthMethod {
 
     private String apiKey;
     private String secret;
+    private SignatureMethod signatureMethod;
 
     public SignatureAuthMethod(String apiKey, String secret) {
+        this(apiKey, secret, SignatureMethod.MD5_HASH);
+    }
+
+    /**
+     * @param apiKey          The API key for the account.
+     * @param secret          The signature secret for the account.
+     * @param signatureMethod The signature method configured for the account.
+     */
+    public SignatureAuthMethod(String apiKey, String secret, SignatureMethod signatureMethod) {
         this.apiKey = apiKey;
         this.secret = secret;
+        this.signatureMethod = signatureMethod;
     }
 
     @Override
     public RequestBuilder apply(RequestBuilder request) {
         request.addParameter("api_key", apiKey);
         List<NameValuePair> params = request.getParameters();
-        RequestSigning.constructSignatureForRequestParameters(params, secret);
+        RequestSigning.constructSignatureForRequestParameters(params, secret, signatureMethod);
 
         // TODO: This is ugly:
         request.addParameter(params.get(params.size()-1));
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+/**
+ * The algorithms which may be used to sign requests. This must match the signature method configured for the account
+ * in the Nexmo dashboard.
+ */
+public enum SignatureMethod {
+    /**
+     * An MD5 hash of the parameters with the signature secret appended.
+     */
+    MD5_HASH(null),
+    /**
+     * An HMAC-MD5 of the parameters, keyed with the signature secret.
+     */
+    HMAC_MD5("HmacMD5"),
+    /**
+     * An HMAC-SHA1 of the parameters, keyed with the signature secret.
+     */
+    HMAC_SHA1("HmacSHA1"),
+    /**
+     * An HMAC-SHA256 of the parameters, keyed with the signature secret.
+     */
+    HMAC_SHA256("HmacSHA256"),
+    /**
+     * An HMAC-SHA512 of the parameters, keyed with the signature secret.
+     */
+    HMAC_SHA512("HmacSHA512");
+
+    private final String macAlgorithm;
+
+    SignatureMethod(String macAlgorithm) {
+        this.macAlgorithm = macAlgorithm;
+    }
+
+    /**
+     * @return The JCA name of the MAC algorithm, or {@code null} for {@link #MD5_HASH}.
+     */
+    String getMacAlgorithm() {
+        return macAlgorithm;
+    }
+}
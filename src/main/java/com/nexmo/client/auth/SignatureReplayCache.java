@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the signatures of verified requests for as long as their timestamps are acceptable, so that a captured
+ * request can't be replayed.
+ * <p>
+ * Signatures are grouped by the second of their timestamp, so expiring them is a matter of dropping whole seconds
+ * which have fallen out of the window, at most once per second. Only the first 64 bits of each signature are kept.
+ */
+final class SignatureReplayCache {
+    private final long windowSeconds;
+    private final ConcurrentNavigableMap<Long, Set<Long>> seen = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastExpiry = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param windowSeconds How far either side of the current time a request timestamp is accepted.
+     */
+    SignatureReplayCache(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Record a signature as used.
+     *
+     * @param timestampSeconds The timestamp of the signed request.
+     * @param signature The signature of the request, as hex which has already been verified.
+     * @param currentTimeSeconds The current time.
+     *
+     * @return true if the signature had not been seen with this timestamp before.
+     */
+    boolean add(long timestampSeconds, String signature, long currentTimeSeconds) {
+        expire(currentTimeSeconds);
+        return seen.computeIfAbsent(timestampSeconds, second -> ConcurrentHashMap.newKeySet())
+                .add(fingerprint(signature));
+    }
+
+    /**
+     * Forget a signature recorded by {@link #add(long, String, long)}, so that it will be accepted again.
+     *
+     * @param timestampSeconds The timestamp of the signed request.
+     * @param signature The signature of the request.
+     */
+    void remove(long timestampSeconds, String signature) {
+        Set<Long> signatures = seen.get(timestampSeconds);
+        if (signatures != null) {
+            signatures.remove(fingerprint(signature));
+        }
+    }
+
+    /**
+     * @return The number of signatures currently remembered.
+     */
+    int size() {
+        int size = 0;
+        for (Set<Long> signatures : seen.values()) {
+            size += signatures.size();
+        }
+        return size;
+    }
+
+    private void expire(long currentTimeSeconds) {
+        long last = lastExpiry.get();
+        if (last != currentTimeSeconds && lastExpiry.compareAndSet(last, currentTimeSeconds)) {
+            // Timestamps this old are rejected before reaching the cache, allowing a second for rounding.
+            seen.headMap(currentTimeSeconds - windowSeconds - 1).clear();
+        }
+    }
+
+    private static long fingerprint(String signature) {
+        long fingerprint = 0;
+        for (int i = 0; i < 16 && i < signature.length(); i++) {
+            fingerprint = (fingerprint << 4) | Character.digit(signature.charAt(i), 16);
+        }
+        return fingerprint;
+    }
+}
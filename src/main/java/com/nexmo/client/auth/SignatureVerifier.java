@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Verifies the signatures of inbound callback requests, such as those received by {@link
+ * com.nexmo.client.sms.callback.AbstractMOServlet}.
+ * <p>
+ * A request is accepted when its {@code timestamp} is within {@link Builder#maxTimeDelta(Duration)} of the current
+ * time and its {@code sig} matches the signature of its other parameters, compared in time independent of where they
+ * differ. Unless disabled with {@link Builder#replayProtection(boolean)}, a request carrying a timestamp and signature
+ * which have already been accepted is rejected as a replay.
+ * <p>
+ * Instances are thread safe and intended to be shared: verification reuses per-thread buffers and digests, and doesn't
+ * log the request's parameters. Rejections are logged at debug level only.
+ */
+public final class SignatureVerifier {
+    private static final Log log = LogFactory.getLog(SignatureVerifier.class);
+    private static final long MAX_TIMESTAMP_SECONDS = Long.MAX_VALUE / 2000;
+
+    private final String secretKey;
+    private final SignatureMethod signatureMethod;
+    private final long maxTimeDeltaMillis;
+    private final SignatureReplayCache replayCache;
+    private final LongSupplier currentTimeMillis;
+
+    private SignatureVerifier(Builder builder) {
+        this(builder, System::currentTimeMillis);
+    }
+
+    SignatureVerifier(Builder builder, LongSupplier currentTimeMillis) {
+        this.secretKey = builder.secretKey;
+        this.signatureMethod = builder.signatureMethod;
+        this.maxTimeDeltaMillis = builder.maxTimeDelta.toMillis();
+        this.replayCache = builder.replayProtection
+                ? new SignatureReplayCache(TimeUnit.MILLISECONDS.toSeconds(this.maxTimeDeltaMillis + 999))
+                : null;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public SignatureMethod getSignatureMethod() {
+        return signatureMethod;
+    }
+
+    /**
+     * Verify the signature of a callback request.
+     *
+     * @param request The request to be verified.
+     *
+     * @return true if the request is correctly signed, recent and not a replay.
+     */
+    public boolean verify(HttpServletRequest request) {
+        return verify(request.getParameterMap(),
+                request.getParameter(RequestSigning.PARAM_SIGNATURE),
+                request.getParameter(RequestSigning.PARAM_TIMESTAMP));
+    }
+
+    /**
+     * Verify the signature of a callback request's parameters.
+     *
+     * @param params The parameters of the request, keyed by name, as returned by {@link
+     *               javax.servlet.ServletRequest#getParameterMap()}.
+     *
+     * @return true if the parameters are correctly signed, recent and not a replay.
+     */
+    public boolean verify(Map<String, String[]> params) {
+        return verify(params,
+                first(params.get(RequestSigning.PARAM_SIGNATURE)),
+                first(params.get(RequestSigning.PARAM_TIMESTAMP)));
+    }
+
+    private boolean verify(Map<String, String[]> params, String suppliedSignature, String timestamp) {
+        if (suppliedSignature == null) {
+            return reject("no signature");
+        }
+
+        long timestampSeconds;
+        try {
+            timestampSeconds = timestamp != null ? Long.parseLong(timestamp) : -1;
+        } catch (NumberFormatException e) {
+            return reject("unparseable timestamp");
+        }
+        long now = currentTimeMillis.getAsLong();
+        if (timestampSeconds < 0 || timestampSeconds > MAX_TIMESTAMP_SECONDS
+                || Math.abs(now - timestampSeconds * 1000) > maxTimeDeltaMillis) {
+            return reject("timestamp outside the allowed window");
+        }
+
+        if (!RequestSigning.signatureMatches(params, secretKey, signatureMethod, suppliedSignature)) {
+            return reject("signature mismatch");
+        }
+
+        // Only correctly signed requests reach the cache, so it can't be filled with forgeries.
+        if (replayCache != null && !replayCache.add(timestampSeconds, suppliedSignature, now / 1000)) {
+            return reject("replayed signature");
+        }
+        return true;
+    }
+
+    /**
+     * Forget that a verified request has been seen, so that a retry of it isn't rejected as a replay. Call this when a
+     * verified request is refused with a status which causes Nexmo to retry it, such as when too many are pending.
+     *
+     * @param request The request which was verified and then refused.
+     */
+    public void forget(HttpServletRequest request) {
+        if (replayCache == null) {
+            return;
+        }
+        String suppliedSignature = request.getParameter(RequestSigning.PARAM_SIGNATURE);
+        String timestamp = request.getParameter(RequestSigning.PARAM_TIMESTAMP);
+        if (suppliedSignature == null || timestamp == null) {
+            return;
+        }
+        long timestampSeconds;
+        try {
+            timestampSeconds = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        // Only a correctly signed request may remove its signature, so a forgery can't re-enable a captured request
+        if (RequestSigning.signatureMatches(request.getParameterMap(), secretKey, signatureMethod, suppliedSignature)) {
+            replayCache.remove(timestampSeconds, suppliedSignature);
+        }
+    }
+
+    SignatureReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    private static boolean reject(String reason) {
+        if (log.isDebugEnabled()) {
+            log.debug("SECURITY-KEY-VERIFICATION -- Rejected request: " + reason);
+        }
+        return false;
+    }
+
+    private static String first(String[] values) {
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    /**
+     * @param secretKey The pre-shared secret key used by the sender of requests to create their signatures.
+     *
+     * @return A new {@link Builder} for a verifier using the secret key.
+     */
+    public static Builder builder(String secretKey) {
+        return new Builder(secretKey);
+    }
+
+    public static class Builder {
+        private final String secretKey;
+        private SignatureMethod signatureMethod = SignatureMethod.MD5_HASH;
+        private Duration maxTimeDelta = Duration.ofMillis(RequestSigning.MAX_ALLOWABLE_TIME_DELTA);
+        private boolean replayProtection = true;
+
+        Builder(String secretKey) {
+            if (secretKey == null) {
+                throw new IllegalArgumentException("Secret key must not be null.");
+            }
+            this.secretKey = secretKey;
+        }
+
+        /**
+         * @param signatureMethod The algorithm used by the sender to create signatures. Defaults to {@link
+         *                        SignatureMethod#MD5_HASH}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder signatureMethod(SignatureMethod signatureMethod) {
+            if (signatureMethod == null) {
+                throw new IllegalArgumentException("Signature method must not be null.");
+            }
+            this.signatureMethod = signatureMethod;
+            return this;
+        }
+
+        /**
+         * @param maxTimeDelta How far a request's timestamp may be from the current time, in either direction.
+         *                     Defaults to five minutes.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxTimeDelta(Duration maxTimeDelta) {
+            if (maxTimeDelta == null || maxTimeDelta.isNegative() || maxTimeDelta.isZero()) {
+                throw new IllegalArgumentException("Max time delta must be positive.");
+            }
+            this.maxTimeDelta = maxTimeDelta;
+            return this;
+        }
+
+        /**
+         * @param replayProtection Whether to reject requests whose timestamp and signature have already been
+         *                         accepted. Memory use grows with the number of requests received within the max time
+         *                         delta. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder replayProtection(boolean replayProtection) {
+            this.replayProtection = replayProtection;
+            return this;
+        }
+
+        /**
+         * @return A new {@link SignatureVerifier} from the stored builder options.
+         */
+        public SignatureVerifier build() {
+            return new SignatureVerifier(this);
+        }
+    }
+}
@@ -21,9 +21,9 @@
  */
 package com.nexmo.client.auth;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -62,7 +62,7 @@ public class TokenAuthMethod extends AbstractAuthMethod {
     public RequestBuilder applyAsJsonProperties(RequestBuilder request) {
         HttpEntity entity = request.getEntity();
         try {
-            ObjectNode json = (ObjectNode) new ObjectMapper().readTree(EntityUtils.toString(entity));
+            ObjectNode json = (ObjectNode) MapperRegistry.reader(ObjectNode.class).readTree(EntityUtils.toString(entity));
             json.put("api_key", this.apiKey);
             json.put("api_secret", this.apiSecret);
 
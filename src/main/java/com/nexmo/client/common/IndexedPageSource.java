@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+/**
+ * A {@link PageSource} whose first page reveals how many pages there are and which can request any of them, so that
+ * {@link PagedIterable#fetchAll(int)} can fetch the rest of the pages concurrently.
+ *
+ * @param <R> The type of request for a page.
+ * @param <P> The type of page returned.
+ * @param <T> The type of item on each page.
+ */
+public interface IndexedPageSource<R, P, T> extends PageSource<R, P, T> {
+    /**
+     * @param firstRequest The request which returned {@code firstPage}.
+     * @param firstPage    The first page.
+     *
+     * @return The number of pages, including the first, or -1 if it isn't known.
+     */
+    int pageCount(R firstRequest, P firstPage);
+
+    /**
+     * @param firstRequest The request which returned {@code firstPage}.
+     * @param firstPage    The first page.
+     * @param index        The position of the page to request, where the first page is 0.
+     *
+     * @return The request for the page at {@code index}.
+     */
+    R request(R firstRequest, P firstPage, int index);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A request entity which serializes a value as JSON directly to the connection's output stream when the request is
+ * sent, rather than building the body as a String first.
+ * <p>
+ * The body is sent with chunked transfer encoding, as its length isn't known until it has been written. The entity is
+ * repeatable, so requests can be retried; {@link #getContent()} serializes the value to memory for consumers which
+ * need to read the body, such as request logging.
+ */
+public class JsonEntity extends AbstractHttpEntity {
+    private final Object value;
+    private final ObjectWriter writer;
+
+    /**
+     * @param value The value to be sent, serialized with {@link MapperRegistry#writer()}.
+     */
+    public JsonEntity(Object value) {
+        this(value, MapperRegistry.writer());
+    }
+
+    /**
+     * @param value  The value to be sent.
+     * @param writer The writer to serialize the value with.
+     */
+    public JsonEntity(Object value, ObjectWriter writer) {
+        this.value = value;
+        this.writer = writer;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(this.writer.writeValueAsBytes(this.value));
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        MapperRegistry.writeValue(this.writer, this.value, outstream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.impl.client.AbstractResponseHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A response handler which parses the response entity as JSON, reading it directly from the entity's content stream.
+ * <p>
+ * Unlike {@link org.apache.http.impl.client.BasicResponseHandler}, the body is never materialized as a {@link String},
+ * so large responses such as list pages are parsed in a single pass. Status checks are the same: any response with a
+ * status code of 300 or above has its entity consumed and results in an {@link HttpResponseException}.
+ *
+ * @param <T> The type the response body is deserialized into.
+ */
+public class JsonResponseHandler<T> extends AbstractResponseHandler<T> {
+    private final ObjectReader reader;
+
+    /**
+     * @param type The class the response body is deserialized into, using the default mapper configuration.
+     */
+    public JsonResponseHandler(Class<T> type) {
+        this(MapperRegistry.reader(type));
+    }
+
+    /**
+     * @param profile The mapper configuration used to read the response body.
+     * @param type    The class the response body is deserialized into.
+     */
+    public JsonResponseHandler(MapperRegistry.Profile profile, Class<T> type) {
+        this(MapperRegistry.reader(profile, type));
+    }
+
+    /**
+     * @param reader A reader configured for the type the response body is deserialized into.
+     */
+    public JsonResponseHandler(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Deserialize the entity's content. The content stream is always closed, releasing the underlying connection.
+     *
+     * @return The deserialized body, or {@code null} if the response has no entity.
+     *
+     * @throws IOException if the content could not be read or is not valid JSON for the target type.
+     */
+    @Override
+    public T handleEntity(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return null;
+        }
+        try (InputStream content = entity.getContent()) {
+            return this.reader.readValue(content);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.openapitools.jackson.dataformat.hal.HALMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared, pre-configured Jackson readers and writers for all API payloads.
+ * <p>
+ * Constructing an {@link ObjectMapper} is expensive, and each new mapper starts with empty serializer and deserializer
+ * caches. Every mapper held here is configured once and never modified afterwards, so the {@link ObjectReader} and
+ * {@link ObjectWriter} instances handed out are immutable and safe to share between threads. Readers are cached per
+ * {@link Profile} and target type.
+ */
+public final class MapperRegistry {
+    private static final String REST_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * The mapper configurations used by the Nexmo APIs.
+     */
+    public enum Profile {
+        /**
+         * Jackson's default configuration.
+         */
+        DEFAULT,
+        /**
+         * Reads HAL documents, flattening {@code _embedded} and {@code _links} properties.
+         */
+        HAL,
+        /**
+         * Reads and writes dates as {@code yyyy-MM-dd HH:mm:ss} in the JVM's default time zone.
+         */
+        REST_DATES,
+        /**
+         * Reads and writes dates as {@code yyyy-MM-dd HH:mm:ss} in UTC.
+         */
+        REST_DATES_UTC
+    }
+
+    private static final Map<Profile, ObjectMapper> MAPPERS = new EnumMap<>(Profile.class);
+    private static final Map<Profile, ObjectWriter> WRITERS = new EnumMap<>(Profile.class);
+    private static final ConcurrentMap<Profile, ConcurrentMap<Class<?>, ObjectReader>> READERS =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Profile, ConcurrentMap<Class<?>, ObjectWriter>> TYPED_WRITERS =
+            new ConcurrentHashMap<>();
+
+    static {
+        MAPPERS.put(Profile.DEFAULT, new ObjectMapper());
+        MAPPERS.put(Profile.HAL, new HALMapper());
+        MAPPERS.put(Profile.REST_DATES, new ObjectMapper().setDateFormat(new SimpleDateFormat(REST_DATE_FORMAT)));
+
+        DateFormat utcDateFormat = new SimpleDateFormat(REST_DATE_FORMAT);
+        utcDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        MAPPERS.put(Profile.REST_DATES_UTC, new ObjectMapper().setDateFormat(utcDateFormat));
+
+        for (Map.Entry<Profile, ObjectMapper> entry : MAPPERS.entrySet()) {
+            WRITERS.put(entry.getKey(), entry.getValue().writer());
+            READERS.put(entry.getKey(), new ConcurrentHashMap<>());
+            TYPED_WRITERS.put(entry.getKey(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private MapperRegistry() {
+    }
+
+    /**
+     * @param type The type to be read.
+     *
+     * @return A shared reader for {@code type} using the {@link Profile#DEFAULT} configuration.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return reader(Profile.DEFAULT, type);
+    }
+
+    /**
+     * @param profile The mapper configuration to use.
+     * @param type    The type to be read.
+     *
+     * @return A shared reader for {@code type} using the {@code profile} configuration.
+     */
+    public static ObjectReader reader(Profile profile, Class<?> type) {
+        return READERS.get(profile).computeIfAbsent(type, t -> MAPPERS.get(profile).readerFor(t));
+    }
+
+    /**
+     * @return A shared, untyped writer using the {@link Profile#DEFAULT} configuration. Suitable for polymorphic
+     * values, as the serializer is chosen from the runtime type of each value.
+     */
+    public static ObjectWriter writer() {
+        return writer(Profile.DEFAULT);
+    }
+
+    /**
+     * @param profile The mapper configuration to use.
+     *
+     * @return A shared, untyped writer using the {@code profile} configuration.
+     */
+    public static ObjectWriter writer(Profile profile) {
+        return WRITERS.get(profile);
+    }
+
+    /**
+     * @param profile The mapper configuration to use.
+     * @param type    The declared type of the values to be written. Properties of subclasses of this type will not
+     *                be written.
+     *
+     * @return A shared writer for {@code type} using the {@code profile} configuration.
+     */
+    public static ObjectWriter writer(Profile profile, Class<?> type) {
+        return TYPED_WRITERS.get(profile).computeIfAbsent(type, t -> MAPPERS.get(profile).writerFor(t));
+    }
+
+    /**
+     * Create a new mapper with the same configuration as a registered profile, for cases which need further
+     * customisation such as registering a module. The returned mapper is not shared.
+     *
+     * @param profile The mapper configuration to copy.
+     *
+     * @return A new {@link ObjectMapper}.
+     */
+    public static ObjectMapper copy(Profile profile) {
+        return MAPPERS.get(profile).copy();
+    }
+
+    /**
+     * Write a value as JSON directly to a stream, without building an intermediate String or byte array. Unlike
+     * {@link ObjectWriter#writeValue(OutputStream, Object)}, the stream is flushed but not closed.
+     *
+     * @param writer The writer to serialize the value with.
+     * @param value  The value to be written.
+     * @param out    The stream to write the UTF-8 encoded JSON to.
+     *
+     * @throws IOException if the value cannot be serialized or the stream cannot be written to.
+     */
+    public static void writeValue(ObjectWriter writer, Object value, OutputStream out) throws IOException {
+        try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.writeValue(generator, value);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+/**
+ * Fetches the pages of a paginated list for a {@link PagedIterable}.
+ *
+ * @param <R> The type of request for a page.
+ * @param <P> The type of page returned.
+ * @param <T> The type of item on each page.
+ */
+public interface PageSource<R, P, T> {
+    /**
+     * @param request The request for a page.
+     *
+     * @return The requested page.
+     */
+    P fetch(R request);
+
+    /**
+     * @param request The request which returned {@code page}.
+     * @param page    The page most recently fetched.
+     *
+     * @return The request for the page after {@code page}, or {@code null} if it is the last page.
+     */
+    R next(R request, P page);
+
+    /**
+     * @param page A page returned by {@link #fetch(Object)}.
+     *
+     * @return The items on the page, in order.
+     */
+    Iterable<T> items(P page);
+}
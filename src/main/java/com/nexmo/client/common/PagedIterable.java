@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The items of a paginated list, fetched a page at a time as they are iterated.
+ * <p>
+ * Each call to {@link #iterator()} or {@link #stream()} starts again from the first page, and no request is made until
+ * the first item is needed. With {@link #withPrefetch()}, the next page is requested in the background as soon as a
+ * page arrives, so that it is ready by the time the items of the current page have been processed.
+ * <p>
+ * Exceptions thrown while fetching a page, such as {@link com.nexmo.client.NexmoClientException}, are thrown from
+ * {@link Iterator#hasNext()}.
+ * <p>
+ * When the whole list is needed at once, {@link #fetchAll(int)} uses the first page to find out how many pages there
+ * are and fetches the rest of them concurrently.
+ *
+ * @param <T> The type of item in the list.
+ */
+public class PagedIterable<T> implements Iterable<T> {
+    private final Pages<?, ?, T> pages;
+    private final Executor prefetchExecutor;
+
+    /**
+     * @param firstRequest The request for the first page.
+     * @param source       The source used to fetch each page.
+     * @param <R>          The type of request for a page.
+     * @param <P>          The type of page.
+     */
+    public <R, P> PagedIterable(R firstRequest, PageSource<R, P, T> source) {
+        this.pages = new Pages<>(firstRequest, source);
+        this.prefetchExecutor = null;
+    }
+
+    private PagedIterable(Pages<?, ?, T> pages, Executor prefetchExecutor) {
+        this.pages = pages;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * @return A PagedIterable over the same list which requests each page in the background on a shared pool of daemon
+     * threads while the previous page is being iterated.
+     */
+    public PagedIterable<T> withPrefetch() {
+        return withPrefetch(ParallelTasks.sharedExecutor());
+    }
+
+    /**
+     * @param executor The executor used to request each page in the background.
+     *
+     * @return A PagedIterable over the same list which requests each page in the background while the previous page is
+     * being iterated.
+     */
+    public PagedIterable<T> withPrefetch(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Prefetch executor must not be null.");
+        }
+        return new PagedIterable<>(pages, executor);
+    }
+
+    /**
+     * Fetch every item in the list, fetching pages concurrently on a shared pool of daemon threads.
+     *
+     * @param parallelism The most pages to request at once.
+     *
+     * @return The items of every page, in order.
+     *
+     * @see #fetchAll(int, Executor)
+     */
+    public List<T> fetchAll(int parallelism) {
+        return fetchAll(parallelism, ParallelTasks.sharedExecutor());
+    }
+
+    /**
+     * Fetch every item in the list. The first page is requested on the calling thread; if it shows how many pages
+     * there are, the rest are requested concurrently, with the calling thread also taking part, and merged in order.
+     * Otherwise each page is requested in turn. Requests are still subject to any rate limit configured for the
+     * endpoint.
+     * <p>
+     * Pages are fetched independently, so items added or removed while the list is being fetched may be missed or
+     * returned twice.
+     *
+     * @param parallelism The most pages to request at once.
+     * @param executor    The executor used to request pages concurrently.
+     *
+     * @return The items of every page, in order.
+     */
+    public List<T> fetchAll(int parallelism, Executor executor) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null.");
+        }
+        return pages.fetchAll(parallelism, executor);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return pages.iterator(prefetchExecutor);
+    }
+
+    /**
+     * @return A sequential stream of the items in the list, fetching pages as they are consumed.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL
+        ), false);
+    }
+
+    private static final class Pages<R, P, T> {
+        private final R firstRequest;
+        private final PageSource<R, P, T> source;
+
+        private Pages(R firstRequest, PageSource<R, P, T> source) {
+            this.firstRequest = firstRequest;
+            this.source = source;
+        }
+
+        private Iterator<T> iterator(Executor prefetchExecutor) {
+            return new PageIterator<>(firstRequest, source, prefetchExecutor);
+        }
+
+        private List<T> fetchAll(int parallelism, Executor executor) {
+            P firstPage = source.fetch(firstRequest);
+            int count = -1;
+            if (parallelism > 1 && source instanceof IndexedPageSource) {
+                count = ((IndexedPageSource<R, P, T>) source).pageCount(firstRequest, firstPage);
+            }
+
+            List<T> items = new ArrayList<>();
+            if (count < 0) {
+                R request = firstRequest;
+                for (P page = firstPage; page != null; ) {
+                    addItems(items, page);
+                    request = source.next(request, page);
+                    page = request != null ? source.fetch(request) : null;
+                }
+                return items;
+            }
+
+            List<P> pages = fetchPages((IndexedPageSource<R, P, T>) source, firstPage, count, parallelism, executor);
+            for (P page : pages) {
+                addItems(items, page);
+            }
+            return items;
+        }
+
+        /**
+         * Fetch pages 1 to count - 1 with up to {@code parallelism} threads, including the calling thread.
+         *
+         * @see ParallelTasks#run(int, int, Executor, java.util.function.IntConsumer)
+         */
+        private List<P> fetchPages(IndexedPageSource<R, P, T> source,
+                                   P firstPage,
+                                   int count,
+                                   int parallelism,
+                                   Executor executor) {
+            Object[] pages = new Object[Math.max(count, 1)];
+            pages[0] = firstPage;
+            ParallelTasks.run(count - 1,
+                    parallelism,
+                    executor,
+                    index -> pages[index + 1] = source.fetch(source.request(firstRequest, firstPage, index + 1))
+            );
+
+            List<P> list = new ArrayList<>(pages.length);
+            for (Object page : pages) {
+                @SuppressWarnings("unchecked") P typed = (P) page;
+                list.add(typed);
+            }
+            return list;
+        }
+
+        private void addItems(List<T> items, P page) {
+            Iterable<T> pageItems = source.items(page);
+            if (pageItems != null) {
+                for (T item : pageItems) {
+                    items.add(item);
+                }
+            }
+        }
+    }
+
+    private static final class PageIterator<R, P, T> implements Iterator<T> {
+        private final PageSource<R, P, T> source;
+        private final Executor prefetchExecutor;
+        private R request;
+        private boolean first = true;
+        private CompletableFuture<P> prefetched;
+        private Iterator<T> items = Collections.emptyIterator();
+
+        private PageIterator(R firstRequest, PageSource<R, P, T> source, Executor prefetchExecutor) {
+            this.request = firstRequest;
+            this.source = source;
+            this.prefetchExecutor = prefetchExecutor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!items.hasNext()) {
+                if (!first && request == null) {
+                    return false;
+                }
+                nextPage();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.next();
+        }
+
+        private void nextPage() {
+            R current = request;
+            P page = prefetched != null ? join(prefetched) : source.fetch(current);
+            prefetched = null;
+            first = false;
+
+            R following = source.next(current, page);
+            request = following;
+            Iterable<T> pageItems = source.items(page);
+            items = pageItems != null ? pageItems.iterator() : Collections.emptyIterator();
+            if (following != null && prefetchExecutor != null) {
+                prefetched = CompletableFuture.supplyAsync(() -> source.fetch(following), prefetchExecutor);
+            }
+        }
+
+        private static <P> P join(CompletableFuture<P> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.nexmo.client.conversion;
 import com.nexmo.client.*;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Nexmo Conversion API. The standard way to obtain an instance of this class is to use
@@ -60,4 +61,28 @@ public class ConversionClient extends AbstractClient {
                                  Date timestamp) throws NexmoResponseParseException, NexmoClientException {
         this.conversionEndpoint.submitConversion(new ConversionRequest(type, messageId, delivered, timestamp));
     }
+
+    /**
+     * Submit a request to the Conversion API indicating whether or not a message was delivered, without blocking the
+     * calling thread.
+     *
+     * @param type      The {@link ConversionRequest.Type} type of com.nexmo.client.conversion.
+     * @param messageId The id of the message that was sent.
+     * @param delivered A boolean indicating whether or not it was delivered.
+     * @param timestamp A timestamp of when it was known to be delivered.
+     *
+     * @return A CompletableFuture which will be completed once the conversion has been submitted.
+     *
+     * @see #submitConversion(ConversionRequest.Type, String, boolean, Date)
+     */
+    public CompletableFuture<Void> submitConversionAsync(ConversionRequest.Type type,
+                                                         String messageId,
+                                                         boolean delivered,
+                                                         Date timestamp) {
+        return this.conversionEndpoint.submitConversionAsync(new ConversionRequest(type,
+                messageId,
+                delivered,
+                timestamp
+        ));
+    }
 }
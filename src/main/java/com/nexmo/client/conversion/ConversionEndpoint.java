@@ -24,6 +24,8 @@ package com.nexmo.client.conversion;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 class ConversionEndpoint {
     private ConversionMethod conversionMethod;
 
@@ -34,4 +36,8 @@ class ConversionEndpoint {
     void submitConversion(ConversionRequest request) throws NexmoClientException {
         this.conversionMethod.execute(request);
     }
+
+    CompletableFuture<Void> submitConversionAsync(ConversionRequest request) {
+        return this.conversionMethod.executeAsync(request);
+    }
 }
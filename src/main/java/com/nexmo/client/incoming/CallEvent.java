@@ -23,8 +23,8 @@ package com.nexmo.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.Date;
@@ -70,8 +70,7 @@ public class CallEvent {
 
     public static CallEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, CallEvent.class);
+            return MapperRegistry.reader(CallEvent.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce CallEvent from json.", jpe);
         }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Hands callbacks received by a servlet to the application asynchronously, as configured by a {@link ConsumerConfig}.
+ * <p>
+ * Each callback is first admitted with {@link #admit(boolean)}, which takes one of the configured number of pending
+ * permits. The returned {@link Ticket} is then either released, if the callback needn't be handled, or dispatched to
+ * the executor. A callback which can't be dispatched is handled on the request thread if the overload policy is
+ * {@link ConsumerConfig.OverloadPolicy#CALLER_RUNS} or it can no longer be refused, and otherwise refused with {@link
+ * #rejectOverloaded(HttpServletResponse, String)} so that Nexmo retries it.
+ */
+public class CallbackDispatcher {
+    private static final Log log = LogFactory.getLog(CallbackDispatcher.class);
+
+    private final ConsumerConfig config;
+    private final ExecutorService ownedExecutor;
+    private final Executor executor;
+    private final Semaphore pendingPermits;
+
+    /**
+     * @param config How callbacks are handled.
+     * @param threadNamePrefix The prefix of the names of the threads in the pool created when the config doesn't
+     *                         supply an executor.
+     */
+    public CallbackDispatcher(ConsumerConfig config, String threadNamePrefix) {
+        this.config = config;
+        this.pendingPermits = new Semaphore(config.getMaxPending());
+
+        if (config.getExecutor() != null) {
+            this.ownedExecutor = null;
+            this.executor = config.getExecutor();
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.ownedExecutor = Executors.newFixedThreadPool(config.getThreads(),
+                    r -> new Thread(r, threadNamePrefix + threadCount.incrementAndGet()));
+            this.executor = this.ownedExecutor;
+        }
+    }
+
+    public ConsumerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return The executor supplied by the config, or the pool created in its absence.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return The number of callbacks waiting for or undergoing handling on the executor.
+     */
+    public int getPending() {
+        return this.config.getMaxPending() - this.pendingPermits.availablePermits();
+    }
+
+    /**
+     * Reserve capacity to handle a callback.
+     *
+     * @param required Whether the callback must be handled even if too many are pending, for example because it can't
+     *                 be received again.
+     *
+     * @return A ticket for the callback, or {@code null} if too many callbacks are pending and it should be refused.
+     * Capacity is checked before anything is recorded about the callback, so that a refused callback is accepted when
+     * it is retried.
+     */
+    public Ticket admit(boolean required) {
+        boolean permitted = this.pendingPermits.tryAcquire();
+        boolean callerRuns = required || this.config.getOverloadPolicy() == ConsumerConfig.OverloadPolicy.CALLER_RUNS;
+        if (!permitted && !callerRuns) {
+            return null;
+        }
+        return new Ticket(permitted, callerRuns);
+    }
+
+    /**
+     * Respond to a refused callback with the status of the overload policy and any configured {@code Retry-After}.
+     *
+     * @param response The response to the callback request.
+     * @param message The message sent with the error status.
+     *
+     * @throws IOException if the response can't be sent.
+     */
+    public void rejectOverloaded(HttpServletResponse response, String message) throws IOException {
+        if (this.config.getRetryAfter() != null) {
+            response.setHeader("Retry-After", Long.toString(this.config.getRetryAfter().getSeconds()));
+        }
+        response.sendError(this.config.getOverloadPolicy().getStatus(), message);
+    }
+
+    /**
+     * Shut down the thread pool if it was created by this dispatcher, waiting up to the configured shutdown timeout
+     * for pending callbacks to be handled before interrupting them. An executor supplied by the config is left
+     * running.
+     */
+    public void shutdown() {
+        if (this.ownedExecutor == null) {
+            return;
+        }
+        this.ownedExecutor.shutdown();
+        try {
+            if (!this.ownedExecutor.awaitTermination(this.config.getShutdownTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Interrupting handling of " + getPending() + " pending callbacks");
+                this.ownedExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.ownedExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The capacity reserved for a single callback by {@link #admit(boolean)}. A ticket is used by the request thread
+     * only, and must be either released or dispatched.
+     */
+    public final class Ticket {
+        private boolean permitted;
+        private boolean callerRuns;
+
+        private Ticket(boolean permitted, boolean callerRuns) {
+            this.permitted = permitted;
+            this.callerRuns = callerRuns;
+        }
+
+        /**
+         * Check the callback against the configured {@link IdempotencyFilter}, releasing the ticket if it is a
+         * duplicate. Otherwise the callback has now been recorded, and a retry of it would be taken for a duplicate,
+         * so it can no longer be refused.
+         *
+         * @param isFirst Records the callback with the filter, returning whether it hadn't been seen before.
+         *
+         * @return {@code true} if the callback is a duplicate which shouldn't be handled.
+         */
+        public boolean isDuplicate(Predicate<IdempotencyFilter> isFirst) {
+            IdempotencyFilter filter = config.getIdempotencyFilter();
+            if (filter == null) {
+                return false;
+            }
+            if (!isFirst.test(filter)) {
+                release();
+                return true;
+            }
+            require();
+            return false;
+        }
+
+        /**
+         * Prevent the callback from being refused, for example because state has been changed which a retry wouldn't
+         * restore.
+         */
+        public void require() {
+            this.callerRuns = true;
+        }
+
+        /**
+         * Give up the capacity reserved for a callback which won't be handled.
+         */
+        public void release() {
+            if (this.permitted) {
+                this.permitted = false;
+                pendingPermits.release();
+            }
+        }
+
+        /**
+         * Hand the callback to the executor, or handle it on the calling thread if there is no capacity for it and it
+         * can't be refused.
+         *
+         * @param executor The executor to use, usually {@link #getExecutor()}.
+         * @param task Handles the callback.
+         *
+         * @return {@code false} if the callback was refused, and should be rejected with {@link
+         * #rejectOverloaded(HttpServletResponse, String)}.
+         */
+        public boolean dispatch(Executor executor, Runnable task) {
+            if (this.permitted) {
+                this.permitted = false;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            pendingPermits.release();
+                        }
+                    });
+                    return true;
+                } catch (RejectedExecutionException e) {
+                    pendingPermits.release();
+                }
+            }
+            if (this.callerRuns) {
+                task.run();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for how a callback servlet, such as {@link com.nexmo.client.sms.callback.AbstractMOServlet} or {@link
+ * com.nexmo.client.voice.servlet.AbstractEventServlet}, hands received callbacks to the application.
+ * <p>
+ * By default callbacks are handled by a pool of 10 threads owned by the servlet, which is shut down when the servlet
+ * is destroyed. At most {@link Builder#maxPending(int)} callbacks may be waiting for or undergoing handling at once;
+ * further requests are handled according to the {@link OverloadPolicy}, by default responding with
+ * {@code 503 Service Unavailable} so that Nexmo retries them later.
+ * <p>
+ * Callbacks which Nexmo delivers more than once are handled each time unless an {@link IdempotencyFilter} is
+ * configured.
+ *
+ * @see CallbackDispatcher
+ */
+public class ConsumerConfig {
+    public static final int DEFAULT_THREADS = 10;
+    public static final int DEFAULT_MAX_PENDING = 10000;
+
+    private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * How to handle a callback received while the maximum number are already pending.
+     */
+    public enum OverloadPolicy {
+        /**
+         * Respond with {@code 429 Too Many Requests}, so that Nexmo retries the callback later.
+         */
+        TOO_MANY_REQUESTS(429),
+        /**
+         * Respond with {@code 503 Service Unavailable}, so that Nexmo retries the callback later.
+         */
+        SERVICE_UNAVAILABLE(503),
+        /**
+         * Handle the callback on the request thread before acknowledging it, slowing the rate at which requests are
+         * accepted.
+         */
+        CALLER_RUNS(200);
+
+        private final int status;
+
+        OverloadPolicy(int status) {
+            this.status = status;
+        }
+
+        /**
+         * @return The HTTP status code sent in response to a callback which isn't accepted.
+         */
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private final Executor executor;
+    private final int threads;
+    private final int maxPending;
+    private final OverloadPolicy overloadPolicy;
+    private final Duration retryAfter;
+    private final Duration shutdownTimeout;
+    private final IdempotencyFilter idempotencyFilter;
+
+    private ConsumerConfig(Builder builder) {
+        this.executor = builder.executor;
+        this.threads = builder.threads;
+        this.maxPending = builder.maxPending;
+        this.overloadPolicy = builder.overloadPolicy;
+        this.retryAfter = builder.retryAfter;
+        this.shutdownTimeout = builder.shutdownTimeout;
+        this.idempotencyFilter = builder.idempotencyFilter;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public IdempotencyFilter getIdempotencyFilter() {
+        return idempotencyFilter;
+    }
+
+    /**
+     * @return A ConsumerConfig object with sensible defaults.
+     */
+    public static ConsumerConfig defaultConfig() {
+        return new Builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Executor executor;
+        private int threads = DEFAULT_THREADS;
+        private int maxPending = DEFAULT_MAX_PENDING;
+        private OverloadPolicy overloadPolicy = OverloadPolicy.SERVICE_UNAVAILABLE;
+        private Duration retryAfter;
+        private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+        private IdempotencyFilter idempotencyFilter;
+
+        /**
+         * @param executor The executor which handles callbacks, such as {@code
+         *                 Executors.newVirtualThreadPerTaskExecutor()} on JVMs which support virtual threads. The
+         *                 executor isn't shut down by the servlet. Defaults to a fixed pool of {@link
+         *                 #threads(int)} threads owned by the servlet.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param threads The number of threads in the pool created when no executor is supplied. Defaults to
+         *                {@value ConsumerConfig#DEFAULT_THREADS}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder threads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Threads must be positive.");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @param maxPending The most callbacks which may be waiting for or undergoing handling at once, whichever
+         *                   executor is used. Defaults to {@value ConsumerConfig#DEFAULT_MAX_PENDING}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxPending(int maxPending) {
+            if (maxPending <= 0) {
+                throw new IllegalArgumentException("Max pending must be positive.");
+            }
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        /**
+         * @param overloadPolicy How to handle a callback received while the maximum number are pending, or which the
+         *                       executor rejects. Defaults to {@link OverloadPolicy#SERVICE_UNAVAILABLE}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder overloadPolicy(OverloadPolicy overloadPolicy) {
+            if (overloadPolicy == null) {
+                throw new IllegalArgumentException("Overload policy must not be null.");
+            }
+            this.overloadPolicy = overloadPolicy;
+            return this;
+        }
+
+        /**
+         * @param retryAfter The delay sent in a {@code Retry-After} header when a callback isn't accepted, or {@code
+         *                   null} to send none. Defaults to {@code null}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+            return this;
+        }
+
+        /**
+         * @param shutdownTimeout How long the servlet waits for pending callbacks to be handled when it is destroyed,
+         *                        if it owns the executor, before interrupting them. Defaults to 30 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder shutdownTimeout(Duration shutdownTimeout) {
+            if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+                throw new IllegalArgumentException("Shutdown timeout must not be negative.");
+            }
+            this.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        /**
+         * @param idempotencyFilter Detects callbacks delivered more than once, which are acknowledged without being
+         *                          handled again, or {@code null} to handle every delivery. Defaults to {@code
+         *                          null}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder idempotencyFilter(IdempotencyFilter idempotencyFilter) {
+            this.idempotencyFilter = idempotencyFilter;
+            return this;
+        }
+
+        /**
+         * @return A new {@link ConsumerConfig} object from the stored builder options.
+         */
+        public ConsumerConfig build() {
+            return new ConsumerConfig(this);
+        }
+    }
+}
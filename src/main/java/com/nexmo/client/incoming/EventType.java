@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The kinds of event Nexmo delivers to an application's webhooks, each parsed into its own class.
+ */
+public enum EventType {
+    /**
+     * A change in the status of a call, parsed as a {@link CallEvent}.
+     */
+    CALL(CallEvent.class),
+    /**
+     * The result of an NCCO input action, parsed as an {@link InputEvent}.
+     */
+    INPUT(InputEvent.class),
+    /**
+     * A completed recording, parsed as a {@link RecordEvent}.
+     */
+    RECORD(RecordEvent.class),
+    /**
+     * An inbound SMS delivered as JSON, parsed as a {@link MessageEvent}.
+     */
+    MESSAGE(MessageEvent.class),
+    /**
+     * An event which isn't recognised, left as a {@link JsonNode}.
+     */
+    UNKNOWN(JsonNode.class);
+
+    private final Class<?> eventClass;
+
+    EventType(Class<?> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    /**
+     * @return The class the event is parsed into.
+     */
+    public Class<?> getEventClass() {
+        return eventClass;
+    }
+
+    /**
+     * Identify the kind of an event from the properties it has.
+     *
+     * @param event The parsed body of a webhook request.
+     *
+     * @return The type of the event, or {@link #UNKNOWN} if it isn't recognised.
+     */
+    public static EventType detect(JsonNode event) {
+        if (event == null || !event.isObject()) {
+            return UNKNOWN;
+        }
+        if (event.has("recording_url")) {
+            return RECORD;
+        }
+        if (event.has("dtmf") || event.has("timed_out")) {
+            return INPUT;
+        }
+        if (event.has("status") && event.has("uuid")) {
+            return CALL;
+        }
+        if (event.has("msisdn") && event.has("messageId")) {
+            return MESSAGE;
+        }
+        return UNKNOWN;
+    }
+}
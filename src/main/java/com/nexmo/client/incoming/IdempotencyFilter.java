@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import com.nexmo.client.sms.callback.messages.MO;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects duplicate deliveries of callbacks, which Nexmo makes when a callback isn't acknowledged quickly enough.
+ * <p>
+ * Each callback's identifier is recorded in an {@link IdempotencyStore} for {@link Builder#window(Duration)}, and a
+ * callback whose identifier has already been recorded is reported as a duplicate. Inbound messages are identified by
+ * their message id, and call events by the call's UUID and status, as each call sends an event for every change of
+ * status.
+ * <p>
+ * Instances are thread safe and may be shared between servlets.
+ */
+public class IdempotencyFilter {
+    private final long windowMillis;
+    private final IdempotencyStore store;
+    private final LongSupplier currentTimeMillis;
+
+    private IdempotencyFilter(Builder builder) {
+        this(builder, System::currentTimeMillis);
+    }
+
+    IdempotencyFilter(Builder builder, LongSupplier currentTimeMillis) {
+        this.windowMillis = builder.window.toMillis();
+        this.store = builder.store != null ? builder.store : new InMemoryIdempotencyStore();
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Record a callback as received.
+     *
+     * @param id The identifier of the callback, or {@code null} if it has none.
+     *
+     * @return true if the callback hasn't been received before, or has no identifier. false if it is a duplicate.
+     */
+    public boolean isFirst(String id) {
+        return id == null || store.markIfAbsent(id, currentTimeMillis.getAsLong() + windowMillis);
+    }
+
+    /**
+     * Record an inbound message as received.
+     *
+     * @param mo The message.
+     *
+     * @return true if no message with the same message id has been received before.
+     */
+    public boolean isFirst(MO mo) {
+        return isFirst(mo.getMessageId());
+    }
+
+    /**
+     * Record a call event as received.
+     *
+     * @param event The event.
+     *
+     * @return true if no event with the same call UUID and status has been received before.
+     */
+    public boolean isFirst(CallEvent event) {
+        return event.getUuid() == null || isFirst(event.getUuid() + ':' + event.getStatus());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Duration window = Duration.ofHours(1);
+        private IdempotencyStore store;
+
+        /**
+         * @param window How long to remember each callback for. Defaults to one hour.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder window(Duration window) {
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Window must be positive.");
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * @param store Where the identifiers of received callbacks are recorded. Defaults to an {@link
+         *              InMemoryIdempotencyStore} of up to {@value InMemoryIdempotencyStore#DEFAULT_MAX_ENTRIES}
+         *              entries.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder store(IdempotencyStore store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * @return A new {@link IdempotencyFilter} from the stored builder options.
+         */
+        public IdempotencyFilter build() {
+            return new IdempotencyFilter(this);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+/**
+ * Records the identifiers of callbacks which have been handled, for an {@link IdempotencyFilter}.
+ * <p>
+ * Implementations backed by shared storage, such as a key-value store supporting set-if-absent with an expiry, allow
+ * duplicates to be suppressed across every node receiving callbacks.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically record an identifier if it hasn't already been recorded.
+     *
+     * @param key The identifier of a callback.
+     * @param expiresAtMillis The time until which the identifier should be remembered. It may be remembered for
+     *                        longer, but a duplicate received after it is forgotten will be treated as new.
+     *
+     * @return true if the identifier was recorded by this call, or false if it had already been recorded.
+     */
+    boolean markIfAbsent(String key, long expiresAtMillis);
+}
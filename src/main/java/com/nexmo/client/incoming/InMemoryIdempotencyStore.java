@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * An {@link IdempotencyStore} which holds identifiers in memory, for a single node.
+ * <p>
+ * Each identifier is held as a 64 bit hash in one of two generations, each a flat table of {@code long}s of up to
+ * half of {@code maxEntries} entries. When the current generation is full it becomes the previous generation,
+ * replacing the one before it, and a generation is discarded as soon as all of its identifiers have expired. Memory
+ * use is therefore bounded at between 16 and 32 bytes per entry whatever the rate of callbacks, at the cost of
+ * forgetting the oldest identifiers before they expire if more than {@code maxEntries} arrive within the window.
+ * <p>
+ * Distinct identifiers are only mistaken for each other if their hashes collide, which for a million remembered
+ * identifiers happens with a probability of around one in 30 million.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    public static final int DEFAULT_MAX_ENTRIES = 200000;
+
+    private final int generationCapacity;
+    private final LongSupplier currentTimeMillis;
+
+    private Generation current;
+    private Generation previous;
+
+    public InMemoryIdempotencyStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries The most identifiers to hold at once.
+     */
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, LongSupplier currentTimeMillis) {
+        if (maxEntries < 2) {
+            throw new IllegalArgumentException("Max entries must be at least 2.");
+        }
+        this.generationCapacity = maxEntries / 2;
+        this.currentTimeMillis = currentTimeMillis;
+        this.current = new Generation(this.generationCapacity);
+    }
+
+    @Override
+    public synchronized boolean markIfAbsent(String key, long expiresAtMillis) {
+        long now = currentTimeMillis.getAsLong();
+        if (previous != null && previous.maxExpiresAtMillis <= now) {
+            previous = null;
+        }
+        if (current.size > 0 && current.maxExpiresAtMillis <= now) {
+            current.clear();
+        }
+
+        long hash = hash(key);
+        if (current.contains(hash) || (previous != null && previous.contains(hash))) {
+            return false;
+        }
+
+        if (current.size >= generationCapacity) {
+            // Reuse the table of the discarded generation, if there is one
+            Generation next = previous != null ? previous : new Generation(generationCapacity);
+            next.clear();
+            previous = current;
+            current = next;
+        }
+        current.add(hash, expiresAtMillis);
+        return true;
+    }
+
+    /**
+     * @return The number of identifiers currently held, including any which have expired but not yet been discarded.
+     */
+    public synchronized int size() {
+        return current.size + (previous != null ? previous.size : 0);
+    }
+
+    /**
+     * A 64 bit FNV-1a hash of the key's characters, with a final mix so that the low bits used to index the table are
+     * well distributed.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        // Zero marks an empty slot
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * An open addressed set of hashes, with linear probing. Hashes are never removed individually, so no tombstones
+     * are needed, and the table is kept at most half full.
+     */
+    private static final class Generation {
+        private final long[] table;
+        private final int mask;
+        private int size;
+        private long maxExpiresAtMillis = Long.MIN_VALUE;
+
+        private Generation(int capacity) {
+            int length = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+            this.table = new long[length];
+            this.mask = length - 1;
+        }
+
+        private boolean contains(long hash) {
+            for (int i = (int) hash & mask; table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(long hash, long expiresAtMillis) {
+            int i = (int) hash & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = hash;
+            size++;
+            maxExpiresAtMillis = Math.max(maxExpiresAtMillis, expiresAtMillis);
+        }
+
+        private void clear() {
+            Arrays.fill(table, 0);
+            size = 0;
+            maxExpiresAtMillis = Long.MIN_VALUE;
+        }
+    }
+}
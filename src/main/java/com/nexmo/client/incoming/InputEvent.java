@@ -23,8 +23,8 @@ package com.nexmo.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.Date;
@@ -61,8 +61,7 @@ public class InputEvent {
 
     public static InputEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, InputEvent.class);
+            return MapperRegistry.reader(InputEvent.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce InputEvent from json.", jpe);
         }
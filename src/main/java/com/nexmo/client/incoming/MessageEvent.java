@@ -23,14 +23,11 @@ package com.nexmo.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.TimeZone;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class MessageEvent {
@@ -116,12 +113,7 @@ public class MessageEvent {
 
     public static MessageEvent fromJson(String json) {
         try {
-            DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(dateFormat);
-            return mapper.readValue(json, MessageEvent.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.REST_DATES_UTC, MessageEvent.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce MessageEvent from json.", jpe);
         }
@@ -23,8 +23,8 @@ package com.nexmo.client.incoming;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.Date;
@@ -74,8 +74,7 @@ public class RecordEvent {
 
     public static RecordEvent fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, RecordEvent.class);
+            return MapperRegistry.reader(RecordEvent.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce RecordEvent from json.", jpe);
         }
@@ -24,8 +24,8 @@ package com.nexmo.client.insight;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -47,8 +47,7 @@ public class AdvancedInsightResponse extends StandardInsightResponse {
 
     public static AdvancedInsightResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, AdvancedInsightResponse.class);
+            return MapperRegistry.reader(AdvancedInsightResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce AdvancedInsightResponse from json.", jpe);
         }
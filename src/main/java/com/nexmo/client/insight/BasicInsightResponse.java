@@ -23,8 +23,8 @@ package com.nexmo.client.insight;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -44,8 +44,7 @@ public class BasicInsightResponse {
 
     public static BasicInsightResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, BasicInsightResponse.class);
+            return MapperRegistry.reader(BasicInsightResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce BasicInsightResponse from json.", jpe);
         }
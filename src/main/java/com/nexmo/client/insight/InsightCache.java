@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.insight;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caches Number Insight results by number and country.
+ * <p>
+ * Each number has a slot for each tier. A lookup is answered by the slot for its own tier or any higher tier, as the
+ * responses of higher tiers extend those of lower tiers, provided the cached result includes CNAM details if they were
+ * requested. Concurrent lookups for the same number, tier and CNAM option share a single request.
+ * <p>
+ * Advanced lookups with an IP address or an asynchronous callback are never cached.
+ */
+class InsightCache {
+    enum Tier {
+        BASIC, STANDARD, ADVANCED
+    }
+
+    private static final Tier[] TIERS = Tier.values();
+
+    private final long[] ttlMillis = new long[TIERS.length];
+    private final long negativeTtlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final ConcurrentMap<String, CompletableFuture<? extends BasicInsightResponse>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    InsightCache(InsightCacheConfig config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    InsightCache(InsightCacheConfig config, LongSupplier clock) {
+        this.ttlMillis[Tier.BASIC.ordinal()] = config.getBasicTtl().toMillis();
+        this.ttlMillis[Tier.STANDARD.ordinal()] = config.getStandardTtl().toMillis();
+        this.ttlMillis[Tier.ADVANCED.ordinal()] = config.getAdvancedTtl().toMillis();
+        this.negativeTtlMillis = config.getNegativeTtl().toMillis();
+        this.clock = clock;
+
+        int maxEntries = config.getMaxEntries();
+        this.entries = new LinkedHashMap<String, InsightCache.Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InsightCache.Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    <R extends BasicInsightResponse> R get(Tier tier, BaseInsightRequest request, Class<R> type, Supplier<R> loader) {
+        if (!isCacheable(request)) {
+            return loader.get();
+        }
+        String key = key(request);
+        boolean cnam = Boolean.TRUE.equals(request.cnam);
+        R cached = lookup(key, tier, cnam, type);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        String flightKey = flightKey(key, tier, cnam);
+        CompletableFuture<R> flight = new CompletableFuture<>();
+        CompletableFuture<? extends BasicInsightResponse> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return type.cast(join(existing));
+        }
+
+        try {
+            // Another lookup may have stored a result between the first check and claiming the request
+            cached = lookup(key, tier, cnam, type);
+            if (cached != null) {
+                hits.increment();
+                flight.complete(cached);
+                return cached;
+            }
+
+            misses.increment();
+            R response = loader.get();
+            store(key, tier, cnam, response);
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    <R extends BasicInsightResponse> CompletableFuture<R> getAsync(Tier tier,
+                                                                   BaseInsightRequest request,
+                                                                   Class<R> type,
+                                                                   Supplier<CompletableFuture<R>> loader) {
+        if (!isCacheable(request)) {
+            return loader.get();
+        }
+        String key = key(request);
+        boolean cnam = Boolean.TRUE.equals(request.cnam);
+        R cached = lookup(key, tier, cnam, type);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        String flightKey = flightKey(key, tier, cnam);
+        CompletableFuture<R> flight = new CompletableFuture<>();
+        CompletableFuture<? extends BasicInsightResponse> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.thenApply(type::cast);
+        }
+
+        misses.increment();
+        CompletableFuture<R> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+            return flight;
+        }
+        loaded.whenComplete((response, failure) -> {
+            if (failure == null) {
+                store(key, tier, cnam, response);
+            }
+            inFlight.remove(flightKey, flight);
+            if (failure != null) {
+                flight.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ?
+                        failure.getCause() :
+                        failure);
+            } else {
+                flight.complete(response);
+            }
+        });
+        return flight;
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    InsightCacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new InsightCacheStats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), size);
+    }
+
+    private <R extends BasicInsightResponse> R lookup(String key, Tier tier, boolean cnam, Class<R> type) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            for (int i = tier.ordinal(); i < TIERS.length; i++) {
+                Slot slot = entry.slots[i];
+                if (slot != null && slot.expiresAt > now && (!cnam || slot.cnam)) {
+                    return type.cast(slot.response);
+                }
+            }
+            if (entry.isExpired(now)) {
+                entries.remove(key);
+            }
+            return null;
+        }
+    }
+
+    private void store(String key, Tier tier, boolean cnam, BasicInsightResponse response) {
+        long ttl = ttl(tier, response);
+        if (ttl <= 0) {
+            return;
+        }
+        long expiresAt = clock.getAsLong() + ttl;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+            entry.slots[tier.ordinal()] = new Slot(response, cnam, expiresAt);
+        }
+    }
+
+    private long ttl(Tier tier, BasicInsightResponse response) {
+        if (response == null) {
+            return 0;
+        }
+        if (isNegative(response)) {
+            return negativeTtlMillis;
+        }
+        return response.getStatus() == InsightStatus.SUCCESS ? ttlMillis[tier.ordinal()] : 0;
+    }
+
+    /**
+     * @return Whether the response shows that the number itself is invalid, rather than reporting a transient failure.
+     */
+    private static boolean isNegative(BasicInsightResponse response) {
+        if (response.getStatus() == InsightStatus.INVALID_PARAMS) {
+            return true;
+        }
+        return response instanceof AdvancedInsightResponse &&
+                ((AdvancedInsightResponse) response).getValidNumber() == AdvancedInsightResponse.Validity.NOT_VALID;
+    }
+
+    private static boolean isCacheable(BaseInsightRequest request) {
+        if (request == null || request.getNumber() == null) {
+            return false;
+        }
+        if (request instanceof AdvancedInsightRequest) {
+            AdvancedInsightRequest advanced = (AdvancedInsightRequest) request;
+            return !advanced.isAsync() && advanced.getIpAddress() == null;
+        }
+        return true;
+    }
+
+    /**
+     * Numbers are compared by their digits, so that {@code +44 7700 900000} and {@code 447700900000} share results.
+     */
+    static String key(BaseInsightRequest request) {
+        String number = request.getNumber();
+        StringBuilder key = new StringBuilder(number.length() + 4);
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c >= '0' && c <= '9') {
+                key.append(c);
+            }
+        }
+        if (key.length() == 0) {
+            key.append(number);
+        }
+        key.append('\0');
+        if (request.getCountry() != null) {
+            key.append(request.getCountry().toUpperCase());
+        }
+        return key.toString();
+    }
+
+    private static String flightKey(String key, Tier tier, boolean cnam) {
+        return key + '\0' + tier.ordinal() + (cnam ? "c" : "");
+    }
+
+    private static BasicInsightResponse join(CompletableFuture<? extends BasicInsightResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final Slot[] slots = new Slot[TIERS.length];
+
+        private boolean isExpired(long now) {
+            for (Slot slot : slots) {
+                if (slot != null && slot.expiresAt > now) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Slot {
+        private final BasicInsightResponse response;
+        private final boolean cnam;
+        private final long expiresAt;
+
+        private Slot(BasicInsightResponse response, boolean cnam, long expiresAt) {
+            this.response = response;
+            this.cnam = cnam;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.insight;
+
+import java.time.Duration;
+
+/**
+ * Configuration for caching Number Insight results in {@link InsightClient}, set with {@link
+ * com.nexmo.client.NexmoClient.Builder#insightCacheConfig(InsightCacheConfig)}.
+ * <p>
+ * Successful results are cached for a TTL which depends on the tier, as basic details such as the country of a number
+ * rarely change while reachability may change at any time. Results showing that a number is invalid are cached for
+ * the negative TTL. Results reporting other errors, such as throttling, are never cached. A TTL of zero disables
+ * caching for that tier.
+ */
+public class InsightCacheConfig {
+    private static final Duration DEFAULT_BASIC_TTL = Duration.ofHours(24);
+    private static final Duration DEFAULT_STANDARD_TTL = Duration.ofHours(1);
+    private static final Duration DEFAULT_ADVANCED_TTL = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(5);
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final boolean enabled;
+    private final Duration basicTtl;
+    private final Duration standardTtl;
+    private final Duration advancedTtl;
+    private final Duration negativeTtl;
+    private final int maxEntries;
+
+    private InsightCacheConfig(Builder builder) {
+        this.enabled = builder.enabled;
+        this.basicTtl = builder.basicTtl;
+        this.standardTtl = builder.standardTtl;
+        this.advancedTtl = builder.advancedTtl;
+        this.negativeTtl = builder.negativeTtl;
+        this.maxEntries = builder.maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getBasicTtl() {
+        return basicTtl;
+    }
+
+    public Duration getStandardTtl() {
+        return standardTtl;
+    }
+
+    public Duration getAdvancedTtl() {
+        return advancedTtl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return An InsightCacheConfig with sensible defaults.
+     */
+    public static InsightCacheConfig defaultConfig() {
+        return new Builder().build();
+    }
+
+    /**
+     * @return An InsightCacheConfig which makes a request for every lookup.
+     */
+    public static InsightCacheConfig disabled() {
+        return new Builder().enabled(false).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private boolean enabled = true;
+        private Duration basicTtl = DEFAULT_BASIC_TTL;
+        private Duration standardTtl = DEFAULT_STANDARD_TTL;
+        private Duration advancedTtl = DEFAULT_ADVANCED_TTL;
+        private Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+        /**
+         * @param enabled Whether Number Insight results should be cached. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * @param basicTtl How long a successful Basic Number Insight result is reused. Defaults to 24 hours.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder basicTtl(Duration basicTtl) {
+            this.basicTtl = validTtl(basicTtl);
+            return this;
+        }
+
+        /**
+         * @param standardTtl How long a successful Standard Number Insight result is reused. Defaults to 1 hour.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder standardTtl(Duration standardTtl) {
+            this.standardTtl = validTtl(standardTtl);
+            return this;
+        }
+
+        /**
+         * @param advancedTtl How long a successful Advanced Number Insight result is reused. Defaults to 5 minutes.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder advancedTtl(Duration advancedTtl) {
+            this.advancedTtl = validTtl(advancedTtl);
+            return this;
+        }
+
+        /**
+         * @param negativeTtl How long a result showing that a number is invalid is reused, at any tier. Defaults to 5
+         *                    minutes.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder negativeTtl(Duration negativeTtl) {
+            this.negativeTtl = validTtl(negativeTtl);
+            return this;
+        }
+
+        /**
+         * @param maxEntries The most numbers to hold results for. The least recently used are evicted first. Defaults
+         *                   to 10,000.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("Max entries must be positive.");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * @return A new {@link InsightCacheConfig} object from the stored builder options.
+         */
+        public InsightCacheConfig build() {
+            return new InsightCacheConfig(this);
+        }
+
+        private static Duration validTtl(Duration ttl) {
+            if (ttl == null || ttl.isNegative()) {
+                throw new IllegalArgumentException("TTL must not be negative.");
+            }
+            return ttl;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.insight;
+
+/**
+ * A snapshot of the use of the Number Insight cache of an {@link InsightClient}.
+ */
+public class InsightCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long coalesced;
+    private final long evictions;
+    private final int size;
+
+    InsightCacheStats(long hits, long misses, long coalesced, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /**
+     * @return The number of lookups answered from the cache, including by a result from a higher tier.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups which made a request to the Number Insight API.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of lookups which shared the request made by an identical lookup already in progress.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * @return The number of numbers whose results were evicted to make room for others.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of numbers with cached results.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The fraction of lookups which didn't make their own request, or 0 if there have been none.
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses + coalesced;
+        return lookups > 0 ? (double) (hits + coalesced) / lookups : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "InsightCacheStats{" + "hits=" + hits + ", misses=" + misses + ", coalesced=" + coalesced +
+                ", evictions=" + evictions + ", size=" + size + '}';
+    }
+}
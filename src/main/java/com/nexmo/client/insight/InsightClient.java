@@ -23,6 +23,8 @@ package com.nexmo.client.insight;
 
 import com.nexmo.client.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A client for talking to the Nexmo Number Insight API. The standard way to obtain an instance of this class is to use
  * {@link NexmoClient#getInsightClient()}.
@@ -31,6 +33,7 @@ public class InsightClient extends AbstractClient {
     protected BasicInsightEndpoint basic;
     protected StandardInsightEndpoint standard;
     protected AdvancedInsightEndpoint advanced;
+    private final InsightCache cache;
 
     /**
      * Constructor.
@@ -38,11 +41,22 @@ public class InsightClient extends AbstractClient {
      * @param httpWrapper (required) shared HTTP wrapper object used for making REST calls.
      */
     public InsightClient(HttpWrapper httpWrapper) {
+        this(httpWrapper, InsightCacheConfig.disabled());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param httpWrapper (required) shared HTTP wrapper object used for making REST calls.
+     * @param cacheConfig (required) whether and for how long results are cached.
+     */
+    public InsightClient(HttpWrapper httpWrapper, InsightCacheConfig cacheConfig) {
         super(httpWrapper);
 
         this.basic = new BasicInsightEndpoint(httpWrapper);
         this.standard = new StandardInsightEndpoint(httpWrapper);
         this.advanced = new AdvancedInsightEndpoint(httpWrapper);
+        this.cache = cacheConfig.isEnabled() ? new InsightCache(cacheConfig) : null;
     }
 
     /**
@@ -85,6 +99,13 @@ public class InsightClient extends AbstractClient {
      * @throws NexmoClientException        if there was a problem with the Nexmo request or response objects.
      */
     public BasicInsightResponse getBasicNumberInsight(BasicInsightRequest basicInsightRequest) throws NexmoResponseParseException, NexmoClientException {
+        if (cache != null) {
+            return cache.get(InsightCache.Tier.BASIC,
+                    basicInsightRequest,
+                    BasicInsightResponse.class,
+                    () -> this.basic.execute(basicInsightRequest)
+            );
+        }
         return this.basic.execute(basicInsightRequest);
     }
 
@@ -148,6 +169,13 @@ public class InsightClient extends AbstractClient {
      * @throws NexmoClientException        if there was a problem with the Nexmo request or response objects.
      */
     public StandardInsightResponse getStandardNumberInsight(StandardInsightRequest standardInsightRequest) throws NexmoResponseParseException, NexmoClientException {
+        if (cache != null) {
+            return cache.get(InsightCache.Tier.STANDARD,
+                    standardInsightRequest,
+                    StandardInsightResponse.class,
+                    () -> this.standard.execute(standardInsightRequest)
+            );
+        }
         return this.standard.execute(standardInsightRequest);
     }
 
@@ -241,6 +269,91 @@ public class InsightClient extends AbstractClient {
      * @throws NexmoClientException        if there was a problem with the Nexmo request or response objects.
      */
     public AdvancedInsightResponse getAdvancedNumberInsight(AdvancedInsightRequest advancedInsightRequest) throws NexmoResponseParseException, NexmoClientException {
+        if (cache != null) {
+            return cache.get(InsightCache.Tier.ADVANCED,
+                    advancedInsightRequest,
+                    AdvancedInsightResponse.class,
+                    () -> this.advanced.execute(advancedInsightRequest)
+            );
+        }
         return this.advanced.execute(advancedInsightRequest);
     }
+
+    /**
+     * Perform a Basic Insight Request without blocking the calling thread.
+     *
+     * @param basicInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A CompletableFuture which will be completed with a {@link BasicInsightResponse}.
+     *
+     * @see #getBasicNumberInsight(BasicInsightRequest)
+     */
+    public CompletableFuture<BasicInsightResponse> getBasicNumberInsightAsync(BasicInsightRequest basicInsightRequest) {
+        if (cache != null) {
+            return cache.getAsync(InsightCache.Tier.BASIC,
+                    basicInsightRequest,
+                    BasicInsightResponse.class,
+                    () -> this.basic.executeAsync(basicInsightRequest)
+            );
+        }
+        return this.basic.executeAsync(basicInsightRequest);
+    }
+
+    /**
+     * Perform a Standard Insight Request without blocking the calling thread.
+     *
+     * @param standardInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A CompletableFuture which will be completed with a {@link StandardInsightResponse}.
+     *
+     * @see #getStandardNumberInsight(StandardInsightRequest)
+     */
+    public CompletableFuture<StandardInsightResponse> getStandardNumberInsightAsync(StandardInsightRequest standardInsightRequest) {
+        if (cache != null) {
+            return cache.getAsync(InsightCache.Tier.STANDARD,
+                    standardInsightRequest,
+                    StandardInsightResponse.class,
+                    () -> this.standard.executeAsync(standardInsightRequest)
+            );
+        }
+        return this.standard.executeAsync(standardInsightRequest);
+    }
+
+    /**
+     * Perform an Advanced Insight Request without blocking the calling thread.
+     *
+     * @param advancedInsightRequest A request object containing the details of the request to make.
+     *
+     * @return A CompletableFuture which will be completed with an {@link AdvancedInsightResponse}.
+     *
+     * @see #getAdvancedNumberInsight(AdvancedInsightRequest)
+     */
+    public CompletableFuture<AdvancedInsightResponse> getAdvancedNumberInsightAsync(AdvancedInsightRequest advancedInsightRequest) {
+        if (cache != null) {
+            return cache.getAsync(InsightCache.Tier.ADVANCED,
+                    advancedInsightRequest,
+                    AdvancedInsightResponse.class,
+                    () -> this.advanced.executeAsync(advancedInsightRequest)
+            );
+        }
+        return this.advanced.executeAsync(advancedInsightRequest);
+    }
+
+    /**
+     * @return A snapshot of the use of the result cache. All counts are zero if caching is disabled.
+     *
+     * @see com.nexmo.client.NexmoClient.Builder#insightCacheConfig(InsightCacheConfig)
+     */
+    public InsightCacheStats getCacheStats() {
+        return cache != null ? cache.getStats() : new InsightCacheStats(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Discard all cached results, so that every number is looked up again.
+     */
+    public void clearCache() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
 }
@@ -23,8 +23,8 @@ package com.nexmo.client.insight;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -40,8 +40,7 @@ public class StandardInsightResponse extends BasicInsightResponse {
 
     public static StandardInsightResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, StandardInsightResponse.class);
+            return MapperRegistry.reader(StandardInsightResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce StandardInsightResponse from json.", jpe);
         }
@@ -30,6 +30,13 @@ import java.io.IOException;
 
 public class LoggingUtils {
 
+    /**
+     * Reads the whole response body into memory to describe the response, replacing its entity with a copy.
+     *
+     * @deprecated The client now logs requests and responses through {@link WireTap}, which does not buffer response
+     * bodies. This method will be removed in a future release.
+     */
+    @Deprecated
     public static String logResponse(HttpResponse response) throws IOException {
         StringBuilder log = new StringBuilder();
         String responseBody = EntityUtils.toString(response.getEntity());
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.logging;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpMessage;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs the HTTP requests sent and responses received by the client at debug level.
+ * <p>
+ * Nothing is read, copied or formatted unless debug logging is enabled for this class. When it is, at most
+ * {@link Builder#maxBodyLength(int)} bytes of each body are logged: request bodies are read from repeatable entities
+ * only, and response bodies are captured as the response is parsed, without buffering the entity or altering how it is
+ * read. The values of sensitive headers and parameters, in the query string, form bodies and JSON bodies, are replaced
+ * with {@code [REDACTED]}.
+ */
+public class WireTap {
+    public static final int DEFAULT_MAX_BODY_LENGTH = 4096;
+
+    private static final String REDACTED = "[REDACTED]";
+    private static final WireTap DEFAULT = builder().build();
+
+    private final Log log;
+    private final int maxBodyLength;
+    private final Set<String> redactedHeaders;
+    private final Pattern formParameterPattern;
+    private final Pattern jsonParameterPattern;
+
+    WireTap(Builder builder, Log log) {
+        this.log = log;
+        this.maxBodyLength = builder.maxBodyLength;
+        this.redactedHeaders = new LinkedHashSet<>();
+        for (String header : builder.redactedHeaders) {
+            this.redactedHeaders.add(header.toLowerCase(Locale.ENGLISH));
+        }
+
+        StringBuilder names = new StringBuilder();
+        for (String parameter : builder.redactedParameters) {
+            names.append(names.length() > 0 ? "|" : "").append(Pattern.quote(parameter));
+        }
+        if (names.length() > 0) {
+            this.formParameterPattern = Pattern.compile("(^|[?&])(" + names + ")=[^&\\s]*",
+                    Pattern.CASE_INSENSITIVE
+            );
+            this.jsonParameterPattern = Pattern.compile("(\"(?:" + names + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"",
+                    Pattern.CASE_INSENSITIVE
+            );
+        } else {
+            this.formParameterPattern = null;
+            this.jsonParameterPattern = null;
+        }
+    }
+
+    /**
+     * @return A tap which logs up to {@link #DEFAULT_MAX_BODY_LENGTH} bytes of each body, redacting credentials.
+     */
+    public static WireTap defaultTap() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return {@code true} if requests and responses will be logged.
+     */
+    public boolean isEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    /**
+     * Log the request line, headers and the start of the body of a request which is about to be sent.
+     *
+     * @param request The request.
+     */
+    public void logRequest(HttpUriRequest request) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Request: ")
+                .append(request.getMethod())
+                .append(' ')
+                .append(redactParameters(String.valueOf(request.getURI())));
+        appendHeaders(message, request);
+        log.debug(message);
+
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                log.debug("Request body: " + readRequestBody(entity));
+            }
+        }
+    }
+
+    /**
+     * Log the status line and headers of a response. The start of the body is logged once it has been read, or the
+     * entity's content stream has been closed.
+     *
+     * @param response The response. Its entity is replaced by one which captures the body as it is read.
+     */
+    public void logResponse(HttpResponse response) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Response: ").append(response.getStatusLine());
+        appendHeaders(message, response);
+        log.debug(message);
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new TappedEntity(entity));
+        }
+    }
+
+    private void appendHeaders(StringBuilder message, HttpMessage httpMessage) {
+        for (Header header : httpMessage.getAllHeaders()) {
+            message.append(", ").append(header.getName()).append(": ");
+            if (redactedHeaders.contains(header.getName().toLowerCase(Locale.ENGLISH))) {
+                message.append(REDACTED);
+            } else {
+                message.append(header.getValue());
+            }
+        }
+    }
+
+    private String readRequestBody(HttpEntity entity) {
+        if (!entity.isRepeatable()) {
+            return "[streamed body not logged]";
+        }
+        try (InputStream content = entity.getContent()) {
+            byte[] buffer = new byte[maxBodyLength];
+            int length = 0;
+            int read;
+            while (length < buffer.length && (read = content.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+            }
+            boolean truncated = length == buffer.length && content.read() != -1;
+            return formatBody(buffer, length, truncated, entity);
+        } catch (IOException e) {
+            return "[unable to read body: " + e.getMessage() + "]";
+        }
+    }
+
+    private String formatBody(byte[] body, int length, boolean truncated, HttpEntity entity) {
+        Charset charset = null;
+        try {
+            charset = ContentType.getOrDefault(entity).getCharset();
+        } catch (RuntimeException e) {
+            // Fall back to UTF-8 if the content type can't be parsed.
+        }
+        String text = redactParameters(new String(body, 0, length, charset != null ? charset : StandardCharsets.UTF_8));
+        return truncated ? text + "... [truncated]" : text;
+    }
+
+    String redactParameters(String text) {
+        if (formParameterPattern == null) {
+            return text;
+        }
+        String redacted = formParameterPattern.matcher(text).replaceAll("$1$2=" + Matcher.quoteReplacement(REDACTED));
+        return jsonParameterPattern.matcher(redacted).replaceAll("$1\"" + Matcher.quoteReplacement(REDACTED) + "\"");
+    }
+
+    private final class TappedEntity extends HttpEntityWrapper {
+        TappedEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new TapInputStream(super.getContent(), wrappedEntity);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream content = getContent()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    private final class TapInputStream extends FilterInputStream {
+        private final HttpEntity entity;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream(Math.min(maxBodyLength, 1024));
+        private boolean truncated;
+        private boolean ended;
+        private boolean logged;
+
+        TapInputStream(InputStream in, HttpEntity entity) {
+            super(in);
+            this.entity = entity;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                ended = true;
+                flush();
+            } else if (captured.size() < maxBodyLength) {
+                captured.write(b);
+            } else {
+                truncated = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read == -1) {
+                ended = true;
+                flush();
+            } else {
+                int capture = Math.min(read, maxBodyLength - captured.size());
+                captured.write(b, off, capture);
+                truncated |= capture < read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            truncated |= skipped > 0;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (logged || (captured.size() == 0 && !ended)) {
+                return;
+            }
+            logged = true;
+            byte[] body = captured.toByteArray();
+            String text = formatBody(body, body.length, truncated, entity);
+            log.debug("Response body: " + (ended || truncated ? text : text + "... [not fully read]"));
+        }
+    }
+
+    public static class Builder {
+        private int maxBodyLength = DEFAULT_MAX_BODY_LENGTH;
+        private Set<String> redactedHeaders = new LinkedHashSet<>(Arrays.asList("Authorization",
+                "Proxy-Authorization",
+                "Cookie",
+                "Set-Cookie"
+        ));
+        private Set<String> redactedParameters = new LinkedHashSet<>(Arrays.asList("api_secret",
+                "sig",
+                "secret",
+                "password",
+                "private_key"
+        ));
+
+        /**
+         * @param maxBodyLength The maximum number of bytes of each request and response body to log. Defaults to
+         *                      {@link #DEFAULT_MAX_BODY_LENGTH}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxBodyLength(int maxBodyLength) {
+            if (maxBodyLength < 0) {
+                throw new IllegalArgumentException("Maximum body length must not be negative.");
+            }
+            this.maxBodyLength = maxBodyLength;
+            return this;
+        }
+
+        /**
+         * @param headers Additional headers whose values should not be logged. {@code Authorization},
+         *                {@code Proxy-Authorization}, {@code Cookie} and {@code Set-Cookie} are always redacted.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder redactHeaders(String... headers) {
+            this.redactedHeaders.addAll(Arrays.asList(headers));
+            return this;
+        }
+
+        /**
+         * @param parameters Additional query, form or JSON parameters whose values should not be logged.
+         *                   {@code api_secret}, {@code sig}, {@code secret}, {@code password} and {@code private_key}
+         *                   are always redacted.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder redactParameters(String... parameters) {
+            this.redactedParameters.addAll(Arrays.asList(parameters));
+            return this;
+        }
+
+        /**
+         * @return A new {@link WireTap} with this builder's configuration.
+         */
+        public WireTap build() {
+            return new WireTap(this, LogFactory.getLog(WireTap.class));
+        }
+    }
+}
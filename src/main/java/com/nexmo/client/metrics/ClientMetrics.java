@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.metrics;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+
+/**
+ * Receives measurements of every API call made by the client.
+ * <p>
+ * Endpoints are identified by the simple name of the class implementing them, such as {@code SendMessageEndpoint}.
+ * Implementations must be thread-safe and should return quickly, as they are called on the request path, including
+ * from the I/O threads of the non-blocking client.
+ * <p>
+ * The default, {@link #none()}, records nothing, and no timings are taken while it is in use.
+ *
+ * @see com.nexmo.client.metrics.micrometer.MicrometerClientMetrics
+ */
+public interface ClientMetrics {
+    /**
+     * Called when a call to an endpoint starts, before any rate limiting or retries.
+     *
+     * @param endpoint The name of the endpoint.
+     */
+    void requestStarted(String endpoint);
+
+    /**
+     * Called when a call to an endpoint has completed, successfully or otherwise.
+     *
+     * @param endpoint The name of the endpoint.
+     */
+    void requestFinished(String endpoint);
+
+    /**
+     * Record the time taken by one phase of an attempt to call an endpoint.
+     *
+     * @param endpoint      The name of the endpoint.
+     * @param phase         The phase which was timed.
+     * @param durationNanos The time taken, in nanoseconds.
+     */
+    void recordPhase(String endpoint, RequestPhase phase, long durationNanos);
+
+    /**
+     * Record a response received from an endpoint, including responses to attempts which are subsequently retried.
+     *
+     * @param endpoint   The name of the endpoint.
+     * @param statusCode The HTTP status code of the response.
+     */
+    void recordResponse(String endpoint, int statusCode);
+
+    /**
+     * Record an attempt which failed without receiving a response, such as a connection or socket timeout.
+     *
+     * @param endpoint The name of the endpoint.
+     * @param failure  The cause of the failure.
+     */
+    void recordFailure(String endpoint, Throwable failure);
+
+    /**
+     * Record the time a request waited to lease a connection from the blocking client's pool.
+     *
+     * @param durationNanos The time spent waiting, in nanoseconds.
+     */
+    void recordConnectionLeaseWait(long durationNanos);
+
+    /**
+     * Called once for each connection pool created by the client, so its usage can be observed.
+     *
+     * @param name The name of the pool, {@code sync} or {@code async}.
+     * @param pool The pool.
+     */
+    void bindConnectionPool(String name, ConnPoolControl<HttpRoute> pool);
+
+    /**
+     * @return An implementation which records nothing.
+     */
+    static ClientMetrics none() {
+        return NoopClientMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.metrics;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+
+final class NoopClientMetrics implements ClientMetrics {
+    static final NoopClientMetrics INSTANCE = new NoopClientMetrics();
+
+    private NoopClientMetrics() {
+    }
+
+    @Override
+    public void requestStarted(String endpoint) {
+    }
+
+    @Override
+    public void requestFinished(String endpoint) {
+    }
+
+    @Override
+    public void recordPhase(String endpoint, RequestPhase phase, long durationNanos) {
+    }
+
+    @Override
+    public void recordResponse(String endpoint, int statusCode) {
+    }
+
+    @Override
+    public void recordFailure(String endpoint, Throwable failure) {
+    }
+
+    @Override
+    public void recordConnectionLeaseWait(long durationNanos) {
+    }
+
+    @Override
+    public void bindConnectionPool(String name, ConnPoolControl<HttpRoute> pool) {
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.metrics.micrometer;
+
+import com.nexmo.client.metrics.ClientMetrics;
+import com.nexmo.client.metrics.RequestPhase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Records client metrics to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Micrometer is an optional dependency of this library, so {@code io.micrometer:micrometer-core} must be added to the
+ * application's dependencies to use this class. The following meters are registered, each tagged with the endpoint
+ * name where applicable:
+ * <ul>
+ * <li>{@code nexmo.client.request.duration}: a timer for each {@link RequestPhase}, tagged with {@code phase}</li>
+ * <li>{@code nexmo.client.responses}: a counter tagged with the response {@code status}</li>
+ * <li>{@code nexmo.client.failures}: a counter of attempts which received no response, tagged with the
+ * {@code exception}</li>
+ * <li>{@code nexmo.client.requests.active}: a gauge of calls in progress</li>
+ * <li>{@code nexmo.client.connections.lease}: a timer of the wait to lease a pooled connection</li>
+ * <li>{@code nexmo.client.connections.leased}, {@code .pending}, {@code .available} and {@code .max}: gauges of each
+ * connection pool's usage, tagged with the {@code pool}</li>
+ * </ul>
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+    private static final String PREFIX = "nexmo.client.";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final ConcurrentMap<String, Timer[]> phaseTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Integer, Counter>> responseCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+    private final Timer leaseTimer;
+
+    /**
+     * @param registry The registry to record metrics to.
+     */
+    public MicrometerClientMetrics(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param registry The registry to record metrics to.
+     * @param tags     Additional tags to apply to every meter, for example to distinguish between clients.
+     */
+    public MicrometerClientMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+        this.leaseTimer = Timer.builder(PREFIX + "connections.lease")
+                .description("Time spent waiting to lease a pooled connection")
+                .tags(this.tags)
+                .register(registry);
+    }
+
+    @Override
+    public void requestStarted(String endpoint) {
+        activeRequests(endpoint).incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(String endpoint) {
+        activeRequests(endpoint).decrementAndGet();
+    }
+
+    @Override
+    public void recordPhase(String endpoint, RequestPhase phase, long durationNanos) {
+        phaseTimers.computeIfAbsent(endpoint, this::createPhaseTimers)[phase.ordinal()]
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordResponse(String endpoint, int statusCode) {
+        responseCounters.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(statusCode, status -> Counter.builder(PREFIX + "responses")
+                        .description("Responses received from the API")
+                        .tags(tags)
+                        .tag("endpoint", endpoint)
+                        .tag("status", String.valueOf(status))
+                        .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void recordFailure(String endpoint, Throwable failure) {
+        Counter.builder(PREFIX + "failures")
+                .description("Attempts which failed without a response")
+                .tags(tags)
+                .tag("endpoint", endpoint)
+                .tag("exception", failure.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordConnectionLeaseWait(long durationNanos) {
+        leaseTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bindConnectionPool(String name, ConnPoolControl<HttpRoute> pool) {
+        registerPoolGauge(name, pool, "leased", "Connections in use", PoolStats::getLeased);
+        registerPoolGauge(name, pool, "pending", "Requests waiting for a connection", PoolStats::getPending);
+        registerPoolGauge(name, pool, "available", "Idle connections", PoolStats::getAvailable);
+        registerPoolGauge(name, pool, "max", "Maximum number of connections", PoolStats::getMax);
+    }
+
+    private void registerPoolGauge(String name,
+                                   ConnPoolControl<HttpRoute> pool,
+                                   String statistic,
+                                   String description,
+                                   ToIntFunction<PoolStats> value) {
+        Gauge.builder(PREFIX + "connections." + statistic, pool, p -> value.applyAsInt(p.getTotalStats()))
+                .description(description)
+                .tags(tags)
+                .tag("pool", name)
+                .register(registry);
+    }
+
+    private AtomicInteger activeRequests(String endpoint) {
+        return activeRequests.computeIfAbsent(endpoint, e -> registry.gauge(PREFIX + "requests.active",
+                tags.and("endpoint", e),
+                new AtomicInteger()
+        ));
+    }
+
+    private Timer[] createPhaseTimers(String endpoint) {
+        RequestPhase[] phases = RequestPhase.values();
+        Timer[] timers = new Timer[phases.length];
+        for (RequestPhase phase : phases) {
+            timers[phase.ordinal()] = Timer.builder(PREFIX + "request.duration")
+                    .description("Time spent in each phase of an API call")
+                    .tags(tags)
+                    .tag("endpoint", endpoint)
+                    .tag("phase", phase.name().toLowerCase(Locale.ENGLISH))
+                    .register(registry);
+        }
+        return timers;
+    }
+}
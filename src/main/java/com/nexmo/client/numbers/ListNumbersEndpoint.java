@@ -26,9 +26,9 @@ import com.nexmo.client.AbstractMethod;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.auth.TokenAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -36,6 +36,8 @@ import java.io.UnsupportedEncodingException;
 class ListNumbersEndpoint extends AbstractMethod<ListNumbersFilter, ListNumbersResponse> {
     private static final String PATH = "/account/numbers";
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{TokenAuthMethod.class};
+    private static final JsonResponseHandler<ListNumbersResponse> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(ListNumbersResponse.class);
 
     ListNumbersEndpoint(HttpWrapper httpWrapper) {
         super(httpWrapper);
@@ -57,8 +59,7 @@ class ListNumbersEndpoint extends AbstractMethod<ListNumbersFilter, ListNumbersR
 
     @Override
     public ListNumbersResponse parseResponse(HttpResponse response) throws IOException {
-        String json = new BasicResponseHandler().handleResponse(response);
-        return ListNumbersResponse.fromJson(json);
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 
     ListNumbersResponse listNumbers(ListNumbersFilter request) throws NexmoClientException {
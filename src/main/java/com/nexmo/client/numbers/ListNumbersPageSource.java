@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.numbers;
+
+import com.nexmo.client.common.IndexedPageSource;
+
+import java.util.Arrays;
+
+/**
+ * Requests each page of owned numbers in turn until {@code count} numbers have been returned.
+ */
+class ListNumbersPageSource implements IndexedPageSource<ListNumbersFilter, ListNumbersResponse, OwnedNumber> {
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ListNumbersEndpoint listNumbers;
+
+    ListNumbersPageSource(ListNumbersEndpoint listNumbers) {
+        this.listNumbers = listNumbers;
+    }
+
+    /**
+     * @return A copy of {@code filter} to request the first page with, so that the caller's filter isn't changed.
+     */
+    static ListNumbersFilter firstRequest(ListNumbersFilter filter) {
+        if (filter == null) {
+            filter = new ListNumbersFilter();
+        }
+        return new ListNumbersFilter(filter.getIndex(),
+                filter.getSize() != null ? filter.getSize() : DEFAULT_PAGE_SIZE,
+                filter.getPattern(),
+                filter.getSearchPattern()
+        );
+    }
+
+    @Override
+    public ListNumbersResponse fetch(ListNumbersFilter filter) {
+        return listNumbers.listNumbers(filter);
+    }
+
+    @Override
+    public ListNumbersFilter next(ListNumbersFilter filter, ListNumbersResponse page) {
+        int index = filter.getIndex() != null ? filter.getIndex() : 1;
+        if (isLastPage(index, filter.getSize(), page.getNumbers().length, page.getCount())) {
+            return null;
+        }
+        return request(filter, index + 1);
+    }
+
+    @Override
+    public int pageCount(ListNumbersFilter firstRequest, ListNumbersResponse firstPage) {
+        return pageCount(firstRequest.getIndex(), firstRequest.getSize(), firstPage.getNumbers().length, firstPage.getCount());
+    }
+
+    @Override
+    public ListNumbersFilter request(ListNumbersFilter firstRequest, ListNumbersResponse firstPage, int index) {
+        return request(firstRequest, (firstRequest.getIndex() != null ? firstRequest.getIndex() : 1) + index);
+    }
+
+    @Override
+    public Iterable<OwnedNumber> items(ListNumbersResponse page) {
+        return Arrays.asList(page.getNumbers());
+    }
+
+    static boolean isLastPage(int index, int size, int returned, int count) {
+        return returned == 0 || returned < size || (long) index * size >= count;
+    }
+
+    /**
+     * @return The number of pages from {@code index} to the last page, or -1 if the page size isn't known.
+     */
+    static int pageCount(Integer index, Integer size, int returned, int count) {
+        if (size == null || size <= 0) {
+            return -1;
+        }
+        int first = index != null ? index : 1;
+        if (isLastPage(first, size, returned, count)) {
+            return 1;
+        }
+        long pages = ((long) count + size - 1) / size;
+        return (int) Math.max(1, pages - first + 1);
+    }
+
+    private static ListNumbersFilter request(ListNumbersFilter filter, int index) {
+        return new ListNumbersFilter(index, filter.getSize(), filter.getPattern(), filter.getSearchPattern());
+    }
+}
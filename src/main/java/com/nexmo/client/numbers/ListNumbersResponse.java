@@ -22,8 +22,8 @@
 package com.nexmo.client.numbers;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -45,8 +45,7 @@ public class ListNumbersResponse {
 
     public static ListNumbersResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, ListNumbersResponse.class);
+            return MapperRegistry.reader(ListNumbersResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from ListNumbersResponse object.", jpe);
         }
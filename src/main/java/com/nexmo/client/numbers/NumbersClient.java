@@ -25,6 +25,10 @@ package com.nexmo.client.numbers;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.NexmoResponseParseException;
+import com.nexmo.client.common.PagedIterable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for accessing the Nexmo API calls that manage phone numbers.
@@ -70,6 +74,50 @@ public class NumbersClient {
         return this.listNumbers.listNumbers(filter);
     }
 
+    /**
+     * Iterate over all the numbers assigned to the authenticated account, fetching each page as it is needed.
+     *
+     * @return A {@link PagedIterable} of every owned number.
+     *
+     * @see #listAllNumbers(ListNumbersFilter)
+     */
+    public PagedIterable<OwnedNumber> listAllNumbers() {
+        return listAllNumbers(null);
+    }
+
+    /**
+     * Iterate over all the numbers assigned to the authenticated account which match {@code filter}, requesting each
+     * page as the previous page is used up. Pages of 100 numbers are requested unless the filter sets a size. The
+     * filter isn't modified, and no request is made until the first number is needed.
+     *
+     * @param filter A ListNumbersFilter describing the filters to be applied to the request, or {@code null} for all
+     *               numbers.
+     *
+     * @return A {@link PagedIterable} of the matching numbers. Use {@link PagedIterable#withPrefetch()} to request each
+     * page in the background while the previous one is processed.
+     */
+    public PagedIterable<OwnedNumber> listAllNumbers(ListNumbersFilter filter) {
+        return new PagedIterable<>(ListNumbersPageSource.firstRequest(filter), new ListNumbersPageSource(listNumbers));
+    }
+
+    /**
+     * Fetch all the numbers assigned to the authenticated account which match {@code filter}. Once the first page shows
+     * how many numbers there are, the remaining pages are requested concurrently.
+     *
+     * @param filter      A ListNumbersFilter describing the filters to be applied to the request, or {@code null} for
+     *                    all numbers.
+     * @param parallelism The most pages to request at once.
+     *
+     * @return The matching numbers, in the order the API lists them.
+     *
+     * @throws NexmoResponseParseException if the response from the API could not be parsed.
+     * @throws NexmoClientException        if an error is returned by the server.
+     * @see PagedIterable#fetchAll(int, java.util.concurrent.Executor)
+     */
+    public List<OwnedNumber> fetchAllNumbers(ListNumbersFilter filter, int parallelism) throws NexmoResponseParseException, NexmoClientException {
+        return listAllNumbers(filter).fetchAll(parallelism);
+    }
+
 
     /**
      * Search for available Nexmo Virtual Numbers.
@@ -91,6 +139,22 @@ public class NumbersClient {
         return this.searchNumbers.searchNumbers(filter);
     }
 
+    /**
+     * Iterate over all the available Nexmo Virtual Numbers matching {@code filter}, requesting each page as the
+     * previous page is used up. Pages of 100 numbers are requested unless the filter sets a size. The filter isn't
+     * modified, and no request is made until the first number is needed.
+     *
+     * @param filter A SearchNumbersFilter describing the numbers to search for.
+     *
+     * @return A {@link PagedIterable} of the matching numbers. Use {@link PagedIterable#withPrefetch()} to request each
+     * page in the background while the previous one is processed.
+     */
+    public PagedIterable<AvailableNumber> searchAllNumbers(SearchNumbersFilter filter) {
+        return new PagedIterable<>(SearchNumbersPageSource.firstRequest(filter),
+                new SearchNumbersPageSource(searchNumbers)
+        );
+    }
+
     /**
      * Start renting a Nexmo Virtual Number.
      *
@@ -145,4 +209,45 @@ public class NumbersClient {
         request.setVoiceCallbackValue(appId);
         this.updateNumber(request);
     }
+
+    /**
+     * Get the first page of phone numbers assigned to the Nexmo account and that match the provided {@code filter}
+     * without blocking the calling thread.
+     *
+     * @param filter A ListNumbersFilter describing the filters to be applied to the request.
+     *
+     * @return A CompletableFuture which will be completed with a ListNumbersResponse.
+     *
+     * @see #listNumbers(ListNumbersFilter)
+     */
+    public CompletableFuture<ListNumbersResponse> listNumbersAsync(ListNumbersFilter filter) {
+        return this.listNumbers.executeAsync(filter);
+    }
+
+    /**
+     * Search for available Nexmo Virtual Numbers without blocking the calling thread.
+     *
+     * @param filter search filters to be applied to the search.
+     *
+     * @return A CompletableFuture which will be completed with a SearchNumbersResponse.
+     *
+     * @see #searchNumbers(SearchNumbersFilter)
+     */
+    public CompletableFuture<SearchNumbersResponse> searchNumbersAsync(SearchNumbersFilter filter) {
+        return this.searchNumbers.executeAsync(filter);
+    }
+
+    /**
+     * Update the callbacks and/or application associations for a given Nexmo Virtual Number without blocking the
+     * calling thread.
+     *
+     * @param request Details of the updates to be made to the number association.
+     *
+     * @return A CompletableFuture which will be completed once the number has been updated.
+     *
+     * @see #updateNumber(UpdateNumberRequest)
+     */
+    public CompletableFuture<Void> updateNumberAsync(UpdateNumberRequest request) {
+        return this.updateNumber.executeAsync(request);
+    }
 }
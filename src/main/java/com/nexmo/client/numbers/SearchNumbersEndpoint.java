@@ -25,9 +25,9 @@ package com.nexmo.client.numbers;
 import com.nexmo.client.AbstractMethod;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.auth.TokenAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -35,6 +35,8 @@ import java.io.UnsupportedEncodingException;
 class SearchNumbersEndpoint extends AbstractMethod<SearchNumbersFilter, SearchNumbersResponse> {
     private static final String PATH = "/number/search";
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{TokenAuthMethod.class};
+    private static final JsonResponseHandler<SearchNumbersResponse> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(SearchNumbersResponse.class);
 
     SearchNumbersEndpoint(HttpWrapper httpWrapper) {
         super(httpWrapper);
@@ -56,8 +58,7 @@ class SearchNumbersEndpoint extends AbstractMethod<SearchNumbersFilter, SearchNu
 
     @Override
     public SearchNumbersResponse parseResponse(HttpResponse response) throws IOException {
-        String json = new BasicResponseHandler().handleResponse(response);
-        return SearchNumbersResponse.fromJson(json);
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 
     SearchNumbersResponse searchNumbers(SearchNumbersFilter request) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.numbers;
+
+import com.nexmo.client.common.IndexedPageSource;
+
+import java.util.Arrays;
+
+/**
+ * Requests each page of available numbers in turn until {@code count} numbers have been returned.
+ */
+class SearchNumbersPageSource implements IndexedPageSource<SearchNumbersFilter, SearchNumbersResponse, AvailableNumber> {
+    private final SearchNumbersEndpoint searchNumbers;
+
+    SearchNumbersPageSource(SearchNumbersEndpoint searchNumbers) {
+        this.searchNumbers = searchNumbers;
+    }
+
+    /**
+     * @return A copy of {@code filter} to request the first page with, so that the caller's filter isn't changed.
+     */
+    static SearchNumbersFilter firstRequest(SearchNumbersFilter filter) {
+        SearchNumbersFilter copy = copy(filter, filter.getIndex());
+        if (copy.getSize() == null) {
+            copy.setSize(ListNumbersPageSource.DEFAULT_PAGE_SIZE);
+        }
+        return copy;
+    }
+
+    @Override
+    public SearchNumbersResponse fetch(SearchNumbersFilter filter) {
+        return searchNumbers.searchNumbers(filter);
+    }
+
+    @Override
+    public SearchNumbersFilter next(SearchNumbersFilter filter, SearchNumbersResponse page) {
+        int index = filter.getIndex() != null ? filter.getIndex() : 1;
+        if (ListNumbersPageSource.isLastPage(index, filter.getSize(), page.getNumbers().length, page.getCount())) {
+            return null;
+        }
+        return copy(filter, index + 1);
+    }
+
+    @Override
+    public int pageCount(SearchNumbersFilter firstRequest, SearchNumbersResponse firstPage) {
+        return ListNumbersPageSource.pageCount(firstRequest.getIndex(),
+                firstRequest.getSize(),
+                firstPage.getNumbers().length,
+                firstPage.getCount()
+        );
+    }
+
+    @Override
+    public SearchNumbersFilter request(SearchNumbersFilter firstRequest, SearchNumbersResponse firstPage, int index) {
+        return copy(firstRequest, (firstRequest.getIndex() != null ? firstRequest.getIndex() : 1) + index);
+    }
+
+    @Override
+    public Iterable<AvailableNumber> items(SearchNumbersResponse page) {
+        return Arrays.asList(page.getNumbers());
+    }
+
+    private static SearchNumbersFilter copy(SearchNumbersFilter filter, Integer index) {
+        SearchNumbersFilter copy = new SearchNumbersFilter(filter.getCountry());
+        copy.setPattern(filter.getPattern());
+        copy.setSearchPattern(filter.getSearchPattern());
+        copy.setFeatures(filter.getFeatures());
+        copy.setType(filter.getType());
+        copy.setSize(filter.getSize());
+        copy.setIndex(index);
+        return copy;
+    }
+}
@@ -22,8 +22,8 @@
 package com.nexmo.client.numbers;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -51,8 +51,7 @@ public class SearchNumbersResponse {
 
     public static SearchNumbersResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SearchNumbersResponse.class);
+            return MapperRegistry.reader(SearchNumbersResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from SearchNumbersResponse object.", jpe);
         }
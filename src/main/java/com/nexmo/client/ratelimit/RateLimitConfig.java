@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.ratelimit;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Associates {@link RateLimiter}s with the endpoints whose requests they shape.
+ * <p>
+ * Endpoints are identified by the fully qualified name of the class implementing them, for example {@code
+ * com.nexmo.client.sms.SendMessageEndpoint}, {@code com.nexmo.client.voice.CreateCallMethod} or {@code
+ * com.nexmo.client.verify.VerifyMethod}. The same limiter may be registered for several endpoints which share an
+ * account limit.
+ */
+public class RateLimitConfig {
+    /**
+     * What happens when no permit is immediately available.
+     */
+    public enum Mode {
+        /**
+         * Wait for a permit. Synchronous calls block the calling thread, while asynchronous calls are queued until a
+         * permit is granted without blocking any thread.
+         */
+        BLOCKING,
+        /**
+         * Reject the request with a {@link NexmoRateLimitExceededException}. Asynchronous calls complete exceptionally.
+         */
+        TRY
+    }
+
+    /**
+     * A {@link RateLimiter} together with the {@link Mode} in which it is applied.
+     */
+    public static final class Limit {
+        private final RateLimiter rateLimiter;
+        private final Mode mode;
+
+        private Limit(RateLimiter rateLimiter, Mode mode) {
+            this.rateLimiter = rateLimiter;
+            this.mode = mode;
+        }
+
+        public RateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+    }
+
+    private static final RateLimitConfig NONE = new Builder().build();
+
+    private final Map<String, Limit> limits;
+
+    private RateLimitConfig(Builder builder) {
+        this.limits = Collections.unmodifiableMap(new HashMap<>(builder.limits));
+    }
+
+    /**
+     * @param endpoint The class implementing an endpoint.
+     *
+     * @return The limit configured for the endpoint, or {@code null} if its requests are not limited.
+     */
+    public Limit getLimit(Class<?> endpoint) {
+        return limits.get(endpoint.getName());
+    }
+
+    /**
+     * @return A configuration which does not limit any endpoint.
+     */
+    public static RateLimitConfig none() {
+        return NONE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<String, Limit> limits = new HashMap<>();
+
+        /**
+         * Limit an endpoint, waiting for permits in {@link Mode#BLOCKING} mode.
+         *
+         * @param endpointClassName The fully qualified name of the class implementing the endpoint.
+         * @param rateLimiter       The limiter to apply.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder limit(String endpointClassName, RateLimiter rateLimiter) {
+            return limit(endpointClassName, rateLimiter, Mode.BLOCKING);
+        }
+
+        /**
+         * @param endpointClassName The fully qualified name of the class implementing the endpoint.
+         * @param rateLimiter       The limiter to apply.
+         * @param mode              What to do when no permit is immediately available.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder limit(String endpointClassName, RateLimiter rateLimiter, Mode mode) {
+            if (endpointClassName == null || rateLimiter == null || mode == null) {
+                throw new IllegalArgumentException("Endpoint, rate limiter and mode are all required.");
+            }
+            limits.put(endpointClassName, new Limit(rateLimiter, mode));
+            return this;
+        }
+
+        /**
+         * @return A new {@link RateLimitConfig} from the stored builder options.
+         */
+        public RateLimitConfig build() {
+            return new RateLimitConfig(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.ratelimit;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shapes outbound requests to an endpoint by handing out permits.
+ * <p>
+ * Implementations must be thread-safe, as a single limiter is shared by every request made to the endpoints it is
+ * configured for.
+ */
+public interface RateLimiter {
+    /**
+     * Obtain a permit, blocking the calling thread until one is available.
+     *
+     * @throws com.nexmo.client.NexmoClientException if the thread is interrupted while waiting.
+     */
+    void acquire();
+
+    /**
+     * Obtain a permit only if one is available immediately.
+     *
+     * @return {@code true} if a permit was obtained, {@code false} otherwise.
+     */
+    boolean tryAcquire();
+
+    /**
+     * Obtain a permit without blocking the calling thread.
+     *
+     * @return A future which is completed once a permit has been obtained. Requests are granted permits in the order
+     * this method is called.
+     */
+    CompletableFuture<Void> acquireAsync();
+
+    /**
+     * Called when the endpoint responds with {@code 429 Too Many Requests}, so the limiter can reduce its rate.
+     */
+    void onThrottled();
+
+    /**
+     * Called when the endpoint responds with any status other than {@code 429 Too Many Requests}.
+     */
+    void onSuccess();
+}
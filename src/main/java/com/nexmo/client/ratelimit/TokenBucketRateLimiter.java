@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.ratelimit;
+
+import com.nexmo.client.NexmoClientException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link RateLimiter} which refills a bucket of permits at a fixed rate.
+ * <p>
+ * The bucket starts full, allowing bursts of up to {@link Builder#burst(int)} requests, after which requests are
+ * spaced at the configured rate. Callers which have to wait reserve their permit up front, so waiting callers are
+ * served in order.
+ * <p>
+ * When adaptive, the rate is halved (down to a configured minimum) whenever the endpoint responds with {@code 429 Too
+ * Many Requests}, at most once per second, and the bucket is emptied. Each successful response then restores 5% of the
+ * configured rate until it is reached again.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+    private static final double BACKOFF_FACTOR = 0.5;
+    private static final double RECOVERY_FRACTION = 0.05;
+    private static final long THROTTLE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+    private final double minRate;
+    private final double capacity;
+    private final boolean adaptive;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier nanoTime;
+
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long lastThrottle;
+    private boolean throttled;
+
+    private TokenBucketRateLimiter(Builder builder) {
+        this(builder, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(Builder builder, LongSupplier nanoTime) {
+        this.maxRate = builder.permitsPerSecond;
+        this.minRate = builder.minPermitsPerSecond != null
+                ? Math.min(builder.minPermitsPerSecond, builder.permitsPerSecond)
+                : builder.permitsPerSecond / 10;
+        this.capacity = builder.burst != null ? builder.burst : Math.max(1, Math.ceil(builder.permitsPerSecond));
+        this.adaptive = builder.adaptive;
+        this.scheduler = builder.scheduler != null ? builder.scheduler : SchedulerHolder.SCHEDULER;
+        this.nanoTime = nanoTime;
+        this.rate = this.maxRate;
+        this.tokens = this.capacity;
+        this.lastRefill = nanoTime.getAsLong();
+    }
+
+    /**
+     * @return The number of permits currently granted per second, which may be lower than configured after the
+     * endpoint has throttled requests.
+     */
+    public synchronized double getPermitsPerSecond() {
+        return rate;
+    }
+
+    @Override
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NexmoClientException("Interrupted while waiting for a rate limit permit.", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            permit.complete(null);
+        }, waitNanos, TimeUnit.NANOSECONDS);
+        return permit;
+    }
+
+    @Override
+    public synchronized void onThrottled() {
+        if (!adaptive) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        if (throttled && now - lastThrottle < THROTTLE_COOLDOWN_NANOS) {
+            return;
+        }
+        refill();
+        rate = Math.max(minRate, rate * BACKOFF_FACTOR);
+        tokens = Math.min(tokens, 0);
+        lastThrottle = now;
+        throttled = true;
+    }
+
+    @Override
+    public synchronized void onSuccess() {
+        if (!adaptive || rate >= maxRate) {
+            return;
+        }
+        refill();
+        rate = Math.min(maxRate, rate + maxRate * RECOVERY_FRACTION);
+    }
+
+    /**
+     * Take a permit, allowing the bucket to go into debt.
+     *
+     * @return The number of nanoseconds the caller must wait before the reserved permit may be used.
+     */
+    synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / rate * NANOS_PER_SECOND);
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / NANOS_PER_SECOND * rate);
+        lastRefill = now;
+    }
+
+    /**
+     * @param permitsPerSecond The sustained rate at which permits are granted.
+     *
+     * @return A {@link Builder} for a limiter with the provided rate.
+     */
+    public static Builder builder(double permitsPerSecond) {
+        return new Builder(permitsPerSecond);
+    }
+
+    /**
+     * Convenience for a limiter which permits {@code permits} requests in each {@code period}.
+     *
+     * @param permits The number of permits granted in each period.
+     * @param period  The period.
+     *
+     * @return A {@link Builder} for a limiter with the equivalent rate.
+     */
+    public static Builder builder(int permits, Duration period) {
+        return new Builder(permits * NANOS_PER_SECOND / period.toNanos());
+    }
+
+    public static class Builder {
+        private double permitsPerSecond;
+        private Double minPermitsPerSecond;
+        private Integer burst;
+        private boolean adaptive = true;
+        private ScheduledExecutorService scheduler;
+
+        Builder(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+                throw new IllegalArgumentException("Permits per second must be positive.");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        /**
+         * @param burst The number of permits which may be granted at once after a quiet period. Defaults to one
+         *              second's worth of permits.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Burst must be positive.");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * @param adaptive Whether the rate is reduced when the endpoint throttles requests. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder adaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+            return this;
+        }
+
+        /**
+         * @param minPermitsPerSecond The lowest rate an adaptive limiter will back off to. Defaults to a tenth of the
+         *                            configured rate.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder minPermitsPerSecond(double minPermitsPerSecond) {
+            if (!(minPermitsPerSecond > 0)) {
+                throw new IllegalArgumentException("Minimum permits per second must be positive.");
+            }
+            this.minPermitsPerSecond = minPermitsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param scheduler The scheduler used to complete the futures returned by {@link
+         *                  TokenBucketRateLimiter#acquireAsync()}. Defaults to a shared single daemon thread.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * @return A new {@link TokenBucketRateLimiter} from the stored builder options.
+         */
+        public TokenBucketRateLimiter build() {
+            return new TokenBucketRateLimiter(this);
+        }
+    }
+
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "nexmo-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -23,6 +23,8 @@ package com.nexmo.client.redact;
 
 import com.nexmo.client.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A client for talking to the Nexmo Redact API. The standard way to obtain an instance of this class is to use {@link
  * NexmoClient#getRedactClient()}.
@@ -77,4 +79,17 @@ public class RedactClient extends AbstractClient {
     public void redactTransaction(RedactRequest redactRequest) throws NexmoResponseParseException, NexmoClientException {
         this.redactEndpoint.redactTransaction(redactRequest);
     }
+
+    /**
+     * Submit a request to the Redact API to redact a transaction without blocking the calling thread.
+     *
+     * @param redactRequest a {@link RedactRequest} object which contains the request parameters.
+     *
+     * @return A CompletableFuture which will be completed once the transaction has been redacted.
+     *
+     * @see #redactTransaction(RedactRequest)
+     */
+    public CompletableFuture<Void> redactTransactionAsync(RedactRequest redactRequest) {
+        return this.redactEndpoint.redactTransactionAsync(redactRequest).thenApply(response -> null);
+    }
 }
@@ -24,6 +24,8 @@ package com.nexmo.client.redact;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 class RedactEndpoint {
     private RedactMethod redactMethod;
 
@@ -34,4 +36,8 @@ class RedactEndpoint {
     void redactTransaction(RedactRequest redactRequest) throws NexmoClientException {
         this.redactMethod.execute(redactRequest);
     }
+
+    CompletableFuture<RedactResponse> redactTransactionAsync(RedactRequest redactRequest) {
+        return this.redactMethod.executeAsync(redactRequest);
+    }
 }
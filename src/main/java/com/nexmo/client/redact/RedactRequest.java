@@ -24,8 +24,8 @@ package com.nexmo.client.redact;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 /**
  * Represents a request to the Redact API.
@@ -74,8 +74,7 @@ public class RedactRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return MapperRegistry.writer().writeValueAsString(this);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from RedactRequest object.", jpe);
         }
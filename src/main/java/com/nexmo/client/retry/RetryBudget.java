@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.retry;
+
+/**
+ * Limits retries to a proportion of the requests made, so that a failing endpoint is not overwhelmed by retries.
+ * <p>
+ * Every request adds {@code ratio} to the budget and every retry withdraws one, with the balance capped at {@code
+ * reserve}. The budget starts full, so short bursts of failures can still be retried, while sustained failures are
+ * retried for at most {@code ratio} of requests.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double reserve;
+    private double balance;
+
+    /**
+     * @param ratio   The fraction of requests which may be retried once the reserve is spent, between 0 and 1.
+     * @param reserve The number of retries available before any requests have been made.
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio must be between 0 and 1.");
+        }
+        if (reserve < 1) {
+            throw new IllegalArgumentException("Reserve must be at least 1.");
+        }
+        this.ratio = ratio;
+        this.reserve = reserve;
+        this.balance = reserve;
+    }
+
+    /**
+     * Record a request which is not itself a retry.
+     */
+    public synchronized void deposit() {
+        balance = Math.min(reserve, balance + ratio);
+    }
+
+    /**
+     * @return {@code true} if a retry may be made, in which case it is deducted from the budget.
+     */
+    public synchronized boolean tryWithdraw() {
+        if (balance >= 1) {
+            balance -= 1;
+            return true;
+        }
+        return false;
+    }
+}
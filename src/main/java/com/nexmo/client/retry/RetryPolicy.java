@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.retry;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Describes when and how quickly failed requests are retried.
+ * <p>
+ * A request is retried if sending it fails with an {@link IOException} (other than an unknown host or a TLS failure),
+ * or if the response has one of the retryable status codes, by default {@code 429}, {@code 500}, {@code 502}, {@code
+ * 503} and {@code 504}. Only {@code GET}, {@code HEAD} and {@code OPTIONS} requests are retried unless retrying has
+ * been enabled for the endpoint with {@link Builder#retryNonIdempotent(String...)}. A {@code PUT} or {@code DELETE}
+ * isn't assumed to be safe to repeat: sending DTMF, speech or audio into a call is a {@code PUT}, and repeating it plays
+ * it again.
+ * <p>
+ * The delay before attempt {@code n + 1} is {@code initialBackoff * multiplier^(n - 1)}, capped at {@code maxBackoff}
+ * and reduced by a random proportion of up to {@code jitter}. A {@code Retry-After} header on the response is honoured
+ * as a minimum delay, and the request is not retried if it asks for longer than {@code maxBackoff}.
+ */
+public class RetryPolicy {
+    private static final Set<String> SAFE_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "GET",
+            "HEAD",
+            "OPTIONS"
+    )));
+    private static final RetryPolicy NONE = new Builder().maxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final boolean honorRetryAfter;
+    private final Set<Integer> retryableStatusCodes;
+    private final Set<String> nonIdempotentEndpoints;
+    private final RetryBudget retryBudget;
+    private final ScheduledExecutorService scheduler;
+    private final DoubleSupplier random;
+
+    private RetryPolicy(Builder builder) {
+        this(builder, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryPolicy(Builder builder, DoubleSupplier random) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.honorRetryAfter = builder.honorRetryAfter;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+        this.nonIdempotentEndpoints = Collections.unmodifiableSet(new HashSet<>(builder.nonIdempotentEndpoints));
+        this.retryBudget = builder.retryBudget;
+        this.scheduler = builder.scheduler;
+        this.random = random;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return The scheduler used to delay retries of asynchronous requests.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler != null ? scheduler : SchedulerHolder.SCHEDULER;
+    }
+
+    /**
+     * @param endpoint   The class implementing the endpoint.
+     * @param httpMethod The HTTP method of the request.
+     *
+     * @return {@code true} if requests of this kind may be retried.
+     */
+    public boolean appliesTo(Class<?> endpoint, String httpMethod) {
+        if (maxAttempts <= 1) {
+            return false;
+        }
+        return SAFE_METHODS.contains(httpMethod) || nonIdempotentEndpoints.contains(endpoint.getName());
+    }
+
+    /**
+     * Record that a new request, which is not itself a retry, is being made.
+     */
+    public void onRequest() {
+        if (retryBudget != null) {
+            retryBudget.deposit();
+        }
+    }
+
+    /**
+     * Decide whether to retry after a request failed to complete.
+     *
+     * @param attempt The attempt which failed, starting at 1.
+     * @param failure The cause of the failure.
+     *
+     * @return The delay in milliseconds before the next attempt, or {@code -1} if the request should not be retried.
+     */
+    public long getRetryDelay(int attempt, IOException failure) {
+        if (failure instanceof UnknownHostException || failure instanceof SSLException) {
+            return -1;
+        }
+        return retry(attempt, 0);
+    }
+
+    /**
+     * Decide whether to retry after a response was received.
+     *
+     * @param attempt  The attempt which produced the response, starting at 1.
+     * @param response The response.
+     *
+     * @return The delay in milliseconds before the next attempt, or {@code -1} if the response should be used as it
+     * is.
+     */
+    public long getRetryDelay(int attempt, HttpResponse response) {
+        if (!retryableStatusCodes.contains(response.getStatusLine().getStatusCode())) {
+            return -1;
+        }
+
+        long retryAfter = honorRetryAfter ? parseRetryAfter(response) : 0;
+        if (retryAfter > maxBackoff.toMillis()) {
+            return -1;
+        }
+        return retry(attempt, retryAfter);
+    }
+
+    private long retry(int attempt, long minimumDelay) {
+        if (attempt >= maxAttempts || (retryBudget != null && !retryBudget.tryWithdraw())) {
+            return -1;
+        }
+        double backoff = Math.min(maxBackoff.toMillis(),
+                initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1)
+        );
+        long delay = (long) (backoff * (1 - jitter * random.getAsDouble()));
+        return Math.max(delay, minimumDelay);
+    }
+
+    private static long parseRetryAfter(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null) {
+            return 0;
+        }
+        String value = header.getValue().trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+        }
+    }
+
+    /**
+     * @return A policy which never retries.
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * @return A policy which makes up to 3 attempts of {@code GET}, {@code HEAD} and {@code OPTIONS} requests, backing
+     * off from 200ms.
+     */
+    public static RetryPolicy defaultPolicy() {
+        return new Builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double multiplier = 2;
+        private double jitter = 0.5;
+        private boolean honorRetryAfter = true;
+        private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+        private Set<String> nonIdempotentEndpoints = new HashSet<>();
+        private RetryBudget retryBudget = new RetryBudget(0.2, 10);
+        private ScheduledExecutorService scheduler;
+
+        /**
+         * @param maxAttempts The maximum number of attempts, including the first. Defaults to 3.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1.");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff The delay before the first retry. Defaults to 200ms.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            if (initialBackoff == null || initialBackoff.isNegative()) {
+                throw new IllegalArgumentException("Initial backoff must not be negative.");
+            }
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        /**
+         * @param maxBackoff The longest delay between attempts. Defaults to 10 seconds.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            if (maxBackoff == null || maxBackoff.isNegative()) {
+                throw new IllegalArgumentException("Max backoff must not be negative.");
+            }
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * @param multiplier The factor the delay grows by after each attempt. Defaults to 2.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Multiplier must be at least 1.");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param jitter The largest proportion by which each delay is randomly reduced, between 0 and 1. Defaults to
+         *               0.5.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param honorRetryAfter Whether a {@code Retry-After} response header sets the minimum delay. Defaults to
+         *                        {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder honorRetryAfter(boolean honorRetryAfter) {
+            this.honorRetryAfter = honorRetryAfter;
+            return this;
+        }
+
+        /**
+         * @param statusCodes The response status codes which are retried.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryableStatusCodes(Integer... statusCodes) {
+            this.retryableStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * Allow requests other than {@code GET}, {@code HEAD} and {@code OPTIONS} to be retried for the given
+         * endpoints. Only enable this for endpoints where sending a request twice is harmless, such as {@code
+         * com.nexmo.client.application.UpdateApplicationMethod}; never for those acting on a live call, such as {@code
+         * com.nexmo.client.voice.SendDtmfMethod}.
+         *
+         * @param endpointClassNames The fully qualified names of the classes implementing the endpoints, for example
+         *                           {@code com.nexmo.client.application.DeleteApplicationMethod}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryNonIdempotent(String... endpointClassNames) {
+            this.nonIdempotentEndpoints.addAll(Arrays.asList(endpointClassNames));
+            return this;
+        }
+
+        /**
+         * @param retryBudget The budget shared by all requests using this policy, or {@code null} for no budget.
+         *                    Defaults to retrying 20% of requests after a reserve of 10 retries.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * @param scheduler The scheduler used to delay retries of asynchronous requests. Defaults to a shared single
+         *                  daemon thread.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * @return A new {@link RetryPolicy} from the stored builder options.
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "nexmo-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
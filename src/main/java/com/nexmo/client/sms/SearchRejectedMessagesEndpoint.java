@@ -24,9 +24,10 @@ package com.nexmo.client.sms;
 import com.nexmo.client.AbstractMethod;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.auth.TokenAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
+import com.nexmo.client.common.MapperRegistry;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -34,6 +35,8 @@ import java.io.UnsupportedEncodingException;
 public class SearchRejectedMessagesEndpoint extends AbstractMethod<SearchRejectedMessagesRequest, SearchRejectedMessagesResponse> {
 
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{TokenAuthMethod.class};
+    private static final JsonResponseHandler<SearchRejectedMessagesResponse> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(MapperRegistry.Profile.REST_DATES, SearchRejectedMessagesResponse.class);
 
     private static final String PATH = "/search/rejections";
 
@@ -55,6 +58,6 @@ public class SearchRejectedMessagesEndpoint extends AbstractMethod<SearchRejecte
 
     @Override
     public SearchRejectedMessagesResponse parseResponse(HttpResponse response) throws IOException {
-        return SearchRejectedMessagesResponse.fromJson(new BasicResponseHandler().handleResponse(response));
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 }
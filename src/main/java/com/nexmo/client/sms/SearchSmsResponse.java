@@ -22,11 +22,10 @@
 package com.nexmo.client.sms;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class SearchSmsResponse {
@@ -43,9 +42,7 @@ public class SearchSmsResponse {
 
     public static SearchSmsResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            return mapper.readValue(json, SearchSmsResponse.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.REST_DATES, SearchSmsResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce SearchSmsResponse from json.", jpe);
         }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms;
+
+import com.nexmo.client.sms.messages.Message;
+
+/**
+ * The outcome of submitting a single message as part of an {@link SmsBulkSubmission}.
+ */
+public class SmsBulkResult {
+    private final long index;
+    private final Message message;
+    private final SmsSubmissionResponse response;
+    private final Throwable error;
+
+    SmsBulkResult(long index, Message message, SmsSubmissionResponse response, Throwable error) {
+        this.index = index;
+        this.message = message;
+        this.response = response;
+        this.error = error;
+    }
+
+    /**
+     * @return The position of the message in the submitted sequence, starting at 0.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * @return The response from the API, or {@code null} if the request failed.
+     */
+    public SmsSubmissionResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return The exception which caused the request to fail, or {@code null} if a response was received.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return {@code true} if a response was received and every part of the message was accepted.
+     */
+    public boolean isSuccess() {
+        if (error != null || response == null || response.getMessages() == null) {
+            return false;
+        }
+        for (SmsSubmissionResponseMessage part : response.getMessages()) {
+            if (part.getStatus() != MessageStatus.OK) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the progress of an {@link SmsBulkSubmission}.
+ */
+public class SmsBulkStats {
+    private final long submitted;
+    private final long succeeded;
+    private final long failed;
+    private final Duration elapsed;
+
+    SmsBulkStats(long submitted, long succeeded, long failed, Duration elapsed) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The number of messages sent to the API so far.
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return The number of messages for which every part was accepted.
+     */
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return The number of messages which failed or had a part rejected.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return The number of messages for which a result has been received.
+     */
+    public long getCompleted() {
+        return succeeded + failed;
+    }
+
+    /**
+     * @return The number of messages which have been sent but have no result yet.
+     */
+    public long getInFlight() {
+        return submitted - getCompleted();
+    }
+
+    /**
+     * @return The time from the first message being sent to the most recent result being received.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The average number of results received per second.
+     */
+    public double getMessagesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos > 0 ? getCompleted() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SmsBulkStats{" + "submitted=" + submitted + ", succeeded=" + succeeded + ", failed=" + failed +
+                ", elapsed=" + elapsed + '}';
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms;
+
+import com.nexmo.client.NexmoClientException;
+import com.nexmo.client.sms.messages.Message;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Submits a sequence of messages, keeping a bounded number of requests in flight, and provides the results as they
+ * arrive.
+ * <p>
+ * Messages are read from the source and sent only as results are consumed: at most {@code maxInFlight} messages have
+ * been sent without their result having been returned by {@link #next()}. A slow consumer therefore slows submission
+ * rather than accumulating results in memory, and nothing is sent until iteration begins.
+ * <p>
+ * Results are returned in the order they complete, which may differ from the order of the source; use {@link
+ * SmsBulkResult#getIndex()} to correlate them. A failed request does not stop the submission; its exception is
+ * available from {@link SmsBulkResult#getError()}.
+ * <p>
+ * Iteration must take place on a single thread, but {@link #getStats()} may be called from any thread.
+ */
+public class SmsBulkSubmission implements Iterator<SmsBulkResult> {
+    private final Iterator<? extends Message> messages;
+    private final Function<Message, CompletableFuture<SmsSubmissionResponse>> submitter;
+    private final int maxInFlight;
+    private final BlockingQueue<SmsBulkResult> completed = new LinkedBlockingQueue<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long lastResultNanos;
+    private int outstanding;
+
+    SmsBulkSubmission(Iterator<? extends Message> messages,
+                      Function<Message, CompletableFuture<SmsSubmissionResponse>> submitter,
+                      int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in flight must be at least 1.");
+        }
+        this.messages = messages;
+        this.submitter = submitter;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return outstanding > 0;
+    }
+
+    /**
+     * Wait for the next result.
+     *
+     * @return The next result to complete.
+     *
+     * @throws NoSuchElementException if every message has been submitted and its result returned.
+     * @throws NexmoClientException   if the thread is interrupted while waiting.
+     */
+    @Override
+    public SmsBulkResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        SmsBulkResult result;
+        try {
+            result = completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoClientException("Interrupted while waiting for a message result.", e);
+        }
+        outstanding--;
+        fill();
+        return result;
+    }
+
+    /**
+     * @return The results as a sequential {@link Stream}, consumed with the same backpressure as iteration.
+     */
+    public Stream<SmsBulkResult> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return A snapshot of the progress of the submission.
+     */
+    public SmsBulkStats getStats() {
+        long start = startNanos;
+        long end = lastResultNanos;
+        Duration elapsed = start == 0 || end == 0 ? Duration.ZERO : Duration.ofNanos(end - start);
+        return new SmsBulkStats(submitted.get(), succeeded.get(), failed.get(), elapsed);
+    }
+
+    private void fill() {
+        while (outstanding < maxInFlight && messages.hasNext()) {
+            submit(messages.next());
+        }
+    }
+
+    private void submit(final Message message) {
+        final long index = submitted.getAndIncrement();
+        if (index == 0) {
+            startNanos = System.nanoTime();
+        }
+        outstanding++;
+
+        CompletableFuture<SmsSubmissionResponse> future;
+        try {
+            future = submitter.apply(message);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((response, error) -> {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            SmsBulkResult result = new SmsBulkResult(index, message, error == null ? response : null, error);
+            if (result.isSuccess()) {
+                succeeded.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            lastResultNanos = System.nanoTime();
+            completed.add(result);
+        });
+    }
+}
@@ -31,7 +31,10 @@ import com.nexmo.client.sms.messages.Message;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 
 /**
@@ -168,4 +171,87 @@ public class SmsClient {
     public SmsSingleSearchResponse getSms(String id) throws NexmoResponseParseException, NexmoClientException {
         return this.singleSearch.execute(id);
     }
+
+    /**
+     * Send an SMS message without blocking the calling thread.
+     *
+     * @param message The message request object that describes the type of message and the contents to be submitted.
+     *
+     * @return A CompletableFuture which will be completed with the SmsSubmissionResponse, or exceptionally with a
+     * {@link NexmoClientException} if the request failed.
+     *
+     * @see #submitMessage(Message)
+     */
+    public CompletableFuture<SmsSubmissionResponse> submitMessageAsync(Message message) {
+        return this.message.executeAsync(message);
+    }
+
+    /**
+     * Send a sequence of SMS messages, keeping up to {@code maxInFlight} requests in progress at once.
+     * <p>
+     * Messages are sent as the returned {@link SmsBulkSubmission} is iterated, and results are provided in the order
+     * they complete. No more than {@code maxInFlight} results are ever waiting to be consumed, so a slow consumer
+     * slows submission rather than buffering results.
+     *
+     * @param messages    The messages to send.
+     * @param maxInFlight The maximum number of messages sent but whose results have not yet been consumed.
+     *
+     * @return An {@link SmsBulkSubmission} providing a result for every message.
+     */
+    public SmsBulkSubmission submitMessages(Iterator<? extends Message> messages, int maxInFlight) {
+        return new SmsBulkSubmission(messages, this.message::executeAsync, maxInFlight);
+    }
+
+    /**
+     * Send a stream of SMS messages, keeping up to {@code maxInFlight} requests in progress at once.
+     *
+     * @param messages    The messages to send.
+     * @param maxInFlight The maximum number of messages sent but whose results have not yet been consumed.
+     *
+     * @return An {@link SmsBulkSubmission} providing a result for every message.
+     *
+     * @see #submitMessages(Iterator, int)
+     */
+    public SmsBulkSubmission submitMessages(Stream<? extends Message> messages, int maxInFlight) {
+        return submitMessages(messages.iterator(), maxInFlight);
+    }
+
+    /**
+     * Search for completed SMS transactions without blocking the calling thread.
+     *
+     * @param request The search criteria.
+     *
+     * @return A CompletableFuture which will be completed with the SMS data matching the provided criteria.
+     *
+     * @see #searchMessages(SearchSmsRequest)
+     */
+    public CompletableFuture<SearchSmsResponse> searchMessagesAsync(SearchSmsRequest request) {
+        return this.search.executeAsync(request);
+    }
+
+    /**
+     * Search for rejected SMS transactions without blocking the calling thread.
+     *
+     * @param request The search criteria.
+     *
+     * @return A CompletableFuture which will be completed with rejection data matching the provided criteria.
+     *
+     * @see #searchRejectedMessages(SearchRejectedMessagesRequest)
+     */
+    public CompletableFuture<SearchRejectedMessagesResponse> searchRejectedMessagesAsync(SearchRejectedMessagesRequest request) {
+        return this.rejected.executeAsync(request);
+    }
+
+    /**
+     * Search for a single SMS by id without blocking the calling thread.
+     *
+     * @param id The message id to search for.
+     *
+     * @return A CompletableFuture which will be completed with the details of the SMS.
+     *
+     * @see #getSms(String)
+     */
+    public CompletableFuture<SmsSingleSearchResponse> getSmsAsync(String id) {
+        return this.singleSearch.executeAsync(id);
+    }
 }
@@ -21,18 +21,15 @@
  */
 package com.nexmo.client.sms;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 
 public class SmsSingleSearchResponse extends SmsDetails {
     public static SmsSingleSearchResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            return mapper.readValue(json, SmsSingleSearchResponse.class);
+            return MapperRegistry.reader(MapperRegistry.Profile.REST_DATES, SmsSingleSearchResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce SmsSingleSearchResponse from json.", jpe);
         }
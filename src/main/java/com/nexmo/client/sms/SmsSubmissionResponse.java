@@ -24,9 +24,9 @@ package com.nexmo.client.sms;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoResponseParseException;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.util.List;
@@ -41,8 +41,7 @@ public class SmsSubmissionResponse {
 
     public static SmsSubmissionResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, SmsSubmissionResponse.class);
+            return MapperRegistry.reader(SmsSubmissionResponse.class).readValue(json);
         } catch (JsonMappingException jme) {
             throw new NexmoResponseParseException("Failed to produce SmsSubmissionResponse from json.", jme);
         } catch (IOException jpe) {
@@ -22,9 +22,13 @@
 package com.nexmo.client.sms.callback;
 
 
-import com.nexmo.client.auth.RequestSigning;
+import com.nexmo.client.auth.SignatureVerifier;
+import com.nexmo.client.incoming.CallbackDispatcher;
+import com.nexmo.client.incoming.ConsumerConfig;
 import com.nexmo.client.sms.HexUtil;
 import com.nexmo.client.sms.callback.messages.MO;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -37,7 +41,9 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An abstract Servlet that receives and parses an incoming callback request for an MO message.
@@ -48,6 +54,11 @@ import java.util.concurrent.Executors;
  * consume the callback object asynchronously. This is because it is important to keep latency of
  * the acknowledgement to a minimum in order to maintain throughput when operating at any sort of volume.
  * You are responsible for persisting this object in the event of any failure whilst processing
+ * <p>
+ * The number of messages waiting to be consumed is bounded, as configured by a {@link ConsumerConfig}. Once the bound
+ * is reached, further callbacks are refused with a status that causes Nexmo to retry them later, or consumed before
+ * being acknowledged, so that a burst of messages can't exhaust memory. The progress of consumption is available from
+ * {@link #getConsumerStats()}.
  *
  * @author Paul Cook
  */
@@ -55,27 +66,78 @@ public abstract class AbstractMOServlet extends HttpServlet {
 
     private static final long serialVersionUID = 8745764381059238419L;
 
-    private static final int MAX_CONSUMER_THREADS = 10;
+    private static final Log log = LogFactory.getLog(AbstractMOServlet.class);
+
+    private static final long EXPIRY_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
 
     private static final ThreadLocal<SimpleDateFormat> TIMESTAMP_DATE_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat(
             "yyyy-MM-dd HH:mm:ss"));
 
-    private final boolean validateSignature;
-    private final String signatureSharedSecret;
+    private final SignatureVerifier signatureVerifier;
     private final boolean validateUsernamePassword;
     private final String expectedUsername;
     private final String expectedPassword;
 
+    private final CallbackDispatcher dispatcher;
+    private final MessageReassembler reassembler;
+    private final LongAdder consumedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalConsumeNanos = new LongAdder();
+    private final AtomicLong maxConsumeNanos = new AtomicLong();
+    private final AtomicLong lastExpiryCheckNanos = new AtomicLong(System.nanoTime());
+
     protected Executor consumer;
 
     public AbstractMOServlet(final boolean validateSignature, final String signatureSharedSecret, final boolean validateUsernamePassword, final String expectedUsername, final String expectedPassword) {
-        this.validateSignature = validateSignature;
-        this.signatureSharedSecret = signatureSharedSecret;
+        this(validateSignature ? SignatureVerifier.builder(signatureSharedSecret).build() : null,
+                validateUsernamePassword,
+                expectedUsername,
+                expectedPassword);
+    }
+
+    /**
+     * @param signatureVerifier Verifies the signature of each request, or {@code null} to accept unsigned requests.
+     *                          Share one verifier between servlets receiving callbacks signed with the same secret, so
+     *                          that a request replayed to another servlet is also rejected.
+     * @param validateUsernamePassword Whether to check the username and password parameters of each request.
+     * @param expectedUsername The expected username, or {@code null} to accept any.
+     * @param expectedPassword The expected password, or {@code null} to accept any.
+     */
+    public AbstractMOServlet(final SignatureVerifier signatureVerifier, final boolean validateUsernamePassword, final String expectedUsername, final String expectedPassword) {
+        this(signatureVerifier, validateUsernamePassword, expectedUsername, expectedPassword, ConsumerConfig.defaultConfig());
+    }
+
+    /**
+     * @param signatureVerifier Verifies the signature of each request, or {@code null} to accept unsigned requests.
+     * @param validateUsernamePassword Whether to check the username and password parameters of each request.
+     * @param expectedUsername The expected username, or {@code null} to accept any.
+     * @param expectedPassword The expected password, or {@code null} to accept any.
+     * @param consumerConfig How received messages are passed to {@link #consume(MO)}.
+     */
+    public AbstractMOServlet(final SignatureVerifier signatureVerifier, final boolean validateUsernamePassword, final String expectedUsername, final String expectedPassword, final ConsumerConfig consumerConfig) {
+        this(signatureVerifier, validateUsernamePassword, expectedUsername, expectedPassword, consumerConfig, null);
+    }
+
+    /**
+     * @param signatureVerifier Verifies the signature of each request, or {@code null} to accept unsigned requests.
+     * @param validateUsernamePassword Whether to check the username and password parameters of each request.
+     * @param expectedUsername The expected username, or {@code null} to accept any.
+     * @param expectedPassword The expected password, or {@code null} to accept any.
+     * @param consumerConfig How received messages are passed to {@link #consume(MO)}.
+     * @param reassembler Combines the parts of concatenated messages, so that each is consumed once all of its parts
+     *                    have arrived, or {@code null} to consume each part separately.
+     */
+    public AbstractMOServlet(final SignatureVerifier signatureVerifier, final boolean validateUsernamePassword, final String expectedUsername, final String expectedPassword, final ConsumerConfig consumerConfig, final MessageReassembler reassembler) {
+        this.signatureVerifier = signatureVerifier;
         this.validateUsernamePassword = validateUsernamePassword;
         this.expectedUsername = expectedUsername;
         this.expectedPassword = expectedPassword;
-
-        this.consumer = Executors.newFixedThreadPool(MAX_CONSUMER_THREADS);
+        this.dispatcher = new CallbackDispatcher(consumerConfig, "nexmo-mo-consumer-");
+        this.reassembler = reassembler;
+        this.consumer = this.dispatcher.getExecutor();
     }
 
     @Override
@@ -101,8 +163,8 @@ public abstract class AbstractMOServlet extends HttpServlet {
             throw new NexmoCallbackRequestValidationException("Bad Credentials");
         }
 
-        if (this.validateSignature) {
-            if (!RequestSigning.verifyRequestSignature(request, this.signatureSharedSecret)) {
+        if (this.signatureVerifier != null) {
+            if (!this.signatureVerifier.verify(request)) {
                 throw new NexmoCallbackRequestValidationException("Bad Signature");
             }
         }
@@ -146,9 +208,15 @@ public abstract class AbstractMOServlet extends HttpServlet {
             mo.setNetworkCode(request.getParameter("network-code"));
             mo.setSessionId(request.getParameter("sessionId"));
 
-            // Push the task to an async consumption thread
-            ConsumeTask task = new ConsumeTask(this, mo);
-            this.consumer.execute(task);
+            // Push the task to an async consumption thread, unless too many messages are already pending
+            if (!dispatch(mo)) {
+                // Nexmo retries the refused message with the same signature, which mustn't be taken for a replay
+                if (this.signatureVerifier != null) {
+                    this.signatureVerifier.forget(request);
+                }
+                rejectOverloaded(response);
+                return;
+            }
 
             // immediately ack the receipt
             try (PrintWriter out = response.getWriter()) {
@@ -161,6 +229,123 @@ public abstract class AbstractMOServlet extends HttpServlet {
         }
     }
 
+    private boolean dispatch(MO mo) {
+        long acceptedNanos = System.nanoTime();
+        // Check for capacity before a part is stored, so that a part which completes a message is never refused
+        CallbackDispatcher.Ticket ticket = this.dispatcher.admit(false);
+        if (ticket == null) {
+            this.rejectedCount.increment();
+            return false;
+        }
+
+        if (ticket.isDuplicate(filter -> filter.isFirst(mo))) {
+            this.duplicateCount.increment();
+            return true;
+        }
+
+        MO message = mo;
+        if (this.reassembler != null) {
+            long lastCheck = this.lastExpiryCheckNanos.get();
+            if (acceptedNanos - lastCheck >= EXPIRY_CHECK_INTERVAL_NANOS
+                    && this.lastExpiryCheckNanos.compareAndSet(lastCheck, acceptedNanos)) {
+                consumeExpiredMessages();
+            }
+
+            message = this.reassembler.add(mo);
+            if (message == null) {
+                ticket.release();
+                return true;
+            }
+            if (message != mo) {
+                // The parts of a combined message have been removed from the store, so it can't be retried
+                ticket.require();
+            }
+        }
+
+        MO consumed = message;
+        if (ticket.dispatch(this.consumer, () -> consumeAndRecord(consumed, acceptedNanos))) {
+            return true;
+        }
+        this.rejectedCount.increment();
+        return false;
+    }
+
+    /**
+     * Consume a partial message for each concatenated message whose remaining parts haven't arrived within the
+     * reassembly timeout. This is done as messages are received, at most once per second, and may also be called
+     * periodically so that partial messages are consumed when no more are received. Partial messages are consumed on
+     * the calling thread if too many messages are pending.
+     */
+    public void consumeExpiredMessages() {
+        if (this.reassembler == null) {
+            return;
+        }
+        for (MO partial : this.reassembler.removeExpired()) {
+            long acceptedNanos = System.nanoTime();
+            this.dispatcher.admit(true).dispatch(this.consumer, () -> consumeAndRecord(partial, acceptedNanos));
+        }
+    }
+
+    private void rejectOverloaded(HttpServletResponse response) throws IOException {
+        this.dispatcher.rejectOverloaded(response, "Too many pending messages");
+    }
+
+    private void consumeAndRecord(MO mo, long acceptedNanos) {
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
+        try {
+            consume(mo);
+        } catch (RuntimeException e) {
+            failure = e;
+            log.error("Failed to consume message [ " + mo.getMessageId() + " ]", e);
+        }
+        long consumeNanos = System.nanoTime() - startNanos;
+        long waitNanos = startNanos - acceptedNanos;
+
+        (failure == null ? this.consumedCount : this.failedCount).increment();
+        this.totalWaitNanos.add(waitNanos);
+        this.totalConsumeNanos.add(consumeNanos);
+        this.maxConsumeNanos.accumulateAndGet(consumeNanos, Math::max);
+        onConsumed(mo, waitNanos, consumeNanos, failure);
+    }
+
+    /**
+     * Called after each message has been consumed, for example to record its latency to a metrics library. Does
+     * nothing by default.
+     *
+     * @param mo The message which was consumed.
+     * @param waitNanos The time from the message being accepted to its consumption starting, in nanoseconds.
+     * @param consumeNanos The time spent in {@link #consume(MO)}, in nanoseconds.
+     * @param failure The exception thrown by {@link #consume(MO)}, or {@code null} if it succeeded.
+     */
+    protected void onConsumed(MO mo, long waitNanos, long consumeNanos, Throwable failure) {
+    }
+
+    /**
+     * @return A snapshot of the number of messages pending, consumed and refused, and the time taken to consume them.
+     */
+    public ConsumerStats getConsumerStats() {
+        return new ConsumerStats(this.dispatcher.getPending(),
+                this.consumedCount.sum(),
+                this.failedCount.sum(),
+                this.rejectedCount.sum(),
+                this.duplicateCount.sum(),
+                this.totalWaitNanos.sum(),
+                this.totalConsumeNanos.sum(),
+                this.maxConsumeNanos.get());
+    }
+
+    /**
+     * Shuts down the consumer thread pool if it was created by this servlet, waiting up to the configured shutdown
+     * timeout for pending messages to be consumed. An executor supplied through {@link ConsumerConfig} is left
+     * running.
+     */
+    @Override
+    public void destroy() {
+        this.dispatcher.shutdown();
+        super.destroy();
+    }
+
     private static void extractConcatenationData(HttpServletRequest request, MO mo) throws NexmoCallbackRequestValidationException {
         String concatString = request.getParameter("concat");
         if (concatString != null && concatString.equals("true")) {
@@ -210,28 +395,6 @@ public abstract class AbstractMOServlet extends HttpServlet {
         return null;
     }
 
-    /**
-     * This is the task that is pushed to the thread pool upon receipt of an incoming MO callback
-     * It detaches the consumption of the MO from the acknowledgement of the incoming http request
-     */
-    private static final class ConsumeTask implements Runnable, java.io.Serializable {
-
-        private static final long serialVersionUID = -5270583545977374866L;
-
-        private final AbstractMOServlet parent;
-        private final MO mo;
-
-        public ConsumeTask(final AbstractMOServlet parent, final MO mo) {
-            this.parent = parent;
-            this.mo = mo;
-        }
-
-        @Override
-        public void run() {
-            this.parent.consume(this.mo);
-        }
-    }
-
     /**
      * This method is asynchronously passed a complete MO instance to be dealt with by your application logic
      *
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import com.nexmo.client.sms.callback.messages.MO;
+
+import java.util.List;
+
+/**
+ * Holds the parts of concatenated messages received by a {@link MessageReassembler} until every part has arrived.
+ * <p>
+ * Implementations backed by shared storage allow parts of the same message to be received by different nodes. Parts
+ * are {@link java.io.Serializable}. Each method must be atomic with respect to the others, so that exactly one call to
+ * {@link #add} returns the complete set of parts and a set of parts is never both returned as complete and expired.
+ */
+public interface ConcatenationStore {
+
+    /**
+     * Store a part of a concatenated message.
+     *
+     * @param key Identifies the message the part belongs to.
+     * @param part The part, which has a part number between 1 and its total number of parts.
+     * @param expiresAtMillis The time after which the message's parts should be given up on, if this is its first part
+     *                        to arrive.
+     *
+     * @return Every part of the message, in part number order, if this part completes it, in which case the parts are
+     * removed from the store. Otherwise {@code null}.
+     */
+    List<MO> add(String key, MO part, long expiresAtMillis);
+
+    /**
+     * Remove the parts of messages which have expired, or which the store has discarded to stay within its bounds.
+     *
+     * @param currentTimeMillis The current time.
+     *
+     * @return The parts received for each incomplete message, in part number order.
+     */
+    List<List<MO>> removeExpired(long currentTimeMillis);
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the consumption of messages received by an {@link AbstractMOServlet}.
+ */
+public class ConsumerStats {
+    private final int pending;
+    private final long consumed;
+    private final long failed;
+    private final long rejected;
+    private final long duplicates;
+    private final long totalWaitNanos;
+    private final long totalConsumeNanos;
+    private final long maxConsumeNanos;
+
+    ConsumerStats(int pending,
+                  long consumed,
+                  long failed,
+                  long rejected,
+                  long duplicates,
+                  long totalWaitNanos,
+                  long totalConsumeNanos,
+                  long maxConsumeNanos) {
+        this.pending = pending;
+        this.consumed = consumed;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.duplicates = duplicates;
+        this.totalWaitNanos = totalWaitNanos;
+        this.totalConsumeNanos = totalConsumeNanos;
+        this.maxConsumeNanos = maxConsumeNanos;
+    }
+
+    /**
+     * @return The number of accepted messages waiting for or undergoing consumption.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return The number of messages consumed without {@link AbstractMOServlet#consume} throwing an exception.
+     */
+    public long getConsumed() {
+        return consumed;
+    }
+
+    /**
+     * @return The number of messages for which {@link AbstractMOServlet#consume} threw an exception.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return The number of messages refused because too many were pending.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return The number of messages acknowledged without being consumed because they had already been received.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return The average time from a message being accepted to its consumption starting.
+     */
+    public Duration getAverageWait() {
+        return average(totalWaitNanos);
+    }
+
+    /**
+     * @return The average time spent consuming a message.
+     */
+    public Duration getAverageConsumeTime() {
+        return average(totalConsumeNanos);
+    }
+
+    /**
+     * @return The longest time spent consuming a message.
+     */
+    public Duration getMaxConsumeTime() {
+        return Duration.ofNanos(maxConsumeNanos);
+    }
+
+    private Duration average(long totalNanos) {
+        long count = consumed + failed;
+        return Duration.ofNanos(count > 0 ? totalNanos / count : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumerStats{" + "pending=" + pending + ", consumed=" + consumed + ", failed=" + failed +
+                ", rejected=" + rejected + ", duplicates=" + duplicates + ", averageWait=" + getAverageWait() + ", averageConsumeTime=" +
+                getAverageConsumeTime() + ", maxConsumeTime=" + getMaxConsumeTime() + '}';
+    }
+}
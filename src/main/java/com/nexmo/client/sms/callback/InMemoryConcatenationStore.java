@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import com.nexmo.client.sms.callback.messages.MO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ConcatenationStore} which holds parts in memory, for a single node.
+ * <p>
+ * At most {@code maxParts} parts are held. When that is exceeded, the messages whose first part arrived earliest are
+ * discarded, and returned by the next call to {@link #removeExpired(long)} as though they had expired.
+ */
+public class InMemoryConcatenationStore implements ConcatenationStore {
+    public static final int DEFAULT_MAX_PARTS = 10000;
+
+    private final int maxParts;
+    // Every message has the same timeout, so insertion order is also expiry order.
+    private final Map<String, PartSet> partSets = new LinkedHashMap<>();
+    private final List<List<MO>> discarded = new ArrayList<>();
+    private int storedParts;
+
+    public InMemoryConcatenationStore() {
+        this(DEFAULT_MAX_PARTS);
+    }
+
+    /**
+     * @param maxParts The most parts to hold at once.
+     */
+    public InMemoryConcatenationStore(int maxParts) {
+        if (maxParts <= 0) {
+            throw new IllegalArgumentException("Max parts must be positive.");
+        }
+        this.maxParts = maxParts;
+    }
+
+    @Override
+    public synchronized List<MO> add(String key, MO part, long expiresAtMillis) {
+        PartSet partSet = partSets.get(key);
+        if (partSet == null) {
+            partSet = new PartSet(part.getConcatTotalParts(), expiresAtMillis);
+            partSets.put(key, partSet);
+        }
+
+        int index = part.getConcatPartNumber() - 1;
+        if (part.getConcatTotalParts() != partSet.parts.length || index >= partSet.parts.length) {
+            // The total changed between parts, so this part can't belong with the others.
+            return null;
+        }
+        if (partSet.parts[index] == null) {
+            partSet.received++;
+            storedParts++;
+        }
+        partSet.parts[index] = part;
+
+        if (partSet.received == partSet.parts.length) {
+            partSets.remove(key);
+            storedParts -= partSet.received;
+            return partSet.toList();
+        }
+
+        Iterator<PartSet> oldest = partSets.values().iterator();
+        while (storedParts > maxParts && oldest.hasNext()) {
+            PartSet evicted = oldest.next();
+            if (evicted != partSet) {
+                oldest.remove();
+                storedParts -= evicted.received;
+                discarded.add(evicted.toList());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized List<List<MO>> removeExpired(long currentTimeMillis) {
+        List<List<MO>> expired = discarded.isEmpty() ? Collections.emptyList() : new ArrayList<>(discarded);
+        discarded.clear();
+
+        Iterator<PartSet> oldest = partSets.values().iterator();
+        while (oldest.hasNext()) {
+            PartSet partSet = oldest.next();
+            if (partSet.expiresAtMillis > currentTimeMillis) {
+                break;
+            }
+            oldest.remove();
+            storedParts -= partSet.received;
+            if (expired.isEmpty()) {
+                expired = new ArrayList<>();
+            }
+            expired.add(partSet.toList());
+        }
+        return expired;
+    }
+
+    /**
+     * @return The number of parts currently held.
+     */
+    public synchronized int size() {
+        return storedParts;
+    }
+
+    private static final class PartSet {
+        private final MO[] parts;
+        private final long expiresAtMillis;
+        private int received;
+
+        private PartSet(int totalParts, long expiresAtMillis) {
+            this.parts = new MO[totalParts];
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private List<MO> toList() {
+            List<MO> list = new ArrayList<>(received);
+            for (MO part : parts) {
+                if (part != null) {
+                    list.add(part);
+                }
+            }
+            return list;
+        }
+    }
+}
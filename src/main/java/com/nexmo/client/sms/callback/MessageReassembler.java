@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import com.nexmo.client.sms.callback.messages.MO;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Combines the parts of concatenated inbound messages into a single {@link MO}.
+ * <p>
+ * Parts are identified by their sender, destination and concatenation reference, and held in a {@link
+ * ConcatenationStore} until every part has arrived. The combined message has the message id, type, keyword, network
+ * code, session id and timestamp of its first part, the text or binary payload of every part in order, and the total
+ * price of its parts. If the remaining parts haven't arrived within {@link Builder#timeout(Duration)} of the first,
+ * the parts received so far are combined into a message for which {@link MO#isPartial()} is true.
+ * <p>
+ * Messages which aren't concatenated, or whose concatenation data is invalid, are passed through unchanged.
+ */
+public class MessageReassembler {
+    private static final Log log = LogFactory.getLog(MessageReassembler.class);
+
+    private static final int MAX_TOTAL_PARTS = 255;
+
+    private final long timeoutMillis;
+    private final ConcatenationStore store;
+    private final boolean emitPartials;
+    private final LongSupplier currentTimeMillis;
+
+    private MessageReassembler(Builder builder) {
+        this(builder, System::currentTimeMillis);
+    }
+
+    MessageReassembler(Builder builder, LongSupplier currentTimeMillis) {
+        this.timeoutMillis = builder.timeout.toMillis();
+        this.store = builder.store != null ? builder.store : new InMemoryConcatenationStore();
+        this.emitPartials = builder.emitPartials;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Add a received message.
+     *
+     * @param mo The message, which may be a part of a concatenated message.
+     *
+     * @return The message itself if it isn't concatenated, the combined message if it is the last part of a
+     * concatenated message to arrive, or {@code null} if more parts are awaited.
+     */
+    public MO add(MO mo) {
+        if (!mo.isConcat() || mo.getConcatReferenceNumber() == null
+                || mo.getConcatTotalParts() < 1 || mo.getConcatTotalParts() > MAX_TOTAL_PARTS
+                || mo.getConcatPartNumber() < 1 || mo.getConcatPartNumber() > mo.getConcatTotalParts()) {
+            return mo;
+        }
+
+        List<MO> parts = store.add(key(mo), mo, currentTimeMillis.getAsLong() + timeoutMillis);
+        return parts != null ? combine(parts) : null;
+    }
+
+    /**
+     * Remove the parts of concatenated messages which haven't been completed within the timeout.
+     *
+     * @return A partial message combining the parts received for each, or an empty list if partial messages are not
+     * emitted.
+     */
+    public List<MO> removeExpired() {
+        List<List<MO>> expired = store.removeExpired(currentTimeMillis.getAsLong());
+        if (expired.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<MO> partials = new ArrayList<>(expired.size());
+        for (List<MO> parts : expired) {
+            if (emitPartials) {
+                partials.add(combine(parts));
+            } else {
+                log.warn("Discarding " + parts.size() + " of " + parts.get(0).getConcatTotalParts()
+                        + " parts of concatenated message [ " + parts.get(0).getConcatReferenceNumber() + " ]");
+            }
+        }
+        return partials;
+    }
+
+    private static String key(MO mo) {
+        return mo.getSender() + '\u0000' + mo.getDestination() + '\u0000' + mo.getConcatReferenceNumber();
+    }
+
+    private static MO combine(List<MO> parts) {
+        MO first = parts.get(0);
+        BigDecimal price = null;
+        for (MO part : parts) {
+            if (part.getPrice() != null) {
+                price = price == null ? part.getPrice() : price.add(part.getPrice());
+            }
+        }
+
+        MO combined = new MO(first.getMessageId(),
+                first.getMessageType(),
+                first.getSender(),
+                first.getDestination(),
+                price,
+                first.getTimeStamp());
+        if (first.getMessageType() == MO.MESSAGE_TYPE.BINARY) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            for (MO part : parts) {
+                if (part.getBinaryMessageBody() != null) {
+                    data.write(part.getBinaryMessageBody(), 0, part.getBinaryMessageBody().length);
+                }
+            }
+            combined.setBinaryData(data.toByteArray(), first.getUserDataHeader());
+        } else {
+            StringBuilder text = new StringBuilder();
+            for (MO part : parts) {
+                if (part.getMessageBody() != null) {
+                    text.append(part.getMessageBody());
+                }
+            }
+            combined.setTextData(text.toString(), first.getKeyword());
+        }
+        combined.setConcatenationData(first.getConcatReferenceNumber(),
+                first.getConcatTotalParts(),
+                first.getConcatPartNumber());
+        combined.setReassembledParts(parts.size());
+        combined.setNetworkCode(first.getNetworkCode());
+        combined.setSessionId(first.getSessionId());
+        return combined;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Duration timeout = Duration.ofMinutes(1);
+        private ConcatenationStore store;
+        private boolean emitPartials = true;
+
+        /**
+         * @param timeout How long after the first part of a message arrives to wait for the rest. Defaults to one
+         *                minute.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder timeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("Timeout must be positive.");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param store Where parts are held until their message is complete. Defaults to an {@link
+         *              InMemoryConcatenationStore} of up to {@value InMemoryConcatenationStore#DEFAULT_MAX_PARTS}
+         *              parts.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder store(ConcatenationStore store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * @param emitPartials Whether the parts of a message which isn't completed in time are combined into a
+         *                     partial message, rather than discarded. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder emitPartials(boolean emitPartials) {
+            this.emitPartials = emitPartials;
+            return this;
+        }
+
+        /**
+         * @return A new {@link MessageReassembler} from the stored builder options.
+         */
+        public MessageReassembler build() {
+            return new MessageReassembler(this);
+        }
+    }
+}
@@ -53,6 +53,7 @@ public class MO implements java.io.Serializable {
     private String concatReferenceNumber;
     private int concatTotalParts;
     private int concatPartNumber;
+    private int reassembledParts;
 
     /**
      * Describes the type of payload this message carries
@@ -141,6 +142,10 @@ public class MO implements java.io.Serializable {
         this.concatPartNumber = concatPartNumber;
     }
 
+    public void setReassembledParts(int reassembledParts) {
+        this.reassembledParts = reassembledParts;
+    }
+
     public void setNetworkCode(String networkCode) {
         this.networkCode = networkCode;
     }
@@ -288,6 +293,27 @@ public class MO implements java.io.Serializable {
         return this.concatPartNumber;
     }
 
+    /**
+     * @return boolean is this message the combination of the parts of a concatenated message
+     */
+    public boolean isReassembled() {
+        return this.reassembledParts > 0;
+    }
+
+    /**
+     * @return int if this message was reassembled, then this is the number of parts it was combined from
+     */
+    public int getReassembledParts() {
+        return this.reassembledParts;
+    }
+
+    /**
+     * @return boolean is this message reassembled from fewer parts than the concatenated set contains, because the remaining parts didn't arrive in time
+     */
+    public boolean isPartial() {
+        return this.reassembledParts > 0 && this.reassembledParts < this.concatTotalParts;
+    }
+
     /**
      * @return the timestamp this message was originally received by Nexmo
      */
@@ -31,6 +31,8 @@ import com.nexmo.client.sns.request.SnsSubscribeRequest;
 import com.nexmo.client.sns.response.SnsPublishResponse;
 import com.nexmo.client.sns.response.SnsSubscribeResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A client for talking to the Nexmo Voice API. The standard way to obtain an instance of this class is to use {@link
  * NexmoClient#getSnsClient()}.
@@ -54,4 +56,30 @@ public class SnsClient {
     public SnsSubscribeResponse subscribe(SnsSubscribeRequest request) throws NexmoClientException, NexmoResponseParseException {
         return (SnsSubscribeResponse) this.endpoint.execute(request);
     }
+
+    /**
+     * Publish a message to an SNS topic without blocking the calling thread.
+     *
+     * @param request The {@link SnsPublishRequest} to send.
+     *
+     * @return A CompletableFuture which will be completed with the {@link SnsPublishResponse}.
+     *
+     * @see #publish(SnsPublishRequest)
+     */
+    public CompletableFuture<SnsPublishResponse> publishAsync(SnsPublishRequest request) {
+        return this.endpoint.executeAsync(request).thenApply(SnsPublishResponse.class::cast);
+    }
+
+    /**
+     * Subscribe to an SNS topic without blocking the calling thread.
+     *
+     * @param request The {@link SnsSubscribeRequest} to send.
+     *
+     * @return A CompletableFuture which will be completed with the {@link SnsSubscribeResponse}.
+     *
+     * @see #subscribe(SnsSubscribeRequest)
+     */
+    public CompletableFuture<SnsSubscribeResponse> subscribeAsync(SnsSubscribeRequest request) {
+        return this.endpoint.executeAsync(request).thenApply(SnsSubscribeResponse.class::cast);
+    }
 }
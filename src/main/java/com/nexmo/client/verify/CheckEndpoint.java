@@ -25,6 +25,8 @@ import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.NexmoResponseParseException;
 
+import java.util.concurrent.CompletableFuture;
+
 class CheckEndpoint {
     private CheckMethod checkMethod;
 
@@ -43,4 +45,8 @@ class CheckEndpoint {
     private CheckResponse check(CheckRequest request) throws NexmoClientException, NexmoResponseParseException {
         return this.checkMethod.execute(request);
     }
+
+    CompletableFuture<CheckResponse> checkAsync(final String requestId, final String code) {
+        return this.checkMethod.executeAsync(new CheckRequest(requestId, code));
+    }
 }
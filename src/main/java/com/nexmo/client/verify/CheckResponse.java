@@ -25,9 +25,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoResponseParseException;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -75,8 +75,7 @@ public class CheckResponse {
 
     public static CheckResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, CheckResponse.class);
+            return MapperRegistry.reader(CheckResponse.class).readValue(json);
         } catch (JsonMappingException jme) {
             throw new NexmoResponseParseException("Failed to produce CheckResponse from json.", jme);
         } catch (IOException jpe) {
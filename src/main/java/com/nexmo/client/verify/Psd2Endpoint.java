@@ -2,6 +2,8 @@ package com.nexmo.client.verify;
 
 import com.nexmo.client.HttpWrapper;
 
+import java.util.concurrent.CompletableFuture;
+
 public class Psd2Endpoint {
 
     public Psd2Method method;
@@ -21,4 +23,8 @@ public class Psd2Endpoint {
     public VerifyResponse psd2Verify(Psd2Request request){
         return method.execute(request);
     }
+
+    public CompletableFuture<VerifyResponse> psd2VerifyAsync(Psd2Request request) {
+        return method.executeAsync(request);
+    }
 }
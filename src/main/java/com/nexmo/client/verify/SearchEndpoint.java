@@ -25,6 +25,8 @@ import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 import com.nexmo.client.NexmoResponseParseException;
 
+import java.util.concurrent.CompletableFuture;
+
 class SearchEndpoint {
     private SearchMethod searchMethod;
 
@@ -35,4 +37,8 @@ class SearchEndpoint {
     SearchVerifyResponse search(String... requestIds) throws NexmoClientException, NexmoResponseParseException {
         return this.searchMethod.execute(new SearchRequest(requestIds));
     }
+
+    CompletableFuture<SearchVerifyResponse> searchAsync(String... requestIds) {
+        return this.searchMethod.executeAsync(new SearchRequest(requestIds));
+    }
 }
@@ -25,18 +25,24 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.nexmo.client.NexmoResponseParseException;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class SearchVerifyResponse {
+    private static final ObjectReader READER = MapperRegistry.copy(MapperRegistry.Profile.REST_DATES)
+            .registerModule(new SimpleModule().addDeserializer(SearchVerifyResponse.class,
+                    new SearchVerifyResponseDeserializer()
+            ))
+            .readerFor(SearchVerifyResponse.class);
+
     private VerifyStatus status;
     private List<VerifyDetails> verificationRequests = new ArrayList<>();
     private String errorText;
@@ -72,13 +78,7 @@ public class SearchVerifyResponse {
 
     public static SearchVerifyResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            SimpleModule module = new SimpleModule();
-            module.addDeserializer(SearchVerifyResponse.class, new SearchVerifyResponseDeserializer());
-            mapper.registerModule(module);
-
-            return mapper.readValue(json, SearchVerifyResponse.class);
+            return READER.readValue(json);
         } catch (JsonMappingException jme) {
             throw new NexmoResponseParseException("Failed to produce SearchVerifyResponse from json.", jme);
         } catch (IOException jpe) {
@@ -25,10 +25,9 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.Collections;
 
 public class SearchVerifyResponseDeserializer extends JsonDeserializer<SearchVerifyResponse> {
@@ -45,10 +44,8 @@ public class SearchVerifyResponseDeserializer extends JsonDeserializer<SearchVer
 
         // If the results has a verification_requests node then we can successfully map our object as normal.
         if (node.has("verification_requests")) {
-            // Have to create a second object mapper to handle this as we want to bypass custom deserialization.
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-            return mapper.readValue(node.toString(), SearchVerifyResponse.class);
+            // Have to use a second reader to handle this as we want to bypass custom deserialization.
+            return MapperRegistry.reader(MapperRegistry.Profile.REST_DATES, SearchVerifyResponse.class).readValue(node);
         }
 
         // If the result has error_text, we can assume that the only fields that matter are status and the error.
@@ -24,6 +24,7 @@ package com.nexmo.client.verify;
 import com.nexmo.client.*;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client for talking to the Nexmo Verify API. The standard way to obtain an instance of this class is to use {@link
@@ -335,5 +336,71 @@ public class VerifyClient extends AbstractClient {
         return this.psd2.psd2Verify(psd2Request);
     }
 
+    /**
+     * Send a verification request to a phone number without blocking the calling thread.
+     *
+     * @param request validation request for the 2FA verification.
+     *
+     * @return A CompletableFuture which will be completed with a VerifyResponse.
+     *
+     * @see #verify(VerifyRequest)
+     */
+    public CompletableFuture<VerifyResponse> verifyAsync(VerifyRequest request) {
+        return this.verify.verifyAsync(request);
+    }
 
+    /**
+     * Validate a code provided by a user in response to a call from {@link #verify} without blocking the calling
+     * thread.
+     *
+     * @param requestId (required) The requestId returned by the {@code verify} call.
+     * @param code      (required) The code entered by the user.
+     *
+     * @return A CompletableFuture which will be completed with a CheckResponse.
+     *
+     * @see #check(String, String)
+     */
+    public CompletableFuture<CheckResponse> checkAsync(final String requestId, final String code) {
+        return this.check.checkAsync(requestId, code);
+    }
+
+    /**
+     * Search for the results of one or more verification requests without blocking the calling thread.
+     *
+     * @param requestIds The requestIds of the verification requests to be looked up.
+     *
+     * @return A CompletableFuture which will be completed with a SearchVerifyResponse.
+     *
+     * @see #search(String...)
+     */
+    public CompletableFuture<SearchVerifyResponse> searchAsync(String... requestIds) {
+        return this.search.searchAsync(requestIds);
+    }
+
+    /**
+     * Advance or cancel a current verification request without blocking the calling thread.
+     *
+     * @param request The {@link ControlRequest} describing the command to apply.
+     *
+     * @return A CompletableFuture which will be completed with a ControlResponse.
+     *
+     * @see #advanceVerification(String)
+     * @see #cancelVerification(String)
+     */
+    public CompletableFuture<ControlResponse> controlAsync(ControlRequest request) {
+        return this.control.executeAsync(request);
+    }
+
+    /**
+     * Send a PSD2 verification request to a phone number without blocking the calling thread.
+     *
+     * @param psd2Request request to to send PSD2 verification to a phone.
+     *
+     * @return A CompletableFuture which will be completed with a VerifyResponse.
+     *
+     * @see #psd2Verify(Psd2Request)
+     */
+    public CompletableFuture<VerifyResponse> psd2VerifyAsync(Psd2Request psd2Request) {
+        return this.psd2.psd2VerifyAsync(psd2Request);
+    }
 }
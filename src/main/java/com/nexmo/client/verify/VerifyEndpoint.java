@@ -25,6 +25,7 @@ import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 class VerifyEndpoint {
     private VerifyMethod verifyMethod;
@@ -72,4 +73,8 @@ class VerifyEndpoint {
     VerifyResponse verify(VerifyRequest request) throws NexmoClientException {
         return this.verifyMethod.execute(request);
     }
+
+    CompletableFuture<VerifyResponse> verifyAsync(VerifyRequest request) {
+        return this.verifyMethod.executeAsync(request);
+    }
 }
@@ -24,9 +24,9 @@ package com.nexmo.client.verify;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoResponseParseException;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -56,8 +56,7 @@ public class VerifyResponse {
 
     public static VerifyResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, VerifyResponse.class);
+            return MapperRegistry.reader(VerifyResponse.class).readValue(json);
         } catch (JsonMappingException jme) {
             throw new NexmoResponseParseException("Failed to produce VerifyResponse from json.", jme);
         } catch (IOException jpe) {
@@ -25,12 +25,14 @@ package com.nexmo.client.voice;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import com.nexmo.client.voice.ncco.Ncco;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Call encapsulates the information required to create a call using {@link VoiceClient#createCall(Call)}
@@ -171,17 +173,35 @@ public class Call {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return MapperRegistry.writer().writeValueAsString(this);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from Call object.", jpe);
         }
     }
 
+    /**
+     * Write this call as JSON to a stream, without building an intermediate String. The stream is not closed.
+     *
+     * @param out the stream to write the UTF-8 encoded JSON to
+     * @throws IOException if the stream cannot be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        MapperRegistry.writeValue(MapperRegistry.writer(), this, out);
+    }
+
+    /**
+     * Write this call as a JSON object to a generator.
+     *
+     * @param generator the generator to write the call to
+     * @throws IOException if the generator cannot be written to
+     */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        MapperRegistry.writer().writeValue(generator, this);
+    }
+
     public static Call fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, Call.class);
+            return MapperRegistry.reader(Call.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from Call object.", jpe);
         }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.NexmoClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies an asynchronous operation to each of a set of calls, keeping a bounded number of requests in flight.
+ */
+class CallBatchExecutor {
+    private final LongSupplier nanoTime;
+
+    CallBatchExecutor() {
+        this(System::nanoTime);
+    }
+
+    CallBatchExecutor(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Apply {@code operation} to each call, blocking until every request has completed.
+     *
+     * @param uuids       The UUIDs of the calls. Duplicates are only operated on once.
+     * @param operation   Starts the request for a single call.
+     * @param parallelism The most requests in flight at once.
+     *
+     * @return The result for each distinct UUID, in the order supplied.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting for the requests.
+     */
+    <T> CallBatchResult<T> execute(Collection<String> uuids,
+                                   Function<String, CompletableFuture<T>> operation,
+                                   int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(uuids));
+        @SuppressWarnings("unchecked")
+        CallOperationResult<T>[] results = new CallOperationResult[distinct.size()];
+        Semaphore inFlight = new Semaphore(parallelism);
+        CountDownLatch remaining = new CountDownLatch(distinct.size());
+
+        long start = nanoTime.getAsLong();
+        try {
+            for (int i = 0; i < distinct.size(); i++) {
+                inFlight.acquire();
+                final int index = i;
+                final String uuid = distinct.get(i);
+                final long requestStart = nanoTime.getAsLong();
+
+                CompletableFuture<T> future;
+                try {
+                    future = operation.apply(uuid);
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                future.whenComplete((response, error) -> {
+                    if (error instanceof CompletionException && error.getCause() != null) {
+                        error = error.getCause();
+                    }
+                    Duration latency = Duration.ofNanos(nanoTime.getAsLong() - requestStart);
+                    results[index] = new CallOperationResult<>(uuid, error == null ? response : null, error, latency);
+                    inFlight.release();
+                    remaining.countDown();
+                });
+            }
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoClientException("Interrupted while waiting for batch call requests.", e);
+        }
+        return new CallBatchResult<>(Arrays.asList(results), Duration.ofNanos(nanoTime.getAsLong() - start));
+    }
+}
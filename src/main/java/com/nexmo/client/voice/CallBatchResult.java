@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of applying one operation to a set of calls, with the result for each call and aggregate latency.
+ *
+ * @param <T> The type of the API's response to the operation.
+ */
+public class CallBatchResult<T> {
+    private final List<CallOperationResult<T>> results;
+    private final Map<String, CallOperationResult<T>> resultsByUuid;
+    private final long[] sortedLatencyNanos;
+    private final Duration elapsed;
+    private final int succeeded;
+
+    CallBatchResult(List<CallOperationResult<T>> results, Duration elapsed) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+        this.elapsed = elapsed;
+
+        Map<String, CallOperationResult<T>> byUuid = new LinkedHashMap<>();
+        long[] latencies = new long[results.size()];
+        int succeeded = 0;
+        for (int i = 0; i < results.size(); i++) {
+            CallOperationResult<T> result = results.get(i);
+            byUuid.put(result.getUuid(), result);
+            latencies[i] = result.getLatency().toNanos();
+            if (result.isSuccessful()) {
+                succeeded++;
+            }
+        }
+        Arrays.sort(latencies);
+        this.resultsByUuid = Collections.unmodifiableMap(byUuid);
+        this.sortedLatencyNanos = latencies;
+        this.succeeded = succeeded;
+    }
+
+    /**
+     * @return The result for each call, in the order the UUIDs were supplied.
+     */
+    public List<CallOperationResult<T>> getResults() {
+        return results;
+    }
+
+    /**
+     * @param uuid The UUID of a call in the batch.
+     *
+     * @return The result for the call, or {@code null} if it wasn't part of the batch.
+     */
+    public CallOperationResult<T> getResult(String uuid) {
+        return resultsByUuid.get(uuid);
+    }
+
+    /**
+     * @return The number of calls the operation was applied to successfully.
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return The number of calls for which the operation failed.
+     */
+    public int getFailed() {
+        return results.size() - succeeded;
+    }
+
+    /**
+     * @return {@code true} if the operation succeeded for every call.
+     */
+    public boolean isSuccessful() {
+        return succeeded == results.size();
+    }
+
+    /**
+     * @return The time taken to apply the operation to every call.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The mean time taken by a single request, or zero for an empty batch.
+     */
+    public Duration getMeanLatency() {
+        if (sortedLatencyNanos.length == 0) {
+            return Duration.ZERO;
+        }
+        long total = 0;
+        for (long latency : sortedLatencyNanos) {
+            total += latency;
+        }
+        return Duration.ofNanos(total / sortedLatencyNanos.length);
+    }
+
+    /**
+     * @return The longest time taken by a single request, or zero for an empty batch.
+     */
+    public Duration getMaxLatency() {
+        return sortedLatencyNanos.length == 0
+                ? Duration.ZERO
+                : Duration.ofNanos(sortedLatencyNanos[sortedLatencyNanos.length - 1]);
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100, such as 99.
+     *
+     * @return The latency which that percentage of requests took no longer than, by the nearest-rank method, or zero
+     * for an empty batch.
+     */
+    public Duration getLatencyPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (sortedLatencyNanos.length == 0) {
+            return Duration.ZERO;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencyNanos.length);
+        return Duration.ofNanos(sortedLatencyNanos[Math.max(0, rank - 1)]);
+    }
+
+    @Override
+    public String toString() {
+        return "CallBatchResult{" + "calls=" + results.size() + ", succeeded=" + succeeded + ", elapsed=" + elapsed +
+                ", meanLatency=" + getMeanLatency() + ", maxLatency=" + getMaxLatency() + '}';
+    }
+}
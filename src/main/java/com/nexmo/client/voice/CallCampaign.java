@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.NexmoClientException;
+import com.nexmo.client.common.ParallelTasks;
+import com.nexmo.client.incoming.CallStatus;
+import com.nexmo.client.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Places a sequence of outbound calls, pacing them according to a {@link DialerConfig}, and tracks each call until it
+ * completes.
+ * <p>
+ * Calls are read from the source and created on a background thread, at most {@link DialerConfig#getCallsPerSecond()}
+ * per second, and only while fewer than {@link DialerConfig#getMaxLiveCalls()} calls are live. The Voice API reports
+ * the progress of a call to its event URL, so the application's event webhook must pass each event it receives to
+ * {@link #onEvent(com.nexmo.client.incoming.CallEvent)}: a call stops being live once a completion event arrives for
+ * it, freeing its place for the next call.
+ * <p>
+ * The campaign finishes once every call has been placed, or the campaign has been cancelled, and every placed call has
+ * completed or been abandoned. All methods may be called from any thread.
+ */
+public class CallCampaign {
+    private static final long EARLY_EVENT_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MAX_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int HELD_EVENTS_PER_LIVE_CALL = 4;
+
+    private final Iterator<? extends Call> calls;
+    private final Function<Call, CompletableFuture<CallEvent>> creator;
+    private final RateLimiter rateLimiter;
+    private final int maxLiveCalls;
+    private final long liveCallTimeoutNanos;
+    private final long sweepIntervalNanos;
+    private final int maxHeldEvents;
+    private final Executor executor;
+    private final LongSupplier nanoTime;
+    private final Semaphore slots;
+    private final ConcurrentMap<String, TrackedCall> tracked = new ConcurrentHashMap<>();
+    private final AtomicInteger creating = new AtomicInteger();
+    private final AtomicInteger heldEvents = new AtomicInteger();
+    private final AtomicLong lastSweepNanos;
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong answered = new AtomicLong();
+    private final AtomicLong unanswered = new AtomicLong();
+    private final AtomicLong machine = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final CompletableFuture<CallCampaignStats> completion = new CompletableFuture<>();
+    private volatile boolean cancelled;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    CallCampaign(Iterator<? extends Call> calls,
+                 Function<Call, CompletableFuture<CallEvent>> creator,
+                 DialerConfig config) {
+        this(calls, creator, config, System::nanoTime);
+    }
+
+    CallCampaign(Iterator<? extends Call> calls,
+                 Function<Call, CompletableFuture<CallEvent>> creator,
+                 DialerConfig config,
+                 LongSupplier nanoTime) {
+        this.calls = calls;
+        this.creator = creator;
+        this.rateLimiter = config.createRateLimiter();
+        this.maxLiveCalls = config.getMaxLiveCalls();
+        this.liveCallTimeoutNanos = config.getLiveCallTimeout().toNanos();
+        this.sweepIntervalNanos = Math.min(MAX_SWEEP_INTERVAL_NANOS, this.liveCallTimeoutNanos);
+        this.maxHeldEvents = (int) Math.min(Integer.MAX_VALUE, (long) this.maxLiveCalls * HELD_EVENTS_PER_LIVE_CALL);
+        this.executor = config.getExecutor() != null ? config.getExecutor() : ParallelTasks.sharedExecutor();
+        this.nanoTime = nanoTime;
+        this.slots = new Semaphore(this.maxLiveCalls);
+        this.lastSweepNanos = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Begin placing calls on the campaign's executor.
+     */
+    void start() {
+        this.executor.execute(this::run);
+    }
+
+    /**
+     * Record an event delivered to the application's event webhook. Events for calls which weren't placed by this
+     * campaign are ignored, so every event may be passed to each running campaign.
+     *
+     * @param event The event, as parsed by {@link com.nexmo.client.incoming.CallEvent#fromJson(String)}.
+     *
+     * @return {@code true} if the event is for a call placed by this campaign, {@code false} otherwise. An event which
+     * arrives before the response to the request which created its call is held briefly, returning {@code false}, and
+     * applied once the response arrives. Events are held for at most four times as many calls as may be live, since
+     * events for other calls can't be told apart until the responses arrive.
+     */
+    public boolean onEvent(com.nexmo.client.incoming.CallEvent event) {
+        String uuid = event.getUuid();
+        CallStatus status = event.getStatus();
+        if (uuid == null || status == null) {
+            return false;
+        }
+
+        maybeSweep();
+        // Read before looking the call up: a call is tracked before its request stops counting as in progress, so if
+        // none are in progress now, any call of ours with this UUID is already tracked.
+        boolean requestsInProgress = creating.get() > 0;
+        TrackedCall call = tracked.get(uuid);
+        if (call == null) {
+            if (!requestsInProgress) {
+                return false;
+            }
+            if (heldEvents.incrementAndGet() > maxHeldEvents) {
+                heldEvents.decrementAndGet();
+                return false;
+            }
+            TrackedCall held = new TrackedCall(uuid, nanoTime.getAsLong());
+            call = tracked.putIfAbsent(uuid, held);
+            if (call == null) {
+                call = held;
+            } else {
+                heldEvents.decrementAndGet();
+            }
+        }
+
+        synchronized (call) {
+            call.apply(status);
+            if (call.placed && call.ended) {
+                complete(call);
+            }
+            return call.placed;
+        }
+    }
+
+    /**
+     * Stop placing calls. Calls which have already been placed continue to be tracked until they complete.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} if the campaign has been cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return {@code true} if the campaign has finished.
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * @return A future completed with the final statistics once the campaign has finished, or exceptionally if reading
+     * the source of calls failed.
+     */
+    public CompletableFuture<CallCampaignStats> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Wait for the campaign to finish.
+     *
+     * @return The final statistics of the campaign.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting.
+     */
+    public CallCampaignStats awaitCompletion() {
+        try {
+            return completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoClientException("Interrupted while waiting for the campaign to finish.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new NexmoClientException("Call campaign failed.", e.getCause());
+        }
+    }
+
+    /**
+     * @return A snapshot of the progress of the campaign.
+     */
+    public CallCampaignStats getStats() {
+        long start = startNanos;
+        long end = endNanos != 0 ? endNanos : nanoTime.getAsLong();
+        Duration elapsed = start == 0 ? Duration.ZERO : Duration.ofNanos(end - start);
+        long answered = this.answered.get();
+        long unanswered = this.unanswered.get();
+        long abandoned = this.abandoned.get();
+        long placed = this.placed.get();
+        long live = Math.max(0, placed - answered - unanswered - abandoned);
+        return new CallCampaignStats(placed, failed.get(), live, answered, unanswered, machine.get(), abandoned,
+                elapsed);
+    }
+
+    private void run() {
+        Throwable error = null;
+        try {
+            while (!cancelled && calls.hasNext()) {
+                if (!acquireSlot()) {
+                    break;
+                }
+                rateLimiter.acquire();
+                if (cancelled) {
+                    slots.release();
+                    break;
+                }
+                place();
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        }
+
+        try {
+            awaitLiveCalls();
+        } catch (NexmoClientException e) {
+            error = error != null ? error : e;
+        }
+        // Every response has arrived, so events still held were for other calls
+        dropHeldEvents();
+
+        endNanos = nanoTime.getAsLong();
+        if (error != null) {
+            completion.completeExceptionally(error);
+        } else {
+            completion.complete(getStats());
+        }
+    }
+
+    /**
+     * @return {@code true} once a slot has been acquired, or {@code false} if the campaign was cancelled first.
+     */
+    private boolean acquireSlot() {
+        try {
+            while (!slots.tryAcquire(sweepIntervalNanos, TimeUnit.NANOSECONDS)) {
+                sweep();
+                if (cancelled) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoClientException("Interrupted while waiting for a live call to complete.", e);
+        }
+        return true;
+    }
+
+    private void awaitLiveCalls() {
+        try {
+            while (!slots.tryAcquire(maxLiveCalls, sweepIntervalNanos, TimeUnit.NANOSECONDS)) {
+                sweep();
+            }
+            slots.release(maxLiveCalls);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NexmoClientException("Interrupted while waiting for live calls to complete.", e);
+        }
+    }
+
+    private void place() {
+        Call call;
+        try {
+            call = calls.next();
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        if (startNanos == 0) {
+            startNanos = nanoTime.getAsLong();
+        }
+        maybeSweep();
+
+        creating.incrementAndGet();
+        CompletableFuture<CallEvent> future;
+        try {
+            future = creator.apply(call);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((event, error) -> {
+            try {
+                if (error == null && event != null && event.getUuid() != null) {
+                    track(event.getUuid());
+                } else {
+                    failed.incrementAndGet();
+                    slots.release();
+                }
+            } finally {
+                creating.decrementAndGet();
+            }
+        });
+    }
+
+    private void track(String uuid) {
+        while (true) {
+            TrackedCall created = new TrackedCall(uuid, nanoTime.getAsLong());
+            TrackedCall call = tracked.putIfAbsent(uuid, created);
+            if (call == null) {
+                call = created;
+            }
+            synchronized (call) {
+                if (call != created) {
+                    if (tracked.get(uuid) != call) {
+                        // The held events expired before the response arrived
+                        continue;
+                    }
+                    heldEvents.decrementAndGet();
+                }
+                call.placed = true;
+                call.sinceNanos = nanoTime.getAsLong();
+                placed.incrementAndGet();
+                if (call.ended) {
+                    complete(call);
+                }
+                return;
+            }
+        }
+    }
+
+    private void complete(TrackedCall call) {
+        if (tracked.remove(call.uuid, call)) {
+            if (call.answered) {
+                answered.incrementAndGet();
+            } else {
+                unanswered.incrementAndGet();
+            }
+            if (call.machine) {
+                machine.incrementAndGet();
+            }
+            slots.release();
+        }
+    }
+
+    private void maybeSweep() {
+        long now = nanoTime.getAsLong();
+        long last = lastSweepNanos.get();
+        if (now - last >= sweepIntervalNanos && lastSweepNanos.compareAndSet(last, now)) {
+            sweep();
+        }
+    }
+
+    /**
+     * Stop tracking placed calls which have had no completion event within the live call timeout, and events held for
+     * calls which never turned out to be ours. This is done at most once per second as events arrive and calls are
+     * placed, and whenever the campaign waits for a place to become free.
+     */
+    void sweep() {
+        long now = nanoTime.getAsLong();
+        for (TrackedCall call : tracked.values()) {
+            synchronized (call) {
+                long limit = call.placed ? liveCallTimeoutNanos : EARLY_EVENT_RETENTION_NANOS;
+                if (now - call.sinceNanos > limit && tracked.remove(call.uuid, call)) {
+                    if (call.placed) {
+                        abandoned.incrementAndGet();
+                        slots.release();
+                    } else {
+                        heldEvents.decrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    private void dropHeldEvents() {
+        for (TrackedCall call : tracked.values()) {
+            synchronized (call) {
+                if (!call.placed && tracked.remove(call.uuid, call)) {
+                    heldEvents.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of calls for which events are held until the response creating the call arrives.
+     */
+    int getHeldEvents() {
+        return heldEvents.get();
+    }
+
+    private static final class TrackedCall {
+        private final String uuid;
+        private long sinceNanos;
+        private boolean placed;
+        private boolean answered;
+        private boolean machine;
+        private boolean ended;
+
+        TrackedCall(String uuid, long sinceNanos) {
+            this.uuid = uuid;
+            this.sinceNanos = sinceNanos;
+        }
+
+        void apply(CallStatus status) {
+            switch (status) {
+                case ANSWERED:
+                case HUMAN:
+                    answered = true;
+                    break;
+                case MACHINE:
+                    answered = true;
+                    machine = true;
+                    break;
+                case COMPLETED:
+                case BUSY:
+                case CANCELLED:
+                case FAILED:
+                case REJECTED:
+                case TIMEOUT:
+                case UNANSWERED:
+                    ended = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
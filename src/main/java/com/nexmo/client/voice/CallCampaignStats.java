@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the progress of a {@link CallCampaign}.
+ */
+public class CallCampaignStats {
+    private final long placed;
+    private final long failed;
+    private final long live;
+    private final long answered;
+    private final long unanswered;
+    private final long machine;
+    private final long abandoned;
+    private final Duration elapsed;
+
+    CallCampaignStats(long placed,
+                      long failed,
+                      long live,
+                      long answered,
+                      long unanswered,
+                      long machine,
+                      long abandoned,
+                      Duration elapsed) {
+        this.placed = placed;
+        this.failed = failed;
+        this.live = live;
+        this.answered = answered;
+        this.unanswered = unanswered;
+        this.machine = machine;
+        this.abandoned = abandoned;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The number of calls the API accepted.
+     */
+    public long getPlaced() {
+        return placed;
+    }
+
+    /**
+     * @return The number of calls the API refused to create, or which couldn't be requested.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return The number of placed calls which haven't yet received a completion event.
+     */
+    public long getLive() {
+        return live;
+    }
+
+    /**
+     * @return The number of completed calls which were answered, by a person or a machine.
+     */
+    public long getAnswered() {
+        return answered;
+    }
+
+    /**
+     * @return The number of completed calls which weren't answered: busy, cancelled, failed, rejected, timed out or
+     * unanswered.
+     */
+    public long getUnanswered() {
+        return unanswered;
+    }
+
+    /**
+     * @return The number of answered calls on which a machine was detected.
+     */
+    public long getMachine() {
+        return machine;
+    }
+
+    /**
+     * @return The number of placed calls which received no completion event within the live call timeout.
+     */
+    public long getAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * @return The number of placed calls which received a completion event.
+     */
+    public long getCompleted() {
+        return answered + unanswered;
+    }
+
+    /**
+     * @return The time from the first call being requested until the campaign finished, or until now if it hasn't.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The fraction of completed calls which were answered, or 0 if none have completed.
+     */
+    public double getConnectRate() {
+        long completed = getCompleted();
+        return completed > 0 ? (double) answered / completed : 0;
+    }
+
+    /**
+     * @return The average number of calls requested per second, whether or not they were placed.
+     */
+    public double getCallsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos > 0 ? (placed + failed) * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CallCampaignStats{" + "placed=" + placed + ", failed=" + failed + ", live=" + live + ", answered=" +
+                answered + ", unanswered=" + unanswered + ", machine=" + machine + ", abandoned=" + abandoned +
+                ", elapsed=" + elapsed + '}';
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.common.PageSource;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Follows the {@code next} link of each page of calls.
+ */
+class CallInfoPageSource implements PageSource<CallsFilter, CallInfoPage, CallInfo> {
+    private final CallsEndpoint calls;
+
+    CallInfoPageSource(CallsEndpoint calls) {
+        this.calls = calls;
+    }
+
+    @Override
+    public CallInfoPage fetch(CallsFilter filter) {
+        return calls.get(filter);
+    }
+
+    @Override
+    public CallsFilter next(CallsFilter filter, CallInfoPage page) {
+        PageLinks links = page.getLinks();
+        int items = size(page);
+        if (links == null || links.getNext() == null || links.getNext().getHref() == null || items == 0) {
+            return null;
+        }
+
+        Integer recordIndex = recordIndex(links.getNext().getHref());
+        if (recordIndex == null) {
+            recordIndex = page.getRecordIndex() + items;
+        }
+        if (recordIndex <= page.getRecordIndex()) {
+            // A link which doesn't move forward would repeat the same page forever
+            return null;
+        }
+        return (filter != null ? filter : CallsFilter.builder().build()).withRecordIndex(recordIndex);
+    }
+
+    @Override
+    public Iterable<CallInfo> items(CallInfoPage page) {
+        if (page.getEmbedded() == null || page.getEmbedded().getCallInfos() == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(page.getEmbedded().getCallInfos());
+    }
+
+    private static int size(CallInfoPage page) {
+        if (page.getEmbedded() == null || page.getEmbedded().getCallInfos() == null) {
+            return 0;
+        }
+        return page.getEmbedded().getCallInfos().length;
+    }
+
+    private static Integer recordIndex(String href) {
+        int query = href.indexOf('?');
+        if (query < 0) {
+            return null;
+        }
+        List<NameValuePair> params = URLEncodedUtils.parse(href.substring(query + 1), StandardCharsets.UTF_8);
+        for (NameValuePair param : params) {
+            if ("record_index".equals(param.getName())) {
+                try {
+                    return Integer.valueOf(param.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
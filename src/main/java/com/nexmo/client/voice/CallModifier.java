@@ -22,8 +22,8 @@
 package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import com.nexmo.client.voice.ncco.Ncco;
 
 
@@ -59,8 +59,7 @@ public class CallModifier {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this.modifyCallPayload);
+            return MapperRegistry.writer().writeValueAsString(this.modifyCallPayload);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from CallModifier object.", jpe);
         }
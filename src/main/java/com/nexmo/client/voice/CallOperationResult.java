@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import java.time.Duration;
+
+/**
+ * The outcome of applying a batch operation to one call.
+ *
+ * @param <T> The type of the API's response to the operation.
+ */
+public class CallOperationResult<T> {
+    private final String uuid;
+    private final T response;
+    private final Throwable exception;
+    private final Duration latency;
+
+    CallOperationResult(String uuid, T response, Throwable exception, Duration latency) {
+        this.uuid = uuid;
+        this.response = response;
+        this.exception = exception;
+        this.latency = latency;
+    }
+
+    /**
+     * @return The UUID of the call the operation was applied to.
+     */
+    public String getUuid() {
+        return uuid;
+    }
+
+    /**
+     * @return The API's response, or {@code null} if the operation failed.
+     */
+    public T getResponse() {
+        return response;
+    }
+
+    /**
+     * @return The reason the operation failed, or {@code null} if it succeeded.
+     */
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * @return The time from the request being made to its response being received.
+     */
+    public Duration getLatency() {
+        return latency;
+    }
+
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CallOperationResult{" + "uuid='" + uuid + '\'' + ", successful=" + isSuccessful() + ", latency=" +
+                latency + '}';
+    }
+}
@@ -24,6 +24,8 @@ package com.nexmo.client.voice;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Allows actions to be taken on {@code /calls/*} endpoints.
  * <p>
@@ -100,4 +102,20 @@ class CallsEndpoint {
     ModifyCallResponse put(CallModifier modifier) throws NexmoClientException {
         return this.modifyCall.execute(modifier);
     }
+
+    CompletableFuture<CallEvent> postAsync(Call callRequest) {
+        return this.createCall.executeAsync(callRequest);
+    }
+
+    CompletableFuture<CallInfoPage> getAsync(CallsFilter filter) {
+        return this.listCalls.executeAsync(filter);
+    }
+
+    CompletableFuture<CallInfo> getAsync(String uuid) {
+        return this.readCall.executeAsync(uuid);
+    }
+
+    CompletableFuture<ModifyCallResponse> putAsync(CallModifier modifier) {
+        return this.modifyCall.executeAsync(modifier);
+    }
 }
@@ -77,6 +77,20 @@ public class CallsFilter {
         return conversationUuid;
     }
 
+    /**
+     * @return A copy of this filter starting from a different record.
+     */
+    CallsFilter withRecordIndex(Integer recordIndex) {
+        return builder().status(status)
+                .dateStart(dateStart)
+                .dateEnd(dateEnd)
+                .pageSize(pageSize)
+                .recordIndex(recordIndex)
+                .order(order)
+                .conversationUuid(conversationUuid)
+                .build();
+    }
+
     List<NameValuePair> toUrlParams() {
         List<NameValuePair> result = new ArrayList<>(10);
         conditionalAdd(result, "status", this.status);
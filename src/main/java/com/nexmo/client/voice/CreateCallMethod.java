@@ -24,12 +24,11 @@ package com.nexmo.client.voice;
 import com.nexmo.client.AbstractMethod;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.auth.JWTAuthMethod;
+import com.nexmo.client.common.JsonEntity;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
@@ -50,7 +49,7 @@ class CreateCallMethod extends AbstractMethod<Call, CallEvent> {
     public RequestBuilder makeRequest(Call request) throws UnsupportedEncodingException {
         return RequestBuilder.post(httpWrapper.getHttpConfig().getVersionedApiBaseUri("v1") + PATH)
                 .setHeader("Content-Type", "application/json")
-                .setEntity(new StringEntity(request.toJson(), ContentType.APPLICATION_JSON));
+                .setEntity(new JsonEntity(request));
     }
 
     @Override
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.ratelimit.RateLimiter;
+import com.nexmo.client.ratelimit.TokenBucketRateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for pacing the calls placed by a {@link CallCampaign}.
+ * <p>
+ * By default at most {@value #DEFAULT_MAX_LIVE_CALLS} calls are live at once, and a new call is placed at most once a
+ * second. A call remains live from the request to create it until a completion event for it is passed to {@link
+ * CallCampaign#onEvent}, or until {@link Builder#liveCallTimeout(Duration)} has passed without one.
+ */
+public class DialerConfig {
+    public static final int DEFAULT_MAX_LIVE_CALLS = 10;
+    public static final double DEFAULT_CALLS_PER_SECOND = 1;
+
+    private static final Duration DEFAULT_LIVE_CALL_TIMEOUT = Duration.ofHours(1);
+
+    private final int maxLiveCalls;
+    private final double callsPerSecond;
+    private final RateLimiter rateLimiter;
+    private final Duration liveCallTimeout;
+    private final Executor executor;
+
+    private DialerConfig(Builder builder) {
+        this.maxLiveCalls = builder.maxLiveCalls;
+        this.callsPerSecond = builder.callsPerSecond;
+        this.rateLimiter = builder.rateLimiter;
+        this.liveCallTimeout = builder.liveCallTimeout;
+        this.executor = builder.executor;
+    }
+
+    public int getMaxLiveCalls() {
+        return maxLiveCalls;
+    }
+
+    public double getCallsPerSecond() {
+        return callsPerSecond;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public Duration getLiveCallTimeout() {
+        return liveCallTimeout;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return A new limiter spacing calls at {@link #getCallsPerSecond()}, or the configured {@link RateLimiter} if
+     * one was supplied.
+     */
+    RateLimiter createRateLimiter() {
+        if (rateLimiter != null) {
+            return rateLimiter;
+        }
+        return TokenBucketRateLimiter.builder(callsPerSecond).burst(1).adaptive(false).build();
+    }
+
+    /**
+     * @return A DialerConfig object with sensible defaults.
+     */
+    public static DialerConfig defaultConfig() {
+        return new Builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxLiveCalls = DEFAULT_MAX_LIVE_CALLS;
+        private double callsPerSecond = DEFAULT_CALLS_PER_SECOND;
+        private RateLimiter rateLimiter;
+        private Duration liveCallTimeout = DEFAULT_LIVE_CALL_TIMEOUT;
+        private Executor executor;
+
+        /**
+         * @param maxLiveCalls The most calls which may be live at once, including those still being created. Defaults
+         *                     to {@value DialerConfig#DEFAULT_MAX_LIVE_CALLS}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxLiveCalls(int maxLiveCalls) {
+            if (maxLiveCalls <= 0) {
+                throw new IllegalArgumentException("Max live calls must be positive.");
+            }
+            this.maxLiveCalls = maxLiveCalls;
+            return this;
+        }
+
+        /**
+         * @param callsPerSecond The most calls placed per second, without bursts. Defaults to {@value
+         *                       DialerConfig#DEFAULT_CALLS_PER_SECOND}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder callsPerSecond(double callsPerSecond) {
+            if (!(callsPerSecond > 0) || Double.isInfinite(callsPerSecond)) {
+                throw new IllegalArgumentException("Calls per second must be positive.");
+            }
+            this.callsPerSecond = callsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param rateLimiter A limiter which grants a permit for each call placed, overriding {@link
+         *                    #callsPerSecond(double)}, or {@code null} to use that rate. A limiter may be shared
+         *                    between campaigns to pace them together. Defaults to {@code null}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * @param liveCallTimeout How long a call is considered live without a completion event arriving for it, after
+         *                        which it is counted as abandoned and no longer holds a place. Defaults to 1 hour.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder liveCallTimeout(Duration liveCallTimeout) {
+            if (liveCallTimeout == null || liveCallTimeout.isNegative() || liveCallTimeout.isZero()) {
+                throw new IllegalArgumentException("Live call timeout must be positive.");
+            }
+            this.liveCallTimeout = liveCallTimeout;
+            return this;
+        }
+
+        /**
+         * @param executor The executor which runs the dialing loop of each campaign, occupying one thread for the
+         *                 campaign's duration. Defaults to a shared pool of daemon threads.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @return A new {@link DialerConfig} object from the stored builder options.
+         */
+        public DialerConfig build() {
+            return new DialerConfig(this);
+        }
+    }
+}
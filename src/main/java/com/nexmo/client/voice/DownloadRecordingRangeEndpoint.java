@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.AbstractMethod;
+import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.auth.JWTAuthMethod;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+
+/**
+ * Requests all or part of a recording. The returned {@link Recording} holds the response open until its content has
+ * been read or it is closed.
+ */
+class DownloadRecordingRangeEndpoint extends AbstractMethod<DownloadRecordingRangeEndpoint.Range, Recording> {
+    private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{JWTAuthMethod.class};
+
+    DownloadRecordingRangeEndpoint(HttpWrapper httpWrapper) {
+        super(httpWrapper);
+    }
+
+    @Override
+    protected Class[] getAcceptableAuthMethods() {
+        return ALLOWED_AUTH_METHODS;
+    }
+
+    @Override
+    public RequestBuilder makeRequest(Range range) {
+        RequestBuilder request = RequestBuilder.get().setUri(range.url);
+        if (range.start > 0 || range.end >= 0) {
+            // Ranges refer to the stored bytes, so the body mustn't be compressed in transit
+            request.setHeader("Accept-Encoding", "identity")
+                    .setHeader("Range", "bytes=" + range.start + "-" + (range.end >= 0 ? Long.toString(range.end) : ""));
+        }
+        return request;
+    }
+
+    @Override
+    public Recording parseResponse(HttpResponse response) {
+        return new Recording(response);
+    }
+
+    /**
+     * A range of bytes of a recording.
+     */
+    static final class Range {
+        private final String url;
+        private final long start;
+        private final long end;
+
+        /**
+         * @param url The recording URL.
+         * @param start The first byte to request.
+         * @param end The last byte to request, inclusive, or -1 for the rest of the recording.
+         */
+        Range(String url, long start, long end) {
+            this.url = url;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
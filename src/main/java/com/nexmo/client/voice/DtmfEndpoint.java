@@ -24,6 +24,8 @@ package com.nexmo.client.voice;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 public class DtmfEndpoint {
     private final SendDtmfMethod sendDtmf;
 
@@ -34,4 +36,8 @@ public class DtmfEndpoint {
     public DtmfResponse put(String uuid, String digits) throws NexmoClientException {
         return this.sendDtmf.execute(new DtmfRequest(uuid, digits));
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<DtmfResponse> putAsync(String uuid, String digits) {
+        return this.sendDtmf.executeAsync(new DtmfRequest(uuid, digits));
+    }
+}
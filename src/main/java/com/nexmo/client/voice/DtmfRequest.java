@@ -22,8 +22,8 @@
 package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 /**
  * The request object to send DTMF tones.
@@ -58,8 +58,7 @@ public class DtmfRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this.payload);
+            return MapperRegistry.writer().writeValueAsString(this.payload);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from DtmfRequest object.", jpe);
         }
@@ -22,8 +22,8 @@
 package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 import java.io.IOException;
 
@@ -48,8 +48,7 @@ public class DtmfResponse {
 
     public static DtmfResponse fromJson(String json) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, DtmfResponse.class);
+            return MapperRegistry.reader(DtmfResponse.class).readValue(json);
         } catch (IOException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from DtmfResponse object.", jpe);
         }
@@ -26,13 +26,13 @@ import com.nexmo.client.AbstractMethod;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoUnexpectedException;
 import com.nexmo.client.auth.JWTAuthMethod;
+import com.nexmo.client.common.JsonResponseHandler;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.impl.client.BasicResponseHandler;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -44,6 +44,8 @@ class ListCallsMethod extends AbstractMethod<CallsFilter, CallInfoPage> {
 
     private static final String PATH = "/calls";
     private static final Class[] ALLOWED_AUTH_METHODS = new Class[]{JWTAuthMethod.class};
+    private static final JsonResponseHandler<CallInfoPage> RESPONSE_HANDLER =
+            new JsonResponseHandler<>(CallInfoPage.class);
     private String uri;
 
     ListCallsMethod(HttpWrapper httpWrapper) {
@@ -76,7 +78,6 @@ class ListCallsMethod extends AbstractMethod<CallsFilter, CallInfoPage> {
 
     @Override
     public CallInfoPage parseResponse(HttpResponse response) throws IOException {
-        String json = new BasicResponseHandler().handleResponse(response);
-        return CallInfoPage.fromJson(json);
+        return RESPONSE_HANDLER.handleResponse(response);
     }
 }
@@ -21,17 +21,26 @@
  */
 package com.nexmo.client.voice;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpResponse;
 
-import java.io.FileOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
-public class Recording {
+/**
+ * The content of a recording, streamed from the response to a download request.
+ * <p>
+ * The underlying connection is held until the content has been read to the end or the recording is closed, so a
+ * Recording should be closed once it is no longer needed. Closing a recording whose content hasn't been read in full
+ * discards the connection rather than reading the remainder.
+ */
+public class Recording implements Closeable {
     private HttpResponse response;
 
     public Recording(HttpResponse response) {
@@ -46,9 +55,58 @@ public class Recording {
         this.save(FileSystems.getDefault().getPath(path));
     }
 
+    /**
+     * Stream the recording into a file, replacing any existing content, and release the connection.
+     *
+     * @param path The file to write.
+     *
+     * @throws IOException if the recording couldn't be read or written.
+     */
     public void save(Path path) throws IOException {
-        try (OutputStream out = new FileOutputStream(path.toFile())) {
-            IOUtils.copy(this.response.getEntity().getContent(), out);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            transferTo(channel, 0);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Release the connection used to download the recording.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.response instanceof Closeable) {
+            ((Closeable) this.response).close();
+        }
+    }
+
+    HttpResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Stream the recording into a file at a position, without holding it in memory. The file must be at least as long
+     * as the position. If the transfer fails the connection is discarded.
+     *
+     * @return The number of bytes written.
+     */
+    long transferTo(FileChannel channel, long position) throws IOException {
+        boolean complete = false;
+        InputStream content = getContent();
+        try {
+            ReadableByteChannel source = Channels.newChannel(content);
+            long written = channel.transferFrom(source, position, Long.MAX_VALUE);
+            complete = true;
+            return written;
+        } finally {
+            if (!complete) {
+                // Closing the response first discards the connection, where closing the content would read it to the end
+                close();
+            }
+            content.close();
         }
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executor;
+
+/**
+ * Options for downloading recordings to files with {@link VoiceClient#downloadRecording(String, java.nio.file.Path,
+ * RecordingDownloadOptions)} and {@link VoiceClient#downloadRecordings(java.util.Map, RecordingDownloadOptions)}.
+ * <p>
+ * By default a recording is downloaded in chunks of 8MB, up to 4 at a time, and up to 4 recordings are downloaded at
+ * once. An interrupted download is resumed from where it stopped.
+ */
+public class RecordingDownloadOptions {
+    public static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 4;
+
+    private final long chunkSize;
+    private final int parallelism;
+    private final int maxConcurrentDownloads;
+    private final boolean resume;
+    private final String checksumAlgorithm;
+    private final Executor executor;
+
+    private RecordingDownloadOptions(Builder builder) {
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+        this.maxConcurrentDownloads = builder.maxConcurrentDownloads;
+        this.resume = builder.resume;
+        this.checksumAlgorithm = builder.checksumAlgorithm;
+        this.executor = builder.executor;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxConcurrentDownloads() {
+        return maxConcurrentDownloads;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return A RecordingDownloadOptions object with sensible defaults.
+     */
+    public static RecordingDownloadOptions defaultOptions() {
+        return new Builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long chunkSize = DEFAULT_CHUNK_SIZE;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private int maxConcurrentDownloads = DEFAULT_MAX_CONCURRENT_DOWNLOADS;
+        private boolean resume = true;
+        private String checksumAlgorithm;
+        private Executor executor;
+
+        /**
+         * @param chunkSize The size of each range requested when a recording is downloaded in parallel. Recordings no
+         *                  larger than this are downloaded with a single request.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder chunkSize(long chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("Chunk size must be positive.");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @param parallelism The most chunks of a single recording to download at once. 1 downloads each recording
+         *                    with a single request.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive.");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrentDownloads The most recordings to download at once when downloading several.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder maxConcurrentDownloads(int maxConcurrentDownloads) {
+            if (maxConcurrentDownloads <= 0) {
+                throw new IllegalArgumentException("Max concurrent downloads must be positive.");
+            }
+            this.maxConcurrentDownloads = maxConcurrentDownloads;
+            return this;
+        }
+
+        /**
+         * @param resume Whether to continue from the partially downloaded file left by an interrupted download,
+         *               rather than starting again. Defaults to {@code true}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        /**
+         * @param checksumAlgorithm The {@link MessageDigest} algorithm, such as {@code SHA-256}, used to calculate a
+         *                          checksum of each downloaded recording, or {@code null} for none. Defaults to {@code
+         *                          null}.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder checksumAlgorithm(String checksumAlgorithm) {
+            if (checksumAlgorithm != null) {
+                try {
+                    MessageDigest.getInstance(checksumAlgorithm);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalArgumentException("Unsupported checksum algorithm: " + checksumAlgorithm, e);
+                }
+            }
+            this.checksumAlgorithm = checksumAlgorithm;
+            return this;
+        }
+
+        /**
+         * @param executor The executor used to download chunks and recordings in parallel. The calling thread also
+         *                 takes part. Defaults to a shared pool of daemon threads.
+         *
+         * @return The {@link Builder} to keep building.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @return A new {@link RecordingDownloadOptions} object from the stored builder options.
+         */
+        public RecordingDownloadOptions build() {
+            return new RecordingDownloadOptions(this);
+        }
+    }
+}
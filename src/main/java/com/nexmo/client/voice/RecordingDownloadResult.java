@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of downloading a recording to a file.
+ */
+public class RecordingDownloadResult {
+    private final String url;
+    private final Path path;
+    private final long size;
+    private final long bytesDownloaded;
+    private final boolean resumed;
+    private final int chunks;
+    private final String checksum;
+    private final Exception exception;
+
+    RecordingDownloadResult(String url,
+                            Path path,
+                            long size,
+                            long bytesDownloaded,
+                            boolean resumed,
+                            int chunks,
+                            String checksum) {
+        this.url = url;
+        this.path = path;
+        this.size = size;
+        this.bytesDownloaded = bytesDownloaded;
+        this.resumed = resumed;
+        this.chunks = chunks;
+        this.checksum = checksum;
+        this.exception = null;
+    }
+
+    RecordingDownloadResult(String url, Path path, Exception exception) {
+        this.url = url;
+        this.path = path;
+        this.size = -1;
+        this.bytesDownloaded = 0;
+        this.resumed = false;
+        this.chunks = 0;
+        this.checksum = null;
+        this.exception = exception;
+    }
+
+    /**
+     * @return The recording URL.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return The file the recording was saved to.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The size of the recording in bytes, or -1 if it wasn't downloaded.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of bytes downloaded, which is less than the size if an earlier download was resumed.
+     */
+    public long getBytesDownloaded() {
+        return bytesDownloaded;
+    }
+
+    /**
+     * @return Whether the download continued from a partially downloaded file.
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * @return The number of requests the recording was downloaded with.
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return The checksum of the saved file as lower case hex, if a checksum algorithm was configured.
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return The exception which prevented the recording from being downloaded, when downloading several.
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordingDownloadResult{" + "url='" + url + '\'' + ", path=" + path + ", size=" + size +
+                ", bytesDownloaded=" + bytesDownloaded + ", resumed=" + resumed + ", chunks=" + chunks +
+                ", checksum='" + checksum + '\'' + ", exception=" + exception + '}';
+    }
+}
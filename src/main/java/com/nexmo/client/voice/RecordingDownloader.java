@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.NexmoMethodFailedException;
+import com.nexmo.client.common.ParallelTasks;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Downloads recordings to files.
+ * <p>
+ * A recording is written to a {@code .part} file next to the target and moved into place once it is complete, so an
+ * interrupted download can be resumed with a Range request from the end of the partial file. Fresh downloads start
+ * with a request for the first chunk; if the response shows the recording is larger, the file is preallocated and the
+ * remaining chunks are requested in parallel and written at their own positions. Chunked downloads are written to a
+ * {@code .chunks} file instead, which only becomes the {@code .part} file once it has been cut back to the chunks
+ * completed in order, so a download killed part way through is never mistaken for a complete one. Work is shared
+ * between the calling thread and the executor, and the caller only waits for work another thread has already
+ * started, so nested and bulk downloads can share a bounded executor without deadlocking.
+ */
+class RecordingDownloader {
+    private static final Log LOG = LogFactory.getLog(RecordingDownloader.class);
+
+    static final String PART_SUFFIX = ".part";
+    static final String CHUNKS_SUFFIX = ".chunks";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private final DownloadRecordingRangeEndpoint endpoint;
+
+    RecordingDownloader(DownloadRecordingRangeEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    RecordingDownloadResult download(String url, Path target, RecordingDownloadOptions options) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Path chunks = target.resolveSibling(target.getFileName() + CHUNKS_SUFFIX);
+        long existing = options.isResume() && Files.exists(part) ? Files.size(part) : 0;
+        boolean chunked = existing == 0 && options.getParallelism() > 1;
+        Path working = chunked ? chunks : part;
+        Files.deleteIfExists(chunked ? part : chunks);
+
+        Transfer transfer;
+        try (FileChannel channel = FileChannel.open(working, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (existing == 0) {
+                channel.truncate(0);
+            }
+            transfer = transfer(url, channel, existing, chunked, options);
+        } catch (IOException | RuntimeException e) {
+            if (chunked) {
+                // Only chunks completed in order are left in the file, unless it couldn't be cut back to them
+                if (e instanceof UnresumableDownloadException) {
+                    Files.deleteIfExists(chunks);
+                } else if (Files.exists(chunks)) {
+                    Files.move(chunks, part, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            // Keep anything downloaded so far for resuming, but don't leave empty files behind
+            if (Files.exists(part) && Files.size(part) == 0) {
+                Files.deleteIfExists(part);
+            }
+            throw e;
+        }
+
+        Files.move(working, target, StandardCopyOption.REPLACE_EXISTING);
+        String checksum = options.getChecksumAlgorithm() != null ? checksum(target, options.getChecksumAlgorithm()) : null;
+        return new RecordingDownloadResult(url,
+                target,
+                transfer.size,
+                transfer.downloaded,
+                transfer.resumed,
+                transfer.chunks,
+                checksum
+        );
+    }
+
+    List<RecordingDownloadResult> downloadAll(Map<String, Path> recordings, RecordingDownloadOptions options) {
+        List<Map.Entry<String, Path>> entries = new ArrayList<>(recordings.entrySet());
+        RecordingDownloadResult[] results = new RecordingDownloadResult[entries.size()];
+        ParallelTasks.run(entries.size(), options.getMaxConcurrentDownloads(), executor(options), index -> {
+            Map.Entry<String, Path> entry = entries.get(index);
+            try {
+                results[index] = download(entry.getKey(), entry.getValue(), options);
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Unable to download recording " + entry.getKey() + ": " + e.getMessage());
+                results[index] = new RecordingDownloadResult(entry.getKey(), entry.getValue(), e);
+            }
+        });
+
+        List<RecordingDownloadResult> list = new ArrayList<>(results.length);
+        for (RecordingDownloadResult result : results) {
+            list.add(result);
+        }
+        return list;
+    }
+
+    private Transfer transfer(String url,
+                              FileChannel channel,
+                              long existing,
+                              boolean chunked,
+                              RecordingDownloadOptions options) throws IOException {
+        long end = chunked ? options.getChunkSize() - 1 : -1;
+
+        try (Recording recording = endpoint.execute(new DownloadRecordingRangeEndpoint.Range(url, existing, end))) {
+            HttpResponse response = recording.getResponse();
+            int status = response.getStatusLine().getStatusCode();
+
+            if (status == HttpStatus.SC_OK) {
+                // The server ignored the range, so the whole recording is on its way
+                channel.truncate(0);
+                long written = recording.transferTo(channel, 0);
+                checkLength(url, written, response.getEntity());
+                return new Transfer(written, written, false, 1);
+            }
+
+            if (status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE && existing > 0) {
+                long total = parseContentRange(response)[2];
+                if (total == existing) {
+                    return new Transfer(existing, 0, true, 0);
+                }
+                throw new NexmoMethodFailedException("Unable to resume download of " + url + ": " + existing +
+                        " bytes already downloaded, but the recording is " + total + " bytes.");
+            }
+
+            if (status != HttpStatus.SC_PARTIAL_CONTENT) {
+                throw new NexmoMethodFailedException("Unable to download recording " + url + ": " +
+                        response.getStatusLine());
+            }
+
+            long[] range = parseContentRange(response);
+            if (range[0] != existing) {
+                throw new NexmoMethodFailedException("Unable to download recording " + url + ": requested bytes from " +
+                        existing + " but received " + headerValue(response, "Content-Range") + ".");
+            }
+            long written = recording.transferTo(channel, existing);
+            if (written != range[1] - range[0] + 1) {
+                throw new IOException("Received " + written + " bytes of " + url + " but expected " +
+                        (range[1] - range[0] + 1) + ".");
+            }
+
+            long total = range[2];
+            long downloaded = existing + written;
+            if (chunked && total > downloaded) {
+                recording.close();
+                int chunks = transferChunks(url, channel, downloaded, total, options);
+                return new Transfer(total, total, false, chunks + 1);
+            }
+            if (total >= 0 && total != downloaded) {
+                throw new IOException("Received " + downloaded + " bytes of " + url + " but it is " + total + " bytes.");
+            }
+            return new Transfer(downloaded, written, existing > 0, 1);
+        }
+    }
+
+    /**
+     * Download the rest of a recording in parallel chunks. If any chunk fails, the file is truncated to the chunks
+     * which were completed in order so that the download can be resumed, or an {@link UnresumableDownloadException}
+     * is thrown if it can't be.
+     *
+     * @return The number of chunks downloaded.
+     */
+    private int transferChunks(String url, FileChannel channel, long start, long total, RecordingDownloadOptions options) throws IOException {
+        long chunkSize = options.getChunkSize();
+        int count = (int) ((total - start + chunkSize - 1) / chunkSize);
+        boolean[] completed = new boolean[count];
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        // transferFrom won't write beyond the end of the file, so it must already be full size
+        channel.write(ByteBuffer.wrap(new byte[1]), total - 1);
+
+        ParallelTasks.run(count, options.getParallelism(), executor(options), index -> {
+            if (failure.get() != null) {
+                return;
+            }
+            long from = start + index * chunkSize;
+            long to = Math.min(from + chunkSize, total) - 1;
+            try (Recording recording = endpoint.execute(new DownloadRecordingRangeEndpoint.Range(url, from, to))) {
+                HttpResponse response = recording.getResponse();
+                if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT ||
+                        parseContentRange(response)[0] != from) {
+                    throw new NexmoMethodFailedException("Unable to download bytes " + from + "-" + to + " of " + url +
+                            ": " + response.getStatusLine());
+                }
+                long written = recording.transferTo(channel, from);
+                if (written != to - from + 1) {
+                    throw new IOException("Received " + written + " bytes of " + url + " from " + from +
+                            " but expected " + (to - from + 1) + ".");
+                }
+                synchronized (completed) {
+                    completed[index] = true;
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+
+        Exception e = failure.get();
+        if (e != null) {
+            int prefix = 0;
+            synchronized (completed) {
+                while (prefix < count && completed[prefix]) {
+                    prefix++;
+                }
+            }
+            try {
+                channel.truncate(Math.min(start + prefix * chunkSize, total));
+            } catch (IOException truncateFailure) {
+                UnresumableDownloadException unresumable = new UnresumableDownloadException(url, truncateFailure);
+                unresumable.addSuppressed(e);
+                throw unresumable;
+            }
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw (RuntimeException) e;
+        }
+        return count;
+    }
+
+    private static Executor executor(RecordingDownloadOptions options) {
+        return options.getExecutor() != null ? options.getExecutor() : ParallelTasks.sharedExecutor();
+    }
+
+    /**
+     * Parse a Content-Range header such as {@code bytes 0-99/1000} or {@code bytes *}{@code /1000}.
+     *
+     * @return The first byte, last byte and total size, each -1 if not given.
+     */
+    static long[] parseContentRange(HttpResponse response) {
+        String value = headerValue(response, "Content-Range");
+        long[] range = {-1, -1, -1};
+        if (value == null || !value.startsWith("bytes ")) {
+            throw new NexmoMethodFailedException("Invalid Content-Range in recording response: " + value);
+        }
+        try {
+            int slash = value.indexOf('/');
+            String bytes = value.substring(6, slash < 0 ? value.length() : slash).trim();
+            if (!"*".equals(bytes)) {
+                int dash = bytes.indexOf('-');
+                range[0] = Long.parseLong(bytes.substring(0, dash));
+                range[1] = Long.parseLong(bytes.substring(dash + 1));
+            }
+            if (slash >= 0 && !"*".equals(value.substring(slash + 1).trim())) {
+                range[2] = Long.parseLong(value.substring(slash + 1).trim());
+            }
+        } catch (RuntimeException e) {
+            throw new NexmoMethodFailedException("Invalid Content-Range in recording response: " + value, e);
+        }
+        return range;
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    private static void checkLength(String url, long written, HttpEntity entity) throws IOException {
+        long expected = entity != null ? entity.getContentLength() : -1;
+        if (expected >= 0 && written != expected) {
+            throw new IOException("Received " + written + " bytes of " + url + " but expected " + expected + ".");
+        }
+    }
+
+    private static String checksum(Path path, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Checksum algorithm " + algorithm + " is not available.", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        byte[] bytes = digest.digest();
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Thrown when a chunked download fails and the chunks completed in order can't be separated from the rest.
+     */
+    private static final class UnresumableDownloadException extends IOException {
+        private UnresumableDownloadException(String url, IOException cause) {
+            super("Unable to keep the partial download of " + url + " for resuming.", cause);
+        }
+    }
+
+    private static final class Transfer {
+        private final long size;
+        private final long downloaded;
+        private final boolean resumed;
+        private final int chunks;
+
+        private Transfer(long size, long downloaded, boolean resumed, int chunks) {
+            this.size = size;
+            this.downloaded = downloaded;
+            this.resumed = resumed;
+            this.chunks = chunks;
+        }
+    }
+}
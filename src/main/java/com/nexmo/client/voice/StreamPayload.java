@@ -23,8 +23,8 @@ package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 /**
  * The JSON payload that will be sent in a {@link StreamRequest}.
@@ -53,8 +53,7 @@ public class StreamPayload {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this);
+            return MapperRegistry.writer().writeValueAsString(this);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from StreamPayload object.", jpe);
         }
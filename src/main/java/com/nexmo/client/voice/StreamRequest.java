@@ -22,8 +22,8 @@
 package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 /**
  * The request object to stream an audio file.
@@ -40,6 +40,18 @@ public class StreamRequest {
         this.uuid = uuid;
     }
 
+    private StreamRequest(String uuid, StreamPayload streamPayload) {
+        this.streamPayload = streamPayload;
+        this.uuid = uuid;
+    }
+
+    /**
+     * @return A request streaming the same audio to another call.
+     */
+    StreamRequest withUuid(String uuid) {
+        return new StreamRequest(uuid, this.streamPayload);
+    }
+
     public String getUuid() {
         return uuid;
     }
@@ -50,8 +62,7 @@ public class StreamRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this.streamPayload);
+            return MapperRegistry.writer().writeValueAsString(this.streamPayload);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from StreamRequest object.", jpe);
         }
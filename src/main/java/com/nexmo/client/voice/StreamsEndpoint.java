@@ -24,6 +24,8 @@ package com.nexmo.client.voice;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 class StreamsEndpoint {
     private final StartStreamMethod startStream;
     private final StopStreamMethod stopStream;
@@ -40,4 +42,12 @@ class StreamsEndpoint {
     public StreamResponse delete(String uuid) throws NexmoClientException {
         return this.stopStream.execute(uuid);
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<StreamResponse> putAsync(StreamRequest request) {
+        return this.startStream.executeAsync(request);
+    }
+
+    public CompletableFuture<StreamResponse> deleteAsync(String uuid) {
+        return this.stopStream.executeAsync(uuid);
+    }
+}
@@ -24,6 +24,8 @@ package com.nexmo.client.voice;
 import com.nexmo.client.HttpWrapper;
 import com.nexmo.client.NexmoClientException;
 
+import java.util.concurrent.CompletableFuture;
+
 public class TalkEndpoint {
     private final StartTalkMethod startTalk;
     private final StopTalkMethod stopTalk;
@@ -40,4 +42,12 @@ public class TalkEndpoint {
     public TalkResponse delete(String uuid) throws NexmoClientException {
         return this.stopTalk.execute(uuid);
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<TalkResponse> putAsync(TalkRequest request) {
+        return this.startTalk.executeAsync(request);
+    }
+
+    public CompletableFuture<TalkResponse> deleteAsync(String uuid) {
+        return this.stopTalk.executeAsync(uuid);
+    }
+}
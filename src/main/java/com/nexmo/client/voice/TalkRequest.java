@@ -22,8 +22,8 @@
 package com.nexmo.client.voice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
 /**
  * The request object to send synthesized audio.
@@ -52,6 +52,18 @@ public class TalkRequest {
         this(uuid, text, VoiceName.KIMBERLY, 1);
     }
 
+    private TalkRequest(String uuid, TalkPayload talkPayload) {
+        this.talkPayload = talkPayload;
+        this.uuid = uuid;
+    }
+
+    /**
+     * @return A request sending the same message to another call.
+     */
+    TalkRequest withUuid(String uuid) {
+        return new TalkRequest(uuid, this.talkPayload);
+    }
+
     public String getUuid() {
         return uuid;
     }
@@ -62,8 +74,7 @@ public class TalkRequest {
 
     public String toJson() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(this.talkPayload);
+            return MapperRegistry.writer().writeValueAsString(this.talkPayload);
         } catch (JsonProcessingException jpe) {
             throw new NexmoUnexpectedException("Failed to produce json from TalkRequest object.", jpe);
         }
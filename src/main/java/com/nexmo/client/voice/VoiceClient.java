@@ -23,8 +23,18 @@ package com.nexmo.client.voice;
 
 
 import com.nexmo.client.*;
+import com.nexmo.client.common.PagedIterable;
 import com.nexmo.client.voice.ncco.Ncco;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 /**
  * A client for talking to the Nexmo Voice API. The standard way to obtain an instance of this class is to use {@link
  * NexmoClient#getVoiceClient()}.
@@ -35,6 +45,8 @@ public class VoiceClient extends AbstractClient {
     protected final TalkEndpoint talk;
     protected final DtmfEndpoint dtmf;
     protected final DownloadRecordingEndpoint downloadRecording;
+    private final RecordingDownloader recordingDownloader;
+    private final CallBatchExecutor batchExecutor = new CallBatchExecutor();
 
     /**
      * Constructor.
@@ -49,6 +61,7 @@ public class VoiceClient extends AbstractClient {
         talk = new TalkEndpoint(httpWrapper);
         dtmf = new DtmfEndpoint(httpWrapper);
         downloadRecording = new DownloadRecordingEndpoint(httpWrapper);
+        recordingDownloader = new RecordingDownloader(new DownloadRecordingRangeEndpoint(httpWrapper));
     }
 
     /**
@@ -66,6 +79,38 @@ public class VoiceClient extends AbstractClient {
         return calls.post(callRequest);
     }
 
+    /**
+     * Place a campaign of outbound calls, paced according to {@code config}, without blocking the calling thread.
+     * <p>
+     * Events received by the application's event webhook must be passed to {@link
+     * CallCampaign#onEvent(com.nexmo.client.incoming.CallEvent)} so that completed calls free their place for the
+     * next call.
+     *
+     * @param calls  The calls to be made, read as the campaign progresses.
+     * @param config The limits on live calls and calls per second.
+     *
+     * @return The running {@link CallCampaign}, providing statistics and the campaign's completion.
+     */
+    public CallCampaign dialCampaign(Iterator<? extends Call> calls, DialerConfig config) {
+        CallCampaign campaign = new CallCampaign(calls, this::createCallAsync, config);
+        campaign.start();
+        return campaign;
+    }
+
+    /**
+     * Place a campaign of outbound calls, paced according to {@code config}, without blocking the calling thread.
+     *
+     * @param calls  The calls to be made, read as the campaign progresses.
+     * @param config The limits on live calls and calls per second.
+     *
+     * @return The running {@link CallCampaign}, providing statistics and the campaign's completion.
+     *
+     * @see #dialCampaign(Iterator, DialerConfig)
+     */
+    public CallCampaign dialCampaign(Stream<? extends Call> calls, DialerConfig config) {
+        return dialCampaign(calls.iterator(), config);
+    }
+
     /**
      * Obtain the first page of CallInfo objects, representing the most recent calls initiated by {@link
      * #createCall(Call)}.
@@ -94,6 +139,31 @@ public class VoiceClient extends AbstractClient {
         return calls.get(filter);
     }
 
+    /**
+     * Iterate over all calls, fetching each page as it is needed.
+     *
+     * @return A {@link PagedIterable} of every call.
+     *
+     * @see #listAllCalls(CallsFilter)
+     */
+    public PagedIterable<CallInfo> listAllCalls() {
+        return listAllCalls(null);
+    }
+
+    /**
+     * Iterate over all the calls matching {@code filter}, following the {@code next} link of each page as the
+     * previous page is used up. The filter's page size sets the number of calls requested at a time, and its record
+     * index the first call. No request is made until the first call is needed.
+     *
+     * @param filter The filter describing which calls to list, or {@code null} for all calls.
+     *
+     * @return A {@link PagedIterable} of the matching calls. Use {@link PagedIterable#withPrefetch()} to request each
+     * page in the background while the previous one is processed.
+     */
+    public PagedIterable<CallInfo> listAllCalls(CallsFilter filter) {
+        return new PagedIterable<>(filter, new CallInfoPageSource(calls));
+    }
+
     /**
      * Look up the status of a single call initiated by {@link #createCall(Call)}.
      *
@@ -355,4 +425,275 @@ public class VoiceClient extends AbstractClient {
     public Recording downloadRecording(String recordingUrl) throws NexmoResponseParseException, NexmoClientException {
         return this.downloadRecording.execute(recordingUrl);
     }
+
+    /**
+     * Download a recording to a file, given the recordingUrl provided from the webhook callback, using the default
+     * {@link RecordingDownloadOptions}.
+     *
+     * @param recordingUrl The recordingUrl provided by the webhook callback
+     * @param target       The file to save the recording to. Any existing file is replaced.
+     *
+     * @return A {@link RecordingDownloadResult} describing the download.
+     *
+     * @throws IOException          if the recording couldn't be read or written to the file.
+     * @throws NexmoClientException if there was a problem with the Nexmo request or response.
+     * @see #downloadRecording(String, Path, RecordingDownloadOptions)
+     */
+    public RecordingDownloadResult downloadRecording(String recordingUrl, Path target) throws IOException, NexmoClientException {
+        return downloadRecording(recordingUrl, target, RecordingDownloadOptions.defaultOptions());
+    }
+
+    /**
+     * Download a recording to a file, given the recordingUrl provided from the webhook callback.
+     * <p>
+     * The recording is streamed to {@code <target>.part} and moved to the target once complete, so it is never held
+     * in memory. If a previous download was interrupted, it is resumed from the end of the partial file. Large
+     * recordings are downloaded in chunks over several connections, as configured by the options, into
+     * {@code <target>.chunks}; if that download fails, the chunks completed in order are kept as the partial file.
+     * Connections are always released, whether or not the download succeeds.
+     *
+     * @param recordingUrl The recordingUrl provided by the webhook callback
+     * @param target       The file to save the recording to. Any existing file is replaced.
+     * @param options      The options controlling chunking, resuming and checksums.
+     *
+     * @return A {@link RecordingDownloadResult} describing the download.
+     *
+     * @throws IOException          if the recording couldn't be read or written to the file.
+     * @throws NexmoClientException if there was a problem with the Nexmo request or response.
+     */
+    public RecordingDownloadResult downloadRecording(String recordingUrl,
+                                                     Path target,
+                                                     RecordingDownloadOptions options) throws IOException, NexmoClientException {
+        return this.recordingDownloader.download(recordingUrl, target, options);
+    }
+
+    /**
+     * Download several recordings to files, up to {@link RecordingDownloadOptions#getMaxConcurrentDownloads()} at
+     * once. A recording which fails to download doesn't stop the others; its result holds the exception instead.
+     *
+     * @param recordings The files to save to, keyed by recordingUrl.
+     * @param options    The options controlling concurrency, chunking, resuming and checksums.
+     *
+     * @return A {@link RecordingDownloadResult} for each recording, in the iteration order of {@code recordings}.
+     */
+    public List<RecordingDownloadResult> downloadRecordings(Map<String, Path> recordings,
+                                                            RecordingDownloadOptions options) {
+        return this.recordingDownloader.downloadAll(recordings, options);
+    }
+
+    /**
+     * Modify several ongoing calls at once, for example to hang up every leg of a conference. Up to {@code
+     * parallelism} requests are in flight at once. A failure for one call doesn't stop the others; its result holds
+     * the exception instead.
+     *
+     * @param uuids       The UUIDs of the calls. Each distinct UUID is modified once.
+     * @param action      The modification to make to each call.
+     * @param parallelism The most requests in flight at once.
+     *
+     * @return A {@link CallBatchResult} holding the response or exception for each call.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting for the requests.
+     * @see #modifyCall(String, ModifyCallAction)
+     */
+    public CallBatchResult<ModifyCallResponse> modifyCall(Collection<String> uuids,
+                                                         ModifyCallAction action,
+                                                         int parallelism) throws NexmoClientException {
+        return batchExecutor.execute(uuids, uuid -> modifyCallAsync(new CallModifier(uuid, action)), parallelism);
+    }
+
+    /**
+     * Stream the same audio to several ongoing calls at once. Up to {@code parallelism} requests are in flight at
+     * once. A failure for one call doesn't stop the others; its result holds the exception instead.
+     *
+     * @param uuids       The UUIDs of the calls. Each distinct UUID receives the stream once.
+     * @param request     The audio to stream. Its own UUID is ignored.
+     * @param parallelism The most requests in flight at once.
+     *
+     * @return A {@link CallBatchResult} holding the response or exception for each call.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting for the requests.
+     * @see #startStream(String, String, int)
+     */
+    public CallBatchResult<StreamResponse> startStream(Collection<String> uuids,
+                                                       StreamRequest request,
+                                                       int parallelism) throws NexmoClientException {
+        return batchExecutor.execute(uuids, uuid -> streams.putAsync(request.withUuid(uuid)), parallelism);
+    }
+
+    /**
+     * Send the same synthesized speech message to several ongoing calls at once. Up to {@code parallelism} requests
+     * are in flight at once. A failure for one call doesn't stop the others; its result holds the exception instead.
+     *
+     * @param uuids       The UUIDs of the calls. Each distinct UUID receives the message once.
+     * @param request     The message to speak. Its own UUID is ignored.
+     * @param parallelism The most requests in flight at once.
+     *
+     * @return A {@link CallBatchResult} holding the response or exception for each call.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting for the requests.
+     * @see #startTalk(String, String, VoiceName, int)
+     */
+    public CallBatchResult<TalkResponse> startTalk(Collection<String> uuids,
+                                                   TalkRequest request,
+                                                   int parallelism) throws NexmoClientException {
+        return batchExecutor.execute(uuids, uuid -> talk.putAsync(request.withUuid(uuid)), parallelism);
+    }
+
+    /**
+     * Send the same DTMF codes to several ongoing calls at once. Up to {@code parallelism} requests are in flight at
+     * once. A failure for one call doesn't stop the others; its result holds the exception instead.
+     *
+     * @param uuids       The UUIDs of the calls. Each distinct UUID receives the digits once.
+     * @param digits      The digits to be sent to each call.
+     * @param parallelism The most requests in flight at once.
+     *
+     * @return A {@link CallBatchResult} holding the response or exception for each call.
+     *
+     * @throws NexmoClientException if the thread is interrupted while waiting for the requests.
+     * @see #sendDtmf(String, String)
+     */
+    public CallBatchResult<DtmfResponse> sendDtmf(Collection<String> uuids,
+                                                  String digits,
+                                                  int parallelism) throws NexmoClientException {
+        return batchExecutor.execute(uuids, uuid -> sendDtmfAsync(uuid, digits), parallelism);
+    }
+
+    /**
+     * Begin a call to a phone number without blocking the calling thread.
+     *
+     * @param callRequest Describing the call to be made.
+     *
+     * @return A CompletableFuture which will be completed with a CallEvent describing the initial state of the call.
+     *
+     * @see #createCall(Call)
+     */
+    public CompletableFuture<CallEvent> createCallAsync(Call callRequest) {
+        return calls.postAsync(callRequest);
+    }
+
+    /**
+     * Obtain the first page of CallInfo objects matching the query described by {@code filter} without blocking the
+     * calling thread.
+     *
+     * @param filter (optional) A filter describing which calls to be listed.
+     *
+     * @return A CompletableFuture which will be completed with a CallInfoPage.
+     *
+     * @see #listCalls(CallsFilter)
+     */
+    public CompletableFuture<CallInfoPage> listCallsAsync(CallsFilter filter) {
+        return calls.getAsync(filter);
+    }
+
+    /**
+     * Look up the status of a single call without blocking the calling thread.
+     *
+     * @param uuid (required) The UUID of the call, obtained from the object returned by {@link #createCall(Call)}.
+     *
+     * @return A CompletableFuture which will be completed with a CallInfo object.
+     *
+     * @see #getCallDetails(String)
+     */
+    public CompletableFuture<CallInfo> getCallDetailsAsync(String uuid) {
+        return calls.getAsync(uuid);
+    }
+
+    /**
+     * Send DTMF codes to an ongoing call without blocking the calling thread.
+     *
+     * @param uuid   (required) The UUID of the call.
+     * @param digits (required) A string specifying the digits to be sent to the call.
+     *
+     * @return A CompletableFuture which will be completed with a DtmfResponse.
+     *
+     * @see #sendDtmf(String, String)
+     */
+    public CompletableFuture<DtmfResponse> sendDtmfAsync(String uuid, String digits) {
+        return dtmf.putAsync(uuid, digits);
+    }
+
+    /**
+     * Modify an ongoing call without blocking the calling thread.
+     *
+     * @param modifier A CallModifier describing the modification to be made.
+     *
+     * @return A CompletableFuture which will be completed with a ModifyCallResponse.
+     *
+     * @see #modifyCall(CallModifier)
+     */
+    public CompletableFuture<ModifyCallResponse> modifyCallAsync(CallModifier modifier) {
+        return calls.putAsync(modifier);
+    }
+
+    /**
+     * Stream audio to an ongoing call without blocking the calling thread.
+     *
+     * @param uuid      (required) The UUID of the call.
+     * @param streamUrl (required) A URL of an audio file in MP3 or 16-bit WAV format, to be streamed to the call.
+     * @param loop      (required) The number of times to repeat the audio. The default value is {@code 1}, or you can
+     *                  use {@code 0} to indicate that the audio should be repeated indefinitely.
+     *
+     * @return A CompletableFuture which will be completed with a StreamResponse.
+     *
+     * @see #startStream(String, String, int)
+     */
+    public CompletableFuture<StreamResponse> startStreamAsync(String uuid, String streamUrl, int loop) {
+        return streams.putAsync(new StreamRequest(uuid, streamUrl, loop));
+    }
+
+    /**
+     * Stop the audio being streamed into a call without blocking the calling thread.
+     *
+     * @param uuid (required) The UUID of the call.
+     *
+     * @return A CompletableFuture which will be completed with a StreamResponse.
+     *
+     * @see #stopStream(String)
+     */
+    public CompletableFuture<StreamResponse> stopStreamAsync(String uuid) {
+        return streams.deleteAsync(uuid);
+    }
+
+    /**
+     * Send a synthesized speech message to an ongoing call without blocking the calling thread.
+     *
+     * @param uuid      (required) The UUID of the call.
+     * @param text      (required) The message to be spoken to the call participants.
+     * @param voiceName (required) The voice to be used to speak the message.
+     * @param loop      (required) The number of times to repeat the message. The default value is {@code 1}, or you
+     *                  can use {@code 0} to indicate that the message should be repeated indefinitely.
+     *
+     * @return A CompletableFuture which will be completed with a TalkResponse.
+     *
+     * @see #startTalk(String, String, VoiceName, int)
+     */
+    public CompletableFuture<TalkResponse> startTalkAsync(String uuid, String text, VoiceName voiceName, int loop) {
+        return talk.putAsync(new TalkRequest(uuid, text, voiceName, loop));
+    }
+
+    /**
+     * Stop the message being spoken into a call without blocking the calling thread.
+     *
+     * @param uuid (required) The UUID of the call.
+     *
+     * @return A CompletableFuture which will be completed with a TalkResponse.
+     *
+     * @see #stopTalk(String)
+     */
+    public CompletableFuture<TalkResponse> stopTalkAsync(String uuid) {
+        return talk.deleteAsync(uuid);
+    }
+
+    /**
+     * Download a recording without blocking the calling thread.
+     *
+     * @param recordingUrl The recordingUrl provided by the webhook callback.
+     *
+     * @return A CompletableFuture which will be completed with a Recording.
+     *
+     * @see #downloadRecording(String)
+     */
+    public CompletableFuture<Recording> downloadRecordingAsync(String recordingUrl) {
+        return this.downloadRecording.executeAsync(recordingUrl);
+    }
 }
@@ -21,9 +21,35 @@
  */
 package com.nexmo.client.voice.ncco;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.nexmo.client.common.MapperRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * An NCCO action.
  */
 public interface Action {
     String getAction();
+
+    /**
+     * Write this action as JSON to a stream. The stream is not closed.
+     *
+     * @param out the stream to write the UTF-8 encoded JSON to
+     * @throws IOException if the stream cannot be written to
+     */
+    default void writeTo(OutputStream out) throws IOException {
+        MapperRegistry.writeValue(MapperRegistry.writer(), this, out);
+    }
+
+    /**
+     * Write this action as a JSON value to a generator, for example as one element of a larger document.
+     *
+     * @param generator the generator to write the action to
+     * @throws IOException if the generator cannot be written to
+     */
+    default void writeTo(JsonGenerator generator) throws IOException {
+        MapperRegistry.writer().writeValue(generator, this);
+    }
 }
@@ -22,11 +22,14 @@
 package com.nexmo.client.voice.ncco;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,11 +43,11 @@ public class Ncco {
     private ObjectWriter writer;
 
     public Ncco() {
-        this(new ObjectMapper().writer(), Collections.emptyList());
+        this(MapperRegistry.writer(), Collections.emptyList());
     }
 
     public Ncco(Collection<Action> actions) {
-        this(new ObjectMapper().writer(), actions);
+        this(MapperRegistry.writer(), actions);
     }
 
     public Ncco(ObjectWriter writer) {
@@ -75,4 +78,25 @@ public class Ncco {
             throw new NexmoUnexpectedException("Unable to convert NCCO Object to JSON.");
         }
     }
+
+    /**
+     * Write the actions of this NCCO as a JSON array to a stream, without building an intermediate String. The stream
+     * is not closed.
+     *
+     * @param out the stream to write the UTF-8 encoded JSON to
+     * @throws IOException if the stream cannot be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        MapperRegistry.writeValue(this.writer, this.actions, out);
+    }
+
+    /**
+     * Write the actions of this NCCO as a JSON array to a generator, for example as a property of a larger document.
+     *
+     * @param generator the generator to write the actions to
+     * @throws IOException if the generator cannot be written to
+     */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        this.writer.writeValue(generator, this.actions);
+    }
 }
@@ -33,6 +33,11 @@ import java.io.IOException;
  *     Implement {@link #handleRequest(HttpServletRequest)} to return an {@link NccoResponse} and this servlet will
  *     ensure that the response is serialized correctly for the Nexmo Voice API.
  * </p>
+ * <p>
+ *     Where most of the response is the same on every call, return {@link NccoTemplate#bind(java.util.Map)} from a
+ *     shared {@link NccoTemplate}, which is written to the response's output stream without serializing the actions
+ *     again.
+ * </p>
  */
 public abstract class AbstractAnswerServlet extends HttpServlet {
     @Override
@@ -46,11 +51,7 @@ public abstract class AbstractAnswerServlet extends HttpServlet {
     }
 
     private void serializeNccoResponse(HttpServletResponse httpResponse, NccoResponse nccoResponse) throws IOException {
-        byte[] json = nccoResponse.toJson().getBytes("UTF-8");
-        httpResponse.setCharacterEncoding("UTF-8");
-        httpResponse.setContentType("application/json");
-        httpResponse.setContentLength(json.length);
-        httpResponse.getOutputStream().write(json);
+        nccoResponse.writeTo(httpResponse);
     }
 
     /**
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nexmo.client.common.MapperRegistry;
+import com.nexmo.client.incoming.CallEvent;
+import com.nexmo.client.incoming.CallbackDispatcher;
+import com.nexmo.client.incoming.ConsumerConfig;
+import com.nexmo.client.incoming.EventType;
+import com.nexmo.client.incoming.IdempotencyFilter;
+import com.nexmo.client.incoming.InputEvent;
+import com.nexmo.client.incoming.MessageEvent;
+import com.nexmo.client.incoming.RecordEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An abstract Servlet for an application's event webhook, which parses each event and passes it to a typed handler.
+ * <p>
+ * The request body is parsed once, as it is read from the request, and the type of event is detected from its
+ * properties: call status changes are passed to {@link #onCallEvent(CallEvent)}, input results to {@link
+ * #onInputEvent(InputEvent)}, recordings to {@link #onRecordEvent(RecordEvent)}, inbound messages to {@link
+ * #onMessageEvent(MessageEvent)} and anything else to {@link #onUnknownEvent(JsonNode)}. Events sent with {@code
+ * GET} are read from the query parameters instead. Override the handlers for the events the application uses; the
+ * others do nothing.
+ * <p>
+ * Like {@link com.nexmo.client.sms.callback.AbstractMOServlet}, each event is acknowledged as soon as it has been
+ * parsed and handled asynchronously, according to a {@link ConsumerConfig}: by default on a pool of 10 threads with at
+ * most 10,000 events pending, further events being refused with {@code 503 Service Unavailable} so that Nexmo retries
+ * them. Handlers may therefore run concurrently, and in a different order to the one in which Nexmo sent the events.
+ * The throughput and lag of each type of event are available from {@link #getEventStats(EventType)}.
+ */
+public abstract class AbstractEventServlet extends HttpServlet {
+    private static final long serialVersionUID = -3915306215316528405L;
+
+    private static final Log log = LogFactory.getLog(AbstractEventServlet.class);
+
+    private static final ObjectReader TREE_READER = MapperRegistry.reader(JsonNode.class);
+
+    private final CallbackDispatcher dispatcher;
+    private final Map<EventType, Counters> counters = new EnumMap<>(EventType.class);
+
+    public AbstractEventServlet() {
+        this(ConsumerConfig.defaultConfig());
+    }
+
+    /**
+     * @param consumerConfig How received events are passed to the handlers.
+     */
+    public AbstractEventServlet(ConsumerConfig consumerConfig) {
+        this.dispatcher = new CallbackDispatcher(consumerConfig, "nexmo-event-consumer-");
+        for (EventType type : EventType.values()) {
+            this.counters.put(type, new Counters());
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        JsonNode body;
+        try (InputStream in = request.getInputStream()) {
+            body = TREE_READER.readTree(in);
+        } catch (JsonProcessingException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed event");
+            return;
+        }
+        handleEvent(body, response);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        Enumeration<String> names = request.getParameterNames();
+        while (names != null && names.hasMoreElements()) {
+            String name = names.nextElement();
+            body.put(name, request.getParameter(name));
+        }
+        handleEvent(body, response);
+    }
+
+    private void handleEvent(JsonNode body, HttpServletResponse response) throws IOException {
+        long acceptedNanos = System.nanoTime();
+        if (body == null || !body.isObject()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Missing event");
+            return;
+        }
+
+        EventType type = EventType.detect(body);
+        Object event;
+        try {
+            event = parse(type, body);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed " + type.name().toLowerCase() + " event");
+            return;
+        }
+
+        if (!dispatch(type, event, acceptedNanos)) {
+            this.counters.get(type).rejected.increment();
+            this.dispatcher.rejectOverloaded(response, "Too many pending events");
+            return;
+        }
+
+        // immediately ack the receipt
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    static Object parse(EventType type, JsonNode body) throws IOException {
+        switch (type) {
+            case UNKNOWN:
+                return body;
+            case MESSAGE:
+                return MapperRegistry.reader(MapperRegistry.Profile.REST_DATES_UTC, MessageEvent.class).readValue(body);
+            default:
+                return MapperRegistry.reader(type.getEventClass()).readValue(body);
+        }
+    }
+
+    private boolean dispatch(EventType type, Object event, long acceptedNanos) {
+        CallbackDispatcher.Ticket ticket = this.dispatcher.admit(false);
+        if (ticket == null) {
+            return false;
+        }
+
+        Counters typeCounters = this.counters.get(type);
+        if (ticket.isDuplicate(filter -> isFirst(filter, type, event))) {
+            typeCounters.duplicates.increment();
+            return true;
+        }
+
+        typeCounters.pending.increment();
+        if (ticket.dispatch(this.dispatcher.getExecutor(), () -> handleAndRecord(type, event, acceptedNanos))) {
+            // Events refused while overloaded are delivered again, so their lag is only recorded once they are taken
+            typeCounters.accepted(acceptedNanos, timestamp(event));
+            return true;
+        }
+        typeCounters.pending.decrement();
+        return false;
+    }
+
+    private static boolean isFirst(IdempotencyFilter filter, EventType type, Object event) {
+        switch (type) {
+            case CALL:
+                return filter.isFirst((CallEvent) event);
+            case RECORD:
+                String recordingUuid = ((RecordEvent) event).getUuid();
+                return recordingUuid == null || filter.isFirst("recording:" + recordingUuid);
+            case MESSAGE:
+                String messageId = ((MessageEvent) event).getMessageId();
+                return messageId == null || filter.isFirst(messageId);
+            default:
+                return true;
+        }
+    }
+
+    private void handleAndRecord(EventType type, Object event, long acceptedNanos) {
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
+        try {
+            switch (type) {
+                case CALL:
+                    onCallEvent((CallEvent) event);
+                    break;
+                case INPUT:
+                    onInputEvent((InputEvent) event);
+                    break;
+                case RECORD:
+                    onRecordEvent((RecordEvent) event);
+                    break;
+                case MESSAGE:
+                    onMessageEvent((MessageEvent) event);
+                    break;
+                default:
+                    onUnknownEvent((JsonNode) event);
+                    break;
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            log.error("Failed to handle " + type.name().toLowerCase() + " event", e);
+        }
+        long endNanos = System.nanoTime();
+        long handleNanos = endNanos - startNanos;
+        long waitNanos = startNanos - acceptedNanos;
+
+        this.counters.get(type).handled(failure == null, waitNanos, handleNanos, endNanos);
+        onHandled(type, event, waitNanos, handleNanos, failure);
+    }
+
+    private static Date timestamp(Object event) {
+        if (event instanceof CallEvent) {
+            return ((CallEvent) event).getTimestamp();
+        }
+        if (event instanceof InputEvent) {
+            return ((InputEvent) event).getTimestamp();
+        }
+        if (event instanceof RecordEvent) {
+            return ((RecordEvent) event).getTimestamp();
+        }
+        if (event instanceof MessageEvent) {
+            return ((MessageEvent) event).getMessageTimestamp();
+        }
+        return null;
+    }
+
+    /**
+     * Handle a change in the status of a call. Does nothing by default.
+     *
+     * @param event The event.
+     */
+    protected void onCallEvent(CallEvent event) {
+    }
+
+    /**
+     * Handle the result of an input action. Does nothing by default.
+     *
+     * @param event The event.
+     */
+    protected void onInputEvent(InputEvent event) {
+    }
+
+    /**
+     * Handle a completed recording. Does nothing by default.
+     *
+     * @param event The event.
+     */
+    protected void onRecordEvent(RecordEvent event) {
+    }
+
+    /**
+     * Handle an inbound message. Does nothing by default.
+     *
+     * @param event The event.
+     */
+    protected void onMessageEvent(MessageEvent event) {
+    }
+
+    /**
+     * Handle an event which isn't recognised as any other type. Does nothing by default.
+     *
+     * @param event The parsed body of the request.
+     */
+    protected void onUnknownEvent(JsonNode event) {
+    }
+
+    /**
+     * Called after each event has been handled, for example to record its latency to a metrics library. Does nothing
+     * by default.
+     *
+     * @param type The type of the event.
+     * @param event The event which was handled.
+     * @param waitNanos The time from the event being accepted to its handling starting, in nanoseconds.
+     * @param handleNanos The time spent in the handler, in nanoseconds.
+     * @param failure The exception thrown by the handler, or {@code null} if it succeeded.
+     */
+    protected void onHandled(EventType type, Object event, long waitNanos, long handleNanos, Throwable failure) {
+    }
+
+    /**
+     * @param type The type of event.
+     *
+     * @return A snapshot of the number of events of that type pending, handled and refused, and their lag.
+     */
+    public EventStats getEventStats(EventType type) {
+        return this.counters.get(type).snapshot(type);
+    }
+
+    /**
+     * @return A snapshot of the statistics for every type of event.
+     */
+    public Map<EventType, EventStats> getEventStats() {
+        Map<EventType, EventStats> stats = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            stats.put(type, getEventStats(type));
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Shuts down the handler thread pool if it was created by this servlet, waiting up to the configured shutdown
+     * timeout for pending events to be handled. An executor supplied through {@link ConsumerConfig} is left running.
+     */
+    @Override
+    public void destroy() {
+        this.dispatcher.shutdown();
+        super.destroy();
+    }
+
+    private static final class Counters {
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder handled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalHandleNanos = new LongAdder();
+        private final LongAdder deliveryLagCount = new LongAdder();
+        private final LongAdder totalDeliveryLagMillis = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong maxHandleNanos = new AtomicLong();
+        private final AtomicLong maxDeliveryLagMillis = new AtomicLong();
+        private final AtomicLong firstAcceptedNanos = new AtomicLong();
+        private volatile long lastHandledNanos;
+
+        void accepted(long acceptedNanos, Date timestamp) {
+            this.firstAcceptedNanos.compareAndSet(0, acceptedNanos);
+            if (timestamp != null) {
+                long lagMillis = Math.max(0, System.currentTimeMillis() - timestamp.getTime());
+                this.deliveryLagCount.increment();
+                this.totalDeliveryLagMillis.add(lagMillis);
+                this.maxDeliveryLagMillis.accumulateAndGet(lagMillis, Math::max);
+            }
+        }
+
+        void handled(boolean succeeded, long waitNanos, long handleNanos, long endNanos) {
+            (succeeded ? this.handled : this.failed).increment();
+            this.pending.decrement();
+            this.totalWaitNanos.add(waitNanos);
+            this.totalHandleNanos.add(handleNanos);
+            this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            this.maxHandleNanos.accumulateAndGet(handleNanos, Math::max);
+            this.lastHandledNanos = endNanos;
+        }
+
+        EventStats snapshot(EventType type) {
+            long first = this.firstAcceptedNanos.get();
+            long last = this.lastHandledNanos;
+            Duration elapsed = first == 0 || last == 0 ? Duration.ZERO : Duration.ofNanos(Math.max(0, last - first));
+            return new EventStats(type,
+                    this.pending.sum(),
+                    this.handled.sum(),
+                    this.failed.sum(),
+                    this.rejected.sum(),
+                    this.duplicates.sum(),
+                    this.totalWaitNanos.sum(),
+                    this.maxWaitNanos.get(),
+                    this.totalHandleNanos.sum(),
+                    this.maxHandleNanos.get(),
+                    this.deliveryLagCount.sum(),
+                    this.totalDeliveryLagMillis.sum(),
+                    this.maxDeliveryLagMillis.get(),
+                    elapsed);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.nexmo.client.incoming.EventType;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the handling of one type of event received by an {@link AbstractEventServlet}.
+ */
+public class EventStats {
+    private final EventType type;
+    private final long pending;
+    private final long handled;
+    private final long failed;
+    private final long rejected;
+    private final long duplicates;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalHandleNanos;
+    private final long maxHandleNanos;
+    private final long deliveryLagCount;
+    private final long totalDeliveryLagMillis;
+    private final long maxDeliveryLagMillis;
+    private final Duration elapsed;
+
+    EventStats(EventType type,
+               long pending,
+               long handled,
+               long failed,
+               long rejected,
+               long duplicates,
+               long totalWaitNanos,
+               long maxWaitNanos,
+               long totalHandleNanos,
+               long maxHandleNanos,
+               long deliveryLagCount,
+               long totalDeliveryLagMillis,
+               long maxDeliveryLagMillis,
+               Duration elapsed) {
+        this.type = type;
+        this.pending = pending;
+        this.handled = handled;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.duplicates = duplicates;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalHandleNanos = totalHandleNanos;
+        this.maxHandleNanos = maxHandleNanos;
+        this.deliveryLagCount = deliveryLagCount;
+        this.totalDeliveryLagMillis = totalDeliveryLagMillis;
+        this.maxDeliveryLagMillis = maxDeliveryLagMillis;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The type of event these statistics describe.
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * @return The number of accepted events waiting for or undergoing handling.
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    /**
+     * @return The number of events handled without the handler throwing an exception.
+     */
+    public long getHandled() {
+        return handled;
+    }
+
+    /**
+     * @return The number of events for which the handler threw an exception.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return The number of events refused because too many were pending.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return The number of events acknowledged without being handled because they had already been received.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return The average time from an event being accepted to its handling starting.
+     */
+    public Duration getAverageWait() {
+        return average(totalWaitNanos, handled + failed);
+    }
+
+    /**
+     * @return The longest time from an event being accepted to its handling starting.
+     */
+    public Duration getMaxWait() {
+        return Duration.ofNanos(maxWaitNanos);
+    }
+
+    /**
+     * @return The average time spent handling an event.
+     */
+    public Duration getAverageHandleTime() {
+        return average(totalHandleNanos, handled + failed);
+    }
+
+    /**
+     * @return The longest time spent handling an event.
+     */
+    public Duration getMaxHandleTime() {
+        return Duration.ofNanos(maxHandleNanos);
+    }
+
+    /**
+     * @return The average time from the timestamp Nexmo gave an event to the event being received, for events with a
+     * timestamp which were accepted for handling. This includes any difference between Nexmo's clock and the local
+     * clock.
+     */
+    public Duration getAverageDeliveryLag() {
+        return Duration.ofMillis(deliveryLagCount > 0 ? totalDeliveryLagMillis / deliveryLagCount : 0);
+    }
+
+    /**
+     * @return The longest time from the timestamp Nexmo gave an event to the event being received.
+     */
+    public Duration getMaxDeliveryLag() {
+        return Duration.ofMillis(maxDeliveryLagMillis);
+    }
+
+    /**
+     * @return The time from the first event of this type being accepted to the most recent one being handled.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The average number of events handled per second, whether or not the handler succeeded.
+     */
+    public double getEventsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos > 0 ? (handled + failed) * 1e9 / nanos : 0;
+    }
+
+    private static Duration average(long totalNanos, long count) {
+        return Duration.ofNanos(count > 0 ? totalNanos / count : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "EventStats{" + "type=" + type + ", pending=" + pending + ", handled=" + handled + ", failed=" + failed +
+                ", rejected=" + rejected + ", duplicates=" + duplicates + ", averageWait=" + getAverageWait() +
+                ", averageHandleTime=" + getAverageHandleTime() + ", averageDeliveryLag=" +
+                getAverageDeliveryLag() + ", eventsPerSecond=" + getEventsPerSecond() + '}';
+    }
+}
@@ -22,11 +22,13 @@
 package com.nexmo.client.voice.servlet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import com.nexmo.client.voice.ncco.Action;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,7 +37,7 @@ import java.util.List;
  * <p>
  * This would usually be returned by {@link AbstractAnswerServlet#handleRequest(HttpServletRequest)}, which serializes
  * it correctly for the Voice API. {@link NccoResponseBuilder} provides a fluent interface for constructing instances
- * of this class.
+ * of this class, and {@link NccoTemplate#bind(java.util.Map)} creates instances from a pre-serialized template.
  */
 public class NccoResponse {
     // This object has been purposefully designed to be relatively opaque, as
@@ -55,9 +57,22 @@ public class NccoResponse {
 
     public String toJson() {
         try {
-            return new ObjectMapper().writeValueAsString(actionList);
+            return MapperRegistry.writer().writeValueAsString(actionList);
         } catch (JsonProcessingException e) {
             throw new NexmoUnexpectedException("Failed to serialize NccoResponse object.", e);
         }
     }
+
+    void writeTo(HttpServletResponse httpResponse) throws IOException {
+        byte[] json;
+        try {
+            json = MapperRegistry.writer().writeValueAsBytes(actionList);
+        } catch (JsonProcessingException e) {
+            throw new NexmoUnexpectedException("Failed to serialize NccoResponse object.", e);
+        }
+        httpResponse.setCharacterEncoding("UTF-8");
+        httpResponse.setContentType("application/json");
+        httpResponse.setContentLength(json.length);
+        httpResponse.getOutputStream().write(json);
+    }
 }
\ No newline at end of file
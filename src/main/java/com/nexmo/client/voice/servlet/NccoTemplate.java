@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
+import com.nexmo.client.voice.ncco.Action;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A set of NCCO actions serialized once, with placeholders for the values which change on each call.
+ * <p>
+ * Placeholders are written as {@code ${name}} anywhere in a string value of the actions the template is compiled
+ * from, such as the text of a {@link com.nexmo.client.voice.ncco.TalkAction}, the number of a
+ * {@link com.nexmo.client.voice.ncco.PhoneEndpoint} or an event URL. The JSON around the placeholders is encoded to
+ * UTF-8 when the template is compiled, so rendering only escapes and encodes the values supplied for each call:
+ * <pre>
+ * NccoTemplate template = NccoTemplate.compile(
+ *         TalkAction.builder("Hello ${name}, connecting you now.").build(),
+ *         ConnectAction.builder(PhoneEndpoint.builder("${agent}").build())
+ *                 .eventUrl("https://example.com/events/${campaign}")
+ *                 .build());
+ * </pre>
+ * {@link #bind(Map)} returns an {@link NccoResponse} which {@link AbstractAnswerServlet} writes directly to the
+ * servlet's output stream. Instances are immutable and may be shared between threads.
+ */
+public class NccoTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z_][A-Za-z0-9_.-]*)}");
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 256;
+
+    private final byte[][] segments;
+    private final String[] variables;
+    private final int staticLength;
+    private final Set<String> variableNames;
+
+    private NccoTemplate(byte[][] segments, String[] variables) {
+        this.segments = segments;
+        this.variables = variables;
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.staticLength = length;
+        this.variableNames = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(variables)));
+    }
+
+    /**
+     * Compile a template from a sequence of NCCO actions.
+     *
+     * @param actions the actions making up the template, which may contain {@code ${name}} placeholders
+     * @return a template which can be rendered with a value for each placeholder
+     */
+    public static NccoTemplate compile(Action... actions) {
+        return compile(Arrays.asList(actions));
+    }
+
+    /**
+     * Compile a template from a collection of NCCO actions.
+     *
+     * @param actions the actions making up the template, which may contain {@code ${name}} placeholders
+     * @return a template which can be rendered with a value for each placeholder
+     */
+    public static NccoTemplate compile(Collection<? extends Action> actions) {
+        try {
+            return parse(MapperRegistry.writer().writeValueAsString(actions));
+        } catch (JsonProcessingException e) {
+            throw new NexmoUnexpectedException("Failed to serialize NccoTemplate actions.", e);
+        }
+    }
+
+    static NccoTemplate parse(String json) {
+        // Jackson never escapes the characters a placeholder is made of, so each placeholder appears verbatim inside
+        // the serialized string value it was written in.
+        List<byte[]> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(json);
+        int start = 0;
+        while (matcher.find()) {
+            segments.add(json.substring(start, matcher.start()).getBytes(StandardCharsets.UTF_8));
+            variables.add(matcher.group(1));
+            start = matcher.end();
+        }
+        segments.add(json.substring(start).getBytes(StandardCharsets.UTF_8));
+        return new NccoTemplate(segments.toArray(new byte[0][]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * @return the names of the placeholders in this template, in the order they first appear
+     */
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * Bind values to this template's placeholders to produce a response for {@link AbstractAnswerServlet}.
+     *
+     * @param values a value for each of the names in {@link #getVariableNames()}
+     * @return an NccoResponse which renders this template with the supplied values, followed by any actions appended
+     *         to it
+     * @throws IllegalArgumentException if no value is supplied for one of the placeholders
+     */
+    public NccoResponse bind(Map<String, String> values) {
+        checkValues(values);
+        return new TemplateNccoResponse(this, values);
+    }
+
+    /**
+     * Calculate the number of bytes {@link #writeTo(OutputStream, Map)} will write for a set of values.
+     *
+     * @param values a value for each of the names in {@link #getVariableNames()}
+     * @return the length of the rendered UTF-8 JSON, in bytes
+     * @throws IllegalArgumentException if no value is supplied for one of the placeholders
+     */
+    public int getContentLength(Map<String, String> values) {
+        checkValues(values);
+        int length = this.staticLength;
+        for (String variable : this.variables) {
+            length += escapedLength(values.get(variable));
+        }
+        return length;
+    }
+
+    /**
+     * Render this template as UTF-8 JSON, writing each value into its placeholders without creating intermediate
+     * Strings.
+     *
+     * @param out    the stream to write the JSON to
+     * @param values a value for each of the names in {@link #getVariableNames()}
+     * @throws IOException              if writing to the stream fails
+     * @throws IllegalArgumentException if no value is supplied for one of the placeholders
+     */
+    public void writeTo(OutputStream out, Map<String, String> values) throws IOException {
+        checkValues(values);
+        byte[] buffer = this.variables.length == 0 ? null : new byte[BUFFER_SIZE];
+        out.write(this.segments[0]);
+        for (int i = 0; i < this.variables.length; i++) {
+            writeEscaped(out, values.get(this.variables[i]), buffer);
+            out.write(this.segments[i + 1]);
+        }
+    }
+
+    private void checkValues(Map<String, String> values) {
+        for (String name : this.variableNames) {
+            if (values.get(name) == null) {
+                throw new IllegalArgumentException("No value supplied for NCCO template variable '" + name + "'");
+            }
+        }
+    }
+
+    static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += escapedAsciiLength(c);
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced with '?', matching String#getBytes.
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int escapedAsciiLength(char c) {
+        if (c == '"' || c == '\\' || c == '\b' || c == '\f' || c == '\n' || c == '\r' || c == '\t') {
+            return 2;
+        }
+        return c < 0x20 ? 6 : 1;
+    }
+
+    static void writeEscaped(OutputStream out, String value, byte[] buffer) throws IOException {
+        int pos = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (pos > buffer.length - 6) {
+                out.write(buffer, 0, pos);
+                pos = 0;
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                pos = writeAscii(buffer, pos, c);
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte) (0xc0 | (c >> 6));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[pos++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[pos++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                buffer[pos++] = '?';
+            } else {
+                buffer[pos++] = (byte) (0xe0 | (c >> 12));
+                buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        out.write(buffer, 0, pos);
+    }
+
+    private static int writeAscii(byte[] buffer, int pos, char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[pos++] = '\\';
+                buffer[pos++] = (byte) c;
+                return pos;
+            case '\b':
+                return writeShortEscape(buffer, pos, 'b');
+            case '\f':
+                return writeShortEscape(buffer, pos, 'f');
+            case '\n':
+                return writeShortEscape(buffer, pos, 'n');
+            case '\r':
+                return writeShortEscape(buffer, pos, 'r');
+            case '\t':
+                return writeShortEscape(buffer, pos, 't');
+            default:
+                if (c < 0x20) {
+                    buffer[pos++] = '\\';
+                    buffer[pos++] = 'u';
+                    buffer[pos++] = '0';
+                    buffer[pos++] = '0';
+                    buffer[pos++] = HEX[c >> 4];
+                    buffer[pos++] = HEX[c & 0xf];
+                } else {
+                    buffer[pos++] = (byte) c;
+                }
+                return pos;
+        }
+    }
+
+    private static int writeShortEscape(byte[] buffer, int pos, char escape) {
+        buffer[pos++] = '\\';
+        buffer[pos++] = (byte) escape;
+        return pos;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
+import com.nexmo.client.voice.ncco.Action;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An NccoResponse which renders an {@link NccoTemplate} with a set of values bound to its placeholders, followed by any
+ * actions appended to it. Unless actions are appended, the template is written straight to the servlet response.
+ */
+class TemplateNccoResponse extends NccoResponse {
+    private final NccoTemplate template;
+    private final Map<String, String> values;
+    private final List<Action> appended = new ArrayList<>();
+
+    TemplateNccoResponse(NccoTemplate template, Map<String, String> values) {
+        this.template = template;
+        this.values = new HashMap<>(values);
+    }
+
+    @Override
+    public void appendNcco(Action action) {
+        this.appended.add(action);
+    }
+
+    @Override
+    public String toJson() {
+        return new String(render(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void writeTo(HttpServletResponse httpResponse) throws IOException {
+        httpResponse.setCharacterEncoding("UTF-8");
+        httpResponse.setContentType("application/json");
+        if (this.appended.isEmpty()) {
+            httpResponse.setContentLength(this.template.getContentLength(this.values));
+            this.template.writeTo(httpResponse.getOutputStream(), this.values);
+        } else {
+            byte[] json = render();
+            httpResponse.setContentLength(json.length);
+            httpResponse.getOutputStream().write(json);
+        }
+    }
+
+    /**
+     * Render the template, then splice the appended actions into the end of its array.
+     */
+    private byte[] render() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(this.template.getContentLength(this.values));
+        try {
+            this.template.writeTo(out, this.values);
+        } catch (IOException e) {
+            throw new NexmoUnexpectedException("Failed to render NccoTemplate.", e);
+        }
+        if (this.appended.isEmpty()) {
+            return out.toByteArray();
+        }
+
+        byte[] rendered = out.toByteArray();
+        byte[] actions;
+        try {
+            actions = MapperRegistry.writer().writeValueAsBytes(this.appended);
+        } catch (JsonProcessingException e) {
+            throw new NexmoUnexpectedException("Failed to serialize NccoResponse object.", e);
+        }
+        // Both are compact JSON arrays: drop the template's closing bracket and the actions' opening one
+        boolean emptyTemplate = rendered.length == 2;
+        out.reset();
+        out.write(rendered, 0, rendered.length - 1);
+        if (!emptyTemplate) {
+            out.write(',');
+        }
+        out.write(actions, 1, actions.length - 1);
+        return out.toByteArray();
+    }
+}
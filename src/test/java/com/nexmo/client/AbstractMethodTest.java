@@ -26,6 +26,13 @@ import com.nexmo.client.auth.AuthCollection;
 import com.nexmo.client.auth.AuthMethod;
 import com.nexmo.client.auth.JWTAuthMethod;
 import com.nexmo.client.logging.LoggingUtils;
+import com.nexmo.client.logging.WireTap;
+import com.nexmo.client.metrics.ClientMetrics;
+import com.nexmo.client.metrics.RequestPhase;
+import com.nexmo.client.ratelimit.NexmoRateLimitExceededException;
+import com.nexmo.client.ratelimit.RateLimitConfig;
+import com.nexmo.client.ratelimit.RateLimiter;
+import com.nexmo.client.retry.RetryPolicy;
 import io.jsonwebtoken.lang.Assert;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
@@ -35,23 +42,38 @@ import org.apache.http.ProtocolVersion;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 
@@ -90,6 +112,7 @@ public class AbstractMethodTest {
 
     private HttpWrapper mockWrapper;
     private HttpClient mockHttpClient;
+    private HttpAsyncClient mockHttpAsyncClient;
     private AuthCollection mockAuthMethods;
     private AuthMethod mockAuthMethod;
 
@@ -103,7 +126,9 @@ public class AbstractMethodTest {
         @SuppressWarnings("unchecked") Set<Class> anySet = any(Set.class);
         when(mockAuthMethods.getAcceptableAuthMethod(anySet)).thenReturn(mockAuthMethod);
 
+        mockHttpAsyncClient = mock(HttpAsyncClient.class);
         when(mockWrapper.getHttpClient()).thenReturn(mockHttpClient);
+        when(mockWrapper.getHttpAsyncClient()).thenReturn(mockHttpAsyncClient);
         when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1",
                 1,
                 1
@@ -225,4 +250,379 @@ public class AbstractMethodTest {
             Assert.isTrue(e.getCause() instanceof IOException, "The cause of the exception was not correct");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        ConcreteMethod method = spy(new ConcreteMethod(mockWrapper));
+        RequestBuilder builder = RequestBuilder.get("");
+        when(method.makeRequest(any(String.class))).thenReturn(builder);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenReturn(builder);
+        stubAsyncResponse(null);
+
+        CompletableFuture<String> result = method.executeAsync("");
+
+        assertEquals("response", result.get());
+        verify(mockHttpAsyncClient).execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any());
+        verify(mockHttpClient, never()).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteAsyncFailedParse() throws Exception {
+        ConcreteMethodFailingParse method = spy(new ConcreteMethodFailingParse(mockWrapper));
+        RequestBuilder builder = RequestBuilder.get("");
+        when(method.makeRequest(any(String.class))).thenReturn(builder);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenReturn(builder);
+        stubAsyncResponse(null);
+
+        try {
+            method.executeAsync("").get();
+            fail("Should have gotten a Parsing exception");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof NexmoResponseParseException);
+            assertTrue(ex.getCause().getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testExecuteAsyncFailedHttpExecute() throws Exception {
+        ConcreteMethod method = spy(new ConcreteMethod(mockWrapper));
+        RequestBuilder builder = RequestBuilder.get("");
+        when(method.makeRequest(any(String.class))).thenReturn(builder);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenReturn(builder);
+        IOException ex = new IOException("This is a test exception thrown from the HttpAsyncClient");
+        stubAsyncResponse(ex);
+
+        try {
+            method.executeAsync("").get();
+            fail("There should have been a Nexmo Client exception thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NexmoMethodFailedException);
+            assertEquals(ex, e.getCause().getCause());
+        }
+    }
+
+    @Test
+    public void testExecuteAsyncFailedAuth() throws Exception {
+        ConcreteMethod method = new ConcreteMethod(mockWrapper);
+        NexmoClientException ex = new NexmoClientException("No auth");
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenThrow(ex);
+
+        CompletableFuture<String> result = method.executeAsync("url");
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(mockHttpAsyncClient, never()).execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any());
+    }
+
+    private void stubAsyncResponse(final Exception failure) {
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any())).thenAnswer(invocation -> {
+            FutureCallback<HttpResponse> callback = invocation.getArgument(1);
+            if (failure != null) {
+                callback.failed(failure);
+            } else {
+                callback.completed(new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1", 1, 1),
+                        200,
+                        "OK"
+                )));
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void testExecuteTryModeRejectsWithoutPermit() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.TRY);
+        when(limiter.tryAcquire()).thenReturn(false);
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            fail("A request without a permit should be rejected");
+        } catch (NexmoRateLimitExceededException e) {
+            // This is expected
+        }
+        verify(mockHttpClient, never()).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteBlockingModeAcquiresPermitAndReportsSuccess() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.BLOCKING);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals("response", new ConcreteMethod(mockWrapper).execute("url"));
+        verify(limiter).acquire();
+        verify(limiter).onSuccess();
+        verify(limiter, never()).onThrottled();
+    }
+
+    @Test
+    public void testExecuteReportsThrottling() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.BLOCKING);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenReturn(new BasicHttpResponse(new BasicStatusLine(
+                new ProtocolVersion("1.1", 1, 1),
+                429,
+                "Too Many Requests"
+        )));
+
+        new ConcreteMethod(mockWrapper).execute("url");
+        verify(limiter).onThrottled();
+        verify(limiter, never()).onSuccess();
+    }
+
+    @Test
+    public void testExecuteAsyncWaitsForPermit() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.BLOCKING);
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        when(limiter.acquireAsync()).thenReturn(permit);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubAsyncResponse(null);
+
+        CompletableFuture<String> result = new ConcreteMethod(mockWrapper).executeAsync("url");
+        assertFalse(result.isDone());
+        verify(mockHttpAsyncClient, never()).execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any());
+
+        permit.complete(null);
+        assertEquals("response", result.get());
+        verify(limiter, never()).acquire();
+    }
+
+    @Test
+    public void testExecuteAsyncSignsRequestOffThePermitThread() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.BLOCKING);
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        when(limiter.acquireAsync()).thenReturn(permit);
+        CompletableFuture<Thread> signer = new CompletableFuture<>();
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> {
+            signer.complete(Thread.currentThread());
+            return invocation.getArgument(0);
+        });
+        stubAsyncResponse(null);
+
+        CompletableFuture<String> result = new ConcreteMethod(mockWrapper).executeAsync("url");
+        permit.complete(null);
+
+        assertEquals("response", result.get(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), signer.get());
+    }
+
+    @Test
+    public void testExecuteAsyncTryModeRejectsWithoutPermit() throws Exception {
+        RateLimiter limiter = stubRateLimiter(RateLimitConfig.Mode.TRY);
+        when(limiter.tryAcquire()).thenReturn(false);
+
+        try {
+            new ConcreteMethod(mockWrapper).executeAsync("url").get();
+            fail("A request without a permit should be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NexmoRateLimitExceededException);
+        }
+        verify(mockHttpAsyncClient, never()).execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any());
+    }
+
+    private RateLimiter stubRateLimiter(RateLimitConfig.Mode mode) {
+        RateLimiter limiter = mock(RateLimiter.class);
+        when(mockWrapper.getRateLimitConfig()).thenReturn(RateLimitConfig.builder()
+                .limit(ConcreteMethod.class.getName(), limiter, mode)
+                .build());
+        return limiter;
+    }
+
+    @Test
+    public void testExecuteRetriesIdempotentRequest() throws Exception {
+        stubRetryPolicy(RetryPolicy.builder().initialBackoff(Duration.ZERO));
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mockHttpClient.execute(any(HttpUriRequest.class)))
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1", 1, 1), 503, "")))
+                .thenReturn(new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1", 1, 1), 200, "OK")));
+
+        assertEquals("response", new ConcreteMethod(mockWrapper).execute("url"));
+        verify(mockHttpClient, times(3)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteGivesUpAfterMaxAttempts() throws Exception {
+        stubRetryPolicy(RetryPolicy.builder().initialBackoff(Duration.ZERO).maxAttempts(2));
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenThrow(new IOException("Connection reset"));
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            fail("The last failure should be thrown once all attempts are used");
+        } catch (NexmoMethodFailedException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        verify(mockHttpClient, times(2)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteDoesNotRetryPost() throws Exception {
+        stubRetryPolicy(RetryPolicy.builder().initialBackoff(Duration.ZERO));
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenReturn(RequestBuilder.post("url"));
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenThrow(new IOException("Connection reset"));
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            fail("A POST should not be retried by default");
+        } catch (NexmoMethodFailedException e) {
+            // This is expected
+        }
+        verify(mockHttpClient, times(1)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void testExecuteAsyncRetries() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        });
+        stubRetryPolicy(RetryPolicy.builder().initialBackoff(Duration.ZERO).scheduler(scheduler));
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any()))
+                .thenAnswer(invocation -> {
+                    FutureCallback<HttpResponse> callback = invocation.getArgument(1);
+                    callback.failed(new IOException("Connection reset"));
+                    return null;
+                })
+                .thenAnswer(invocation -> {
+                    FutureCallback<HttpResponse> callback = invocation.getArgument(1);
+                    callback.completed(new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1", 1, 1),
+                            200,
+                            "OK"
+                    )));
+                    return null;
+                });
+
+        assertEquals("response", new ConcreteMethod(mockWrapper).executeAsync("url").get());
+        verify(mockHttpAsyncClient, times(2)).execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any());
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testExecuteAsyncCancelAbortsCurrentAttempt() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        });
+        stubRetryPolicy(RetryPolicy.builder().initialBackoff(Duration.ZERO).scheduler(scheduler));
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        @SuppressWarnings("unchecked") Future<HttpResponse> first = mock(Future.class);
+        @SuppressWarnings("unchecked") Future<HttpResponse> second = mock(Future.class);
+        when(mockHttpAsyncClient.execute(any(HttpUriRequest.class),
+                ArgumentMatchers.<FutureCallback<HttpResponse>>any()))
+                .thenAnswer(invocation -> {
+                    FutureCallback<HttpResponse> callback = invocation.getArgument(1);
+                    callback.failed(new IOException("Connection reset"));
+                    return first;
+                })
+                .thenReturn(second);
+
+        CompletableFuture<String> result = new ConcreteMethod(mockWrapper).executeAsync("url");
+        assertEquals(1, result.getNumberOfDependents());
+
+        result.cancel(true);
+        verify(second).cancel(true);
+        verify(first, never()).cancel(true);
+    }
+
+    @Test
+    public void testExecuteAsyncCompletesOnAsyncExecutor() throws Exception {
+        ExecutorService asyncExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "nexmo-test-async"));
+        try {
+            when(mockWrapper.getAsyncExecutor()).thenReturn(asyncExecutor);
+            when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            stubAsyncResponse(null);
+            CompletableFuture<String> parser = new CompletableFuture<>();
+
+            CompletableFuture<String> result = new ConcreteMethod(mockWrapper) {
+                @Override
+                public String parseResponse(HttpResponse response) throws IOException {
+                    parser.complete(Thread.currentThread().getName());
+                    return super.parseResponse(response);
+                }
+            }.executeAsync("url");
+
+            assertEquals("response", result.get(5, TimeUnit.SECONDS));
+            assertEquals("nexmo-test-async", parser.get());
+        } finally {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
+    private void stubRetryPolicy(RetryPolicy.Builder builder) {
+        when(mockWrapper.getRetryPolicy()).thenReturn(builder.jitter(0).retryBudget(null).build());
+    }
+
+    @Test
+    public void testExecuteRecordsMetrics() throws Exception {
+        ClientMetrics metrics = stubMetrics();
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals("response", new ConcreteMethod(mockWrapper).execute("url"));
+        verify(metrics).requestStarted("ConcreteMethod");
+        for (RequestPhase phase : RequestPhase.values()) {
+            verify(metrics).recordPhase(eq("ConcreteMethod"), eq(phase), anyLong());
+        }
+        verify(metrics).recordResponse("ConcreteMethod", 200);
+        verify(metrics).requestFinished("ConcreteMethod");
+        verify(metrics, never()).recordFailure(anyString(), any(Throwable.class));
+    }
+
+    @Test
+    public void testExecuteRecordsFailure() throws Exception {
+        ClientMetrics metrics = stubMetrics();
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        IOException failure = new IOException("Connection reset");
+        when(mockHttpClient.execute(any(HttpUriRequest.class))).thenThrow(failure);
+
+        try {
+            new ConcreteMethod(mockWrapper).execute("url");
+            fail("The failure should be thrown");
+        } catch (NexmoMethodFailedException e) {
+            // This is expected
+        }
+        verify(metrics).recordPhase(eq("ConcreteMethod"), eq(RequestPhase.NETWORK), anyLong());
+        verify(metrics).recordFailure("ConcreteMethod", failure);
+        verify(metrics, never()).recordPhase(eq("ConcreteMethod"), eq(RequestPhase.PARSE), anyLong());
+        verify(metrics).requestFinished("ConcreteMethod");
+    }
+
+    @Test
+    public void testExecuteAsyncRecordsMetrics() throws Exception {
+        ClientMetrics metrics = stubMetrics();
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubAsyncResponse(null);
+
+        assertEquals("response", new ConcreteMethod(mockWrapper).executeAsync("url").get());
+        verify(metrics).requestStarted("ConcreteMethod");
+        verify(metrics).recordPhase(eq("ConcreteMethod"), eq(RequestPhase.NETWORK), anyLong());
+        verify(metrics).recordPhase(eq("ConcreteMethod"), eq(RequestPhase.PARSE), anyLong());
+        verify(metrics).recordResponse("ConcreteMethod", 200);
+        verify(metrics).requestFinished("ConcreteMethod");
+    }
+
+    private ClientMetrics stubMetrics() {
+        ClientMetrics metrics = mock(ClientMetrics.class);
+        when(mockWrapper.getMetrics()).thenReturn(metrics);
+        return metrics;
+    }
+
+    @Test
+    public void testExecuteLogsThroughWireTap() throws Exception {
+        WireTap wireTap = mock(WireTap.class);
+        when(mockWrapper.getWireTap()).thenReturn(wireTap);
+        when(mockAuthMethod.apply(any(RequestBuilder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        new ConcreteMethod(mockWrapper).execute("url");
+        verify(wireTap).logRequest(any(HttpUriRequest.class));
+        verify(wireTap).logResponse(any(HttpResponse.class));
+    }
+}
@@ -23,7 +23,10 @@ package com.nexmo.client;
 
 import org.junit.Test;
 
+import java.time.Duration;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class HttpConfigTest {
     private static final String EXPECTED_DEFAULT_API_BASE_URI = "https://api.nexmo.com";
@@ -74,4 +77,68 @@ public class HttpConfigTest {
         assertEquals("https://example.com", config.getRestBaseUri());
         assertEquals("https://example.com", config.getSnsBaseUri());
     }
+
+    @Test
+    public void testDefaultTransportSettings() {
+        HttpConfig config = HttpConfig.defaultConfig();
+
+        assertEquals(200, config.getMaxConnections());
+        assertEquals(200, config.getMaxConnectionsPerRoute());
+        assertEquals(200, config.getApiMaxConnections());
+        assertEquals(200, config.getRestMaxConnections());
+        assertEquals(200, config.getSnsMaxConnections());
+        assertNull(config.getConnectTimeout());
+        assertNull(config.getSocketTimeout());
+        assertNull(config.getConnectionRequestTimeout());
+        assertNull(config.getMaxKeepAlive());
+        assertNull(config.getMaxIdleTime());
+        assertNull(config.getValidateAfterInactivity());
+    }
+
+    @Test
+    public void testTransportSettings() {
+        HttpConfig config = HttpConfig.builder()
+                .maxConnections(50)
+                .maxConnectionsPerRoute(10)
+                .restMaxConnections(40)
+                .connectTimeout(Duration.ofSeconds(2))
+                .socketTimeout(Duration.ofSeconds(30))
+                .connectionRequestTimeout(Duration.ofMillis(500))
+                .maxKeepAlive(Duration.ofMinutes(1))
+                .evictIdleConnections(Duration.ofSeconds(20))
+                .validateAfterInactivity(Duration.ofSeconds(5))
+                .build();
+
+        assertEquals(50, config.getMaxConnections());
+        assertEquals(10, config.getMaxConnectionsPerRoute());
+        assertEquals(10, config.getApiMaxConnections());
+        assertEquals(40, config.getRestMaxConnections());
+        assertEquals(10, config.getSnsMaxConnections());
+        assertEquals(Duration.ofSeconds(2), config.getConnectTimeout());
+        assertEquals(Duration.ofSeconds(30), config.getSocketTimeout());
+        assertEquals(Duration.ofMillis(500), config.getConnectionRequestTimeout());
+        assertEquals(Duration.ofMinutes(1), config.getMaxKeepAlive());
+        assertEquals(Duration.ofSeconds(20), config.getMaxIdleTime());
+        assertEquals(Duration.ofSeconds(5), config.getValidateAfterInactivity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxConnectionsMustBePositive() {
+        HttpConfig.builder().maxConnections(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSnsMaxConnectionsMustBePositive() {
+        HttpConfig.builder().snsMaxConnections(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimeoutMustNotBeNegative() {
+        HttpConfig.builder().socketTimeout(Duration.ofSeconds(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimeoutMustFitInMilliseconds() {
+        HttpConfig.builder().connectTimeout(Duration.ofDays(30));
+    }
 }
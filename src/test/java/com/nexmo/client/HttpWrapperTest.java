@@ -23,11 +23,31 @@ package com.nexmo.client;
 
 
 import com.nexmo.client.auth.AuthCollection;
+import com.nexmo.client.metrics.ClientMetrics;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.pool.ConnPoolControl;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.time.Duration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class HttpWrapperTest {
     private static final String EXPECTED_DEFAULT_API_BASE_URI = "https://api.nexmo.com";
@@ -46,6 +66,58 @@ public class HttpWrapperTest {
         assertNotNull(this.hw.getHttpClient());
     }
 
+    @Test
+    public void testHttpAsyncClientIsCreatedOnce() {
+        assertNotNull(this.hw.getHttpAsyncClient());
+        assertSame(this.hw.getHttpAsyncClient(), this.hw.getHttpAsyncClient());
+    }
+
+    @Test
+    public void testHttpAsyncClientAccessors() {
+        HttpAsyncClient client = mock(HttpAsyncClient.class);
+        this.hw.setHttpAsyncClient(client);
+        assertEquals(client, this.hw.getHttpAsyncClient());
+    }
+
+    @Test
+    public void testAsyncClientThreadsAreDaemons() {
+        assertNotNull(this.hw.getHttpAsyncClient());
+        boolean found = false;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("nexmo-async-")) {
+                found = true;
+                assertTrue(thread.getName(), thread.isDaemon());
+            }
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void testCloseClosesCreatedClients() throws Exception {
+        CloseableHttpClient client = (CloseableHttpClient) this.hw.getHttpClient();
+        CloseableHttpAsyncClient asyncClient = (CloseableHttpAsyncClient) this.hw.getHttpAsyncClient();
+        this.hw.close();
+
+        assertFalse(asyncClient.isRunning());
+        assertNotSame(client, this.hw.getHttpClient());
+        assertNotSame(asyncClient, this.hw.getHttpAsyncClient());
+        this.hw.close();
+    }
+
+    @Test
+    public void testCloseLeavesSuppliedClientsOpen() throws Exception {
+        CloseableHttpClient client = mock(CloseableHttpClient.class);
+        CloseableHttpAsyncClient asyncClient = mock(CloseableHttpAsyncClient.class);
+        this.hw.setHttpClient(client);
+        this.hw.setHttpAsyncClient(asyncClient);
+        this.hw.close();
+
+        verify(client, never()).close();
+        verify(asyncClient, never()).close();
+        assertSame(client, this.hw.getHttpClient());
+        assertSame(asyncClient, this.hw.getHttpAsyncClient());
+    }
+
     @Test
     public void testAuthMethodAccessors() {
         AuthCollection auths = new AuthCollection();
@@ -67,4 +139,67 @@ public class HttpWrapperTest {
         assertEquals(EXPECTED_DEFAULT_REST_BASE_URI, config.getRestBaseUri());
         assertEquals(EXPECTED_DEFAULT_SNS_BASE_URI, config.getSnsBaseUri());
     }
+
+    @Test
+    public void testDefaultRequestConfigHasNoTimeouts() {
+        RequestConfig requestConfig = this.hw.createRequestConfig();
+
+        assertEquals(-1, requestConfig.getConnectTimeout());
+        assertEquals(-1, requestConfig.getSocketTimeout());
+        assertEquals(-1, requestConfig.getConnectionRequestTimeout());
+    }
+
+    @Test
+    public void testRequestConfigUsesConfiguredTimeouts() {
+        HttpWrapper wrapper = new HttpWrapper(HttpConfig.builder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .socketTimeout(Duration.ofSeconds(30))
+                .connectionRequestTimeout(Duration.ofMillis(500))
+                .build(), new AuthCollection());
+        RequestConfig requestConfig = wrapper.createRequestConfig();
+
+        assertEquals(2000, requestConfig.getConnectTimeout());
+        assertEquals(30000, requestConfig.getSocketTimeout());
+        assertEquals(500, requestConfig.getConnectionRequestTimeout());
+    }
+
+    @Test
+    public void testClientsAreCreatedWithTunedTransport() {
+        HttpWrapper wrapper = new HttpWrapper(HttpConfig.builder()
+                .maxConnections(20)
+                .apiMaxConnections(5)
+                .maxKeepAlive(Duration.ofSeconds(30))
+                .evictIdleConnections(Duration.ofSeconds(10))
+                .validateAfterInactivity(Duration.ofSeconds(1))
+                .build(), new AuthCollection());
+
+        assertNotNull(wrapper.getHttpClient());
+        assertNotNull(wrapper.getHttpAsyncClient());
+    }
+
+    @Test
+    public void testCreateRoute() {
+        HttpRoute route = HttpWrapper.createRoute("https://api.nexmo.com");
+        assertEquals("api.nexmo.com", route.getTargetHost().getHostName());
+        assertEquals(443, route.getTargetHost().getPort());
+        assertTrue(route.isSecure());
+
+        route = HttpWrapper.createRoute("http://localhost:8080");
+        assertEquals(8080, route.getTargetHost().getPort());
+        assertFalse(route.isSecure());
+
+        assertNull(HttpWrapper.createRoute("not a uri"));
+    }
+
+    @Test
+    public void testClientsBindConnectionPoolsToMetrics() {
+        ClientMetrics metrics = mock(ClientMetrics.class);
+        HttpWrapper wrapper = new HttpWrapper(new AuthCollection());
+        wrapper.setMetrics(metrics);
+
+        assertNotNull(wrapper.getHttpClient());
+        assertNotNull(wrapper.getHttpAsyncClient());
+        verify(metrics).bindConnectionPool(eq("sync"), ArgumentMatchers.<ConnPoolControl<HttpRoute>>any());
+        verify(metrics).bindConnectionPool(eq("async"), ArgumentMatchers.<ConnPoolControl<HttpRoute>>any());
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client;
+
+import com.nexmo.client.metrics.ClientMetrics;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class InstrumentedConnectionManagerTest {
+    private HttpClientConnectionManager delegate;
+    private ConnectionRequest delegateRequest;
+    private ClientMetrics metrics;
+    private InstrumentedConnectionManager manager;
+    private HttpRoute route;
+
+    @Before
+    public void setUp() {
+        delegate = mock(HttpClientConnectionManager.class);
+        delegateRequest = mock(ConnectionRequest.class);
+        metrics = mock(ClientMetrics.class);
+        route = new HttpRoute(new HttpHost("api.nexmo.com", 443, "https"));
+        when(delegate.requestConnection(route, null)).thenReturn(delegateRequest);
+        manager = new InstrumentedConnectionManager(delegate, metrics);
+    }
+
+    @Test
+    public void testRecordsLeaseWait() throws Exception {
+        HttpClientConnection connection = mock(HttpClientConnection.class);
+        when(delegateRequest.get(1, TimeUnit.SECONDS)).thenReturn(connection);
+
+        assertSame(connection, manager.requestConnection(route, null).get(1, TimeUnit.SECONDS));
+        verify(metrics).recordConnectionLeaseWait(anyLong());
+    }
+
+    @Test
+    public void testRecordsLeaseWaitOnTimeout() throws Exception {
+        when(delegateRequest.get(1, TimeUnit.SECONDS)).thenThrow(new ConnectionPoolTimeoutException());
+
+        try {
+            manager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+            fail("The timeout should be thrown");
+        } catch (ConnectionPoolTimeoutException e) {
+            // This is expected
+        }
+        verify(metrics).recordConnectionLeaseWait(anyLong());
+    }
+
+    @Test
+    public void testDelegates() throws Exception {
+        manager.requestConnection(route, null).cancel();
+        manager.closeIdleConnections(5, TimeUnit.SECONDS);
+        manager.closeExpiredConnections();
+        manager.shutdown();
+
+        verify(delegateRequest).cancel();
+        verify(delegate).closeIdleConnections(5, TimeUnit.SECONDS);
+        verify(delegate).closeExpiredConnections();
+        verify(delegate).shutdown();
+    }
+}
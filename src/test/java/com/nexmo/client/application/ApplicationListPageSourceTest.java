@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.application;
+
+import com.nexmo.client.common.PagedIterable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApplicationListPageSourceTest {
+    private final ApplicationEndpoint endpoint = mock(ApplicationEndpoint.class);
+    private final ApplicationListPageSource source = new ApplicationListPageSource(endpoint);
+
+    @Test
+    public void testNextPage() {
+        ListApplicationRequest next = source.next(ListApplicationRequest.builder().pageSize(5).build(), page(1, 3, "a"));
+
+        assertEquals(2, next.getPage());
+        assertEquals(5, next.getPageSize());
+    }
+
+    @Test
+    public void testNextPageWithoutRequest() {
+        ListApplicationRequest next = source.next(null, page(1, 2, "a"));
+
+        assertEquals(2, next.getPage());
+        assertEquals(0, next.getPageSize());
+    }
+
+    @Test
+    public void testLastPage() {
+        assertNull(source.next(null, page(3, 3, "a")));
+        assertNull(source.next(null, page(1, 3)));
+    }
+
+    @Test
+    public void testIteratesAllPages() {
+        List<Long> requestedPages = new ArrayList<>();
+        when(endpoint.list(any(ListApplicationRequest.class))).thenAnswer(invocation -> {
+            ListApplicationRequest request = invocation.getArgument(0);
+            requestedPages.add(request.getPage());
+            return request.getPage() == 2 ? page(2, 3, "c", "d") : page(3, 3, "e");
+        });
+        when(endpoint.list(null)).thenReturn(page(1, 3, "a", "b"));
+
+        List<String> ids = new PagedIterable<>(null, source).stream().map(Application::getId).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), ids);
+        assertEquals(Arrays.asList(2L, 3L), requestedPages);
+    }
+
+    @Test
+    public void testPageCountAndRequest() {
+        ListApplicationRequest first = ListApplicationRequest.builder().pageSize(5).page(2).build();
+        ApplicationList firstPage = page(2, 6, "a");
+
+        assertEquals(5, source.pageCount(first, firstPage));
+        ListApplicationRequest request = source.request(first, firstPage, 3);
+        assertEquals(5, request.getPage());
+        assertEquals(5, request.getPageSize());
+        assertEquals(1, source.pageCount(null, page(1, 0)));
+    }
+
+    @Test
+    public void testFetchAllApplications() {
+        when(endpoint.list(any(ListApplicationRequest.class))).thenAnswer(invocation -> {
+            ListApplicationRequest request = invocation.getArgument(0);
+            return page((int) request.getPage(), 4, "app" + request.getPage());
+        });
+        when(endpoint.list(null)).thenReturn(page(1, 4, "app1"));
+
+        List<String> ids = new PagedIterable<>(null, source).fetchAll(3)
+                .stream()
+                .map(Application::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("app1", "app2", "app3", "app4"), ids);
+    }
+
+    private static ApplicationList page(int page, int totalPages, String... ids) {
+        StringBuilder json = new StringBuilder("{\"page_size\":10,\"page\":").append(page)
+                .append(",\"total_pages\":")
+                .append(totalPages)
+                .append(",\"_embedded\":{\"applications\":[");
+        for (int i = 0; i < ids.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":\"").append(ids[i]).append("\",\"name\":\"app\"}");
+        }
+        return ApplicationList.fromJson(json.append("]}}").toString());
+    }
+}
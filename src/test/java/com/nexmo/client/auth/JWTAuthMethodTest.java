@@ -30,6 +30,7 @@ import org.junit.Test;
 import java.nio.file.Paths;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class JWTAuthMethodTest {
     private TestUtils testUtils;
@@ -56,4 +57,28 @@ public class JWTAuthMethodTest {
         assertEquals(1, req.getHeaders("Authorization").length);
         assertEquals("Bearer ", req.getFirstHeader("Authorization").getValue().substring(0, 7));
     }
+
+    @Test
+    public void testApplyReusesToken() throws Exception {
+        RequestBuilder first = auth.apply(RequestBuilder.get());
+        RequestBuilder second = auth.apply(RequestBuilder.get());
+
+        assertEquals(first.getFirstHeader("Authorization").getValue(),
+                second.getFirstHeader("Authorization").getValue()
+        );
+    }
+
+    @Test
+    public void testApplyWithCacheDisabledGeneratesNewTokens() throws Exception {
+        auth = new JWTAuthMethod("application-id",
+                testUtils.loadKey("test/keys/application_key"),
+                JWTTokenCacheConfig.disabled()
+        );
+        RequestBuilder first = auth.apply(RequestBuilder.get());
+        RequestBuilder second = auth.apply(RequestBuilder.get());
+
+        assertNotEquals(first.getFirstHeader("Authorization").getValue(),
+                second.getFirstHeader("Authorization").getValue()
+        );
+    }
 }
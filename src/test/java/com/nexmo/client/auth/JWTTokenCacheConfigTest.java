@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+public class JWTTokenCacheConfigTest {
+    @Test
+    public void testExpiryMarginCanBeZero() {
+        JWTTokenCacheConfig config = JWTTokenCacheConfig.builder().expiryMargin(Duration.ZERO).build();
+
+        assertEquals(Duration.ZERO, config.getExpiryMargin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpiryMarginIsRequired() {
+        JWTTokenCacheConfig.builder().expiryMargin(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpiryMarginMustNotBeNegative() {
+        JWTTokenCacheConfig.builder().expiryMargin(Duration.ofSeconds(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpiryMarginMustBeShorterThanTokenTtl() {
+        JWTTokenCacheConfig.builder().tokenTtl(Duration.ofSeconds(30)).expiryMargin(Duration.ofSeconds(30)).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTokenTtlIsRequired() {
+        JWTTokenCacheConfig.builder().tokenTtl(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRefreshRatioMustBeLessThanOne() {
+        JWTTokenCacheConfig.builder().refreshRatio(1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRefreshMustBeDueBeforeExpiryMargin() {
+        JWTTokenCacheConfig.builder()
+                .tokenTtl(Duration.ofSeconds(100))
+                .refreshRatio(0.9)
+                .expiryMargin(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Test
+    public void testRefreshDueJustBeforeExpiryMargin() {
+        JWTTokenCacheConfig config = JWTTokenCacheConfig.builder()
+                .tokenTtl(Duration.ofSeconds(100))
+                .refreshRatio(0.89)
+                .expiryMargin(Duration.ofSeconds(10))
+                .build();
+
+        assertEquals(0.89, config.getRefreshRatio(), 0);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class JWTTokenCacheTest {
+    private MutableClock clock;
+    private AtomicInteger generated;
+    private List<Runnable> pendingRefreshes;
+    private JWTTokenCache cache;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2020-01-01T00:00:00Z"));
+        generated = new AtomicInteger();
+        pendingRefreshes = new ArrayList<>();
+        JWTTokenCacheConfig config = JWTTokenCacheConfig.builder()
+                .tokenTtl(Duration.ofSeconds(100))
+                .refreshRatio(0.5)
+                .expiryMargin(Duration.ofSeconds(10))
+                .refreshExecutor(pendingRefreshes::add)
+                .build();
+        cache = new JWTTokenCache((issuedAt, expiresAt) -> "token-" + generated.incrementAndGet() + "-" + issuedAt
+                .getEpochSecond() + "-" + expiresAt.getEpochSecond(), config, clock);
+    }
+
+    @Test
+    public void testTokenIsReusedBeforeRefreshPoint() {
+        String first = cache.getToken();
+        clock.advance(Duration.ofSeconds(49));
+
+        assertEquals(first, cache.getToken());
+        assertEquals(1, generated.get());
+        assertEquals(0, pendingRefreshes.size());
+    }
+
+    @Test
+    public void testTokenCarriesConfiguredExpiry() {
+        long issuedAt = clock.instant().getEpochSecond();
+        assertEquals("token-1-" + issuedAt + "-" + (issuedAt + 100), cache.getToken());
+    }
+
+    @Test
+    public void testRefreshIsScheduledOnceAfterRefreshPoint() {
+        String first = cache.getToken();
+        clock.advance(Duration.ofSeconds(50));
+
+        assertEquals(first, cache.getToken());
+        assertEquals(first, cache.getToken());
+        assertEquals(1, pendingRefreshes.size());
+
+        pendingRefreshes.get(0).run();
+        String second = cache.getToken();
+
+        assertNotEquals(first, second);
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    public void testRefreshCanBeScheduledAgainAfterCompleting() {
+        cache.getToken();
+        clock.advance(Duration.ofSeconds(50));
+        cache.getToken();
+        pendingRefreshes.remove(0).run();
+
+        clock.advance(Duration.ofSeconds(50));
+        cache.getToken();
+
+        assertEquals(1, pendingRefreshes.size());
+    }
+
+    @Test
+    public void testTokenIsRegeneratedSynchronouslyWithinExpiryMargin() {
+        String first = cache.getToken();
+        clock.advance(Duration.ofSeconds(90));
+
+        String second = cache.getToken();
+
+        assertNotEquals(first, second);
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        String first = cache.getToken();
+        cache.invalidate();
+
+        assertNotEquals(first, cache.getToken());
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneToken() throws Exception {
+        final int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.getToken();
+            }));
+        }
+        start.countDown();
+
+        String expected = results.get(0).get();
+        for (Future<String> result : results) {
+            assertEquals(expected, result.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        assertEquals(1, generated.get());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -76,6 +76,84 @@ public class RequestSigningTest {
         assertEquals("a3368bf718ba104dcb392d8877e8eb2b", paramMap.get(RequestSigning.PARAM_SIGNATURE));
     }
 
+    @Test
+    public void testConstructSignatureForRequestParametersHmacSha256() {
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("a", "alphabet"));
+        params.add(new BasicNameValuePair("b", "bananas"));
+
+        RequestSigning.constructSignatureForRequestParameters(params, "abcde", 2100, SignatureMethod.HMAC_SHA256);
+        Map<String, String> paramMap = constructParamMap(params);
+        // echo -n "&a=alphabet&b=bananas&timestamp=2100" | openssl dgst -sha256 -hmac abcde
+        assertEquals("8d1b0428276b6a070578225914c3502cc0687a454dfbbbb370c76a14234cb546",
+                paramMap.get(RequestSigning.PARAM_SIGNATURE)
+        );
+    }
+
+    @Test
+    public void testConstructSignatureForRequestParametersHmacSha512() {
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("a", "alphabet"));
+        params.add(new BasicNameValuePair("b", "bananas"));
+
+        RequestSigning.constructSignatureForRequestParameters(params, "abcde", 2100, SignatureMethod.HMAC_SHA512);
+        Map<String, String> paramMap = constructParamMap(params);
+        // echo -n "&a=alphabet&b=bananas&timestamp=2100" | openssl dgst -sha512 -hmac abcde
+        assertEquals("1c834a1f6a377d4473971387b065cb38e2ad6c4869ba77b7b53e207a344e87ba"
+                        + "04b456dfc697b371a2d1ce476d01dafd4394aa97525eff23badad39d2389a710",
+                paramMap.get(RequestSigning.PARAM_SIGNATURE)
+        );
+    }
+
+    @Test
+    public void testConstructSignatureForRequestParametersHmacKeyChange() {
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("a", "alphabet"));
+        params.add(new BasicNameValuePair("b", "bananas"));
+        RequestSigning.constructSignatureForRequestParameters(new ArrayList<>(params),
+                "another key",
+                2100,
+                SignatureMethod.HMAC_SHA1
+        );
+
+        RequestSigning.constructSignatureForRequestParameters(params, "abcde", 2100, SignatureMethod.HMAC_SHA1);
+        Map<String, String> paramMap = constructParamMap(params);
+        // echo -n "&a=alphabet&b=bananas&timestamp=2100" | openssl dgst -sha1 -hmac abcde
+        assertEquals("b7f749de27b4adcf736cc95c9a7e059a16c85127", paramMap.get(RequestSigning.PARAM_SIGNATURE));
+    }
+
+    @Test
+    public void testConstructSignatureForUnsortedAndRepeatedParameters() {
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("b", "first"));
+        params.add(new BasicNameValuePair("a", "alph=bet"));
+        params.add(new BasicNameValuePair("b", "last"));
+        params.add(new BasicNameValuePair("b", "  "));
+
+        RequestSigning.constructSignatureForRequestParameters(params, "abcde", 2100);
+        Map<String, String> paramMap = constructParamMap(params);
+        // md5 -s "&a=alph_bet&b=last&timestamp=2100abcde"
+        assertEquals("fd7c33b1329d161ff6e72a5ae98e519f", paramMap.get(RequestSigning.PARAM_SIGNATURE));
+    }
+
+    @Test
+    public void testConstructSignatureForNonAsciiParameters() {
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("a", "caf\u00e9"));
+
+        RequestSigning.constructSignatureForRequestParameters(params, "abcde", 2100);
+        Map<String, String> paramMap = constructParamMap(params);
+        // md5 -s "&a=café&timestamp=2100abcde"
+        assertEquals("5fe310d6844d02174889ce3c7f89a4e3", paramMap.get(RequestSigning.PARAM_SIGNATURE));
+    }
+
+    @Test
+    public void testClean() {
+        assertEquals("a_b_c", RequestSigning.clean("a=b&c"));
+        assertEquals("abc", RequestSigning.clean("abc"));
+        assertNull(RequestSigning.clean(null));
+    }
+
     private static Map<String, String> constructParamMap(List<NameValuePair> params) {
         Map<String, String> paramMap = new HashMap<>();
         for (NameValuePair pair : params) {
@@ -125,6 +203,17 @@ public class RequestSigningTest {
         assertTrue(RequestSigning.verifyRequestSignature(request, "abcde", 2100000));
     }
 
+    @Test
+    public void testVerifyRequestSignatureHmacSha256IgnoresCase() {
+        Map<String, String[]> params = constructDummyParams();
+        params.put("sig", new String[]{"8D1B0428276B6A070578225914C3502CC0687A454DFBBBB370C76A14234CB546"});
+
+        HttpServletRequest request = constructDummyRequest(params);
+
+        assertTrue(RequestSigning.verifyRequestSignature(request, "abcde", 2100000, SignatureMethod.HMAC_SHA256));
+        assertFalse(RequestSigning.verifyRequestSignature(request, "abcde", 2100000, SignatureMethod.HMAC_SHA512));
+    }
+
     private HttpServletRequest constructDummyRequest() {
         return constructDummyRequest(null);
     }
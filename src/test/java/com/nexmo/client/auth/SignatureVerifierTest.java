@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.auth;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SignatureVerifierTest {
+    private final AtomicLong now = new AtomicLong(2100000);
+
+    private SignatureVerifier verifier(SignatureVerifier.Builder builder) {
+        return new SignatureVerifier(builder, now::get);
+    }
+
+    private Map<String, String[]> dummyParams(String signature) {
+        Map<String, String[]> params = new HashMap<>();
+        params.put("a", new String[]{"alphabet"});
+        params.put("b", new String[]{"bananas"});
+        params.put("timestamp", new String[]{"2100"});
+        params.put("sig", new String[]{signature});
+        return params;
+    }
+
+    @Test
+    public void testVerifyMd5Signature() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde").replayProtection(false));
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        assertTrue(verifier.verify(dummyParams("7D43241108912B32CC315B48CE681ACF")));
+    }
+
+    @Test
+    public void testVerifyHmacSignature() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde")
+                .signatureMethod(SignatureMethod.HMAC_SHA256));
+        assertEquals(SignatureMethod.HMAC_SHA256, verifier.getSignatureMethod());
+        assertTrue(verifier.verify(dummyParams("8d1b0428276b6a070578225914c3502cc0687a454dfbbbb370c76a14234cb546")));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+    }
+
+    @Test
+    public void testRejectsIncorrectSignatures() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681ace")));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681ac")));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf0")));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acg")));
+        assertFalse(verifier.verify(dummyParams("")));
+        assertFalse(verifier(SignatureVerifier.builder("edcba")).verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+    }
+
+    @Test
+    public void testRejectsTamperedParameters() {
+        Map<String, String[]> params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        params.put("b", new String[]{"bandanas"});
+        assertFalse(verifier(SignatureVerifier.builder("abcde")).verify(params));
+    }
+
+    @Test
+    public void testRejectsMissingSignatureOrTimestamp() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+
+        Map<String, String[]> params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        params.remove("sig");
+        assertFalse(verifier.verify(params));
+
+        params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        params.remove("timestamp");
+        assertFalse(verifier.verify(params));
+
+        params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        params.put("timestamp", new String[]{"not a timestamp"});
+        assertFalse(verifier.verify(params));
+
+        params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        params.put("timestamp", new String[]{Long.toString(Long.MAX_VALUE)});
+        assertFalse(verifier.verify(params));
+    }
+
+    @Test
+    public void testRejectsTimestampOutsideWindow() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde")
+                .maxTimeDelta(Duration.ofSeconds(30))
+                .replayProtection(false));
+
+        now.set(2130000);
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        now.set(2070000);
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+
+        now.set(2130001);
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        now.set(2069999);
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+    }
+
+    @Test
+    public void testRejectsReplayedSignature() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        // Case doesn't make a replay look like a new request
+        assertFalse(verifier.verify(dummyParams("7D43241108912B32CC315B48CE681ACF")));
+    }
+
+    @Test
+    public void testForgottenSignatureIsAcceptedAgain() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+        Map<String, String[]> params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameterMap()).thenReturn(params);
+        when(request.getParameter("sig")).thenReturn("7d43241108912b32cc315b48ce681acf");
+        when(request.getParameter("timestamp")).thenReturn("2100");
+
+        assertTrue(verifier.verify(request));
+        verifier.forget(request);
+        assertTrue(verifier.verify(request));
+        assertFalse(verifier.verify(request));
+    }
+
+    @Test
+    public void testForgedRequestCannotForgetSignature() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+
+        Map<String, String[]> tampered = dummyParams("7d43241108912b32cc315b48ce681acf");
+        tampered.put("b", new String[]{"bandanas"});
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameterMap()).thenReturn(tampered);
+        when(request.getParameter("sig")).thenReturn("7d43241108912b32cc315b48ce681acf");
+        when(request.getParameter("timestamp")).thenReturn("2100");
+        verifier.forget(request);
+
+        assertFalse(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+    }
+
+    @Test
+    public void testReplayProtectionCanBeDisabled() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde").replayProtection(false));
+
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+        assertTrue(verifier.verify(dummyParams("7d43241108912b32cc315b48ce681acf")));
+    }
+
+    @Test
+    public void testForgedRequestsAreNotRemembered() {
+        SignatureVerifier verifier = verifier(SignatureVerifier.builder("abcde"));
+
+        assertFalse(verifier.verify(dummyParams("00000000000000000000000000000000")));
+        assertEquals(0, verifier.getReplayCache().size());
+    }
+
+    @Test
+    public void testReplayCacheExpiresOldSignatures() {
+        SignatureReplayCache cache = new SignatureReplayCache(300);
+
+        assertTrue(cache.add(1000, "7d43241108912b32cc315b48ce681acf", 1000));
+        assertTrue(cache.add(1001, "7d43241108912b32cc315b48ce681acf", 1000));
+        assertFalse(cache.add(1000, "7d43241108912b32cc315b48ce681acf", 1000));
+        assertEquals(2, cache.size());
+
+        // Still within the window
+        assertTrue(cache.add(1250, "8d1b0428276b6a070578225914c3502c", 1300));
+        assertEquals(3, cache.size());
+
+        // Signatures are kept for an extra second, allowing for rounding
+        assertTrue(cache.add(1400, "8d1b0428276b6a070578225914c3502c", 1302));
+        assertEquals(3, cache.size());
+
+        assertTrue(cache.add(1401, "8d1b0428276b6a070578225914c3502c", 1303));
+        assertEquals(3, cache.size());
+        assertTrue(cache.add(1000, "7d43241108912b32cc315b48ce681acf", 1303));
+    }
+
+    @Test
+    public void testVerifyServletRequest() {
+        Map<String, String[]> params = dummyParams("7d43241108912b32cc315b48ce681acf");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            when(request.getParameter(param.getKey())).thenReturn(param.getValue()[0]);
+        }
+        when(request.getParameterMap()).thenReturn(params);
+
+        assertTrue(verifier(SignatureVerifier.builder("abcde")).verify(request));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSecretRejected() {
+        SignatureVerifier.builder(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTimeDeltaRejected() {
+        SignatureVerifier.builder("abcde").maxTimeDelta(Duration.ZERO);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nexmo.client.TestUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonResponseHandlerTest {
+    public static class Page {
+        @JsonProperty("count")
+        private int count;
+        @JsonProperty("items")
+        private List<String> items;
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static HttpResponse makeResponse(int statusCode, TrackingInputStream content) {
+        HttpResponse response = new BasicHttpResponse(
+                new BasicStatusLine(new ProtocolVersion("1.1", 1, 1), statusCode, "OK")
+        );
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(content);
+        response.setEntity(entity);
+        return response;
+    }
+
+    @Test
+    public void testParsesBody() throws Exception {
+        JsonResponseHandler<Page> handler = new JsonResponseHandler<>(Page.class);
+        Page page = handler.handleResponse(TestUtils.makeJsonHttpResponse(200,
+                "{\"count\": 2, \"items\": [\"caf\\u00e9\", \"naïve\"]}"
+        ));
+
+        assertEquals(2, page.getCount());
+        assertEquals("café", page.getItems().get(0));
+        assertEquals("naïve", page.getItems().get(1));
+    }
+
+    @Test
+    public void testContentStreamIsClosed() throws Exception {
+        TrackingInputStream content = new TrackingInputStream("{\"count\": 1}");
+        new JsonResponseHandler<>(Page.class).handleResponse(makeResponse(200, content));
+
+        assertTrue(content.closed);
+    }
+
+    @Test
+    public void testErrorStatusThrowsAndConsumesEntity() throws Exception {
+        TrackingInputStream content = new TrackingInputStream("{\"error\": \"nope\"}");
+        try {
+            new JsonResponseHandler<>(Page.class).handleResponse(makeResponse(500, content));
+            fail("A 500 response should raise a HttpResponseException");
+        } catch (HttpResponseException e) {
+            assertEquals(500, e.getStatusCode());
+        }
+        assertTrue(content.closed);
+    }
+
+    @Test(expected = JsonProcessingException.class)
+    public void testInvalidJsonThrows() throws Exception {
+        new JsonResponseHandler<>(Page.class).handleResponse(TestUtils.makeJsonHttpResponse(200, "{\"count\": "));
+    }
+
+    @Test
+    public void testNoEntityReturnsNull() throws Exception {
+        HttpResponse response = new BasicHttpResponse(
+                new BasicStatusLine(new ProtocolVersion("1.1", 1, 1), 204, "No Content")
+        );
+
+        assertNull(new JsonResponseHandler<>(Page.class).handleResponse(response));
+    }
+
+    @Test
+    public void testProfileIsUsed() throws Exception {
+        JsonResponseHandler<MapperRegistryTest.Dated> handler = new JsonResponseHandler<>(
+                MapperRegistry.Profile.REST_DATES_UTC,
+                MapperRegistryTest.Dated.class
+        );
+        MapperRegistryTest.Dated dated = handler.handleResponse(TestUtils.makeJsonHttpResponse(200,
+                "{\"date\": \"1970-01-01 00:00:01\"}"
+        ));
+
+        assertEquals(1000L, dated.getDate().getTime());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class MapperRegistryTest {
+    public static class Dated {
+        @JsonProperty("date")
+        private Date date;
+
+        public Date getDate() {
+            return date;
+        }
+    }
+
+    @Test
+    public void testReadersAreCachedPerProfileAndType() {
+        assertSame(MapperRegistry.reader(Dated.class), MapperRegistry.reader(Dated.class));
+        assertSame(MapperRegistry.reader(Dated.class),
+                MapperRegistry.reader(MapperRegistry.Profile.DEFAULT, Dated.class)
+        );
+        assertNotSame(MapperRegistry.reader(Dated.class),
+                MapperRegistry.reader(MapperRegistry.Profile.REST_DATES, Dated.class)
+        );
+    }
+
+    @Test
+    public void testWritersAreShared() {
+        assertSame(MapperRegistry.writer(), MapperRegistry.writer(MapperRegistry.Profile.DEFAULT));
+        assertSame(MapperRegistry.writer(MapperRegistry.Profile.HAL, Dated.class),
+                MapperRegistry.writer(MapperRegistry.Profile.HAL, Dated.class)
+        );
+    }
+
+    @Test
+    public void testRestDatesUtcProfile() throws Exception {
+        Dated dated = MapperRegistry.reader(MapperRegistry.Profile.REST_DATES_UTC, Dated.class)
+                .readValue("{\"date\":\"2020-01-02 03:04:05\"}");
+
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.setTime(dated.getDate());
+        assertEquals(2020, calendar.get(Calendar.YEAR));
+        assertEquals(Calendar.JANUARY, calendar.get(Calendar.MONTH));
+        assertEquals(2, calendar.get(Calendar.DAY_OF_MONTH));
+        assertEquals(3, calendar.get(Calendar.HOUR_OF_DAY));
+        assertEquals(4, calendar.get(Calendar.MINUTE));
+        assertEquals(5, calendar.get(Calendar.SECOND));
+    }
+
+    @Test
+    public void testSharedDateReaderIsThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Date>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int second = i % 60;
+            results.add(executor.submit(new Callable<Date>() {
+                @Override
+                public Date call() throws Exception {
+                    Dated dated = MapperRegistry.reader(MapperRegistry.Profile.REST_DATES_UTC, Dated.class)
+                            .readValue(String.format("{\"date\":\"2020-01-02 03:04:%02d\"}", second));
+                    return dated.getDate();
+                }
+            }));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            calendar.setTime(results.get(i).get());
+            assertEquals(i % 60, calendar.get(Calendar.SECOND));
+            assertEquals(2, calendar.get(Calendar.DAY_OF_MONTH));
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import com.nexmo.client.NexmoClientException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class PagedIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIteratesAllPagesLazily() {
+        TestSource source = new TestSource(3, 4);
+        PagedIterable<Integer> iterable = new PagedIterable<>(0, source);
+        assertTrue(source.fetched.isEmpty());
+
+        Iterator<Integer> iterator = iterable.iterator();
+        assertTrue(source.fetched.isEmpty());
+        assertEquals(Integer.valueOf(0), iterator.next());
+        assertEquals(Collections.singletonList(0), source.fetched);
+
+        List<Integer> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), items);
+        assertEquals(Arrays.asList(0, 1, 2), source.fetched);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterLastItem() {
+        Iterator<Integer> iterator = new PagedIterable<>(0, new TestSource(1, 1)).iterator();
+        iterator.next();
+        iterator.next();
+    }
+
+    @Test
+    public void testStreamStopsFetchingWhenShortCircuited() {
+        TestSource source = new TestSource(10, 5);
+
+        List<Integer> items = new PagedIterable<>(0, source).stream().limit(7).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), items);
+        assertEquals(Arrays.asList(0, 1), source.fetched);
+    }
+
+    @Test
+    public void testEachIterationStartsAgain() {
+        TestSource source = new TestSource(2, 2);
+        PagedIterable<Integer> iterable = new PagedIterable<>(0, source);
+
+        assertEquals(4, iterable.stream().count());
+        assertEquals(4, iterable.stream().count());
+        assertEquals(Arrays.asList(0, 1, 0, 1), source.fetched);
+    }
+
+    @Test
+    public void testEmptyPagesAreSkipped() {
+        TestSource source = new TestSource(3, 2);
+        source.emptyPage = 1;
+
+        List<Integer> items = new PagedIterable<>(0, source).stream().collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0, 1, 4, 5), items);
+    }
+
+    @Test
+    public void testNoPages() {
+        assertFalse(new PagedIterable<>(0, new TestSource(0, 2)).iterator().hasNext());
+    }
+
+    @Test
+    public void testPrefetchRequestsNextPageInBackground() throws Exception {
+        TestSource source = new TestSource(3, 2);
+        Iterator<Integer> iterator = new PagedIterable<>(0, source).withPrefetch(executor).iterator();
+
+        assertEquals(Integer.valueOf(0), iterator.next());
+        assertTrue(source.awaitFetches(2));
+        assertEquals(Arrays.asList(0, 1), source.fetched);
+        assertNotEquals(Thread.currentThread(), source.threads.get(1));
+
+        List<Integer> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), items);
+        assertEquals(Arrays.asList(0, 1, 2), source.fetched);
+    }
+
+    @Test
+    public void testPrefetchFailureIsThrownWhenPageIsNeeded() {
+        TestSource source = new TestSource(3, 2);
+        source.failingPage = 1;
+        Iterator<Integer> iterator = new PagedIterable<>(0, source).withPrefetch(executor).iterator();
+
+        assertEquals(Integer.valueOf(0), iterator.next());
+        assertEquals(Integer.valueOf(1), iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Expected the failure fetching page 1 to be thrown");
+        } catch (NexmoClientException e) {
+            assertEquals("Page 1 failed", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPrefetchExecutor() {
+        new PagedIterable<>(0, new TestSource(1, 1)).withPrefetch(null);
+    }
+
+    @Test
+    public void testFetchAllInParallel() {
+        IndexedTestSource source = new IndexedTestSource(20, 3);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Integer> items = new PagedIterable<>(0, source).fetchAll(4, pool);
+
+            assertEquals(60, items.size());
+            for (int i = 0; i < 60; i++) {
+                assertEquals(Integer.valueOf(i), items.get(i));
+            }
+            assertEquals(20, source.fetched.size());
+            assertEquals(20, new HashSet<>(source.fetched).size());
+            assertTrue(source.maxConcurrent.get() <= 4);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFetchAllRunsOnCallerWhenExecutorRejects() {
+        IndexedTestSource source = new IndexedTestSource(5, 2);
+
+        List<Integer> items = new PagedIterable<>(0, source).fetchAll(3, command -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), items);
+        assertEquals(Collections.singleton(Thread.currentThread()), new HashSet<>(source.threads));
+    }
+
+    @Test
+    public void testFetchAllWithoutPageCountIsSequential() {
+        TestSource source = new TestSource(4, 2);
+
+        List<Integer> items = new PagedIterable<>(0, source).fetchAll(4, executor);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), items);
+        assertEquals(Arrays.asList(0, 1, 2, 3), source.fetched);
+    }
+
+    @Test
+    public void testFetchAllSinglePage() {
+        IndexedTestSource source = new IndexedTestSource(1, 2);
+
+        assertEquals(Arrays.asList(0, 1), new PagedIterable<>(0, source).fetchAll(4, executor));
+        assertEquals(Collections.singletonList(0), source.fetched);
+    }
+
+    @Test
+    public void testFetchAllFailure() {
+        IndexedTestSource source = new IndexedTestSource(10, 2);
+        source.failingPage = 6;
+
+        try {
+            new PagedIterable<>(0, source).fetchAll(3, executor);
+            fail("Expected the failure fetching page 6 to be thrown");
+        } catch (NexmoClientException e) {
+            assertEquals("Page 6 failed", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFetchAllInvalidParallelism() {
+        new PagedIterable<>(0, new TestSource(1, 1)).fetchAll(0);
+    }
+
+    private static class IndexedTestSource extends TestSource implements IndexedPageSource<Integer, List<Integer>, Integer> {
+        private final Set<Thread> active = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        IndexedTestSource(int pages, int pageSize) {
+            super(pages, pageSize);
+        }
+
+        @Override
+        public List<Integer> fetch(Integer request) {
+            active.add(Thread.currentThread());
+            maxConcurrent.accumulateAndGet(active.size(), Math::max);
+            try {
+                Thread.sleep((request * 7) % 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                return super.fetch(request);
+            } finally {
+                active.remove(Thread.currentThread());
+            }
+        }
+
+        @Override
+        public int pageCount(Integer firstRequest, List<Integer> firstPage) {
+            return pages;
+        }
+
+        @Override
+        public Integer request(Integer firstRequest, List<Integer> firstPage, int index) {
+            return firstRequest + index;
+        }
+    }
+
+    private static class TestSource implements PageSource<Integer, List<Integer>, Integer> {
+        final int pages;
+        final int pageSize;
+        final List<Integer> fetched = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch[] fetches;
+        int emptyPage = -1;
+        int failingPage = -1;
+
+        TestSource(int pages, int pageSize) {
+            this.pages = pages;
+            this.pageSize = pageSize;
+            this.fetches = new CountDownLatch[pages + 1];
+            for (int i = 0; i <= pages; i++) {
+                fetches[i] = new CountDownLatch(i);
+            }
+        }
+
+        @Override
+        public List<Integer> fetch(Integer request) {
+            fetched.add(request);
+            threads.add(Thread.currentThread());
+            for (CountDownLatch latch : fetches) {
+                latch.countDown();
+            }
+            if (request == failingPage) {
+                throw new NexmoClientException("Page " + request + " failed");
+            }
+            List<Integer> items = new ArrayList<>();
+            if (request < pages && request != emptyPage) {
+                for (int i = 0; i < pageSize; i++) {
+                    items.add(request * pageSize + i);
+                }
+            }
+            return items;
+        }
+
+        @Override
+        public Integer next(Integer request, List<Integer> page) {
+            return request + 1 < pages ? request + 1 : null;
+        }
+
+        @Override
+        public Iterable<Integer> items(List<Integer> page) {
+            return page;
+        }
+
+        boolean awaitFetches(int count) throws InterruptedException {
+            return fetches[count].await(5, TimeUnit.SECONDS);
+        }
+    }
+}
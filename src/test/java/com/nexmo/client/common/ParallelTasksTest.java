@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.common;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ParallelTasksTest {
+    @Test
+    public void testEveryTaskRunsOnce() {
+        Set<Integer> seen = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        AtomicInteger runs = new AtomicInteger();
+        ParallelTasks.run(50, 4, ParallelTasks.sharedExecutor(), index -> {
+            seen.add(index);
+            runs.incrementAndGet();
+        });
+
+        assertEquals(50, runs.get());
+        assertEquals(50, seen.size());
+    }
+
+    @Test
+    public void testCallerRunsTasksWhenExecutorRejects() {
+        Thread caller = Thread.currentThread();
+        AtomicInteger onCaller = new AtomicInteger();
+        ParallelTasks.run(5, 3, command -> {
+            throw new RejectedExecutionException();
+        }, index -> {
+            if (Thread.currentThread() == caller) {
+                onCaller.incrementAndGet();
+            }
+        });
+
+        assertEquals(5, onCaller.get());
+    }
+
+    @Test
+    public void testNoTasks() {
+        ParallelTasks.run(0, 2, command -> fail("Nothing should be submitted."), index -> fail("No task should run."));
+    }
+
+    @Test
+    public void testFirstFailureIsThrownAndLaterTasksSkipped() {
+        AtomicInteger runs = new AtomicInteger();
+        RuntimeException failure = new IllegalStateException("Boom");
+        try {
+            ParallelTasks.run(10, 1, ParallelTasks.sharedExecutor(), index -> {
+                runs.incrementAndGet();
+                if (index == 2) {
+                    throw failure;
+                }
+            });
+            fail("Expected the task's exception to be thrown.");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    public void testWaitsForRunningTasksWhenInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicReference<Boolean> interruptedAfter = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            ParallelTasks.run(2, 2, ParallelTasks.sharedExecutor(), index -> {
+                if (Thread.currentThread().getName().startsWith("nexmo-worker")) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.set(true);
+                } else {
+                    // Leave the other task for the worker
+                    try {
+                        started.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            interruptedAfter.set(Thread.currentThread().isInterrupted());
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+        Thread.sleep(50);
+        assertTrue(caller.isAlive());
+
+        release.countDown();
+        caller.join(5000);
+        assertTrue(finished.get());
+        assertTrue(interruptedAfter.get());
+    }
+
+    @Test
+    public void testSharedExecutorUsesDaemonThreads() throws Exception {
+        AtomicBoolean daemon = new AtomicBoolean();
+        CountDownLatch ran = new CountDownLatch(1);
+        ParallelTasks.sharedExecutor().execute(() -> {
+            daemon.set(Thread.currentThread().isDaemon());
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(daemon.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelismMustBePositive() {
+        ParallelTasks.run(1, 0, ParallelTasks.sharedExecutor(), index -> {
+        });
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CallbackDispatcherTest {
+    private final List<Runnable> queued = new ArrayList<>();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    private CallbackDispatcher queueing(ConsumerConfig.Builder builder) {
+        return new CallbackDispatcher(builder.executor(queued::add).build(), "test-");
+    }
+
+    @Test
+    public void testDispatchHoldsPermitUntilHandled() {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder().maxPending(1));
+
+        assertTrue(dispatcher.admit(false).dispatch(dispatcher.getExecutor(), handled::incrementAndGet));
+        assertEquals(1, dispatcher.getPending());
+        assertNull(dispatcher.admit(false));
+
+        queued.get(0).run();
+        assertEquals(1, handled.get());
+        assertEquals(0, dispatcher.getPending());
+        assertNotNull(dispatcher.admit(false));
+    }
+
+    @Test
+    public void testCallerRunsWhenFull() {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder()
+                .maxPending(1)
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.CALLER_RUNS));
+        dispatcher.admit(false).dispatch(dispatcher.getExecutor(), handled::incrementAndGet);
+
+        assertTrue(dispatcher.admit(false).dispatch(dispatcher.getExecutor(), handled::incrementAndGet));
+        assertEquals(1, handled.get());
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    public void testRequiredCallbackIsNeverRefused() {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder().maxPending(1));
+        dispatcher.admit(false).dispatch(dispatcher.getExecutor(), handled::incrementAndGet);
+
+        assertTrue(dispatcher.admit(true).dispatch(dispatcher.getExecutor(), handled::incrementAndGet));
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    public void testRejectedTaskReturnsPermit() {
+        CallbackDispatcher dispatcher = new CallbackDispatcher(ConsumerConfig.builder().build(), "test-");
+
+        assertFalse(dispatcher.admit(false).dispatch(command -> {
+            throw new RejectedExecutionException();
+        }, handled::incrementAndGet));
+        assertEquals(0, handled.get());
+        assertEquals(0, dispatcher.getPending());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testRequiredTicketRunsRejectedTaskOnCaller() {
+        CallbackDispatcher dispatcher = new CallbackDispatcher(ConsumerConfig.builder().build(), "test-");
+        CallbackDispatcher.Ticket ticket = dispatcher.admit(false);
+        ticket.require();
+
+        assertTrue(ticket.dispatch(command -> {
+            throw new RejectedExecutionException();
+        }, handled::incrementAndGet));
+        assertEquals(1, handled.get());
+        assertEquals(0, dispatcher.getPending());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testDuplicateReleasesTicket() {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder()
+                .idempotencyFilter(IdempotencyFilter.builder().build()));
+
+        assertFalse(dispatcher.admit(false).isDuplicate(filter -> filter.isFirst("id")));
+        CallbackDispatcher.Ticket ticket = dispatcher.admit(false);
+        assertTrue(ticket.isDuplicate(filter -> filter.isFirst("id")));
+        assertEquals(1, dispatcher.getPending());
+    }
+
+    @Test
+    public void testFirstDeliveryCannotBeRefused() {
+        CallbackDispatcher dispatcher = new CallbackDispatcher(ConsumerConfig.builder()
+                .idempotencyFilter(IdempotencyFilter.builder().build())
+                .build(), "test-");
+        CallbackDispatcher.Ticket ticket = dispatcher.admit(false);
+
+        // A retry would be taken for a duplicate, so the callback is handled on the caller instead
+        assertFalse(ticket.isDuplicate(filter -> filter.isFirst("id")));
+        assertTrue(ticket.dispatch(command -> {
+            throw new RejectedExecutionException();
+        }, handled::incrementAndGet));
+        assertEquals(1, handled.get());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testWithoutFilterNothingIsDuplicate() {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder());
+        assertFalse(dispatcher.admit(false).isDuplicate(filter -> false));
+    }
+
+    @Test
+    public void testRejectOverloaded() throws Exception {
+        CallbackDispatcher dispatcher = queueing(ConsumerConfig.builder()
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.TOO_MANY_REQUESTS)
+                .retryAfter(Duration.ofSeconds(10)));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        dispatcher.rejectOverloaded(response, "Too busy");
+
+        verify(response).setHeader("Retry-After", "10");
+        verify(response).sendError(429, "Too busy");
+
+        response = mock(HttpServletResponse.class);
+        queueing(ConsumerConfig.builder()).rejectOverloaded(response, "Too busy");
+        verify(response, never()).setHeader(anyString(), anyString());
+        verify(response).sendError(503, "Too busy");
+    }
+
+    @Test
+    public void testShutdownWaitsForOwnedPool() throws Exception {
+        CallbackDispatcher dispatcher = new CallbackDispatcher(ConsumerConfig.defaultConfig(), "test-");
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.admit(false).dispatch(dispatcher.getExecutor(), () -> {
+            started.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            handled.incrementAndGet();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        dispatcher.shutdown();
+        assertEquals(1, handled.get());
+        assertEquals(0, dispatcher.getPending());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventTypeTest {
+    private static JsonNode parse(String json) throws IOException {
+        return new ObjectMapper().readTree(json);
+    }
+
+    @Test
+    public void testDetectCallEvent() throws Exception {
+        assertEquals(EventType.CALL, EventType.detect(parse("{\"uuid\":\"aaaaaaaa\",\"status\":\"answered\"}")));
+    }
+
+    @Test
+    public void testDetectInputEvent() throws Exception {
+        assertEquals(EventType.INPUT, EventType.detect(parse("{\"uuid\":\"aaaaaaaa\",\"dtmf\":\"42\"}")));
+        assertEquals(EventType.INPUT, EventType.detect(parse("{\"uuid\":\"aaaaaaaa\",\"timed_out\":true}")));
+    }
+
+    @Test
+    public void testDetectRecordEvent() throws Exception {
+        assertEquals(EventType.RECORD,
+                EventType.detect(parse("{\"recording_uuid\":\"bbbbbbbb\",\"recording_url\":\"https://example.com\"}"))
+        );
+    }
+
+    @Test
+    public void testDetectMessageEvent() throws Exception {
+        assertEquals(EventType.MESSAGE, EventType.detect(parse("{\"msisdn\":\"447700900000\",\"messageId\":\"cccc\"}")));
+    }
+
+    @Test
+    public void testDetectUnknownEvent() throws Exception {
+        assertEquals(EventType.UNKNOWN, EventType.detect(parse("{\"status\":\"answered\"}")));
+        assertEquals(EventType.UNKNOWN, EventType.detect(parse("[]")));
+        assertEquals(EventType.UNKNOWN, EventType.detect(null));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import com.nexmo.client.sms.callback.messages.MO;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyFilterTest {
+    private final AtomicLong now = new AtomicLong(1000000);
+
+    @Test
+    public void testDetectsDuplicateMessages() {
+        IdempotencyFilter filter = IdempotencyFilter.builder().build();
+
+        assertTrue(filter.isFirst(new MO("0A0000001", MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null)));
+        assertTrue(filter.isFirst(new MO("0A0000002", MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null)));
+        assertFalse(filter.isFirst(new MO("0A0000001", MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null)));
+    }
+
+    @Test
+    public void testDistinguishesCallEventsByStatus() {
+        IdempotencyFilter filter = IdempotencyFilter.builder().build();
+
+        CallEvent ringing = CallEvent.fromJson("{\"uuid\":\"63f61863-4a51-4f6b-86e1-46edebio0391\",\"status\":\"ringing\"}");
+        CallEvent answered = CallEvent.fromJson("{\"uuid\":\"63f61863-4a51-4f6b-86e1-46edebio0391\",\"status\":\"answered\"}");
+
+        assertTrue(filter.isFirst(ringing));
+        assertTrue(filter.isFirst(answered));
+        assertFalse(filter.isFirst(CallEvent.fromJson("{\"uuid\":\"63f61863-4a51-4f6b-86e1-46edebio0391\",\"status\":\"ringing\"}")));
+    }
+
+    @Test
+    public void testAcceptsCallbacksWithoutIdentifier() {
+        IdempotencyFilter filter = IdempotencyFilter.builder().build();
+
+        assertTrue(filter.isFirst((String) null));
+        assertTrue(filter.isFirst((String) null));
+        assertTrue(filter.isFirst(CallEvent.fromJson("{\"status\":\"ringing\"}")));
+        assertTrue(filter.isFirst(CallEvent.fromJson("{\"status\":\"ringing\"}")));
+    }
+
+    @Test
+    public void testForgetsIdentifiersAfterWindow() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, now::get);
+        IdempotencyFilter filter = new IdempotencyFilter(IdempotencyFilter.builder()
+                .window(Duration.ofMinutes(10))
+                .store(store), now::get);
+
+        assertTrue(filter.isFirst("a"));
+        now.addAndGet(Duration.ofMinutes(10).toMillis() - 1);
+        assertFalse(filter.isFirst("a"));
+        now.addAndGet(1);
+        assertTrue(filter.isFirst("a"));
+    }
+
+    @Test
+    public void testUsesSuppliedStore() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        when(store.markIfAbsent(eq("a"), eq(1000000L + 60000))).thenReturn(false);
+        IdempotencyFilter filter = new IdempotencyFilter(IdempotencyFilter.builder()
+                .window(Duration.ofMinutes(1))
+                .store(store), now::get);
+
+        assertFalse(filter.isFirst("a"));
+        verify(store).markIfAbsent("a", 1060000L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveWindowRejected() {
+        IdempotencyFilter.builder().window(Duration.ofSeconds(-1));
+    }
+}
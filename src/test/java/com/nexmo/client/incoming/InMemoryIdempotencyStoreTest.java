@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.incoming;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryIdempotencyStoreTest {
+    private final AtomicLong now = new AtomicLong(1000);
+
+    @Test
+    public void testMarksEachKeyOnce() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(1000, now::get);
+
+        for (int i = 0; i < 400; i++) {
+            assertTrue(store.markIfAbsent("message-" + i, 2000));
+        }
+        for (int i = 0; i < 400; i++) {
+            assertFalse(store.markIfAbsent("message-" + i, 2000));
+        }
+        assertEquals(400, store.size());
+    }
+
+    @Test
+    public void testRemembersPreviousGenerationUntilExpiry() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(4, now::get);
+
+        assertTrue(store.markIfAbsent("a", 2000));
+        assertTrue(store.markIfAbsent("b", 2000));
+        // The first generation is full, so becomes the previous generation
+        assertTrue(store.markIfAbsent("c", 3000));
+        assertTrue(store.markIfAbsent("d", 3000));
+        assertFalse(store.markIfAbsent("a", 3000));
+        assertEquals(4, store.size());
+
+        now.set(2000);
+        assertTrue(store.markIfAbsent("a", 4000));
+        assertFalse(store.markIfAbsent("c", 4000));
+    }
+
+    @Test
+    public void testForgetsOldestWhenFull() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(4, now::get);
+
+        for (String key : new String[]{"a", "b", "c", "d", "e"}) {
+            assertTrue(store.markIfAbsent(key, 10000));
+        }
+        assertEquals(3, store.size());
+        assertTrue(store.markIfAbsent("a", 10000));
+        assertFalse(store.markIfAbsent("e", 10000));
+    }
+
+    @Test
+    public void testDiscardsExpiredEntries() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, now::get);
+
+        assertTrue(store.markIfAbsent("a", 2000));
+        now.set(2000);
+        assertTrue(store.markIfAbsent("b", 3000));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testHashIsNeverZero() {
+        assertNotEquals(0, InMemoryIdempotencyStore.hash(""));
+        assertNotEquals(InMemoryIdempotencyStore.hash("ab"), InMemoryIdempotencyStore.hash("ba"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewEntriesRejected() {
+        new InMemoryIdempotencyStore(1);
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.insight;
+
+import com.nexmo.client.NexmoClientException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class InsightCacheTest {
+    private static final String BASIC = "{\"status\":0,\"international_format_number\":\"447700900000\"}";
+    private static final String STANDARD = "{\"status\":0,\"international_format_number\":\"447700900000\","
+            + "\"current_carrier\":{\"name\":\"Acme Inc\"}}";
+    private static final String ADVANCED = "{\"status\":0,\"international_format_number\":\"447700900000\","
+            + "\"current_carrier\":{\"name\":\"Acme Inc\"},\"valid_number\":\"valid\",\"reachable\":\"reachable\"}";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger requests = new AtomicInteger();
+    private InsightCache cache;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        cache = new InsightCache(InsightCacheConfig.builder()
+                .basicTtl(Duration.ofHours(24))
+                .standardTtl(Duration.ofHours(1))
+                .advancedTtl(Duration.ofMinutes(5))
+                .negativeTtl(Duration.ofMinutes(1))
+                .maxEntries(3)
+                .build(), now::get);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCachedUntilTtlExpires() {
+        BasicInsightResponse first = basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        now.addAndGet(Duration.ofHours(23).toMillis());
+        BasicInsightResponse second = basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+
+        assertSame(first, second);
+        assertEquals(1, requests.get());
+
+        now.addAndGet(Duration.ofHours(2).toMillis());
+        assertNotSame(first, basic(BasicInsightRequest.withNumber("447700900000"), BASIC));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testTiersHaveSeparateTtls() {
+        standard(StandardInsightRequest.withNumber("447700900000"), STANDARD);
+        now.addAndGet(Duration.ofMinutes(61).toMillis());
+        standard(StandardInsightRequest.withNumber("447700900000"), STANDARD);
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testNumbersAreComparedByDigitsAndCountry() {
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        basic(BasicInsightRequest.withNumber("+44 7700 900000"), BASIC);
+        assertEquals(1, requests.get());
+
+        basic(BasicInsightRequest.withNumberAndCountry("07700900000", "GB"), BASIC);
+        basic(BasicInsightRequest.withNumberAndCountry("07700 900000", "gb"), BASIC);
+        assertEquals(2, requests.get());
+
+        assertEquals(InsightCache.key(BasicInsightRequest.withNumber("+1 (555) 010-9999")),
+                InsightCache.key(BasicInsightRequest.withNumber("15550109999"))
+        );
+    }
+
+    @Test
+    public void testHigherTierSatisfiesLowerTier() {
+        AdvancedInsightResponse advanced = advanced(AdvancedInsightRequest.withNumber("447700900000"), ADVANCED);
+
+        assertSame(advanced, standard(StandardInsightRequest.withNumber("447700900000"), STANDARD));
+        assertSame(advanced, basic(BasicInsightRequest.withNumber("447700900000"), BASIC));
+        assertEquals(1, requests.get());
+        assertEquals(2, cache.getStats().getHits());
+    }
+
+    @Test
+    public void testLowerTierDoesNotSatisfyHigherTier() {
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        StandardInsightResponse standard = standard(StandardInsightRequest.withNumber("447700900000"), STANDARD);
+
+        assertEquals("Acme Inc", standard.getCurrentCarrier().getName());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testExpiredHigherTierFallsBackToLowerTier() {
+        BasicInsightResponse basic = basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        advanced(AdvancedInsightRequest.withNumber("447700900000"), ADVANCED);
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+
+        assertSame(basic, basic(BasicInsightRequest.withNumber("447700900000"), BASIC));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testCnamMustHaveBeenRequested() {
+        StandardInsightResponse withoutCnam = standard(StandardInsightRequest.withNumber("447700900000"), STANDARD);
+        StandardInsightResponse withCnam = standard(StandardInsightRequest.builder("447700900000").cnam(true).build(),
+                STANDARD
+        );
+        assertNotSame(withoutCnam, withCnam);
+        assertEquals(2, requests.get());
+
+        assertSame(withCnam, standard(StandardInsightRequest.withNumber("447700900000"), STANDARD));
+        assertSame(withCnam, standard(StandardInsightRequest.builder("447700900000").cnam(true).build(), STANDARD));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testInvalidNumbersAreCachedForNegativeTtl() {
+        basic(BasicInsightRequest.withNumber("123"), "{\"status\":3,\"status_message\":\"Invalid number\"}");
+        basic(BasicInsightRequest.withNumber("123"), "{\"status\":3,\"status_message\":\"Invalid number\"}");
+        assertEquals(1, requests.get());
+
+        now.addAndGet(Duration.ofSeconds(61).toMillis());
+        basic(BasicInsightRequest.withNumber("123"), "{\"status\":3,\"status_message\":\"Invalid number\"}");
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testNotValidAdvancedResultIsNegative() {
+        String notValid = "{\"status\":0,\"valid_number\":\"not_valid\"}";
+        advanced(AdvancedInsightRequest.withNumber("447700900001"), notValid);
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+        advanced(AdvancedInsightRequest.withNumber("447700900001"), notValid);
+        assertEquals(1, requests.get());
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        advanced(AdvancedInsightRequest.withNumber("447700900001"), notValid);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testTransientErrorsAreNotCached() {
+        basic(BasicInsightRequest.withNumber("447700900000"), "{\"status\":1,\"status_message\":\"Throttled\"}");
+        basic(BasicInsightRequest.withNumber("447700900000"), "{\"status\":5}");
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        try {
+            cache.get(InsightCache.Tier.BASIC, BasicInsightRequest.withNumber("447700900000"), BasicInsightResponse.class,
+                    () -> {
+                        requests.incrementAndGet();
+                        throw new NexmoClientException("Connection refused");
+                    }
+            );
+            fail("Expected the failure to be thrown");
+        } catch (NexmoClientException e) {
+            assertEquals("Connection refused", e.getMessage());
+        }
+
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testIpAndAsyncAdvancedLookupsAreNotCached() {
+        AdvancedInsightRequest withIp = AdvancedInsightRequest.builder("447700900000").ipAddress("123.0.0.255").build();
+        advanced(withIp, ADVANCED);
+        advanced(withIp, ADVANCED);
+        AdvancedInsightRequest async = AdvancedInsightRequest.builder("447700900000")
+                .async(true)
+                .callback("https://example.com/insight")
+                .build();
+        advanced(async, ADVANCED);
+        advanced(async, ADVANCED);
+
+        assertEquals(4, requests.get());
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    public void testZeroTtlDisablesTier() {
+        cache = new InsightCache(InsightCacheConfig.builder().basicTtl(Duration.ZERO).build(), now::get);
+
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedNumbersAreEvicted() {
+        basic(BasicInsightRequest.withNumber("1"), BASIC);
+        basic(BasicInsightRequest.withNumber("2"), BASIC);
+        basic(BasicInsightRequest.withNumber("3"), BASIC);
+        basic(BasicInsightRequest.withNumber("1"), BASIC);
+        basic(BasicInsightRequest.withNumber("4"), BASIC);
+
+        InsightCacheStats stats = cache.getStats();
+        assertEquals(3, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(4, requests.get());
+
+        basic(BasicInsightRequest.withNumber("1"), BASIC);
+        assertEquals(4, requests.get());
+        basic(BasicInsightRequest.withNumber("2"), BASIC);
+        assertEquals(5, requests.get());
+    }
+
+    @Test
+    public void testConcurrentLookupsShareRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<BasicInsightResponse> first = executor.submit(() -> cache.get(InsightCache.Tier.BASIC,
+                BasicInsightRequest.withNumber("447700900000"),
+                BasicInsightResponse.class,
+                () -> {
+                    requests.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return BasicInsightResponse.fromJson(BASIC);
+                }
+        ));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<BasicInsightResponse> second = executor.submit(() -> basic(BasicInsightRequest.withNumber(
+                "447700900000"), BASIC));
+        while (cache.getStats().getCoalesced() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+        InsightCacheStats stats = cache.getStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getCoalesced());
+        assertEquals(0.5, stats.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void testAsyncLookups() throws Exception {
+        CompletableFuture<StandardInsightResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StandardInsightResponse> first = cache.getAsync(InsightCache.Tier.STANDARD,
+                StandardInsightRequest.withNumber("447700900000"),
+                StandardInsightResponse.class,
+                () -> {
+                    requests.incrementAndGet();
+                    return pending;
+                }
+        );
+        CompletableFuture<StandardInsightResponse> second = cache.getAsync(InsightCache.Tier.STANDARD,
+                StandardInsightRequest.withNumber("447700900000"),
+                StandardInsightResponse.class,
+                () -> {
+                    requests.incrementAndGet();
+                    return pending;
+                }
+        );
+        assertFalse(first.isDone());
+
+        StandardInsightResponse response = StandardInsightResponse.fromJson(STANDARD);
+        pending.complete(response);
+
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertSame(response, standard(StandardInsightRequest.withNumber("447700900000"), STANDARD));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testFailedAsyncLookupIsNotCached() {
+        CompletableFuture<BasicInsightResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new NexmoClientException("Connection refused"));
+
+        CompletableFuture<BasicInsightResponse> future = cache.getAsync(InsightCache.Tier.BASIC,
+                BasicInsightRequest.withNumber("447700900000"),
+                BasicInsightResponse.class,
+                () -> failed
+        );
+
+        assertTrue(future.isCompletedExceptionally());
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testClear() {
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+        cache.clear();
+        basic(BasicInsightRequest.withNumber("447700900000"), BASIC);
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTtl() {
+        InsightCacheConfig.builder().advancedTtl(Duration.ofSeconds(-1));
+    }
+
+    private BasicInsightResponse basic(BasicInsightRequest request, String json) {
+        return cache.get(InsightCache.Tier.BASIC, request, BasicInsightResponse.class, () -> {
+            requests.incrementAndGet();
+            return BasicInsightResponse.fromJson(json);
+        });
+    }
+
+    private StandardInsightResponse standard(StandardInsightRequest request, String json) {
+        return cache.get(InsightCache.Tier.STANDARD, request, StandardInsightResponse.class, () -> {
+            requests.incrementAndGet();
+            return StandardInsightResponse.fromJson(json);
+        });
+    }
+
+    private AdvancedInsightResponse advanced(AdvancedInsightRequest request, String json) {
+        return cache.get(InsightCache.Tier.ADVANCED, request, AdvancedInsightResponse.class, () -> {
+            requests.incrementAndGet();
+            return AdvancedInsightResponse.fromJson(json);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
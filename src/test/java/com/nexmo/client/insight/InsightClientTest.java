@@ -22,12 +22,18 @@
 package com.nexmo.client.insight;
 
 import com.nexmo.client.ClientTest;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigDecimal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class InsightClientTest extends ClientTest<InsightClient> {
 
@@ -193,6 +199,35 @@ public class InsightClientTest extends ClientTest<InsightClient> {
         assertAsyncInsightResponse(response);
     }
 
+    @Test
+    public void testCachedInsight() throws Exception {
+        HttpClient httpClient = stubHttpClient(200, ADVANCED_RESPONSE_JSON);
+        this.wrapper.setHttpClient(httpClient);
+        client = new InsightClient(wrapper, InsightCacheConfig.defaultConfig());
+
+        AdvancedInsightResponse advanced = client.getAdvancedNumberInsight("447700900000");
+        StandardInsightResponse standard = client.getStandardNumberInsight("+44 7700 900000");
+        BasicInsightResponse basic = client.getBasicNumberInsight("447700900000");
+
+        assertAdvancedInsightResponse(advanced);
+        assertSame(advanced, standard);
+        assertSame(advanced, basic);
+        verify(httpClient, times(1)).execute(any(HttpUriRequest.class));
+        assertEquals(2, client.getCacheStats().getHits());
+        assertEquals(1, client.getCacheStats().getMisses());
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() throws Exception {
+        HttpClient httpClient = stubHttpClient(200, BASIC_RESPOSE_JSON);
+        this.wrapper.setHttpClient(httpClient);
+
+        client.getBasicNumberInsight("447700900000");
+
+        assertEquals(0, client.getCacheStats().getMisses());
+        assertEquals(0, client.getCacheStats().getSize());
+    }
+
     private void assertAsyncInsightResponse(AdvancedInsightResponse response) {
         assertEquals(InsightStatus.SUCCESS, response.getStatus());
         assertEquals(new BigDecimal("1.23456789"), response.getRemainingBalance());
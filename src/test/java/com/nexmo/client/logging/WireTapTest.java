@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.logging;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicNameValuePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class WireTapTest {
+    private Log log;
+
+    @Before
+    public void setUp() {
+        log = mock(Log.class);
+        when(log.isDebugEnabled()).thenReturn(true);
+    }
+
+    @Test
+    public void testDisabledTapDoesNothing() {
+        when(log.isDebugEnabled()).thenReturn(false);
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpResponse response = response("{}");
+        HttpEntity entity = response.getEntity();
+
+        tap.logRequest(new HttpGet("https://api.nexmo.com/v1/calls"));
+        tap.logResponse(response);
+
+        assertSame(entity, response.getEntity());
+        verify(log, never()).debug(any());
+    }
+
+    @Test
+    public void testRequestIsRedacted() throws Exception {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpPost request = new HttpPost("https://rest.nexmo.com/sms/json?api_key=key&api_secret=hunter2");
+        request.setHeader("Authorization", "Bearer token");
+        request.setHeader("Accept", "application/json");
+        request.setEntity(new UrlEncodedFormEntity(Arrays.asList(new BasicNameValuePair("text", "Hello"),
+                new BasicNameValuePair("sig", "abcdef")
+        )));
+
+        tap.logRequest(request);
+
+        List<String> messages = loggedMessages(2);
+        assertEquals("Request: POST https://rest.nexmo.com/sms/json?api_key=key&api_secret=[REDACTED], "
+                + "Authorization: [REDACTED], Accept: application/json", messages.get(0));
+        assertEquals("Request body: text=Hello&sig=[REDACTED]", messages.get(1));
+    }
+
+    @Test
+    public void testJsonParametersAreRedacted() {
+        WireTap tap = new WireTap(WireTap.builder().redactParameters("token"), log);
+
+        assertEquals("{\"secret\": \"[REDACTED]\", \"token\":\"[REDACTED]\", \"name\": \"app\"}",
+                tap.redactParameters("{\"secret\": \"s3cr\\\"et\", \"token\":\"abc\", \"name\": \"app\"}")
+        );
+    }
+
+    @Test
+    public void testStreamedRequestBodyIsNotRead() {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpPost request = new HttpPost("https://api.nexmo.com/v1/calls");
+        InputStream content = spy(new ByteArrayInputStream(new byte[10]));
+        request.setEntity(new InputStreamEntity(content));
+
+        tap.logRequest(request);
+
+        assertEquals("Request body: [streamed body not logged]", loggedMessages(2).get(1));
+        verifyZeroInteractions(content);
+    }
+
+    @Test
+    public void testResponseBodyIsLoggedAsItIsRead() throws Exception {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpResponse response = response("{\"value\": 10.28}");
+
+        tap.logResponse(response);
+        assertEquals("Response: HTTP/1.1 200 OK, Content-Type: application/json", loggedMessages(1).get(0));
+
+        assertEquals("{\"value\": 10.28}", IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8));
+        assertEquals("Response body: {\"value\": 10.28}", loggedMessages(2).get(1));
+    }
+
+    @Test
+    public void testResponseBodyIsTruncated() throws Exception {
+        WireTap tap = new WireTap(WireTap.builder().maxBodyLength(5), log);
+        HttpResponse response = response("0123456789");
+        HttpEntity original = response.getEntity();
+
+        tap.logResponse(response);
+        assertNotSame(original, response.getEntity());
+
+        assertEquals("0123456789", IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8));
+        assertEquals("Response body: 01234... [truncated]", loggedMessages(2).get(1));
+    }
+
+    @Test
+    public void testPartiallyReadResponseBody() throws Exception {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpResponse response = response("0123456789");
+
+        tap.logResponse(response);
+        try (InputStream content = response.getEntity().getContent()) {
+            assertEquals('0', content.read());
+        }
+
+        assertEquals("Response body: 0... [not fully read]", loggedMessages(2).get(1));
+    }
+
+    @Test
+    public void testResponseBodyIsLoggedOnce() throws Exception {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpResponse response = response("{}");
+
+        tap.logResponse(response);
+        try (InputStream content = response.getEntity().getContent()) {
+            IOUtils.toByteArray(content);
+        }
+
+        loggedMessages(2);
+    }
+
+    @Test
+    public void testSetCookieIsRedacted() {
+        WireTap tap = new WireTap(WireTap.builder(), log);
+        HttpResponse response = response("{}");
+        response.setHeader("Set-Cookie", "session=abc");
+
+        tap.logResponse(response);
+
+        assertTrue(loggedMessages(1).get(0).endsWith("Set-Cookie: [REDACTED]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxBodyLength() {
+        WireTap.builder().maxBodyLength(-1);
+    }
+
+    private static HttpResponse response(String body) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setHeader("Content-Type", "application/json");
+        response.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    private List<String> loggedMessages(int expected) {
+        ArgumentCaptor<Object> messages = ArgumentCaptor.forClass(Object.class);
+        verify(log, times(expected)).debug(messages.capture());
+        return messages.getAllValues().stream().map(String::valueOf).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.metrics.micrometer;
+
+import com.nexmo.client.metrics.RequestPhase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MicrometerClientMetricsTest {
+    private MeterRegistry registry;
+    private MicrometerClientMetrics metrics;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerClientMetrics(registry, Tags.of("client", "test"));
+    }
+
+    @Test
+    public void testRecordPhase() {
+        metrics.recordPhase("SendMessageEndpoint", RequestPhase.NETWORK, TimeUnit.MILLISECONDS.toNanos(15));
+        metrics.recordPhase("SendMessageEndpoint", RequestPhase.NETWORK, TimeUnit.MILLISECONDS.toNanos(5));
+
+        Timer timer = registry.get("nexmo.client.request.duration")
+                .tags("endpoint", "SendMessageEndpoint", "phase", "network", "client", "test")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(20, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(0, registry.get("nexmo.client.request.duration").tag("phase", "parse").timer().count());
+    }
+
+    @Test
+    public void testRecordResponse() {
+        metrics.recordResponse("SendMessageEndpoint", 200);
+        metrics.recordResponse("SendMessageEndpoint", 200);
+        metrics.recordResponse("SendMessageEndpoint", 429);
+
+        assertEquals(2, registry.get("nexmo.client.responses").tag("status", "200").counter().count(), 0);
+        assertEquals(1, registry.get("nexmo.client.responses").tag("status", "429").counter().count(), 0);
+    }
+
+    @Test
+    public void testRecordFailure() {
+        metrics.recordFailure("BalanceEndpoint", new IOException("Connection reset"));
+
+        assertEquals(1,
+                registry.get("nexmo.client.failures")
+                        .tags("endpoint", "BalanceEndpoint", "exception", "IOException")
+                        .counter()
+                        .count(),
+                0
+        );
+    }
+
+    @Test
+    public void testActiveRequests() {
+        metrics.requestStarted("ListCallsMethod");
+        metrics.requestStarted("ListCallsMethod");
+        metrics.requestFinished("ListCallsMethod");
+
+        assertEquals(1, registry.get("nexmo.client.requests.active").tag("endpoint", "ListCallsMethod").gauge().value(), 0);
+    }
+
+    @Test
+    public void testConnectionLeaseWait() {
+        metrics.recordConnectionLeaseWait(TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(1, registry.get("nexmo.client.connections.lease").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBindConnectionPool() {
+        ConnPoolControl<HttpRoute> pool = mock(ConnPoolControl.class);
+        when(pool.getTotalStats()).thenReturn(new PoolStats(3, 1, 2, 20));
+
+        metrics.bindConnectionPool("sync", pool);
+
+        assertEquals(3, registry.get("nexmo.client.connections.leased").tag("pool", "sync").gauge().value(), 0);
+        assertEquals(1, registry.get("nexmo.client.connections.pending").tag("pool", "sync").gauge().value(), 0);
+        assertEquals(2, registry.get("nexmo.client.connections.available").tag("pool", "sync").gauge().value(), 0);
+        assertEquals(20, registry.get("nexmo.client.connections.max").tag("pool", "sync").gauge().value(), 0);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.numbers;
+
+import com.nexmo.client.common.PagedIterable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ListNumbersPageSourceTest {
+    private final ListNumbersEndpoint endpoint = mock(ListNumbersEndpoint.class);
+    private final ListNumbersPageSource source = new ListNumbersPageSource(endpoint);
+
+    @Test
+    public void testFirstRequestCopiesFilter() {
+        ListNumbersFilter filter = new ListNumbersFilter(null, null, "44", SearchPattern.STARTS_WITH);
+
+        ListNumbersFilter first = ListNumbersPageSource.firstRequest(filter);
+
+        assertNotSame(filter, first);
+        assertNull(first.getIndex());
+        assertEquals(Integer.valueOf(ListNumbersPageSource.DEFAULT_PAGE_SIZE), first.getSize());
+        assertEquals("44", first.getPattern());
+        assertEquals(SearchPattern.STARTS_WITH, first.getSearchPattern());
+        assertNull(filter.getSize());
+        assertEquals(Integer.valueOf(100), ListNumbersPageSource.firstRequest(null).getSize());
+    }
+
+    @Test
+    public void testNextPage() {
+        ListNumbersFilter next = source.next(new ListNumbersFilter(null, 2, "44", null), page(5, "1", "2"));
+
+        assertEquals(Integer.valueOf(2), next.getIndex());
+        assertEquals(Integer.valueOf(2), next.getSize());
+        assertEquals("44", next.getPattern());
+    }
+
+    @Test
+    public void testLastPage() {
+        assertNull(source.next(new ListNumbersFilter(3, 2, null, null), page(5, "5")));
+        assertNull(source.next(new ListNumbersFilter(2, 2, null, null), page(4, "3", "4")));
+        assertNull(source.next(new ListNumbersFilter(1, 2, null, null), page(5)));
+    }
+
+    @Test
+    public void testIteratesAllPages() {
+        List<Integer> requestedIndexes = new ArrayList<>();
+        when(endpoint.listNumbers(any(ListNumbersFilter.class))).thenAnswer(invocation -> {
+            ListNumbersFilter filter = invocation.getArgument(0);
+            requestedIndexes.add(filter.getIndex());
+            if (filter.getIndex() == null) {
+                return page(5, "1", "2");
+            }
+            return filter.getIndex() == 2 ? page(5, "3", "4") : page(5, "5");
+        });
+
+        List<String> msisdns = new PagedIterable<>(new ListNumbersFilter(null, 2, null, null), source).stream()
+                .map(OwnedNumber::getMsisdn)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5"), msisdns);
+        assertEquals(Arrays.asList(null, 2, 3), requestedIndexes);
+    }
+
+    @Test
+    public void testPageCount() {
+        assertEquals(5, ListNumbersPageSource.pageCount(null, 2, 2, 10));
+        assertEquals(3, ListNumbersPageSource.pageCount(3, 2, 2, 10));
+        assertEquals(3, ListNumbersPageSource.pageCount(1, 100, 100, 201));
+        assertEquals(1, ListNumbersPageSource.pageCount(1, 100, 42, 42));
+        assertEquals(1, ListNumbersPageSource.pageCount(1, 100, 0, 0));
+        assertEquals(-1, ListNumbersPageSource.pageCount(1, null, 10, 100));
+    }
+
+    @Test
+    public void testFetchAllNumbers() {
+        when(endpoint.listNumbers(any(ListNumbersFilter.class))).thenAnswer(invocation -> {
+            ListNumbersFilter filter = invocation.getArgument(0);
+            int index = filter.getIndex() != null ? filter.getIndex() : 1;
+            return index < 3 ? page(5, "n" + (index * 2 - 1), "n" + index * 2) : page(5, "n5");
+        });
+
+        List<String> msisdns = new PagedIterable<>(new ListNumbersFilter(null, 2, null, null), source).fetchAll(4)
+                .stream()
+                .map(OwnedNumber::getMsisdn)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("n1", "n2", "n3", "n4", "n5"), msisdns);
+    }
+
+    private static ListNumbersResponse page(int count, String... msisdns) {
+        StringBuilder json = new StringBuilder("{\"count\":").append(count).append(",\"numbers\":[");
+        for (int i = 0; i < msisdns.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"msisdn\":\"").append(msisdns[i]).append("\"}");
+        }
+        return ListNumbersResponse.fromJson(json.append("]}").toString());
+    }
+}
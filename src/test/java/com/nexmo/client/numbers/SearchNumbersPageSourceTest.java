@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.numbers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class SearchNumbersPageSourceTest {
+    private final SearchNumbersPageSource source = new SearchNumbersPageSource(mock(SearchNumbersEndpoint.class));
+
+    @Test
+    public void testFirstRequestCopiesFilter() {
+        SearchNumbersFilter filter = filter();
+
+        SearchNumbersFilter first = SearchNumbersPageSource.firstRequest(filter);
+
+        assertNotSame(filter, first);
+        assertEquals(Integer.valueOf(ListNumbersPageSource.DEFAULT_PAGE_SIZE), first.getSize());
+        assertNull(filter.getSize());
+        assertFilterCopied(first);
+    }
+
+    @Test
+    public void testNextPage() {
+        SearchNumbersFilter filter = filter();
+        filter.setSize(2);
+
+        SearchNumbersFilter next = source.next(filter, page(5, "1", "2"));
+
+        assertEquals(Integer.valueOf(2), next.getIndex());
+        assertEquals(Integer.valueOf(2), next.getSize());
+        assertNull(filter.getIndex());
+        assertFilterCopied(next);
+    }
+
+    @Test
+    public void testLastPage() {
+        SearchNumbersFilter filter = filter();
+        filter.setSize(2);
+        filter.setIndex(3);
+
+        assertNull(source.next(filter, page(6, "5", "6")));
+    }
+
+    private static SearchNumbersFilter filter() {
+        SearchNumbersFilter filter = new SearchNumbersFilter("GB");
+        filter.setPattern("447700");
+        filter.setSearchPattern(SearchPattern.STARTS_WITH);
+        filter.setFeatures(new String[]{"SMS"});
+        filter.setType(Type.MOBILE_LVN);
+        return filter;
+    }
+
+    private static void assertFilterCopied(SearchNumbersFilter filter) {
+        assertEquals("GB", filter.getCountry());
+        assertEquals("447700", filter.getPattern());
+        assertEquals(SearchPattern.STARTS_WITH, filter.getSearchPattern());
+        assertArrayEquals(new String[]{"SMS"}, filter.getFeatures());
+        assertEquals(Type.MOBILE_LVN, filter.getType());
+    }
+
+    private static SearchNumbersResponse page(int count, String... msisdns) {
+        StringBuilder json = new StringBuilder("{\"count\":").append(count).append(",\"numbers\":[");
+        for (int i = 0; i < msisdns.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"msisdn\":\"").append(msisdns[i]).append("\"}");
+        }
+        return SearchNumbersResponse.fromJson(json.append("]}").toString());
+    }
+}
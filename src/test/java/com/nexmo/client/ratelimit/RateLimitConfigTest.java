@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.ratelimit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class RateLimitConfigTest {
+    @Test
+    public void testNoneHasNoLimits() {
+        assertNull(RateLimitConfig.none().getLimit(RateLimitConfigTest.class));
+    }
+
+    @Test
+    public void testLimitsAreFoundByEndpointClass() {
+        RateLimiter sms = mock(RateLimiter.class);
+        RateLimiter voice = mock(RateLimiter.class);
+        RateLimitConfig config = RateLimitConfig.builder()
+                .limit(String.class.getName(), sms)
+                .limit(Integer.class.getName(), voice, RateLimitConfig.Mode.TRY)
+                .build();
+
+        assertSame(sms, config.getLimit(String.class).getRateLimiter());
+        assertEquals(RateLimitConfig.Mode.BLOCKING, config.getLimit(String.class).getMode());
+        assertSame(voice, config.getLimit(Integer.class).getRateLimiter());
+        assertEquals(RateLimitConfig.Mode.TRY, config.getLimit(Integer.class).getMode());
+        assertNull(config.getLimit(Long.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLimiterIsRequired() {
+        RateLimitConfig.builder().limit(String.class.getName(), null);
+    }
+}
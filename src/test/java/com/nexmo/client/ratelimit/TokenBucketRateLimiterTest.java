@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.ratelimit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TokenBucketRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong now;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1000 * SECOND);
+    }
+
+    private TokenBucketRateLimiter create(TokenBucketRateLimiter.Builder builder) {
+        return new TokenBucketRateLimiter(builder, now::get);
+    }
+
+    @Test
+    public void testBurstIsAvailableImmediately() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).burst(3));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testPermitsRefillAtConfiguredRate() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).burst(1));
+
+        assertTrue(limiter.tryAcquire());
+        now.addAndGet(SECOND / 20);
+        assertFalse(limiter.tryAcquire());
+        now.addAndGet(SECOND / 20);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testBucketDoesNotExceedBurst() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).burst(2));
+
+        now.addAndGet(60 * SECOND);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testReservationsAreQueued() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).burst(1));
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND / 10, limiter.reserve());
+        assertEquals(2 * SECOND / 10, limiter.reserve());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testPeriodBuilder() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(30, Duration.ofMinutes(1)));
+
+        assertEquals(0.5, limiter.getPermitsPerSecond(), 0.0001);
+    }
+
+    @Test
+    public void testThrottlingHalvesRateOncePerSecond() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(20));
+
+        limiter.onThrottled();
+        assertEquals(10, limiter.getPermitsPerSecond(), 0.0001);
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onThrottled();
+        assertEquals(10, limiter.getPermitsPerSecond(), 0.0001);
+
+        now.addAndGet(SECOND);
+        limiter.onThrottled();
+        assertEquals(5, limiter.getPermitsPerSecond(), 0.0001);
+    }
+
+    @Test
+    public void testThrottlingStopsAtMinimumRate() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(20).minPermitsPerSecond(8));
+
+        limiter.onThrottled();
+        now.addAndGet(SECOND);
+        limiter.onThrottled();
+        assertEquals(8, limiter.getPermitsPerSecond(), 0.0001);
+    }
+
+    @Test
+    public void testSuccessRestoresRate() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(20));
+
+        limiter.onThrottled();
+        limiter.onSuccess();
+        assertEquals(11, limiter.getPermitsPerSecond(), 0.0001);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(20, limiter.getPermitsPerSecond(), 0.0001);
+    }
+
+    @Test
+    public void testNonAdaptiveLimiterIgnoresThrottling() {
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(20).adaptive(false));
+
+        limiter.onThrottled();
+        assertEquals(20, limiter.getPermitsPerSecond(), 0.0001);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testAcquireAsyncCompletesImmediatelyWithPermit() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).scheduler(scheduler));
+
+        assertTrue(limiter.acquireAsync().isDone());
+    }
+
+    @Test
+    public void testAcquireAsyncSchedulesCompletion() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        TokenBucketRateLimiter limiter = create(TokenBucketRateLimiter.builder(10).burst(1).scheduler(scheduler));
+        limiter.acquireAsync();
+
+        CompletableFuture<Void> permit = limiter.acquireAsync();
+
+        assertFalse(permit.isDone());
+        verify(scheduler).schedule(any(Runnable.class), eq(SECOND / 10), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testAcquireBlocksUntilPermitIsAvailable() {
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder(100).burst(1).build();
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        limiter.acquire();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRateMustBePositive() {
+        TokenBucketRateLimiter.builder(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBurstMustBePositive() {
+        TokenBucketRateLimiter.builder(1).burst(0);
+    }
+}
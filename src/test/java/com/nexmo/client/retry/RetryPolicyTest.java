@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.retry;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    private static HttpResponse response(int statusCode) {
+        return new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("1.1", 1, 1), statusCode, "Status"));
+    }
+
+    private static RetryPolicy.Builder noJitter() {
+        return RetryPolicy.builder().jitter(0).retryBudget(null);
+    }
+
+    @Test
+    public void testSafeRequestsAreRetriedByDefault() {
+        RetryPolicy policy = RetryPolicy.defaultPolicy();
+
+        assertTrue(policy.appliesTo(RetryPolicyTest.class, "GET"));
+        assertTrue(policy.appliesTo(RetryPolicyTest.class, "HEAD"));
+        assertFalse(policy.appliesTo(RetryPolicyTest.class, "PUT"));
+        assertFalse(policy.appliesTo(RetryPolicyTest.class, "DELETE"));
+        assertFalse(policy.appliesTo(RetryPolicyTest.class, "POST"));
+    }
+
+    @Test
+    public void testNonIdempotentRequestsAreRetriedWhenEnabled() {
+        RetryPolicy policy = RetryPolicy.builder().retryNonIdempotent(RetryPolicyTest.class.getName()).build();
+
+        assertTrue(policy.appliesTo(RetryPolicyTest.class, "POST"));
+        assertTrue(policy.appliesTo(RetryPolicyTest.class, "PUT"));
+        assertFalse(policy.appliesTo(String.class, "POST"));
+        assertFalse(policy.appliesTo(String.class, "DELETE"));
+    }
+
+    @Test
+    public void testNoneNeverApplies() {
+        assertFalse(RetryPolicy.none().appliesTo(RetryPolicyTest.class, "GET"));
+    }
+
+    @Test
+    public void testExponentialBackoff() {
+        RetryPolicy policy = noJitter().maxAttempts(5).maxBackoff(Duration.ofMillis(1000)).build();
+
+        assertEquals(200, policy.getRetryDelay(1, response(503)));
+        assertEquals(400, policy.getRetryDelay(2, response(503)));
+        assertEquals(800, policy.getRetryDelay(3, response(503)));
+        assertEquals(1000, policy.getRetryDelay(4, response(503)));
+        assertEquals(-1, policy.getRetryDelay(5, response(503)));
+    }
+
+    @Test
+    public void testJitterReducesDelay() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.builder().jitter(0.5).retryBudget(null), () -> 1.0);
+
+        assertEquals(100, policy.getRetryDelay(1, response(500)));
+    }
+
+    @Test
+    public void testOnlyRetryableStatusCodesAreRetried() {
+        RetryPolicy policy = noJitter().build();
+
+        assertEquals(-1, policy.getRetryDelay(1, response(200)));
+        assertEquals(-1, policy.getRetryDelay(1, response(400)));
+        assertTrue(policy.getRetryDelay(1, response(429)) >= 0);
+
+        policy = noJitter().retryableStatusCodes(400).build();
+        assertTrue(policy.getRetryDelay(1, response(400)) >= 0);
+        assertEquals(-1, policy.getRetryDelay(1, response(503)));
+    }
+
+    @Test
+    public void testRetryAfterSeconds() {
+        RetryPolicy policy = noJitter().build();
+        HttpResponse response = response(429);
+        response.setHeader("Retry-After", "3");
+
+        assertEquals(3000, policy.getRetryDelay(1, response));
+    }
+
+    @Test
+    public void testRetryAfterDate() {
+        RetryPolicy policy = noJitter().build();
+        HttpResponse response = response(503);
+        response.setHeader("Retry-After", DateUtils.formatDate(new Date(System.currentTimeMillis() + 5000)));
+
+        long delay = policy.getRetryDelay(1, response);
+        assertTrue(delay > 3000 && delay <= 5000);
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxBackoffIsNotRetried() {
+        RetryPolicy policy = noJitter().maxBackoff(Duration.ofSeconds(2)).build();
+        HttpResponse response = response(429);
+        response.setHeader("Retry-After", "60");
+
+        assertEquals(-1, policy.getRetryDelay(1, response));
+    }
+
+    @Test
+    public void testRetryAfterIgnoredWhenDisabled() {
+        RetryPolicy policy = noJitter().honorRetryAfter(false).build();
+        HttpResponse response = response(429);
+        response.setHeader("Retry-After", "60");
+
+        assertEquals(200, policy.getRetryDelay(1, response));
+    }
+
+    @Test
+    public void testFailures() {
+        RetryPolicy policy = noJitter().build();
+
+        assertEquals(200, policy.getRetryDelay(1, new ConnectTimeoutException()));
+        assertEquals(-1, policy.getRetryDelay(1, new UnknownHostException()));
+        assertEquals(-1, policy.getRetryDelay(1, new SSLHandshakeException("bad certificate")));
+    }
+
+    @Test
+    public void testBudgetLimitsRetries() {
+        RetryPolicy policy = RetryPolicy.builder().jitter(0).retryBudget(new RetryBudget(0.5, 1)).build();
+
+        assertEquals(200, policy.getRetryDelay(1, response(503)));
+        assertEquals(-1, policy.getRetryDelay(1, response(503)));
+
+        policy.onRequest();
+        policy.onRequest();
+        assertEquals(200, policy.getRetryDelay(1, response(503)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxAttemptsMustBePositive() {
+        RetryPolicy.builder().maxAttempts(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJitterMustBeAProportion() {
+        RetryPolicy.builder().jitter(1.5);
+    }
+}
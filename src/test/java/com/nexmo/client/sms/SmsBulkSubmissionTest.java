@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms;
+
+import com.nexmo.client.NexmoClientException;
+import com.nexmo.client.sms.messages.Message;
+import com.nexmo.client.sms.messages.TextMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SmsBulkSubmissionTest {
+    private List<Message> messages;
+    private List<CompletableFuture<SmsSubmissionResponse>> requests;
+
+    @Before
+    public void setUp() {
+        messages = IntStream.range(0, 10)
+                .mapToObj(i -> new TextMessage("Nexmo", "44770090000" + i, "Message " + i))
+                .collect(Collectors.toList());
+        requests = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    private SmsBulkSubmission submission(int maxInFlight) {
+        return new SmsBulkSubmission(messages.iterator(), message -> {
+            CompletableFuture<SmsSubmissionResponse> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+        }, maxInFlight);
+    }
+
+    private static SmsSubmissionResponse response(String status) {
+        return SmsSubmissionResponse.fromJson("{\"message-count\":1,\"messages\":[{\"to\":\"447700900000\","
+                + "\"message-id\":\"message-id-1\",\"status\":\"" + status + "\"}]}");
+    }
+
+    @Test
+    public void testNothingIsSentUntilIterated() {
+        submission(3);
+
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testInFlightWindowIsRespected() {
+        SmsBulkSubmission submission = submission(3);
+
+        assertTrue(submission.hasNext());
+        assertEquals(3, requests.size());
+
+        requests.get(1).complete(response("0"));
+        SmsBulkResult result = submission.next();
+        assertEquals(1, result.getIndex());
+        assertSame(messages.get(1), result.getMessage());
+        assertTrue(result.isSuccess());
+        assertEquals(4, requests.size());
+        assertEquals(3, submission.getStats().getInFlight());
+    }
+
+    @Test
+    public void testAllResultsAreProvided() {
+        SmsBulkSubmission submission = submission(4);
+        int consumed = 0;
+        while (submission.hasNext()) {
+            synchronized (requests) {
+                requests.forEach(request -> request.complete(response("0")));
+            }
+            submission.next();
+            consumed++;
+        }
+
+        assertEquals(10, consumed);
+        assertEquals(10, submission.getStats().getSubmitted());
+        assertEquals(10, submission.getStats().getSucceeded());
+        assertEquals(0, submission.getStats().getInFlight());
+    }
+
+    @Test
+    public void testErrorsAreReportedPerMessage() {
+        messages = messages.subList(0, 2);
+        SmsBulkSubmission submission = submission(2);
+        assertTrue(submission.hasNext());
+
+        NexmoClientException failure = new NexmoClientException("Failed");
+        requests.get(0).completeExceptionally(failure);
+        requests.get(1).complete(response("6"));
+
+        SmsBulkResult first = submission.next();
+        SmsBulkResult second = submission.next();
+        assertFalse(first.isSuccess());
+        assertSame(failure, first.getError());
+        assertNull(first.getResponse());
+        assertFalse(second.isSuccess());
+        assertNull(second.getError());
+        assertEquals(MessageStatus.INVALID_MESSAGE, second.getResponse().getMessages().get(0).getStatus());
+        assertEquals(2, submission.getStats().getFailed());
+        assertFalse(submission.hasNext());
+    }
+
+    @Test
+    public void testSubmitterExceptionIsReportedPerMessage() {
+        NexmoClientException failure = new NexmoClientException("No auth");
+        SmsBulkSubmission submission = new SmsBulkSubmission(messages.subList(0, 1).iterator(), message -> {
+            throw failure;
+        }, 1);
+
+        assertSame(failure, submission.next().getError());
+        assertFalse(submission.hasNext());
+    }
+
+    @Test
+    public void testStream() {
+        SmsBulkSubmission submission = new SmsBulkSubmission(messages.iterator(),
+                message -> CompletableFuture.completedFuture(response("0")),
+                5
+        );
+
+        assertEquals(10, submission.stream().filter(SmsBulkResult::isSuccess).count());
+        assertEquals(10, submission.getStats().getCompleted());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterLastResult() {
+        SmsBulkSubmission submission = new SmsBulkSubmission(Collections.<Message>emptyIterator(),
+                message -> CompletableFuture.completedFuture(response("0")),
+                5
+        );
+
+        submission.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxInFlightMustBePositive() {
+        submission(0);
+    }
+}
@@ -21,7 +21,13 @@
  */
 package com.nexmo.client.sms.callback;
 
+import com.nexmo.client.auth.RequestSigning;
+import com.nexmo.client.auth.SignatureVerifier;
+import com.nexmo.client.incoming.ConsumerConfig;
+import com.nexmo.client.incoming.IdempotencyFilter;
 import com.nexmo.client.sms.callback.messages.MO;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
 import org.junit.Test;
 
 import javax.servlet.ServletException;
@@ -30,11 +36,22 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 
@@ -62,6 +79,23 @@ class TestMOServlet extends AbstractMOServlet {
         this.consumer = new SynchronousExecutor();
     }
 
+    TestMOServlet(final SignatureVerifier signatureVerifier) {
+        super(signatureVerifier, false, null, null);
+        this.consumer = new SynchronousExecutor();
+    }
+
+    TestMOServlet(final ConsumerConfig consumerConfig) {
+        super(null, false, null, null, consumerConfig);
+    }
+
+    TestMOServlet(final SignatureVerifier signatureVerifier, final ConsumerConfig consumerConfig) {
+        super(signatureVerifier, false, null, null, consumerConfig);
+    }
+
+    TestMOServlet(final ConsumerConfig consumerConfig, final MessageReassembler reassembler) {
+        super(null, false, null, null, consumerConfig, reassembler);
+    }
+
     @Override
     public void consume(MO mo) {
         this.result = mo;
@@ -372,4 +406,302 @@ public class AbstractMOServletTest {
 
         return request;
     }
+
+    @Test
+    public void testHandleSignedRequest() throws IOException, ServletException {
+        HttpServletRequest request = signedTextRequest("secret");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter dummyResponseWriter = new StringWriter();
+
+        when(response.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+
+        TestMOServlet servlet = new TestMOServlet(true, "secret", false, null, null);
+        servlet.doPost(request, response);
+        assertEquals("OK", dummyResponseWriter.toString());
+        assertEquals("Dear John", servlet.result.getMessageBody());
+    }
+
+    @Test
+    public void testHandleBadSignature() throws IOException, ServletException {
+        HttpServletRequest request = signedTextRequest("other secret");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        new TestMOServlet(true, "secret", false, null, null).doPost(request, response);
+        verify(response, atLeastOnce()).sendError(400, "Bad Signature");
+    }
+
+    @Test
+    public void testHandleReplayedSignedRequest() throws IOException, ServletException {
+        HttpServletRequest request = signedTextRequest("secret");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+
+        TestMOServlet servlet = new TestMOServlet(SignatureVerifier.builder("secret").build());
+        servlet.doPost(request, response);
+        verify(response, never()).sendError(anyInt(), anyString());
+
+        servlet.doPost(request, response);
+        verify(response).sendError(400, "Bad Signature");
+    }
+
+    @Test
+    public void testRefusedSignedRequestCanBeRetried() throws IOException, ServletException {
+        List<Runnable> queued = new ArrayList<>();
+        TestMOServlet servlet = new TestMOServlet(SignatureVerifier.builder("secret").build(),
+                ConsumerConfig.builder().executor(queued::add).maxPending(1).build());
+
+        HttpServletResponse first = mock(HttpServletResponse.class);
+        when(first.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        servlet.doPost(signedTextRequest("secret", "firstid"), first);
+        verify(first, never()).sendError(anyInt(), anyString());
+
+        HttpServletRequest request = signedTextRequest("secret", "secondid");
+        HttpServletResponse refused = mock(HttpServletResponse.class);
+        servlet.doPost(request, refused);
+        verify(refused).sendError(503, "Too many pending messages");
+
+        queued.remove(0).run();
+        HttpServletResponse retried = mock(HttpServletResponse.class);
+        StringWriter dummyResponseWriter = new StringWriter();
+        when(retried.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+        servlet.doPost(request, retried);
+        verify(retried, never()).sendError(anyInt(), anyString());
+        assertEquals("OK", dummyResponseWriter.toString());
+
+        queued.remove(0).run();
+        assertEquals("secondid", servlet.result.getMessageId());
+    }
+
+    private HttpServletRequest signedTextRequest(String secret) {
+        return signedTextRequest(secret, "messageid");
+    }
+
+    private HttpServletRequest signedTextRequest(String secret, String messageId) {
+        HttpServletRequest request = dummyTextRequest();
+
+        List<NameValuePair> params = new ArrayList<>();
+        params.add(new BasicNameValuePair("msisdn", "anisdn"));
+        params.add(new BasicNameValuePair("to", "to"));
+        params.add(new BasicNameValuePair("messageId", messageId));
+        params.add(new BasicNameValuePair("type", "text"));
+        params.add(new BasicNameValuePair("text", "Dear John"));
+        params.add(new BasicNameValuePair("message-timestamp", "2016-11-07 06:05:04"));
+        RequestSigning.constructSignatureForRequestParameters(params, secret);
+
+        Map<String, String[]> parameterMap = new HashMap<>();
+        for (NameValuePair param : params) {
+            parameterMap.put(param.getName(), new String[]{param.getValue()});
+            when(request.getParameter(param.getName())).thenReturn(param.getValue());
+        }
+        when(request.getParameterMap()).thenReturn(parameterMap);
+
+        return request;
+    }
+
+    @Test
+    public void testRejectsWhenTooManyPending() throws IOException, ServletException {
+        List<Runnable> queued = new ArrayList<>();
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder().executor(queued::add).maxPending(1).build());
+
+        HttpServletResponse accepted = mock(HttpServletResponse.class);
+        StringWriter dummyResponseWriter = new StringWriter();
+        when(accepted.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+        servlet.doPost(dummyTextRequest(), accepted);
+        assertEquals("OK", dummyResponseWriter.toString());
+
+        HttpServletResponse refused = mock(HttpServletResponse.class);
+        servlet.doPost(dummyTextRequest(), refused);
+        verify(refused).sendError(503, "Too many pending messages");
+        verify(refused, never()).setHeader(eq("Retry-After"), anyString());
+
+        ConsumerStats stats = servlet.getConsumerStats();
+        assertEquals(1, stats.getPending());
+        assertEquals(1, stats.getRejected());
+        assertEquals(0, stats.getConsumed());
+        assertNull(servlet.result);
+
+        queued.get(0).run();
+        stats = servlet.getConsumerStats();
+        assertEquals(0, stats.getPending());
+        assertEquals(1, stats.getConsumed());
+        assertEquals("Dear John", servlet.result.getMessageBody());
+    }
+
+    @Test
+    public void testRejectsWithTooManyRequestsAndRetryAfter() throws IOException, ServletException {
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder()
+                .executor(command -> {
+                    throw new RejectedExecutionException();
+                })
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.TOO_MANY_REQUESTS)
+                .retryAfter(Duration.ofSeconds(30))
+                .build());
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(dummyTextRequest(), response);
+        verify(response).setHeader("Retry-After", "30");
+        verify(response).sendError(429, "Too many pending messages");
+
+        // The permit taken for the rejected task is returned
+        assertEquals(0, servlet.getConsumerStats().getPending());
+        assertEquals(1, servlet.getConsumerStats().getRejected());
+    }
+
+    @Test
+    public void testCallerRunsWhenTooManyPending() throws IOException, ServletException {
+        List<Runnable> queued = new ArrayList<>();
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder()
+                .executor(queued::add)
+                .maxPending(1)
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.CALLER_RUNS)
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            HttpServletResponse response = mock(HttpServletResponse.class);
+            StringWriter dummyResponseWriter = new StringWriter();
+            when(response.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+            servlet.doPost(dummyTextRequest(), response);
+            assertEquals("OK", dummyResponseWriter.toString());
+        }
+
+        assertEquals(1, queued.size());
+        ConsumerStats stats = servlet.getConsumerStats();
+        assertEquals(1, stats.getPending());
+        assertEquals(1, stats.getConsumed());
+        assertEquals(0, stats.getRejected());
+        assertEquals("Dear John", servlet.result.getMessageBody());
+    }
+
+    @Test
+    public void testConsumeFailureIsRecorded() throws IOException, ServletException {
+        RuntimeException failure = new RuntimeException("Database unavailable");
+        Throwable[] reported = new Throwable[1];
+        AbstractMOServlet servlet = new AbstractMOServlet(null, false, null, null, ConsumerConfig.builder()
+                .executor(new SynchronousExecutor())
+                .build()) {
+            @Override
+            public void consume(MO mo) {
+                throw failure;
+            }
+
+            @Override
+            protected void onConsumed(MO mo, long waitNanos, long consumeNanos, Throwable failure) {
+                reported[0] = failure;
+            }
+        };
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        servlet.doPost(dummyTextRequest(), response);
+
+        assertSame(failure, reported[0]);
+        ConsumerStats stats = servlet.getConsumerStats();
+        assertEquals(0, stats.getConsumed());
+        assertEquals(1, stats.getFailed());
+        assertEquals(0, stats.getPending());
+    }
+
+    @Test
+    public void testDestroyWaitsForPendingMessages() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AbstractMOServlet servlet = new AbstractMOServlet(null, false, null, null, ConsumerConfig.defaultConfig()) {
+            @Override
+            public void consume(MO mo) {
+                started.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        servlet.doPost(dummyTextRequest(), response);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        servlet.destroy();
+        assertEquals(1, servlet.getConsumerStats().getConsumed());
+        assertEquals(0, servlet.getConsumerStats().getPending());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMaxPendingRejected() {
+        ConsumerConfig.builder().maxPending(0);
+    }
+
+    @Test
+    public void testReassemblesConcatenatedMessages() throws IOException, ServletException {
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder().executor(new SynchronousExecutor()).build(),
+                MessageReassembler.builder().build());
+
+        HttpServletRequest second = dummyTextRequest();
+        when(second.getParameter("text")).thenReturn("Doe");
+        when(second.getParameter("concat")).thenReturn("true");
+        when(second.getParameter("concat-ref")).thenReturn("ref");
+        when(second.getParameter("concat-total")).thenReturn("2");
+        when(second.getParameter("concat-part")).thenReturn("2");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter dummyResponseWriter = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+        servlet.doPost(second, response);
+        assertEquals("OK", dummyResponseWriter.toString());
+        assertNull(servlet.result);
+        assertEquals(0, servlet.getConsumerStats().getPending());
+
+        HttpServletRequest first = dummyTextRequest();
+        when(first.getParameter("text")).thenReturn("Dear John ");
+        when(first.getParameter("concat")).thenReturn("true");
+        when(first.getParameter("concat-ref")).thenReturn("ref");
+        when(first.getParameter("concat-total")).thenReturn("2");
+        when(first.getParameter("concat-part")).thenReturn("1");
+        response = mock(HttpServletResponse.class);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        servlet.doPost(first, response);
+
+        assertEquals("Dear John Doe", servlet.result.getMessageBody());
+        assertTrue(servlet.result.isReassembled());
+        assertEquals(1, servlet.getConsumerStats().getConsumed());
+    }
+
+    @Test
+    public void testSkipsDuplicateMessages() throws IOException, ServletException {
+        List<Runnable> queued = new ArrayList<>();
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder()
+                .executor(queued::add)
+                .idempotencyFilter(IdempotencyFilter.builder().build())
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            HttpServletResponse response = mock(HttpServletResponse.class);
+            StringWriter dummyResponseWriter = new StringWriter();
+            when(response.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+            servlet.doPost(dummyTextRequest(), response);
+            assertEquals("OK", dummyResponseWriter.toString());
+        }
+
+        assertEquals(1, queued.size());
+        assertEquals(1, servlet.getConsumerStats().getDuplicates());
+        assertEquals(1, servlet.getConsumerStats().getPending());
+    }
+
+    @Test
+    public void testRecordedMessageIsNotRefused() throws IOException, ServletException {
+        TestMOServlet servlet = new TestMOServlet(ConsumerConfig.builder()
+                .executor(command -> {
+                    throw new RejectedExecutionException();
+                })
+                .idempotencyFilter(IdempotencyFilter.builder().build())
+                .build());
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter dummyResponseWriter = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(dummyResponseWriter));
+        servlet.doPost(dummyTextRequest(), response);
+
+        assertEquals("OK", dummyResponseWriter.toString());
+        assertEquals("Dear John", servlet.result.getMessageBody());
+        assertEquals(0, servlet.getConsumerStats().getRejected());
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import com.nexmo.client.sms.callback.messages.MO;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryConcatenationStoreTest {
+    private static MO part(int total, int number) {
+        MO mo = new MO("id-" + number, MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null);
+        mo.setConcatenationData("ref", total, number);
+        return mo;
+    }
+
+    @Test
+    public void testReturnsPartsInOrderWhenComplete() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore();
+        MO first = part(3, 1);
+        MO second = part(3, 2);
+        MO third = part(3, 3);
+
+        assertNull(store.add("key", second, 100));
+        assertNull(store.add("key", third, 200));
+        assertEquals(2, store.size());
+
+        List<MO> parts = store.add("key", first, 300);
+        assertEquals(3, parts.size());
+        assertSame(first, parts.get(0));
+        assertSame(second, parts.get(1));
+        assertSame(third, parts.get(2));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testIgnoresPartBeyondOriginalTotal() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore();
+
+        assertNull(store.add("key", part(2, 1), 100));
+        assertNull(store.add("key", part(3, 3), 100));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testIgnoresPartWithDifferentTotal() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore();
+
+        assertNull(store.add("key", part(3, 1), 100));
+        assertNull(store.add("key", part(2, 2), 100));
+        assertEquals(1, store.size());
+        assertNull(store.add("key", part(3, 2), 100));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testExpiresByFirstPartTime() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore();
+
+        assertNull(store.add("a", part(2, 1), 100));
+        assertNull(store.add("b", part(2, 1), 200));
+        // Later parts don't extend the expiry
+        assertNull(store.add("a", part(3, 3), 300));
+
+        assertTrue(store.removeExpired(99).isEmpty());
+        List<List<MO>> expired = store.removeExpired(150);
+        assertEquals(1, expired.size());
+        assertEquals(1, expired.get(0).size());
+        assertEquals(1, store.size());
+
+        assertEquals(1, store.removeExpired(200).size());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testDiscardsOldestMessagesWhenFull() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore(3);
+
+        assertNull(store.add("a", part(3, 1), 100));
+        assertNull(store.add("a", part(3, 2), 100));
+        assertNull(store.add("b", part(3, 1), 200));
+        assertNull(store.add("b", part(3, 2), 200));
+        assertEquals(2, store.size());
+
+        List<List<MO>> discarded = store.removeExpired(0);
+        assertEquals(1, discarded.size());
+        assertEquals(2, discarded.get(0).size());
+        assertTrue(store.removeExpired(0).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMaxPartsRejected() {
+        new InMemoryConcatenationStore(0);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.sms.callback;
+
+import com.nexmo.client.sms.callback.messages.MO;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MessageReassemblerTest {
+    private final AtomicLong now = new AtomicLong(1000000);
+
+    private MessageReassembler reassembler(MessageReassembler.Builder builder) {
+        return new MessageReassembler(builder, now::get);
+    }
+
+    private static MO textPart(String sender, String reference, int total, int part, String text) {
+        MO mo = new MO("id-" + reference + "-" + part,
+                MO.MESSAGE_TYPE.TEXT,
+                sender,
+                "447700900000",
+                new BigDecimal("0.01"),
+                new Date(1000L * part));
+        mo.setTextData(text, "KEYWORD" + part);
+        mo.setConcatenationData(reference, total, part);
+        mo.setNetworkCode("23410");
+        return mo;
+    }
+
+    @Test
+    public void testPassesThroughUnconcatenatedMessages() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder());
+        MO mo = new MO("id", MO.MESSAGE_TYPE.TEXT, "447700900001", "447700900000", null, null);
+        assertSame(mo, reassembler.add(mo));
+
+        MO invalid = textPart("447700900001", "ref", 2, 3, "Out of range");
+        assertSame(invalid, reassembler.add(invalid));
+    }
+
+    @Test
+    public void testReassemblesPartsInAnyOrder() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder());
+
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 3, "jumped.")));
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 1, "The quick brown fox ")));
+        // A repeated part replaces the first copy rather than counting twice
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 1, "The quick brown fox ")));
+        MO mo = reassembler.add(textPart("447700900001", "ref", 3, 2, "has "));
+
+        assertEquals("The quick brown fox has jumped.", mo.getMessageBody());
+        assertEquals("id-ref-1", mo.getMessageId());
+        assertEquals("KEYWORD1", mo.getKeyword());
+        assertEquals("23410", mo.getNetworkCode());
+        assertEquals(new Date(1000), mo.getTimeStamp());
+        assertEquals(new BigDecimal("0.03"), mo.getPrice());
+        assertTrue(mo.isConcat());
+        assertTrue(mo.isReassembled());
+        assertFalse(mo.isPartial());
+        assertEquals(3, mo.getReassembledParts());
+        assertEquals(3, mo.getConcatTotalParts());
+        assertEquals("ref", mo.getConcatReferenceNumber());
+    }
+
+    @Test
+    public void testKeepsSendersSeparate() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder());
+
+        assertNull(reassembler.add(textPart("447700900001", "ref", 2, 1, "Hello ")));
+        assertNull(reassembler.add(textPart("447700900002", "ref", 2, 2, "you")));
+        assertEquals("Hello world", reassembler.add(textPart("447700900001", "ref", 2, 2, "world")).getMessageBody());
+        assertEquals("Hi you", reassembler.add(textPart("447700900002", "ref", 2, 1, "Hi ")).getMessageBody());
+    }
+
+    @Test
+    public void testReassemblesBinaryParts() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder());
+
+        MO first = new MO("id-1", MO.MESSAGE_TYPE.BINARY, "447700900001", "447700900000", null, null);
+        first.setBinaryData(new byte[]{1, 2}, new byte[]{5, 0, 3, 1, 2, 1});
+        first.setConcatenationData("ref", 2, 1);
+        MO second = new MO("id-2", MO.MESSAGE_TYPE.BINARY, "447700900001", "447700900000", null, null);
+        second.setBinaryData(new byte[]{3}, new byte[]{5, 0, 3, 1, 2, 2});
+        second.setConcatenationData("ref", 2, 2);
+
+        assertNull(reassembler.add(second));
+        MO mo = reassembler.add(first);
+        assertArrayEquals(new byte[]{1, 2, 3}, mo.getBinaryMessageBody());
+        assertArrayEquals(new byte[]{5, 0, 3, 1, 2, 1}, mo.getUserDataHeader());
+        assertNull(mo.getPrice());
+    }
+
+    @Test
+    public void testEmitsPartialMessageAfterTimeout() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder().timeout(Duration.ofSeconds(30)));
+
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 1, "The quick ")));
+        now.addAndGet(10000);
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 3, "jumped.")));
+
+        now.addAndGet(19999);
+        assertTrue(reassembler.removeExpired().isEmpty());
+
+        now.addAndGet(1);
+        List<MO> expired = reassembler.removeExpired();
+        assertEquals(1, expired.size());
+        MO mo = expired.get(0);
+        assertEquals("The quick jumped.", mo.getMessageBody());
+        assertTrue(mo.isPartial());
+        assertEquals(2, mo.getReassembledParts());
+        assertEquals(3, mo.getConcatTotalParts());
+
+        // A late part starts again
+        assertNull(reassembler.add(textPart("447700900001", "ref", 3, 2, "fox ")));
+        assertTrue(reassembler.removeExpired().isEmpty());
+    }
+
+    @Test
+    public void testDiscardsPartialMessagesWhenConfigured() {
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder().emitPartials(false));
+
+        assertNull(reassembler.add(textPart("447700900001", "ref", 2, 1, "The quick ")));
+        now.addAndGet(60000);
+        assertTrue(reassembler.removeExpired().isEmpty());
+    }
+
+    @Test
+    public void testUsesSuppliedStore() {
+        InMemoryConcatenationStore store = new InMemoryConcatenationStore(2);
+        MessageReassembler reassembler = reassembler(MessageReassembler.builder().store(store));
+
+        assertNull(reassembler.add(textPart("447700900001", "a", 2, 1, "First")));
+        assertNull(reassembler.add(textPart("447700900002", "b", 2, 1, "Second")));
+        assertNull(reassembler.add(textPart("447700900003", "c", 2, 1, "Third")));
+        assertEquals(2, store.size());
+
+        // The oldest message was discarded to stay within bounds, so is emitted before its timeout
+        List<MO> expired = reassembler.removeExpired();
+        assertEquals(1, expired.size());
+        assertEquals("First", expired.get(0).getMessageBody());
+        assertTrue(expired.get(0).isPartial());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTimeoutRejected() {
+        MessageReassembler.builder().timeout(Duration.ZERO);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CallBatchExecutorTest {
+    private static List<String> uuids(int count) {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            uuids.add("uuid-" + i);
+        }
+        return uuids;
+    }
+
+    @Test
+    public void testResultsInInputOrder() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CallBatchResult<String> result = new CallBatchExecutor().execute(uuids(50), uuid ->
+                    CompletableFuture.supplyAsync(() -> "done " + uuid, executor), 8);
+
+            assertEquals(50, result.getResults().size());
+            assertEquals(50, result.getSucceeded());
+            assertEquals(0, result.getFailed());
+            assertTrue(result.isSuccessful());
+            for (int i = 0; i < 50; i++) {
+                CallOperationResult<String> item = result.getResults().get(i);
+                assertEquals("uuid-" + i, item.getUuid());
+                assertEquals("done uuid-" + i, item.getResponse());
+                assertSame(item, result.getResult("uuid-" + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBoundedParallelism() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        try {
+            CallBatchResult<Integer> result = new CallBatchExecutor().execute(uuids(40), uuid -> {
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(5);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    inFlight.decrementAndGet();
+                    return current;
+                }, executor);
+            }, 3);
+
+            assertEquals(40, result.getSucceeded());
+            assertTrue(maxInFlight.get() <= 3);
+            assertTrue(maxInFlight.get() > 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailuresDoNotStopTheBatch() {
+        final IllegalStateException thrown = new IllegalStateException("thrown");
+        final IllegalStateException failed = new IllegalStateException("failed");
+        CallBatchResult<String> result = new CallBatchExecutor().execute(uuids(3), uuid -> {
+            if (uuid.equals("uuid-0")) {
+                throw thrown;
+            }
+            CompletableFuture<String> future = new CompletableFuture<>();
+            if (uuid.equals("uuid-1")) {
+                future.completeExceptionally(new CompletionException(failed));
+            } else {
+                future.complete("ok");
+            }
+            return future;
+        }, 1);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertFalse(result.isSuccessful());
+        assertSame(thrown, result.getResult("uuid-0").getException());
+        assertSame(failed, result.getResult("uuid-1").getException());
+        assertNull(result.getResult("uuid-1").getResponse());
+        assertEquals("ok", result.getResult("uuid-2").getResponse());
+    }
+
+    @Test
+    public void testDuplicateUuidsAppliedOnce() {
+        final AtomicInteger requests = new AtomicInteger();
+        CallBatchResult<String> result = new CallBatchExecutor().execute(Arrays.asList("a", "b", "a"), uuid -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(uuid);
+        }, 2);
+
+        assertEquals(2, requests.get());
+        assertEquals(2, result.getResults().size());
+        assertNull(result.getResult("c"));
+    }
+
+    @Test
+    public void testLatencyStatistics() {
+        final AtomicLong now = new AtomicLong();
+        CallBatchExecutor executor = new CallBatchExecutor(now::get);
+
+        // Each request completes synchronously, taking (index + 1) * 10ms of simulated time.
+        CallBatchResult<String> result = executor.execute(uuids(4), uuid -> {
+            int index = Integer.parseInt(uuid.substring(5));
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos((index + 1) * 10));
+            return CompletableFuture.completedFuture(uuid);
+        }, 4);
+
+        assertEquals(Duration.ofMillis(100), result.getElapsed());
+        assertEquals(Duration.ofMillis(25), result.getMeanLatency());
+        assertEquals(Duration.ofMillis(40), result.getMaxLatency());
+        assertEquals(Duration.ofMillis(20), result.getLatencyPercentile(50));
+        assertEquals(Duration.ofMillis(40), result.getLatencyPercentile(99));
+        assertEquals(Duration.ofMillis(10), result.getLatencyPercentile(0));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        CallBatchResult<String> result = new CallBatchExecutor().execute(Collections.<String>emptyList(), uuid -> {
+            throw new AssertionError();
+        }, 1);
+        assertTrue(result.getResults().isEmpty());
+        assertTrue(result.isSuccessful());
+        assertEquals(Duration.ZERO, result.getMeanLatency());
+        assertEquals(Duration.ZERO, result.getLatencyPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new CallBatchExecutor().execute(uuids(1), uuid -> CompletableFuture.completedFuture(uuid), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new CallBatchExecutor().execute(uuids(1), uuid -> CompletableFuture.completedFuture(uuid), 1)
+                .getLatencyPercentile(101);
+    }
+
+    @Test
+    public void testRequestsCopiedPerCall() {
+        TalkRequest talk = new TalkRequest("original", "Hello", VoiceName.AMY, 2);
+        TalkRequest copy = talk.withUuid("other");
+        assertEquals("other", copy.getUuid());
+        assertEquals(talk.toJson(), copy.toJson());
+
+        StreamRequest stream = new StreamRequest("original", "https://example.com/hold.mp3", 0);
+        StreamRequest streamCopy = stream.withUuid("other");
+        assertEquals("other", streamCopy.getUuid());
+        assertEquals(stream.toJson(), streamCopy.toJson());
+    }
+}
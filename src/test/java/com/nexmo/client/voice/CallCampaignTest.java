@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.ratelimit.RateLimiter;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CallCampaignTest {
+    private final BlockingQueue<String> created = new LinkedBlockingQueue<>();
+    private final AtomicInteger permits = new AtomicInteger();
+
+    private final RateLimiter countingLimiter = new RateLimiter() {
+        @Override
+        public void acquire() {
+            permits.incrementAndGet();
+        }
+
+        @Override
+        public boolean tryAcquire() {
+            permits.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<Void> acquireAsync() {
+            permits.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void onThrottled() {
+        }
+
+        @Override
+        public void onSuccess() {
+        }
+    };
+
+    private static List<Call> calls(int count) {
+        List<Call> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            calls.add(new Call("44770090" + String.format("%04d", i), "447700900000", "https://example.com/answer"));
+        }
+        return calls;
+    }
+
+    private static CompletableFuture<CallEvent> created(String uuid) {
+        CallEvent event = new CallEvent();
+        event.setUuid(uuid);
+        event.setStatus(CallStatus.STARTED);
+        return CompletableFuture.completedFuture(event);
+    }
+
+    private static com.nexmo.client.incoming.CallEvent event(String uuid, String status) {
+        return com.nexmo.client.incoming.CallEvent.fromJson(
+                "{\"uuid\":\"" + uuid + "\",\"status\":\"" + status + "\"}");
+    }
+
+    private DialerConfig.Builder config() {
+        return DialerConfig.builder().rateLimiter(countingLimiter);
+    }
+
+    private CallCampaign start(Iterator<? extends Call> calls, DialerConfig config) {
+        final AtomicInteger index = new AtomicInteger();
+        CallCampaign campaign = new CallCampaign(calls, call -> {
+            String uuid = "uuid-" + index.getAndIncrement();
+            created.add(uuid);
+            return created(uuid);
+        }, config);
+        campaign.start();
+        return campaign;
+    }
+
+    private String nextCreated() throws InterruptedException {
+        String uuid = created.poll(5, TimeUnit.SECONDS);
+        assertNotNull("Timed out waiting for a call to be created", uuid);
+        return uuid;
+    }
+
+    private String nextPlaced(CallCampaign campaign) throws InterruptedException {
+        String uuid = nextCreated();
+        awaitPlaced(campaign, Long.parseLong(uuid.substring(uuid.indexOf('-') + 1)) + 1);
+        return uuid;
+    }
+
+    private static void awaitPlaced(CallCampaign campaign, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (campaign.getStats().getPlaced() + campaign.getStats().getFailed() < expected) {
+            assertTrue("Timed out waiting for a call to be placed", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testPlacesCallsAndTracksCompletion() throws Exception {
+        CallCampaign campaign = start(calls(4).iterator(), config().maxLiveCalls(4).build());
+
+        for (int i = 0; i < 4; i++) {
+            String uuid = nextPlaced(campaign);
+            assertTrue(campaign.onEvent(event(uuid, "ringing")));
+            if (i % 2 == 0) {
+                assertTrue(campaign.onEvent(event(uuid, "answered")));
+                assertTrue(campaign.onEvent(event(uuid, "completed")));
+            } else {
+                assertTrue(campaign.onEvent(event(uuid, "busy")));
+            }
+        }
+
+        CallCampaignStats stats = campaign.getCompletion().get(5, TimeUnit.SECONDS);
+        assertTrue(campaign.isDone());
+        assertEquals(4, stats.getPlaced());
+        assertEquals(0, stats.getFailed());
+        assertEquals(0, stats.getLive());
+        assertEquals(2, stats.getAnswered());
+        assertEquals(2, stats.getUnanswered());
+        assertEquals(4, stats.getCompleted());
+        assertEquals(0.5, stats.getConnectRate(), 0.0001);
+        assertEquals(4, permits.get());
+    }
+
+    @Test
+    public void testMaxLiveCalls() throws Exception {
+        CallCampaign campaign = start(calls(3).iterator(), config().maxLiveCalls(2).build());
+
+        String first = nextPlaced(campaign);
+        nextPlaced(campaign);
+        assertNull(created.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(2, campaign.getStats().getLive());
+
+        campaign.onEvent(event(first, "completed"));
+        String third = nextCreated();
+        assertEquals("uuid-2", third);
+        assertFalse(campaign.isDone());
+    }
+
+    @Test
+    public void testEventsAfterCompletionAreIgnored() throws Exception {
+        CallCampaign campaign = start(calls(1).iterator(), config().build());
+        String uuid = nextPlaced(campaign);
+        assertTrue(campaign.onEvent(event(uuid, "completed")));
+        campaign.awaitCompletion();
+
+        assertFalse(campaign.onEvent(event(uuid, "completed")));
+        assertFalse(campaign.onEvent(event("unknown", "answered")));
+        assertEquals(1, campaign.getStats().getUnanswered());
+    }
+
+    @Test
+    public void testMachineDetection() throws Exception {
+        CallCampaign campaign = start(calls(1).iterator(), config().build());
+        String uuid = nextPlaced(campaign);
+        campaign.onEvent(event(uuid, "machine"));
+        campaign.onEvent(event(uuid, "completed"));
+
+        CallCampaignStats stats = campaign.awaitCompletion();
+        assertEquals(1, stats.getAnswered());
+        assertEquals(1, stats.getMachine());
+    }
+
+    @Test
+    public void testFailedCreateFreesPlace() throws Exception {
+        final AtomicInteger index = new AtomicInteger();
+        CallCampaign campaign = new CallCampaign(calls(3).iterator(), call -> {
+            int i = index.getAndIncrement();
+            if (i == 0) {
+                throw new IllegalStateException("boom");
+            }
+            if (i == 1) {
+                CompletableFuture<CallEvent> failure = new CompletableFuture<>();
+                failure.completeExceptionally(new IllegalStateException("bang"));
+                return failure;
+            }
+            created.add("uuid-" + i);
+            return created("uuid-" + i);
+        }, config().maxLiveCalls(1).build());
+        campaign.start();
+
+        String uuid = nextPlaced(campaign);
+        campaign.onEvent(event(uuid, "completed"));
+
+        CallCampaignStats stats = campaign.awaitCompletion();
+        assertEquals(1, stats.getPlaced());
+        assertEquals(2, stats.getFailed());
+        assertEquals(1, stats.getCompleted());
+    }
+
+    @Test
+    public void testEventBeforeCreateResponse() throws Exception {
+        final CompletableFuture<CallEvent> response = new CompletableFuture<>();
+        CallCampaign campaign = new CallCampaign(calls(1).iterator(), call -> {
+            created.add("early");
+            return response;
+        }, config().build());
+        campaign.start();
+        nextCreated();
+
+        assertFalse(campaign.onEvent(event("early", "answered")));
+        assertFalse(campaign.onEvent(event("early", "completed")));
+        assertFalse(campaign.isDone());
+
+        response.complete(created("early").get());
+        CallCampaignStats stats = campaign.getCompletion().get(5, TimeUnit.SECONDS);
+        assertEquals(1, stats.getPlaced());
+        assertEquals(1, stats.getAnswered());
+    }
+
+    @Test
+    public void testHeldEventsAreBounded() throws Exception {
+        final CompletableFuture<CallEvent> response = new CompletableFuture<>();
+        CallCampaign campaign = new CallCampaign(calls(1).iterator(), call -> {
+            created.add("ours");
+            return response;
+        }, config().maxLiveCalls(1).build());
+        campaign.start();
+        nextCreated();
+
+        // Events for calls placed by something else, delivered to a shared webhook
+        for (int i = 0; i < 10; i++) {
+            assertFalse(campaign.onEvent(event("other-" + i, "started")));
+        }
+        assertEquals(4, campaign.getHeldEvents());
+
+        response.complete(created("ours").get());
+        awaitPlaced(campaign, 1);
+        assertTrue(campaign.onEvent(event("ours", "completed")));
+        campaign.getCompletion().get(5, TimeUnit.SECONDS);
+        assertEquals(0, campaign.getHeldEvents());
+    }
+
+    @Test
+    public void testHeldEventsExpireAsEventsArrive() throws Exception {
+        final AtomicLong now = new AtomicLong();
+        final CompletableFuture<CallEvent> response = new CompletableFuture<>();
+        CallCampaign campaign = new CallCampaign(calls(1).iterator(), call -> {
+            created.add("ours");
+            return response;
+        }, config().build(), now::get);
+        campaign.start();
+        nextCreated();
+
+        assertFalse(campaign.onEvent(event("other", "started")));
+        assertEquals(1, campaign.getHeldEvents());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertFalse(campaign.onEvent(event("another", "started")));
+        assertEquals(1, campaign.getHeldEvents());
+
+        response.complete(created("ours").get());
+        awaitPlaced(campaign, 1);
+        assertTrue(campaign.onEvent(event("ours", "completed")));
+        campaign.getCompletion().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testEventsWithoutRequestsInProgressAreNotHeld() throws Exception {
+        CallCampaign campaign = new CallCampaign(Collections.<Call>emptyIterator(), call -> {
+            throw new AssertionError();
+        }, config().build());
+        assertFalse(campaign.onEvent(event("other", "completed")));
+        campaign.sweep();
+        assertEquals(0, campaign.getStats().getAbandoned());
+    }
+
+    @Test
+    public void testAbandonsCallsWithoutCompletionEvent() throws Exception {
+        CallCampaign campaign = start(calls(2).iterator(),
+                config().maxLiveCalls(1).liveCallTimeout(Duration.ofMillis(50)).build());
+
+        CallCampaignStats stats = campaign.getCompletion().get(5, TimeUnit.SECONDS);
+        assertEquals(2, stats.getPlaced());
+        assertEquals(2, stats.getAbandoned());
+        assertEquals(0, stats.getLive());
+        assertEquals(0, stats.getCompleted());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        Iterator<Call> endless = new Iterator<Call>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Call next() {
+                return new Call("447700900001", "447700900000", "https://example.com/answer");
+            }
+        };
+        CallCampaign campaign = start(endless, config().maxLiveCalls(2).build());
+        String first = nextPlaced(campaign);
+        String second = nextPlaced(campaign);
+        campaign.cancel();
+        assertTrue(campaign.isCancelled());
+
+        campaign.onEvent(event(first, "completed"));
+        campaign.onEvent(event(second, "completed"));
+        CallCampaignStats stats = campaign.getCompletion().get(5, TimeUnit.SECONDS);
+        assertEquals(2, stats.getPlaced());
+        assertEquals(2, stats.getCompleted());
+    }
+
+    @Test
+    public void testSourceFailure() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("source failed");
+        Iterator<Call> failing = new Iterator<Call>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Call next() {
+                throw failure;
+            }
+        };
+        CallCampaign campaign = start(failing, config().build());
+        try {
+            campaign.awaitCompletion();
+            fail("Expected the source's exception");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(0, campaign.getStats().getPlaced());
+    }
+
+    @Test
+    public void testDefaultRateLimiter() {
+        DialerConfig config = DialerConfig.builder().callsPerSecond(5).build();
+        assertEquals(5, config.getCallsPerSecond(), 0);
+        assertNotNull(config.createRateLimiter());
+        assertSame(countingLimiter, config().build().createRateLimiter());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxLiveCalls() {
+        DialerConfig.builder().maxLiveCalls(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCallsPerSecond() {
+        DialerConfig.builder().callsPerSecond(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLiveCallTimeout() {
+        DialerConfig.builder().liveCallTimeout(Duration.ZERO);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.common.PagedIterable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CallInfoPageSourceTest {
+    private CallsEndpoint calls;
+    private CallInfoPageSource source;
+
+    @Before
+    public void setUp() {
+        calls = mock(CallsEndpoint.class);
+        source = new CallInfoPageSource(calls);
+    }
+
+    @Test
+    public void testNextFollowsLink() {
+        CallsFilter filter = CallsFilter.builder()
+                .status(CallStatus.COMPLETED)
+                .pageSize(2)
+                .order(CallOrder.ASCENDING)
+                .conversationUuid("CON-1")
+                .build();
+
+        CallsFilter next = source.next(filter, page(0, "/v1/calls?page_size=2&record_index=2&order=asc", "a", "b"));
+
+        assertEquals(Integer.valueOf(2), next.getRecordIndex());
+        assertEquals(Integer.valueOf(2), next.getPageSize());
+        assertEquals(CallStatus.COMPLETED, next.getStatus());
+        assertEquals(CallOrder.ASCENDING, next.getOrder());
+        assertEquals("CON-1", next.getConversationUuid());
+        assertNull(filter.getRecordIndex());
+    }
+
+    @Test
+    public void testNextWithoutFilter() {
+        CallsFilter next = source.next(null, page(0, "/v1/calls?record_index=10", "a"));
+
+        assertEquals(Integer.valueOf(10), next.getRecordIndex());
+    }
+
+    @Test
+    public void testNextLinkWithoutRecordIndex() {
+        CallsFilter next = source.next(null, page(4, "/v1/calls?cursor=abc", "a", "b", "c"));
+
+        assertEquals(Integer.valueOf(7), next.getRecordIndex());
+    }
+
+    @Test
+    public void testLastPage() {
+        assertNull(source.next(null, page(0, null, "a", "b")));
+        assertNull(source.next(null, page(0, "/v1/calls?record_index=2")));
+        assertNull(source.next(null, page(2, "/v1/calls?record_index=2", "a")));
+    }
+
+    @Test
+    public void testIteratesAllPages() {
+        List<CallsFilter> requests = new ArrayList<>();
+        when(calls.get(any(CallsFilter.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return page(2, null, "c");
+        });
+        when(calls.get((CallsFilter) null)).thenReturn(page(0, "/v1/calls?page_size=2&record_index=2", "a", "b"));
+
+        List<String> uuids = new PagedIterable<>(null, source).stream()
+                .map(CallInfo::getUuid)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("a", "b", "c"), uuids);
+        assertEquals(1, requests.size());
+        assertEquals(Integer.valueOf(2), requests.get(0).getRecordIndex());
+    }
+
+    @Test
+    public void testEmptyPage() {
+        CallInfoPage page = CallInfoPage.fromJson("{\"page_size\":10,\"record_index\":0,\"count\":0}");
+
+        assertFalse(source.items(page).iterator().hasNext());
+        assertNull(source.next(null, page));
+    }
+
+    private static CallInfoPage page(int recordIndex, String next, String... uuids) {
+        StringBuilder json = new StringBuilder("{\"page_size\":").append(uuids.length)
+                .append(",\"record_index\":")
+                .append(recordIndex)
+                .append(",\"count\":100,\"_links\":{\"self\":{\"href\":\"/v1/calls\"}");
+        if (next != null) {
+            json.append(",\"next\":{\"href\":\"").append(next).append("\"}");
+        }
+        json.append("},\"_embedded\":{\"calls\":[");
+        for (int i = 0; i < uuids.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"uuid\":\"").append(uuids[i]).append("\"}");
+        }
+        return CallInfoPage.fromJson(json.append("]}}").toString());
+    }
+}
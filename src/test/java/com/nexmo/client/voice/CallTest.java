@@ -28,6 +28,9 @@ import com.nexmo.client.voice.ncco.RecordAction;
 import com.nexmo.client.voice.ncco.TalkAction;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.*;
 
 public class CallTest {
@@ -145,4 +148,14 @@ public class CallTest {
         );
     }
 
+    @Test
+    public void testWriteToMatchesToJson() throws Exception {
+        Call call = new Call("15551234567", "25551234567", new Ncco(
+                TalkAction.builder("Hello Zo\u00eb").build(),
+                RecordAction.builder().build()
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        call.writeTo(out);
+        assertEquals(call.toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
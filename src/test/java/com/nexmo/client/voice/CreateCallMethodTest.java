@@ -59,11 +59,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import static com.nexmo.client.TestUtils.test429;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CreateCallMethodTest {
     private static final Log LOG = LogFactory.getLog(CreateCallMethodTest.class);
@@ -140,4 +142,16 @@ public class CreateCallMethodTest {
         assertEquals("POST", builder.getMethod());
         assertEquals("https://example.com/v1/calls", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testRequestEntityIsStreamed() throws Exception {
+        Call call = new Call("447700900903", "447700900904", "https://example.com/answer");
+        RequestBuilder request = method.makeRequest(call);
+
+        assertTrue(request.getEntity().isChunked());
+        assertTrue(request.getEntity().isRepeatable());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.getEntity().writeTo(out);
+        assertEquals(call.toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice;
+
+import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.NexmoMethodFailedException;
+import com.nexmo.client.TestUtils;
+import com.nexmo.client.auth.AuthCollection;
+import com.nexmo.client.auth.JWTAuthMethod;
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordingDownloaderTest {
+    private static final String URL = "https://api.nexmo.com/v1/files/aaaaaaaa-bbbb-cccc-dddd-0123456789ab";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, byte[]> recordings = new HashMap<>();
+    private final List<String> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+    private final List<TestResponse> responses = Collections.synchronizedList(new ArrayList<>());
+    private boolean ignoreRanges;
+    private long failAt = -1;
+    private String crashOn;
+    private ExecutorService executor;
+    private VoiceClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+
+        AuthCollection authCollection = new AuthCollection();
+        authCollection.add(new JWTAuthMethod("951614e0-eec4-4087-a6b1-3f4c2f169cb0",
+                new TestUtils().loadKey("test/keys/application_key")
+        ));
+        HttpWrapper wrapper = new HttpWrapper(authCollection);
+        wrapper.setHttpClient(httpClient);
+        client = new VoiceClient(wrapper);
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDownloadWithSingleRequest() throws Exception {
+        byte[] data = recording(URL, 5000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+
+        RecordingDownloadResult result = client.downloadRecording(URL,
+                target,
+                RecordingDownloadOptions.builder().parallelism(1).build()
+        );
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(Files.exists(partOf(target)));
+        assertEquals(5000, result.getSize());
+        assertEquals(5000, result.getBytesDownloaded());
+        assertEquals(1, result.getChunks());
+        assertFalse(result.isResumed());
+        assertTrue(result.isSuccessful());
+        assertNull(result.getChecksum());
+        assertEquals(Collections.singletonList("none"), requestedRanges);
+        assertAllClosed();
+    }
+
+    @Test
+    public void testDownloadInParallelChunks() throws Exception {
+        byte[] data = recording(URL, 10500);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+
+        RecordingDownloadResult result = client.downloadRecording(URL, target, chunked(1000));
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertEquals(10500, result.getSize());
+        assertEquals(11, result.getChunks());
+        assertEquals(11, requestedRanges.size());
+        assertEquals("bytes=0-999", requestedRanges.get(0));
+        assertTrue(requestedRanges.contains("bytes=10000-10499"));
+        assertAllClosed();
+    }
+
+    @Test
+    public void testSmallRecordingNeedsOneChunk() throws Exception {
+        byte[] data = recording(URL, 600);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+
+        RecordingDownloadResult result = client.downloadRecording(URL, target, chunked(1000));
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertEquals(1, result.getChunks());
+        assertEquals(Collections.singletonList("bytes=0-999"), requestedRanges);
+    }
+
+    @Test
+    public void testResumeFromPartialFile() throws Exception {
+        byte[] data = recording(URL, 3000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        Files.write(partOf(target), Arrays.copyOf(data, 1200));
+
+        RecordingDownloadResult result = client.downloadRecording(URL, target, chunked(1000));
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertTrue(result.isResumed());
+        assertEquals(3000, result.getSize());
+        assertEquals(1800, result.getBytesDownloaded());
+        assertEquals(Collections.singletonList("bytes=1200-"), requestedRanges);
+        assertAllClosed();
+    }
+
+    @Test
+    public void testResumeDisabledStartsAgain() throws Exception {
+        byte[] data = recording(URL, 3000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        Files.write(partOf(target), new byte[2000]);
+
+        RecordingDownloadResult result = client.downloadRecording(URL,
+                target,
+                RecordingDownloadOptions.builder().parallelism(1).resume(false).build()
+        );
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(result.isResumed());
+    }
+
+    @Test
+    public void testServerIgnoringRangeRestartsDownload() throws Exception {
+        byte[] data = recording(URL, 3000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        Files.write(partOf(target), new byte[1200]);
+        ignoreRanges = true;
+
+        RecordingDownloadResult result = client.downloadRecording(URL, target, chunked(1000));
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(result.isResumed());
+        assertEquals(3000, result.getBytesDownloaded());
+        assertEquals(1, result.getChunks());
+    }
+
+    @Test
+    public void testResumeCompletedPartialFile() throws Exception {
+        byte[] data = recording(URL, 3000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        Files.write(partOf(target), data);
+
+        RecordingDownloadResult result = client.downloadRecording(URL, target);
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertTrue(result.isResumed());
+        assertEquals(3000, result.getSize());
+        assertEquals(0, result.getBytesDownloaded());
+        assertAllClosed();
+    }
+
+    @Test
+    public void testFailedChunkLeavesResumablePartialFile() throws Exception {
+        byte[] data = recording(URL, 10000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        failAt = 5500;
+
+        try {
+            client.downloadRecording(URL, target, chunked(1000));
+            fail("Expected the download to fail");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertFalse(Files.exists(target));
+        long partial = Files.size(partOf(target));
+        assertTrue(partial <= 5000);
+        assertEquals(0, partial % 1000);
+        assertArrayEquals(Arrays.copyOf(data, (int) partial), Files.readAllBytes(partOf(target)));
+        assertAllClosed();
+
+        failAt = -1;
+        requestedRanges.clear();
+        RecordingDownloadResult result = client.downloadRecording(URL, target, chunked(1000));
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertEquals(partial > 0, result.isResumed());
+        assertEquals(10000 - partial, result.getBytesDownloaded());
+    }
+
+    @Test
+    public void testKilledChunkedDownloadIsNotResumedAsComplete() throws Exception {
+        byte[] data = recording(URL, 10000);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+        crashOn = "bytes=5000-5999";
+        RecordingDownloadOptions options = RecordingDownloadOptions.builder()
+                .chunkSize(1000)
+                .parallelism(4)
+                .executor(command -> {
+                    throw new RejectedExecutionException();
+                })
+                .build();
+
+        try {
+            client.downloadRecording(URL, target, options);
+            fail("Expected the download to be killed");
+        } catch (SimulatedCrash e) {
+            // expected
+        }
+
+        // The preallocated file is left behind, but not where it would be resumed from
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(partOf(target)));
+        assertEquals(10000, Files.size(target.resolveSibling(target.getFileName() + RecordingDownloader.CHUNKS_SUFFIX)));
+
+        crashOn = null;
+        requestedRanges.clear();
+        RecordingDownloadResult result = client.downloadRecording(URL, target, options);
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(result.isResumed());
+        assertEquals(10000, result.getBytesDownloaded());
+        assertEquals("bytes=0-999", requestedRanges.get(0));
+        assertFalse(Files.exists(target.resolveSibling(target.getFileName() + RecordingDownloader.CHUNKS_SUFFIX)));
+    }
+
+    @Test
+    public void testErrorResponseReleasesConnection() throws Exception {
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+
+        try {
+            client.downloadRecording(URL, target);
+            fail("Expected a missing recording to fail");
+        } catch (NexmoMethodFailedException e) {
+            assertTrue(e.getMessage().contains("404"));
+        }
+
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(partOf(target)));
+        assertAllClosed();
+    }
+
+    @Test
+    public void testChecksum() throws Exception {
+        byte[] data = recording(URL, 4321);
+        Path target = folder.getRoot().toPath().resolve("recording.mp3");
+
+        RecordingDownloadResult result = client.downloadRecording(URL,
+                target,
+                RecordingDownloadOptions.builder().chunkSize(1000).checksumAlgorithm("SHA-256").build()
+        );
+
+        StringBuilder expected = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+            expected.append(String.format("%02x", b));
+        }
+        assertEquals(expected.toString(), result.getChecksum());
+    }
+
+    @Test
+    public void testDownloadRecordings() throws Exception {
+        Map<String, Path> targets = new LinkedHashMap<>();
+        Map<String, byte[]> expected = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            String url = URL + i;
+            if (i != 3) {
+                expected.put(url, recording(url, 2000 + i * 700));
+            }
+            targets.put(url, folder.getRoot().toPath().resolve("recording" + i + ".mp3"));
+        }
+
+        List<RecordingDownloadResult> results = client.downloadRecordings(targets,
+                RecordingDownloadOptions.builder()
+                        .chunkSize(1000)
+                        .maxConcurrentDownloads(2)
+                        .executor(executor)
+                        .build()
+        );
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < 6; i++) {
+            RecordingDownloadResult result = results.get(i);
+            assertEquals(URL + i, result.getUrl());
+            if (i == 3) {
+                assertFalse(result.isSuccessful());
+                assertTrue(result.getException() instanceof NexmoMethodFailedException);
+                assertFalse(Files.exists(result.getPath()));
+            } else {
+                assertTrue(result.isSuccessful());
+                assertArrayEquals(expected.get(result.getUrl()), Files.readAllBytes(result.getPath()));
+            }
+        }
+        assertAllClosed();
+    }
+
+    @Test
+    public void testParseContentRange() {
+        assertArrayEquals(new long[]{0, 99, 1000}, parse("bytes 0-99/1000"));
+        assertArrayEquals(new long[]{100, 199, -1}, parse("bytes 100-199/*"));
+        assertArrayEquals(new long[]{-1, -1, 1000}, parse("bytes */1000"));
+    }
+
+    @Test(expected = NexmoMethodFailedException.class)
+    public void testParseInvalidContentRange() {
+        parse("bytes 0-x/1000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownChecksumAlgorithm() {
+        RecordingDownloadOptions.builder().checksumAlgorithm("NOT-A-DIGEST");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() {
+        RecordingDownloadOptions.builder().chunkSize(0);
+    }
+
+    private RecordingDownloadOptions chunked(long chunkSize) {
+        return RecordingDownloadOptions.builder().chunkSize(chunkSize).parallelism(4).executor(executor).build();
+    }
+
+    private byte[] recording(String url, int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        recordings.put(url, data);
+        return data;
+    }
+
+    private static Path partOf(Path target) {
+        return target.resolveSibling(target.getFileName() + RecordingDownloader.PART_SUFFIX);
+    }
+
+    private static long[] parse(String contentRange) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_PARTIAL_CONTENT, "");
+        response.setHeader("Content-Range", contentRange);
+        return RecordingDownloader.parseContentRange(response);
+    }
+
+    private void assertAllClosed() {
+        assertFalse(responses.isEmpty());
+        for (TestResponse response : responses) {
+            assertTrue("Response was not released", response.closed);
+        }
+    }
+
+    private TestResponse respond(HttpUriRequest request) {
+        Header rangeHeader = request.getFirstHeader("Range");
+        requestedRanges.add(rangeHeader != null ? rangeHeader.getValue() : "none");
+        if (rangeHeader != null && rangeHeader.getValue().equals(crashOn)) {
+            throw new SimulatedCrash();
+        }
+        byte[] data = recordings.get(request.getURI().toString());
+
+        TestResponse response;
+        if (data == null) {
+            response = new TestResponse(HttpStatus.SC_NOT_FOUND, "Not Found");
+        } else if (rangeHeader == null || ignoreRanges) {
+            response = new TestResponse(HttpStatus.SC_OK, "OK");
+            response.setEntity(new ByteArrayEntity(data));
+        } else {
+            String[] bounds = rangeHeader.getValue().substring("bytes=".length()).split("-", -1);
+            int start = Integer.parseInt(bounds[0]);
+            int end = bounds[1].isEmpty() ? data.length - 1 : Math.min(Integer.parseInt(bounds[1]), data.length - 1);
+            if (start >= data.length) {
+                response = new TestResponse(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE, "Range Not Satisfiable");
+                response.setHeader("Content-Range", "bytes */" + data.length);
+            } else {
+                response = new TestResponse(HttpStatus.SC_PARTIAL_CONTENT, "Partial Content");
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + data.length);
+                InputStream content = new ByteArrayInputStream(data, start, end - start + 1);
+                if (failAt >= start && failAt <= end) {
+                    content = new FailingInputStream(content, (int) (failAt - start));
+                }
+                response.setEntity(new InputStreamEntity(content, end - start + 1));
+            }
+        }
+        responses.add(response);
+        return response;
+    }
+
+    /**
+     * Stands in for the process being killed: nothing catches it, so no clean-up runs.
+     */
+    private static class SimulatedCrash extends Error {
+    }
+
+    private static class TestResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private volatile boolean closed;
+
+        TestResponse(int status, String reason) {
+            super(HttpVersion.HTTP_1_1, status, reason);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class FailingInputStream extends InputStream {
+        private final InputStream content;
+        private int remaining;
+
+        FailingInputStream(InputStream content, int remaining) {
+            this.content = content;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining-- <= 0) {
+                throw new IOException("Connection reset");
+            }
+            return content.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                throw new IOException("Connection reset");
+            }
+            int read = content.read(b, off, Math.min(len, remaining));
+            remaining -= Math.max(read, 0);
+            return read;
+        }
+    }
+}
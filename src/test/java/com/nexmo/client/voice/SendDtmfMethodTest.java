@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexmo.client.HttpConfig;
 import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.retry.RetryPolicy;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
@@ -42,6 +43,7 @@ import java.nio.charset.StandardCharsets;
 
 import static com.nexmo.client.TestUtils.test429;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 
 public class SendDtmfMethodTest {
@@ -106,4 +108,11 @@ public class SendDtmfMethodTest {
         assertEquals("PUT", builder.getMethod());
         assertEquals(expectedUri, builder.build().getURI().toString());
     }
+
+    @Test
+    public void testNotRetriedByDefault() throws Exception {
+        // Repeating the request would play it into the call again
+        String httpMethod = new SendDtmfMethod(new HttpWrapper()).makeRequest(new DtmfRequest("uuid", "1")).getMethod();
+        assertFalse(RetryPolicy.defaultPolicy().appliesTo(SendDtmfMethod.class, httpMethod));
+    }
 }
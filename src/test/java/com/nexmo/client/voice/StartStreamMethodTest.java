@@ -23,11 +23,13 @@ package com.nexmo.client.voice;
 
 import com.nexmo.client.HttpConfig;
 import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.retry.RetryPolicy;
 import org.apache.http.client.methods.RequestBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class StartStreamMethodTest {
     private StartStreamMethod method;
@@ -55,4 +57,11 @@ public class StartStreamMethodTest {
         assertEquals("PUT", builder.getMethod());
         assertEquals("https://example.com/v1/calls/uuid/stream", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testNotRetriedByDefault() throws Exception {
+        // Repeating the request would play it into the call again
+        String httpMethod = new StartStreamMethod(new HttpWrapper()).makeRequest(new StreamRequest("uuid", "https://example.com/audio.mp3", 0)).getMethod();
+        assertFalse(RetryPolicy.defaultPolicy().appliesTo(StartStreamMethod.class, httpMethod));
+    }
 }
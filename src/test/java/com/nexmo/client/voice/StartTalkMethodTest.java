@@ -23,11 +23,13 @@ package com.nexmo.client.voice;
 
 import com.nexmo.client.HttpConfig;
 import com.nexmo.client.HttpWrapper;
+import com.nexmo.client.retry.RetryPolicy;
 import org.apache.http.client.methods.RequestBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class StartTalkMethodTest {
     private StartTalkMethod method;
@@ -55,4 +57,11 @@ public class StartTalkMethodTest {
         assertEquals("PUT", builder.getMethod());
         assertEquals("https://example.com/v1/calls/uuid/talk", builder.build().getURI().toString());
     }
+
+    @Test
+    public void testNotRetriedByDefault() throws Exception {
+        // Repeating the request would play it into the call again
+        String httpMethod = new StartTalkMethod(new HttpWrapper()).makeRequest(new TalkRequest("uuid", "text", 0)).getMethod();
+        assertFalse(RetryPolicy.defaultPolicy().appliesTo(StartTalkMethod.class, httpMethod));
+    }
 }
@@ -21,17 +21,23 @@
  */
 package com.nexmo.client.voice.ncco;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.nexmo.client.NexmoUnexpectedException;
+import com.nexmo.client.common.MapperRegistry;
 import com.nexmo.client.voice.VoiceName;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -102,4 +108,43 @@ public class NccoTest {
         String expectedJson = "[ {\n" + "  \"text\" : \"Test message\",\n" + "  \"action\" : \"talk\"\n" + "} ]";
         assertEquals(expectedJson, ncco.toJson());
     }
+
+    @Test
+    public void testWriteToStream() throws Exception {
+        Ncco ncco = new Ncco(TalkAction.builder("Hello").build(), RecordAction.builder().build());
+        final boolean[] closed = new boolean[1];
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        ncco.writeTo(out);
+        assertEquals(ncco.toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    public void testWriteToGenerator() throws Exception {
+        Ncco ncco = new Ncco(TalkAction.builder("Hello").build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = MapperRegistry.writer().getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName("ncco");
+            ncco.writeTo(generator);
+            generator.writeEndObject();
+        }
+        assertEquals("{\"ncco\":[{\"text\":\"Hello\",\"action\":\"talk\"}]}",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testActionWriteTo() throws Exception {
+        Action action = TalkAction.builder("Hello").loop(3).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        action.writeTo(out);
+        assertEquals(MapperRegistry.writer().writeValueAsString(action),
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
@@ -30,9 +30,11 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AbstractAnswerServletTest {
@@ -98,4 +100,40 @@ public class AbstractAnswerServletTest {
                 servlet.handleRequest(null).toJson());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void doGetTemplate() throws Exception {
+        final NccoTemplate template = NccoTemplate.compile(TalkAction.builder("Hello ${name}").build());
+        AbstractAnswerServlet templateServlet = new AbstractAnswerServlet() {
+            @Override
+            protected NccoResponse handleRequest(HttpServletRequest request) {
+                return template.bind(Collections.singletonMap("name", "World"));
+            }
+        };
+
+        HttpServletResponse response = mockResponse();
+        templateServlet.doGet(null, response);
+        verify(response).setContentType("application/json");
+        verify(response).setCharacterEncoding("UTF-8");
+        verify(response).setContentLength(40);
+        assertEquals("[{\"text\":\"Hello World\",\"action\":\"talk\"}]", response.getOutputStream().toString());
+    }
+
+    @Test
+    public void doGetTemplateWithAppendedAction() throws Exception {
+        final NccoTemplate template = NccoTemplate.compile(TalkAction.builder("Hello ${name}").build());
+        AbstractAnswerServlet templateServlet = new AbstractAnswerServlet() {
+            @Override
+            protected NccoResponse handleRequest(HttpServletRequest request) {
+                NccoResponse response = template.bind(Collections.singletonMap("name", "World"));
+                response.appendNcco(TalkAction.builder("Bye").build());
+                return response;
+            }
+        };
+
+        HttpServletResponse response = mockResponse();
+        templateServlet.doGet(null, response);
+        verify(response).setContentLength(71);
+        assertEquals("[{\"text\":\"Hello World\",\"action\":\"talk\"},{\"text\":\"Bye\",\"action\":\"talk\"}]",
+                response.getOutputStream().toString());
+    }
+}
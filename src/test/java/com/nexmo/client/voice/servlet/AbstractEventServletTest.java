@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.nexmo.client.incoming.CallEvent;
+import com.nexmo.client.incoming.CallStatus;
+import com.nexmo.client.incoming.ConsumerConfig;
+import com.nexmo.client.incoming.EventType;
+import com.nexmo.client.incoming.IdempotencyFilter;
+import com.nexmo.client.incoming.InputEvent;
+import com.nexmo.client.incoming.MessageEvent;
+import com.nexmo.client.incoming.RecordEvent;
+import org.junit.Test;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AbstractEventServletTest {
+    private static final Executor SYNCHRONOUS = Runnable::run;
+
+    private static final String CALL_EVENT = "{\"conversation_uuid\":\"CON-aaaaaaaa\",\"direction\":\"outbound\","
+            + "\"from\":\"447700900000\",\"status\":\"answered\",\"timestamp\":\"2018-08-14T11:07:01.284Z\","
+            + "\"to\":\"447700900001\",\"uuid\":\"aaaaaaaa\"}";
+
+    private static final String INPUT_EVENT = "{\"uuid\":\"aaaaaaaa\",\"conversation_uuid\":\"CON-aaaaaaaa\","
+            + "\"timed_out\":false,\"dtmf\":\"42\",\"timestamp\":\"2018-08-14T11:07:01.284Z\"}";
+
+    private static final String RECORD_EVENT = "{\"start_time\":\"2018-08-14T11:07:01Z\","
+            + "\"recording_url\":\"https://api.nexmo.com/v1/files/bbbbbbbb\",\"size\":12222,"
+            + "\"recording_uuid\":\"bbbbbbbb\",\"end_time\":\"2018-08-14T11:07:10Z\","
+            + "\"conversation_uuid\":\"CON-aaaaaaaa\",\"timestamp\":\"2018-08-14T11:07:11.284Z\"}";
+
+    private static final String MESSAGE_EVENT = "{\"msisdn\":\"447700900001\",\"to\":\"447700900000\","
+            + "\"messageId\":\"0C000000217B7F02\",\"text\":\"Hello\",\"type\":\"text\",\"keyword\":\"HELLO\","
+            + "\"message-timestamp\":\"2016-11-07 06:05:04\"}";
+
+    private static class RecordingServlet extends AbstractEventServlet {
+        final List<Object> events = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+
+        RecordingServlet(ConsumerConfig consumerConfig) {
+            super(consumerConfig);
+        }
+
+        @Override
+        protected void onCallEvent(CallEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void onInputEvent(InputEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void onRecordEvent(RecordEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void onMessageEvent(MessageEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void onUnknownEvent(JsonNode event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void onHandled(EventType type, Object event, long waitNanos, long handleNanos, Throwable failure) {
+            failures.add(failure);
+        }
+    }
+
+    private static RecordingServlet synchronousServlet() {
+        return new RecordingServlet(ConsumerConfig.builder().executor(SYNCHRONOUS).build());
+    }
+
+    private static HttpServletRequest postRequest(String body) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream inputStream = new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // We don't care about this.
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+        };
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getInputStream()).thenReturn(inputStream);
+        return request;
+    }
+
+    @Test
+    public void testCallEvent() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(CALL_EVENT), response);
+
+        verify(response).setStatus(200);
+        assertEquals(1, servlet.events.size());
+        CallEvent event = (CallEvent) servlet.events.get(0);
+        assertEquals("aaaaaaaa", event.getUuid());
+        assertEquals(CallStatus.ANSWERED, event.getStatus());
+        assertNull(servlet.failures.get(0));
+    }
+
+    @Test
+    public void testInputEvent() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        servlet.doPost(postRequest(INPUT_EVENT), mock(HttpServletResponse.class));
+
+        InputEvent event = (InputEvent) servlet.events.get(0);
+        assertEquals("42", event.getDtmf());
+        assertEquals("aaaaaaaa", event.getUuid());
+    }
+
+    @Test
+    public void testRecordEvent() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        servlet.doPost(postRequest(RECORD_EVENT), mock(HttpServletResponse.class));
+
+        RecordEvent event = (RecordEvent) servlet.events.get(0);
+        assertEquals("bbbbbbbb", event.getUuid());
+        assertEquals("https://api.nexmo.com/v1/files/bbbbbbbb", event.getUrl());
+        assertEquals(12222, event.getSize());
+    }
+
+    @Test
+    public void testMessageEvent() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        servlet.doPost(postRequest(MESSAGE_EVENT), mock(HttpServletResponse.class));
+
+        MessageEvent event = (MessageEvent) servlet.events.get(0);
+        assertEquals("0C000000217B7F02", event.getMessageId());
+        assertEquals("Hello", event.getText());
+    }
+
+    @Test
+    public void testUnknownEvent() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest("{\"type\":\"transfer\"}"), response);
+
+        verify(response).setStatus(200);
+        JsonNode event = (JsonNode) servlet.events.get(0);
+        assertEquals("transfer", event.get("type").asText());
+        assertEquals(1, servlet.getEventStats(EventType.UNKNOWN).getHandled());
+    }
+
+    @Test
+    public void testGetReadsQueryParameters() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameterNames()).thenReturn(Collections.enumeration(Arrays.asList("uuid", "status")));
+        when(request.getParameter("uuid")).thenReturn("aaaaaaaa");
+        when(request.getParameter("status")).thenReturn("completed");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(200);
+        CallEvent event = (CallEvent) servlet.events.get(0);
+        assertEquals(CallStatus.COMPLETED, event.getStatus());
+    }
+
+    @Test
+    public void testMalformedBody() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest("{\"uuid\":"), response);
+
+        verify(response).sendError(400, "Malformed event");
+        verify(response, never()).setStatus(200);
+        assertTrue(servlet.events.isEmpty());
+    }
+
+    @Test
+    public void testEmptyBody() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        synchronousServlet().doPost(postRequest(""), response);
+
+        verify(response).sendError(400, "Missing event");
+    }
+
+    @Test
+    public void testEventNotMatchingItsType() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        synchronousServlet().doPost(postRequest("{\"uuid\":\"aaaaaaaa\",\"status\":\"answered\",\"timestamp\":\"x\"}"),
+                response
+        );
+
+        verify(response).sendError(400, "Malformed call event");
+    }
+
+    @Test
+    public void testAcksBeforeHandling() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder().executor(queued::add).build());
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(CALL_EVENT), response);
+
+        verify(response).setStatus(200);
+        assertTrue(servlet.events.isEmpty());
+        assertEquals(1, servlet.getEventStats(EventType.CALL).getPending());
+
+        queued.get(0).run();
+        assertEquals(1, servlet.events.size());
+        EventStats stats = servlet.getEventStats(EventType.CALL);
+        assertEquals(0, stats.getPending());
+        assertEquals(1, stats.getHandled());
+    }
+
+    @Test
+    public void testOverloadIsRejected() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder()
+                .executor(queued::add)
+                .maxPending(1)
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.TOO_MANY_REQUESTS)
+                .retryAfter(Duration.ofSeconds(30))
+                .build());
+        servlet.doPost(postRequest(CALL_EVENT), mock(HttpServletResponse.class));
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(INPUT_EVENT), response);
+
+        verify(response).setHeader("Retry-After", "30");
+        verify(response).sendError(429, "Too many pending events");
+        assertEquals(1, servlet.getEventStats(EventType.INPUT).getRejected());
+        assertEquals(0, servlet.getEventStats(EventType.INPUT).getPending());
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    public void testRejectedEventsAreNotCountedInDeliveryLag() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder()
+                .executor(queued::add)
+                .maxPending(1)
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.TOO_MANY_REQUESTS)
+                .build());
+        servlet.doPost(postRequest(CALL_EVENT), mock(HttpServletResponse.class));
+        servlet.doPost(postRequest(INPUT_EVENT), mock(HttpServletResponse.class));
+
+        assertEquals(1, servlet.getEventStats(EventType.INPUT).getRejected());
+        assertEquals(Duration.ZERO, servlet.getEventStats(EventType.INPUT).getMaxDeliveryLag());
+
+        // Nexmo delivers the refused event again once there is room
+        queued.remove(0).run();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(INPUT_EVENT), response);
+
+        verify(response).setStatus(200);
+        EventStats inputStats = servlet.getEventStats(EventType.INPUT);
+        assertTrue(inputStats.getMaxDeliveryLag().compareTo(Duration.ofDays(365)) > 0);
+        assertEquals(inputStats.getMaxDeliveryLag(), inputStats.getAverageDeliveryLag());
+    }
+
+    @Test
+    public void testOverloadRunsOnCaller() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder()
+                .executor(queued::add)
+                .maxPending(1)
+                .overloadPolicy(ConsumerConfig.OverloadPolicy.CALLER_RUNS)
+                .build());
+        servlet.doPost(postRequest(CALL_EVENT), mock(HttpServletResponse.class));
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(INPUT_EVENT), response);
+
+        verify(response).setStatus(200);
+        assertEquals(1, servlet.events.size());
+        assertTrue(servlet.events.get(0) instanceof InputEvent);
+    }
+
+    @Test
+    public void testDuplicatesAreAckedButNotHandled() throws Exception {
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder()
+                .executor(SYNCHRONOUS)
+                .idempotencyFilter(IdempotencyFilter.builder().build())
+                .build());
+        for (String body : new String[]{CALL_EVENT, RECORD_EVENT, MESSAGE_EVENT}) {
+            servlet.doPost(postRequest(body), mock(HttpServletResponse.class));
+            HttpServletResponse response = mock(HttpServletResponse.class);
+            servlet.doPost(postRequest(body), response);
+            verify(response).setStatus(200);
+        }
+
+        assertEquals(3, servlet.events.size());
+        assertEquals(1, servlet.getEventStats(EventType.CALL).getDuplicates());
+        assertEquals(1, servlet.getEventStats(EventType.RECORD).getDuplicates());
+        assertEquals(1, servlet.getEventStats(EventType.MESSAGE).getDuplicates());
+    }
+
+    @Test
+    public void testHandlerFailureIsCounted() throws Exception {
+        RuntimeException failure = new RuntimeException("Handler failed");
+        RecordingServlet servlet = new RecordingServlet(ConsumerConfig.builder().executor(SYNCHRONOUS).build()) {
+            @Override
+            protected void onCallEvent(CallEvent event) {
+                throw failure;
+            }
+        };
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        servlet.doPost(postRequest(CALL_EVENT), response);
+
+        verify(response).setStatus(200);
+        assertSame(failure, servlet.failures.get(0));
+        EventStats stats = servlet.getEventStats(EventType.CALL);
+        assertEquals(0, stats.getHandled());
+        assertEquals(1, stats.getFailed());
+    }
+
+    @Test
+    public void testDeliveryLag() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        servlet.doPost(postRequest(CALL_EVENT), mock(HttpServletResponse.class));
+        servlet.doPost(postRequest("{\"type\":\"transfer\"}"), mock(HttpServletResponse.class));
+
+        // The event was sent in 2018, so it has been a while
+        EventStats callStats = servlet.getEventStats(EventType.CALL);
+        assertTrue(callStats.getMaxDeliveryLag().compareTo(Duration.ofDays(365)) > 0);
+        assertEquals(callStats.getMaxDeliveryLag(), callStats.getAverageDeliveryLag());
+        assertEquals(Duration.ZERO, servlet.getEventStats(EventType.UNKNOWN).getMaxDeliveryLag());
+    }
+
+    @Test
+    public void testStatsForEveryType() throws Exception {
+        RecordingServlet servlet = synchronousServlet();
+        servlet.doPost(postRequest(RECORD_EVENT), mock(HttpServletResponse.class));
+
+        Map<EventType, EventStats> stats = servlet.getEventStats();
+        assertEquals(EventType.values().length, stats.size());
+        assertEquals(1, stats.get(EventType.RECORD).getHandled());
+        assertEquals(0, stats.get(EventType.CALL).getHandled());
+        assertEquals(EventType.RECORD, stats.get(EventType.RECORD).getType());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2020 Nexmo Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.nexmo.client.voice.servlet;
+
+import com.nexmo.client.voice.ncco.ConnectAction;
+import com.nexmo.client.voice.ncco.PhoneEndpoint;
+import com.nexmo.client.voice.ncco.TalkAction;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NccoTemplateTest {
+    private final NccoTemplate template = NccoTemplate.compile(
+            TalkAction.builder("Hello ${name}, connecting you now.").loop(2).build(),
+            ConnectAction.builder(PhoneEndpoint.builder("${agent}").build())
+                    .from("447700900000")
+                    .eventUrl("https://example.com/events/${campaign}")
+                    .build());
+
+    private static Map<String, String> values(String name, String agent, String campaign) {
+        Map<String, String> values = new HashMap<>();
+        values.put("name", name);
+        values.put("agent", agent);
+        values.put("campaign", campaign);
+        return values;
+    }
+
+    private static String expected(String name, String agent, String campaign) {
+        NccoResponse response = new NccoResponseBuilder()
+                .appendNcco(TalkAction.builder("Hello " + name + ", connecting you now.").loop(2).build())
+                .appendNcco(ConnectAction.builder(PhoneEndpoint.builder(agent).build())
+                        .from("447700900000")
+                        .eventUrl("https://example.com/events/" + campaign)
+                        .build())
+                .getValue();
+        return response.toJson();
+    }
+
+    private String render(Map<String, String> values) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        template.writeTo(out, values);
+        byte[] bytes = out.toByteArray();
+        assertEquals(bytes.length, template.getContentLength(values));
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testVariableNames() {
+        assertEquals(new LinkedHashSet<>(Arrays.asList("name", "agent", "campaign")), template.getVariableNames());
+    }
+
+    @Test
+    public void testRenderMatchesSerializedActions() throws Exception {
+        assertEquals(expected("Alice", "447700900001", "spring"), render(values("Alice", "447700900001", "spring")));
+    }
+
+    @Test
+    public void testRenderEscapesValues() throws Exception {
+        String name = "\"Bob\" \\ O'Brien\n\t\u0001";
+        assertEquals(expected(name, "447700900001", "a/b"), render(values(name, "447700900001", "a/b")));
+    }
+
+    @Test
+    public void testRenderEncodesMultiByteCharacters() throws Exception {
+        String name = "Zo\u00eb \u4f60\u597d \ud83d\ude00";
+        assertEquals(expected(name, "447700900001", "x"), render(values(name, "447700900001", "x")));
+    }
+
+    @Test
+    public void testRenderValueLongerThanBuffer() throws Exception {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            name.append("\u00e9\"\u0002");
+        }
+        assertEquals(expected(name.toString(), "1", "x"), render(values(name.toString(), "1", "x")));
+    }
+
+    @Test
+    public void testEmptyValues() throws Exception {
+        assertEquals(expected("", "", ""), render(values("", "", "")));
+    }
+
+    @Test
+    public void testTemplateWithoutPlaceholders() throws Exception {
+        NccoTemplate constant = NccoTemplate.compile(TalkAction.builder("Hello").build());
+        assertTrue(constant.getVariableNames().isEmpty());
+        assertEquals("[{\"text\":\"Hello\",\"action\":\"talk\"}]",
+                constant.bind(new HashMap<String, String>()).toJson());
+    }
+
+    @Test
+    public void testRepeatedPlaceholder() throws Exception {
+        NccoTemplate repeated = NccoTemplate.compile(TalkAction.builder("${x} and ${x}").build());
+        Map<String, String> values = new HashMap<>();
+        values.put("x", "y");
+        assertEquals(new LinkedHashSet<>(Arrays.asList("x")), repeated.getVariableNames());
+        assertEquals("[{\"text\":\"y and y\",\"action\":\"talk\"}]", repeated.bind(values).toJson());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingValue() {
+        Map<String, String> values = values("Alice", null, "spring");
+        template.bind(values);
+    }
+
+    @Test
+    public void testBindCopiesValues() {
+        Map<String, String> values = values("Alice", "447700900001", "spring");
+        NccoResponse response = template.bind(values);
+        values.put("name", "Bob");
+        assertEquals(expected("Alice", "447700900001", "spring"), response.toJson());
+    }
+
+    @Test
+    public void testAppendToBoundTemplate() {
+        NccoResponse response = template.bind(values("Alice", "447700900001", "spring"));
+        response.appendNcco(TalkAction.builder("Bye").build());
+
+        String expected = expected("Alice", "447700900001", "spring");
+        expected = expected.substring(0, expected.length() - 1) + ",{\"text\":\"Bye\",\"action\":\"talk\"}]";
+        assertEquals(expected, response.toJson());
+    }
+
+    @Test
+    public void testAppendToEmptyTemplate() {
+        NccoResponse response = NccoTemplate.compile(Collections.emptyList()).bind(Collections.emptyMap());
+        response.appendNcco(TalkAction.builder("Bye").build());
+        assertEquals("[{\"text\":\"Bye\",\"action\":\"talk\"}]", response.toJson());
+    }
+}